@@ -17,5 +17,6 @@ if [ -z "${SPRING_DATA_REDIS_URL:-}" ] && [ -n "${REDIS_URL:-}" ]; then
   export SPRING_DATA_REDIS_URL="$REDIS_URL"
 fi
 
-exec java $JAVA_OPTS -jar app.jar
+# APP_JAR: Dockerfile.cds runs the extracted jar next to its AppCDS archive
+exec java $JAVA_OPTS -jar "${APP_JAR:-app.jar}"
 
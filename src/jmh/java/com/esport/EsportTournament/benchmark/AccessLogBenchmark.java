@@ -0,0 +1,167 @@
+package com.esport.EsportTournament.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.esport.EsportTournament.config.AccessLogSampler;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging cost of one successful authenticated request, with a fixed slice of simulated
+ * request work in between so async appenders get time to drain (as under real traffic).
+ *
+ * verbose-sync:  before — "→"/"←" lines from RequestLoggingFilter plus the INFO lines of
+ *                RoleInjectionFilter, written synchronously
+ * sampled-sync:  one access line at the default 10% sample rate, synchronous appender
+ * sampled-async: same through the AsyncAppender of logback-spring.xml
+ *
+ * Subtract the "none" mode to get the per-request logging overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AccessLogBenchmark {
+
+    private static final String JSON_PATTERN = "{\"ts\":\"%d{yyyy-MM-dd'T'HH:mm:ss.SSSZ}\",\"level\":\"%level\","
+            + "\"logger\":\"%logger{36}\",\"msg\":\"%replace(%msg){'\"','\\\\\"'}\",\"thread\":\"%thread\","
+            + "\"requestId\":\"%X{requestId:-}\",\"userId\":\"%X{userId:-}\",\"method\":\"%X{httpMethod:-}\","
+            + "\"path\":\"%X{httpPath:-}\",\"ex\":\"%replace(%throwable){'\"','\\\\\"'}\"}%n";
+
+    private static final String ACCESS_PATTERN = "{\"ts\":\"%d{yyyy-MM-dd'T'HH:mm:ss.SSSZ}\",\"type\":\"access\","
+            + "\"level\":\"%level\",\"method\":\"%X{httpMethod:-}\",\"route\":\"%X{route:-}\",\"path\":\"%X{httpPath:-}\","
+            + "\"status\":%X{status:-0},\"durationMs\":%X{durationMs:-0},\"sample\":\"%X{sample:-}\","
+            + "\"requestId\":\"%X{requestId:-}\",\"userId\":\"%X{userId:-}\"}%n";
+
+    private static final String UID = "Xq3lYh0pZbS2uV8kR1wT5nM9cJ4a";
+    private static final String PATH = "/api/tournaments/1042";
+    private static final String ROUTE = "/api/tournaments/{id}";
+
+    @Param({ "none", "verbose-sync", "sampled-sync", "sampled-async" })
+    private String mode;
+
+    @Param({ "2000" })
+    private int requestWorkTokens;
+
+    private LoggerContext context;
+    private Logger filterLog;
+    private Logger roleLog;
+    private Logger accessLog;
+    private AccessLogSampler sampler;
+    private Path dir;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("access-log-bench");
+        context = new LoggerContext();
+        boolean async = mode.endsWith("async");
+
+        filterLog = context.getLogger("com.esport.EsportTournament.config.RequestLoggingFilter");
+        roleLog = context.getLogger("com.esport.EsportTournament.config.RoleInjectionFilter");
+        accessLog = context.getLogger("access");
+        Appender<ILoggingEvent> app = appender("app", JSON_PATTERN, async);
+        filterLog.addAppender(app);
+        roleLog.addAppender(app);
+        accessLog.addAppender(appender("access", ACCESS_PATTERN, async));
+
+        sampler = new AccessLogSampler(0.1, List.of(), 1000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        try (var files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public void request() {
+        MDC.put("requestId", "53fa2bdf");
+        MDC.put("userId", UID);
+        MDC.put("httpMethod", "GET");
+        MDC.put("httpPath", PATH);
+        try {
+            switch (mode) {
+                case "verbose-sync" -> verbose();
+                case "sampled-sync", "sampled-async" -> {
+                    Blackhole.consumeCPU(requestWorkTokens);
+                    String sample = sampler.sample(ROUTE, 200, 12);
+                    if (sample != null) {
+                        MDC.put("route", ROUTE);
+                        MDC.put("status", "200");
+                        MDC.put("durationMs", "12");
+                        MDC.put("sample", sample);
+                        accessLog.info("access");
+                        MDC.remove("route");
+                        MDC.remove("status");
+                        MDC.remove("durationMs");
+                        MDC.remove("sample");
+                    }
+                }
+                default -> Blackhole.consumeCPU(requestWorkTokens);
+            }
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void verbose() {
+        filterLog.info("→ {} {} (user={})", "GET", PATH, UID);
+        roleLog.info("👤 RoleInjectionFilter processing: {}", PATH);
+        roleLog.info("🔍 Current authentication: {}", "UsernamePasswordAuthenticationToken");
+        roleLog.info("🔍 Authentication principal type: {}", "String");
+        roleLog.info("🔍 Is authenticated: {}", true);
+        roleLog.info("🔑 Processing roles for Firebase UID: {}", UID);
+        roleLog.info("✅ User found in database: {} (Role: {}, Status: {})", "player_1042", "USER", "ACTIVE");
+        roleLog.info("🎭 Assigned authorities {} to user {}", "[ROLE_USER]", UID);
+        roleLog.info("🔒 Updated SecurityContext with roles for user: {}", UID);
+        roleLog.info("➡️  Role injection complete, proceeding to next filter");
+        Blackhole.consumeCPU(requestWorkTokens);
+        filterLog.info("← {} {} → {} ({}ms)", "GET", PATH, 200, 12);
+    }
+
+    private Appender<ILoggingEvent> appender(String name, String pattern, boolean async) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(pattern);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName(name);
+        file.setFile(dir.resolve(name + ".log").toString());
+        file.setEncoder(encoder);
+        file.start();
+        if (!async) {
+            return file;
+        }
+
+        AsyncAppender wrapper = new AsyncAppender();
+        wrapper.setContext(context);
+        wrapper.setName("ASYNC_" + name);
+        wrapper.setQueueSize(8192);
+        wrapper.setNeverBlock(true);
+        wrapper.addAppender(file);
+        wrapper.start();
+        return wrapper;
+    }
+}
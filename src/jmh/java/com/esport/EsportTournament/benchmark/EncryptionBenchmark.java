@@ -0,0 +1,47 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.util.EncryptionUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EncryptionUtil round trip on a room-password sized value, as done when tournament
+ * credentials are saved and read back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptionBenchmark {
+
+    @Param({ "room-8842-pass" })
+    private String plainText;
+
+    private EncryptionUtil encryptionUtil;
+    private String cipherText;
+
+    @Setup
+    public void setUp() {
+        encryptionUtil = new EncryptionUtil("benchmark-key");
+        cipherText = encryptionUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return encryptionUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return encryptionUtil.decrypt(cipherText);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String decryptContended() {
+        return encryptionUtil.decrypt(cipherText);
+    }
+}
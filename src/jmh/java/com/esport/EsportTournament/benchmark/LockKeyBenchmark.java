@@ -0,0 +1,32 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.service.DistributedLockService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DistributedLockService key formatting, built on every booking attempt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LockKeyBenchmark {
+
+    private int tournamentId = 1042;
+    private int slotNumber = 37;
+    private String firebaseUID = "Xq3lYh0pZbS2uV8kR1wT5nM9cJ4a";
+
+    @Benchmark
+    public String slotLockKey() {
+        return DistributedLockService.slotLockKey(tournamentId, slotNumber);
+    }
+
+    @Benchmark
+    public String userBookingLockKey() {
+        return DistributedLockService.userBookingLockKey(firebaseUID, tournamentId);
+    }
+}
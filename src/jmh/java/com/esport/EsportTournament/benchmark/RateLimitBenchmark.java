@@ -0,0 +1,47 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.config.ApiRateLimitFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiRateLimitFilter.allowRequest: one hot key shared by all threads (worst-case monitor
+ * contention) versus keys spread over many clients. The limit is set high enough that
+ * every call takes the counting path rather than the rejection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimitBenchmark {
+
+    @Param({ "1", "10000" })
+    private int distinctClients;
+
+    private ApiRateLimitFilter filter;
+    private MethodHandle allowRequest;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        filter = new ApiRateLimitFilter();
+        allowRequest = BenchmarkStubs.privateMethod(ApiRateLimitFilter.class, "allowRequest",
+                boolean.class, String.class, int.class);
+        keys = new String[distinctClients];
+        for (int i = 0; i < distinctClients; i++) {
+            keys[i] = "10.0." + (i / 256) + "." + (i % 256) + "|GET|/api/tournaments/{id}";
+        }
+    }
+
+    @Benchmark
+    public boolean allowRequest() throws Throwable {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        return (boolean) allowRequest.invoke(filter, key, Integer.MAX_VALUE);
+    }
+}
@@ -0,0 +1,69 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.model.rbac.AppPermission;
+import com.esport.EsportTournament.model.rbac.AppRole;
+import com.esport.EsportTournament.model.rbac.UserRole;
+import com.esport.EsportTournament.repository.UsersRepo;
+import com.esport.EsportTournament.repository.rbac.AppRoleRepository;
+import com.esport.EsportTournament.repository.rbac.UserRoleRepository;
+import com.esport.EsportTournament.service.RbacService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RbacService.getGrantedAuthorities: role hierarchy expansion and the permission walk
+ * over every role row, with repositories answering from memory (as with a warm
+ * second-level cache).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RbacAuthoritiesBenchmark {
+
+    private static final List<String> ROLES = List.of("SUPER_ADMIN", "ADMIN", "MANAGER", "OPERATOR", "USER");
+
+    @Param({ "USER", "MANAGER", "SUPER_ADMIN" })
+    private String assignedRole;
+
+    @Param({ "8" })
+    private int permissionsPerRole;
+
+    private RbacService rbacService;
+
+    @Setup
+    public void setUp() {
+        List<AppRole> roles = ROLES.stream().map(code -> {
+            Set<AppPermission> permissions = new HashSet<>();
+            for (int i = 0; i < permissionsPerRole; i++) {
+                permissions.add(AppPermission.builder().code(code + "_PERMISSION_" + i).build());
+            }
+            return AppRole.builder().code(code).permissions(permissions).build();
+        }).toList();
+        AppRole assigned = roles.stream().filter(r -> r.getCode().equals(assignedRole)).findFirst().orElseThrow();
+
+        Users user = new Users();
+        user.setFirebaseUserUID("uid-1");
+        UsersRepo usersRepo = BenchmarkStubs.repository(UsersRepo.class,
+                Map.of("findByFirebaseUserUID", Optional.of(user)));
+        UserRoleRepository userRoleRepository = BenchmarkStubs.repository(UserRoleRepository.class,
+                Map.of("findByUser", List.of(UserRole.builder().user(user).role(assigned).build())));
+        AppRoleRepository appRoleRepository = BenchmarkStubs.repository(AppRoleRepository.class,
+                Map.of("findAll", roles));
+        rbacService = new RbacService(appRoleRepository, userRoleRepository, usersRepo);
+    }
+
+    @Benchmark
+    public Set<String> getGrantedAuthorities() {
+        return rbacService.getGrantedAuthorities("uid-1");
+    }
+}
@@ -0,0 +1,102 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.config.RedisConfig;
+import com.esport.EsportTournament.dto.TournamentsDTO;
+import com.esport.EsportTournament.model.Tournaments;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Redis cache value serializer (typed JSON) on the shapes the caches hold: the
+ * "tournaments" list of simple DTOs and one "tournament" entry with participants, plus
+ * the string key serializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    @Param({ "50" })
+    private int tournaments;
+
+    @Param({ "100" })
+    private int participants;
+
+    private final GenericJackson2JsonRedisSerializer serializer = RedisConfig.valueSerializer();
+    private final StringRedisSerializer keySerializer = new StringRedisSerializer();
+
+    private List<TournamentsDTO> tournamentList;
+    private TournamentsDTO tournamentDetail;
+    private byte[] tournamentListBytes;
+    private byte[] tournamentDetailBytes;
+
+    @Setup
+    public void setUp() {
+        tournamentList = new ArrayList<>();
+        for (int i = 1; i <= tournaments; i++) {
+            tournamentList.add(tournament(i));
+        }
+        tournamentDetail = tournament(0);
+        for (int i = 1; i <= participants; i++) {
+            tournamentDetail.getParticipants().add(new TournamentsDTO.ParticipantInfo("player" + i, i, "uid-" + i));
+        }
+        tournamentDetail.setRegisteredPlayers(participants);
+        tournamentListBytes = serializer.serialize(tournamentList);
+        tournamentDetailBytes = serializer.serialize(tournamentDetail);
+    }
+
+    private static TournamentsDTO tournament(int id) {
+        TournamentsDTO dto = new TournamentsDTO();
+        dto.setId(id);
+        dto.setName("Weekend Cup #" + id);
+        dto.setPrizePool(5000);
+        dto.setEntryFee(50);
+        dto.setMap("Erangel");
+        dto.setGame("BGMI");
+        dto.setGameMode("Classic");
+        dto.setMaxPlayers(100);
+        dto.setStartTime(LocalDateTime.of(2026, 1, 1, 18, 0).plusHours(id));
+        dto.setTeamSize("SQUAD");
+        dto.setStatus(Tournaments.TournamentStatus.UPCOMING);
+        dto.setRules(new ArrayList<>(List.of("No emulators", "No teaming", "Screenshots required on dispute")));
+        dto.setPerKillReward(10);
+        dto.setFirstPrize(2500);
+        dto.setSecondPrize(1500);
+        dto.setThirdPrize(1000);
+        return dto;
+    }
+
+    @Benchmark
+    public byte[] serializeTournamentList() {
+        return serializer.serialize(tournamentList);
+    }
+
+    @Benchmark
+    public Object deserializeTournamentList() {
+        return serializer.deserialize(tournamentListBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeTournamentDetail() {
+        return serializer.serialize(tournamentDetail);
+    }
+
+    @Benchmark
+    public Object deserializeTournamentDetail() {
+        return serializer.deserialize(tournamentDetailBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeKey() {
+        return keySerializer.serialize("tournament::" + tournamentDetail.getId());
+    }
+}
@@ -0,0 +1,124 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.dto.TournamentsDTO;
+import com.esport.EsportTournament.model.Slots;
+import com.esport.EsportTournament.model.TournamentResult;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.repository.SlotArchiveRepo;
+import com.esport.EsportTournament.repository.SlotRepo;
+import com.esport.EsportTournament.repository.TournamentResultRepository;
+import com.esport.EsportTournament.service.SlotService;
+import com.esport.EsportTournament.service.TournamentService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TournamentService entity → DTO mapping, including the rules JSON parse.
+ * mapToDTO runs against in-memory slot and result lists of the given size, so the number
+ * covers the mapping work but not the queries behind it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TournamentMappingBenchmark {
+
+    @Param({ "0", "100" })
+    private int participants;
+
+    @Param({ "5" })
+    private int rules;
+
+    private TournamentService tournamentService;
+    private MethodHandle mapToDTO;
+    private MethodHandle mapToDTOSimple;
+    private MethodHandle mapToDTOSimpleWithCount;
+    private Tournaments tournament;
+
+    @Setup
+    public void setUp() {
+        tournament = new Tournaments();
+        tournament.setId(42);
+        tournament.setName("Weekend Cup");
+        tournament.setMapType("Erangel");
+        tournament.setStartTime(LocalDateTime.now().plusDays(1));
+        tournament.setEntryFees(50);
+        tournament.setPrizePool(5000);
+        tournament.setTeamSize("squad");
+        tournament.setMaxPlayers(Math.max(participants, 100));
+        tournament.setGame("BGMI");
+        tournament.setGameMode("Classic");
+        tournament.setStatus(Tournaments.TournamentStatus.UPCOMING);
+        tournament.setPerKillReward(10);
+        tournament.setFirstPrize(2500);
+        tournament.setSecondPrize(1500);
+        tournament.setThirdPrize(1000);
+        List<String> ruleList = new ArrayList<>();
+        for (int i = 1; i <= rules; i++) {
+            ruleList.add("\"Rule " + i + ": no emulators, no teaming, screenshots required on dispute\"");
+        }
+        tournament.setRules("[" + String.join(",", ruleList) + "]");
+
+        List<Slots> slots = new ArrayList<>();
+        List<TournamentResult> results = new ArrayList<>();
+        for (int i = 1; i <= participants; i++) {
+            Users user = new Users();
+            user.setFirebaseUserUID("uid-" + i);
+            Slots slot = new Slots();
+            slot.setId(i);
+            slot.setTournaments(tournament);
+            slot.setSlotNumber(i);
+            slot.setUser(user);
+            slot.setPlayerName("player" + i);
+            slot.setStatus(Slots.SlotStatus.BOOKED);
+            slot.setBookedAt(LocalDateTime.now());
+            slots.add(slot);
+            results.add(TournamentResult.builder()
+                    .playerName("player" + i).teamName("team" + (i / 4))
+                    .kills(i % 7).placement(i).coinsEarned(i % 7 * 10)
+                    .build());
+        }
+
+        SlotRepo slotRepo = BenchmarkStubs.repository(SlotRepo.class, Map.of("findByTournaments_Id", slots));
+        TournamentResultRepository resultRepository = BenchmarkStubs.repository(TournamentResultRepository.class,
+                Map.of("findByTournament_Id", results));
+        // Empty live slots fall through to the archive, as for an archived tournament
+        SlotArchiveRepo archiveRepo = BenchmarkStubs.repository(SlotArchiveRepo.class,
+                Map.of("findByTournamentIdOrderBySlotNumberAsc", List.of()));
+        SlotService slotService = new SlotService(slotRepo, archiveRepo, null, null, null, null, null, null, null, null,
+                null, null, null, null, null);
+        tournamentService = new TournamentService(null, resultRepository, null, slotRepo, slotService, null, null,
+                null, null, null, null);
+
+        mapToDTO = BenchmarkStubs.privateMethod(TournamentService.class, "mapToDTO",
+                TournamentsDTO.class, Tournaments.class);
+        mapToDTOSimple = BenchmarkStubs.privateMethod(TournamentService.class, "mapToDTOSimple",
+                TournamentsDTO.class, Tournaments.class);
+        mapToDTOSimpleWithCount = BenchmarkStubs.privateMethod(TournamentService.class, "mapToDTOSimple",
+                TournamentsDTO.class, Tournaments.class, long.class);
+    }
+
+    @Benchmark
+    public TournamentsDTO mapToDTO() throws Throwable {
+        return (TournamentsDTO) mapToDTO.invoke(tournamentService, tournament);
+    }
+
+    @Benchmark
+    public TournamentsDTO mapToDTOSimple() throws Throwable {
+        return (TournamentsDTO) mapToDTOSimple.invoke(tournamentService, tournament);
+    }
+
+    @Benchmark
+    public TournamentsDTO mapToDTOSimpleWithCount() throws Throwable {
+        return (TournamentsDTO) mapToDTOSimpleWithCount.invoke(tournamentService, tournament, (long) participants);
+    }
+}
@@ -0,0 +1,68 @@
+package com.esport.EsportTournament.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests get an access-log line.
+ * - Errors (status >= 400) and slow requests (>= slow-ms) are always logged
+ * - Other requests are logged at the sample rate of their route template
+ *   (route-sample-rates, e.g. "/api/tournaments=0.01,/api/users/me=0"), else the default rate
+ */
+@Component
+public class AccessLogSampler {
+
+    public static final String ERROR = "error";
+    public static final String SLOW = "slow";
+    public static final String SAMPLED = "sampled";
+
+    private final double defaultRate;
+    private final Map<String, Double> routeRates;
+    private final long slowMillis;
+
+    public AccessLogSampler(@Value("${app.logging.access.sample-rate:0.1}") double defaultRate,
+                            @Value("${app.logging.access.route-sample-rates:}") List<String> routeRates,
+                            @Value("${app.logging.access.slow-ms:1000}") long slowMillis) {
+        this.defaultRate = defaultRate;
+        this.routeRates = parse(routeRates);
+        this.slowMillis = slowMillis;
+    }
+
+    /**
+     * Why the request is logged (ERROR, SLOW or SAMPLED), or null to skip it.
+     */
+    public String sample(String route, int status, long durationMillis) {
+        if (status >= 400) {
+            return ERROR;
+        }
+        if (durationMillis >= slowMillis) {
+            return SLOW;
+        }
+        double rate = routeRates.getOrDefault(route, defaultRate);
+        if (rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate)) {
+            return SAMPLED;
+        }
+        return null;
+    }
+
+    private static Map<String, Double> parse(List<String> entries) {
+        Map<String, Double> rates = new HashMap<>();
+        for (String entry : entries) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            try {
+                rates.put(entry.substring(0, separator).trim(), Double.parseDouble(entry.substring(separator + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid access-log sample rate: " + entry, e);
+            }
+        }
+        return Map.copyOf(rates);
+    }
+}
@@ -0,0 +1,145 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.service.ResourceVersionService;
+import com.esport.EsportTournament.service.ResourceVersionService.Resource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * ETag / If-None-Match handling for polled catalog and config endpoints.
+ * The ETag is derived from the resource version only, so a matching request is
+ * answered 304 here, before the controller, any service or the database is reached.
+ * Otherwise the ETag is left on the request and {@link ConditionalGetResponseAdvice}
+ * sets it on successful responses only. Snapshot routes are served from
+ * {@link ResponseSnapshotCache} when a body was already rendered for the current ETag.
+ *
+ * Tournament lists also show booking counts and banners have start/end dates, neither of
+ * which bumps a version; their ETags additionally roll over every refresh interval.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+    static final String CACHE_CONTROL_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".cacheControl";
+    static final String SKIP_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".skip";
+    static final String ROUTE_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".route";
+
+    record Route(String tag, Resource resource, long refreshSeconds, CacheControl cacheControl, boolean snapshot) {
+    }
+
+    private final ResourceVersionService versionService;
+    private final ResponseSnapshotCache snapshotCache;
+    private final Map<String, Route> routes;
+
+    public ConditionalGetInterceptor(ResourceVersionService versionService, ResponseSnapshotCache snapshotCache,
+                                     @Value("${app.http.etag.tournaments-refresh-seconds:60}") long tournamentsRefresh,
+                                     @Value("${app.http.etag.banners-refresh-seconds:300}") long bannersRefresh,
+                                     @Value("${app.http.snapshots.enabled:true}") boolean snapshots) {
+        this.versionService = versionService;
+        this.snapshotCache = snapshotCache;
+        CacheControl revalidate = CacheControl.noCache().cachePublic();
+        this.routes = Map.of(
+                "/api/public/tournaments", new Route("pt", Resource.TOURNAMENTS, tournamentsRefresh, revalidate, snapshots),
+                "/api/public/tournaments/stats", new Route("pts", Resource.TOURNAMENTS, tournamentsRefresh, revalidate, snapshots),
+                "/api/public/stats", new Route("ps", Resource.TOURNAMENTS, tournamentsRefresh, revalidate, snapshots),
+                "/api/tournaments", new Route("t", Resource.TOURNAMENTS, tournamentsRefresh,
+                        CacheControl.noCache().cachePrivate(), false),
+                "/api/banners", new Route("b", Resource.BANNERS, bannersRefresh, revalidate, snapshots),
+                "/api/filters", new Route("f", Resource.APP_CONFIG, 0,
+                        CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic(), false),
+                "/api/app/version", new Route("v", Resource.APP_CONFIG, 0,
+                        CacheControl.maxAge(Duration.ofMinutes(2)).cachePublic(), false),
+                "/api/public/info", new Route("i", Resource.PLATFORM_INFO, 0, revalidate, false));
+    }
+
+    /**
+     * Paths this interceptor has to be registered for.
+     */
+    public String[] pathPatterns() {
+        return routes.keySet().toArray(String[]::new);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        Route route = routes.get(request.getRequestURI().substring(request.getContextPath().length()));
+        if (route == null) {
+            return true;
+        }
+
+        // Version is read before the controller loads data: a concurrent bump can only make
+        // the ETag older than the body, never newer
+        String etag = etag(route, System.currentTimeMillis());
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, route.cacheControl().getHeaderValue());
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        if (route.snapshot() && snapshotCache.writeIfPresent(route.tag(), etag, route.cacheControl(), request, response)) {
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        request.setAttribute(CACHE_CONTROL_ATTRIBUTE, route.cacheControl());
+        if (route.snapshot()) {
+            request.setAttribute(ROUTE_ATTRIBUTE, route.tag());
+        }
+        return true;
+    }
+
+    /**
+     * Keep the current response untagged, e.g. when a controller serves a fallback body.
+     */
+    public static void skipCurrentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(SKIP_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    String etag(Route route, long nowMillis) {
+        StringBuilder tag = new StringBuilder("\"").append(route.tag()).append('-')
+                .append(Long.toString(versionService.current(route.resource()), 36));
+        if (route.refreshSeconds() > 0) {
+            tag.append('-').append(Long.toString(nowMillis / 1000 / route.refreshSeconds(), 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Weak comparison as required for If-None-Match; compressed responses may have been re-tagged W/.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
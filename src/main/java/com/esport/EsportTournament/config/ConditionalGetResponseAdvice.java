@@ -0,0 +1,58 @@
+package com.esport.EsportTournament.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the ETag and Cache-Control computed by {@link ConditionalGetInterceptor} to
+ * successful responses, and hands bodies of snapshot routes to {@link ResponseSnapshotCache}.
+ * Errors and controller fallbacks are never tagged nor snapshotted, so a client
+ * cannot end up revalidating an error body.
+ */
+@ControllerAdvice
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ResponseSnapshotCache snapshotCache;
+
+    public ConditionalGetResponseAdvice(ResponseSnapshotCache snapshotCache) {
+        this.snapshotCache = snapshotCache;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        Object etag = httpRequest.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        if (etag == null || httpRequest.getAttribute(ConditionalGetInterceptor.SKIP_ATTRIBUTE) != null
+                || servletResponse.getServletResponse().getStatus() / 100 != 2) {
+            return body;
+        }
+        response.getHeaders().setETag((String) etag);
+        response.getHeaders().setCacheControl(
+                (CacheControl) httpRequest.getAttribute(ConditionalGetInterceptor.CACHE_CONTROL_ATTRIBUTE));
+        Object route = httpRequest.getAttribute(ConditionalGetInterceptor.ROUTE_ATTRIBUTE);
+        if (route != null && body != null) {
+            snapshotCache.store((String) route, (String) etag, body);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,187 @@
+package com.esport.EsportTournament.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application DataSource when bulkheads and/or read replicas are enabled.
+ *
+ * primary pool ─┐
+ * booking pool ─┼─ {@link WorkloadRoutingDataSource} ─┐
+ * analytics ────┤   (by {@link DbWorkload})            ├─ LazyConnectionDataSourceProxy (@Primary)
+ * scheduler ────┘                                      │
+ *                         {@link ReplicaRoutingDataSource} ─┘ read-only transactions, if replicas are on
+ *
+ * The primary pool is the one configured under spring.datasource, as before. Each pool is
+ * a separate Hikari pool exporting hikari.connections.* (acquire time, pending, timeouts)
+ * tagged with its pool name. The bulkheads are carved out of
+ * spring.datasource.hikari.maximum-pool-size: the primary pool keeps what they leave, so
+ * enabling them does not change how many connections an instance opens.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("${app.datasource.bulkheads.enabled:false} or ${app.datasource.replicas.enabled:false}")
+public class DataSourceRoutingConfig {
+
+    static final int MIN_PRIMARY_POOL_SIZE = 2;
+
+    @Value("${app.datasource.bulkheads.enabled:false}")
+    private boolean bulkheadsEnabled;
+
+    @Value("${app.datasource.bulkheads.booking.maximum-pool-size:4}")
+    private int bookingPoolSize;
+
+    @Value("${app.datasource.bulkheads.analytics.maximum-pool-size:2}")
+    private int analyticsPoolSize;
+
+    @Value("${app.datasource.bulkheads.analytics.connection-timeout-ms:5000}")
+    private long analyticsConnectionTimeout;
+
+    @Value("${app.datasource.bulkheads.analytics.init-sql:}")
+    private String analyticsInitSql;
+
+    @Value("${app.datasource.bulkheads.scheduler.maximum-pool-size:3}")
+    private int schedulerPoolSize;
+
+    @Value("${spring.task.scheduling.pool.size:1}")
+    private int schedulingThreads;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public WorkloadRoutingDataSource workloadRoutingDataSource(HikariDataSource primaryDataSource,
+                                                               MeterRegistry registry) {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        if (bulkheadsEnabled) {
+            int budget = primaryDataSource.getMaximumPoolSize();
+            int primarySize = budget - bookingPoolSize - analyticsPoolSize - schedulerPoolSize;
+            if (primarySize < MIN_PRIMARY_POOL_SIZE) {
+                throw new IllegalStateException(String.format(
+                        "Connection bulkheads (booking %d, analytics %d, scheduler %d) leave %d of the %d connections "
+                                + "in spring.datasource.hikari.maximum-pool-size for the primary pool; at least %d needed",
+                        bookingPoolSize, analyticsPoolSize, schedulerPoolSize, primarySize, budget,
+                        MIN_PRIMARY_POOL_SIZE));
+            }
+            // Scheduled jobs hold one connection per scheduling thread, the audit flusher one more
+            if (schedulerPoolSize < schedulingThreads + 1) {
+                log.warn("⚠️ Scheduler pool ({}) is smaller than its {} scheduling thread(s) plus the audit flusher",
+                        schedulerPoolSize, schedulingThreads);
+            }
+            primaryDataSource.setMaximumPoolSize(primarySize);
+            pools.put(Workload.BOOKING, pool(primaryDataSource, "booking", bookingPoolSize,
+                    primaryDataSource.getConnectionTimeout(), null, registry));
+            pools.put(Workload.ANALYTICS, pool(primaryDataSource, "analytics", analyticsPoolSize,
+                    analyticsConnectionTimeout, analyticsInitSql, registry));
+            pools.put(Workload.SCHEDULER, pool(primaryDataSource, "scheduler", schedulerPoolSize,
+                    primaryDataSource.getConnectionTimeout(), null, registry));
+            log.info("🧱 Connection bulkheads enabled out of {} connections: primary {}, booking {}, analytics {}, scheduler {}",
+                    budget, primarySize, bookingPoolSize, analyticsPoolSize, schedulerPoolSize);
+        }
+        return new WorkloadRoutingDataSource(primaryDataSource, pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                                 ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        ReadYourWritesTracker tracker = readYourWritesTracker.getIfAvailable();
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(
+                tracker != null ? tracker.trackWrites(workloadRoutingDataSource) : workloadRoutingDataSource);
+        ReplicaRoutingDataSource replicas = replicaRoutingDataSource.getIfAvailable();
+        if (replicas != null) {
+            proxy.setReadOnlyDataSource(replicas);
+        }
+        return proxy;
+    }
+
+    /**
+     * Binds the {@link DbWorkload} of the called method or class around the call. Ordered
+     * first so the workload is set before the transaction interceptor takes a connection.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor dbWorkloadAdvisor() {
+        Map<MethodClassKey, Workload> resolved = new ConcurrentHashMap<>();
+        MethodInterceptor interceptor = invocation -> {
+            Class<?> targetClass = invocation.getThis() != null
+                    ? AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+            Workload workload = resolved.computeIfAbsent(new MethodClassKey(invocation.getMethod(), targetClass),
+                    key -> resolve(AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass), targetClass));
+            Workload previous = Workload.enter(workload);
+            try {
+                return invocation.proceed();
+            } finally {
+                Workload.restore(previous);
+            }
+        };
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(DbWorkload.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(DbWorkload.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    private static Workload resolve(Method method, Class<?> targetClass) {
+        DbWorkload annotation = AnnotatedElementUtils.findMergedAnnotation(method, DbWorkload.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, DbWorkload.class);
+        }
+        return annotation != null ? annotation.value() : Workload.DEFAULT;
+    }
+
+    private static HikariDataSource pool(HikariDataSource primary, String name, int size, long connectionTimeout,
+                                         String initSql, MeterRegistry registry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(primary.getJdbcUrl());
+        pool.setUsername(primary.getUsername());
+        pool.setPassword(primary.getPassword());
+        pool.setDriverClassName(primary.getDriverClassName());
+        pool.setDataSourceProperties(primary.getDataSourceProperties());
+        pool.setMaximumPoolSize(size);
+        pool.setMinimumIdle(Math.min(1, size));
+        pool.setConnectionTimeout(connectionTimeout);
+        pool.setIdleTimeout(primary.getIdleTimeout());
+        pool.setMaxLifetime(primary.getMaxLifetime());
+        if (initSql != null && !initSql.isBlank()) {
+            pool.setConnectionInitSql(initSql);
+        }
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        return pool;
+    }
+}
@@ -0,0 +1,21 @@
+package com.esport.EsportTournament.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Draw database connections for this method (or every method of this class) from the
+ * given workload's pool. A method annotation overrides the class annotation.
+ * Applied around @Transactional, so the transaction's connection comes from that pool;
+ * calls joining an outer transaction keep the outer connection.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DbWorkload {
+
+    Workload value();
+}
@@ -0,0 +1,28 @@
+package com.esport.EsportTournament.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway migrates on startup unless app.flyway.migrate-on-start=false: the AppCDS training
+ * run of Dockerfile.cds (no database at build time) or deployments that migrate in a separate
+ * job. Checked at runtime because an AOT build fixes spring.flyway.enabled at build time.
+ */
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${app.flyway.migrate-on-start:true}") boolean migrateOnStart) {
+        return flyway -> {
+            if (!migrateOnStart) {
+                log.info("⏭️ Flyway migrations skipped (app.flyway.migrate-on-start=false)");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
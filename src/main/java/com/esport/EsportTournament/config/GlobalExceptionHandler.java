@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.config;
 
+import com.esport.EsportTournament.exception.IdempotencyKeyReusedException;
 import com.esport.EsportTournament.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -190,6 +191,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handle an Idempotency-Key reused with a different request body
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReusedException(
+            IdempotencyKeyReusedException ex, WebRequest request) {
+
+        log.warn("Idempotency key reused: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = createErrorResponse(
+                "IDEMPOTENCY_KEY_REUSED",
+                ex.getMessage(),
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
     /**
      * Handle data integrity violations (like unique constraint violations)
      */
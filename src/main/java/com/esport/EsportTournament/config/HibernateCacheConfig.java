@@ -0,0 +1,27 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.service.CacheInvalidationBroadcaster;
+import org.hibernate.cfg.CacheSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks {@link CacheInvalidationBroadcaster} into Hibernate's update-timestamps cache, the
+ * one place every table invalidation passes through. The remaining cache settings (regions,
+ * provider) stay in application.yml and hibernate-jcache.conf.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Bean
+    public CacheInvalidationBroadcaster.TimestampsFactory broadcastingTimestampsFactory() {
+        return new CacheInvalidationBroadcaster.TimestampsFactory();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer broadcastingTimestampsCustomizer(
+            CacheInvalidationBroadcaster.TimestampsFactory timestampsFactory) {
+        return properties -> properties.put(CacheSettings.QUERY_CACHE_FACTORY, timestampsFactory);
+    }
+}
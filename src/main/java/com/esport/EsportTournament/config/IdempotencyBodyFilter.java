@@ -0,0 +1,160 @@
+package com.esport.EsportTournament.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.server.RequestPath;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buffers the body of requests carrying an Idempotency-Key to an {@link Idempotent} endpoint, so
+ * {@link IdempotencyInterceptor} can hash it before the controller reads it. Bodies over
+ * max-body-bytes are refused with 413. Other requests, with or without the header, are passed
+ * through untouched.
+ */
+@Component
+public class IdempotencyBodyFilter extends OncePerRequestFilter {
+
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final int maxBodyBytes;
+
+    // Mappings of @Idempotent handler methods, collected on first use (handlers are registered
+    // after filters are created)
+    private volatile List<RequestMappingInfo> idempotentMappings;
+
+    public IdempotencyBodyFilter(@Lazy @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+                                 @Value("${app.idempotency.max-body-bytes:65536}") int maxBodyBytes) {
+        this.handlerMapping = handlerMapping;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(IdempotencyInterceptor.HEADER) == null || !isIdempotentRoute(request);
+    }
+
+    private boolean isIdempotentRoute(HttpServletRequest request) {
+        // Path patterns match against the parsed path, which DispatcherServlet has not cached yet
+        RequestPath previous = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+        ServletRequestPathUtils.parseAndCache(request);
+        try {
+            for (RequestMappingInfo mapping : idempotentMappings()) {
+                if (mapping.getMatchingCondition(request) != null) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(previous, request);
+        }
+    }
+
+    private List<RequestMappingInfo> idempotentMappings() {
+        List<RequestMappingInfo> mappings = idempotentMappings;
+        if (mappings == null) {
+            mappings = handlerMapping.getHandlerMethods().entrySet().stream()
+                    .filter(entry -> entry.getValue().hasMethodAnnotation(Idempotent.class))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            idempotentMappings = mappings;
+        }
+        return mappings;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE,
+                    "Requests with an " + IdempotencyInterceptor.HEADER + " are limited to " + maxBodyBytes + " bytes");
+            return;
+        }
+        chain.doFilter(new BufferedBodyRequest(request, body), response);
+    }
+
+    /**
+     * Request whose body has been read once and can be read again from memory.
+     */
+    static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        byte[] body() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Buffered body is read synchronously");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
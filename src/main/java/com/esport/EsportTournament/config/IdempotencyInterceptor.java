@@ -0,0 +1,113 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.service.IdempotencyService;
+import com.esport.EsportTournament.service.IdempotencyService.Claim;
+import com.esport.EsportTournament.service.IdempotencyService.Decision;
+import com.esport.EsportTournament.service.IdempotencyService.StoredResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Idempotency-Key handling for {@link Idempotent} endpoints.
+ * The key is scoped to the caller and the request line, so two users (or one key sent to two
+ * endpoints) never share a response, and carries a hash of the body buffered by
+ * {@link IdempotencyBodyFilter}, so a key reused with another body is a 422. A replay or a
+ * duplicate that waited for the first request is answered here with the stored status and body, before the controller, the booking locks
+ * or the database are reached. The first request runs normally; {@link IdempotencyResponseAdvice}
+ * stores its successful body, and any other outcome releases the key in afterCompletion.
+ * Requests without the header are not affected.
+ */
+@Component
+public class IdempotencyInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final String CLAIM_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".claim";
+    static final String STORED_ATTRIBUTE = IdempotencyInterceptor.class.getName() + ".stored";
+
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9_.:-]+");
+
+    private final IdempotencyService idempotencyService;
+    private final int maxKeyLength;
+
+    public IdempotencyInterceptor(IdempotencyService idempotencyService,
+                                  @Value("${app.idempotency.max-key-length:128}") int maxKeyLength) {
+        this.idempotencyService = idempotencyService;
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod method) || !method.hasMethodAnnotation(Idempotent.class)) {
+            return true;
+        }
+        String key = request.getHeader(HEADER);
+        if (key == null || key.isBlank()) {
+            return true;
+        }
+        key = key.trim();
+        if (key.length() > maxKeyLength || !VALID_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException(HEADER + " must be 1-" + maxKeyLength
+                    + " characters of letters, digits, '-', '_', '.' or ':'");
+        }
+
+        Decision decision = idempotencyService.begin(scope(request) + key, IdempotencyService.hash(body(request)));
+        if (decision.replay() != null) {
+            writeReplay(decision.replay(), response);
+            return false;
+        }
+        if (decision.claim() != null) {
+            request.setAttribute(CLAIM_ATTRIBUTE, decision.claim());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object claim = request.getAttribute(CLAIM_ATTRIBUTE);
+        if (claim != null && request.getAttribute(STORED_ATTRIBUTE) == null) {
+            idempotencyService.release((Claim) claim);
+        }
+    }
+
+    /**
+     * Caller and request line, e.g. "uid:POST:/api/slots/book-next/42:".
+     */
+    static String scope(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String caller = authentication != null && authentication.getName() != null
+                ? authentication.getName() : "anonymous";
+        return caller + ':' + request.getMethod() + ':'
+                + request.getRequestURI().substring(request.getContextPath().length()) + ':';
+    }
+
+    private static byte[] body(HttpServletRequest request) {
+        IdempotencyBodyFilter.BufferedBodyRequest buffered =
+                WebUtils.getNativeRequest(request, IdempotencyBodyFilter.BufferedBodyRequest.class);
+        return buffered != null ? buffered.body() : new byte[0];
+    }
+
+    private static void writeReplay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        byte[] body = stored.body().getBytes(StandardCharsets.UTF_8);
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,64 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.service.IdempotencyService;
+import com.esport.EsportTournament.service.IdempotencyService.Claim;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Stores the successful JSON body of a request that claimed an Idempotency-Key in
+ * {@link IdempotencyInterceptor}, so retries replay it. Runs after the service call has
+ * committed and before the body is written, so a client that timed out still finds it.
+ * Error responses are not stored; the interceptor releases their key.
+ */
+@Slf4j
+@ControllerAdvice
+public class IdempotencyResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyResponseAdvice(IdempotencyService idempotencyService, ObjectMapper objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        HttpServletRequest httpRequest = servletRequest.getServletRequest();
+        Object claim = httpRequest.getAttribute(IdempotencyInterceptor.CLAIM_ATTRIBUTE);
+        int status = servletResponse.getServletResponse().getStatus();
+        if (claim == null || body == null || status / 100 != 2
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(selectedContentType)) {
+            return body;
+        }
+        try {
+            idempotencyService.complete((Claim) claim, status, objectMapper.writeValueAsString(body));
+            httpRequest.setAttribute(IdempotencyInterceptor.STORED_ATTRIBUTE, Boolean.TRUE);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not store idempotent response for {}: {}", httpRequest.getRequestURI(), e.getMessage());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,18 @@
+package com.esport.EsportTournament.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a write endpoint that honours the Idempotency-Key request header: a retry carrying the
+ * key of an earlier successful request gets that request's response instead of running again.
+ * See {@link IdempotencyInterceptor}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
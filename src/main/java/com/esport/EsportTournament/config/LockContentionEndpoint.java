@@ -0,0 +1,27 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.service.DistributedLockService;
+import com.esport.EsportTournament.util.TopKSketch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET /actuator/lockcontention — most contended distributed-lock keys of this instance
+ * (approximate, recent-weighted counts). Admin only, like /actuator/prometheus.
+ */
+@Component
+@Endpoint(id = "lockcontention")
+@RequiredArgsConstructor
+public class LockContentionEndpoint {
+
+    private final DistributedLockService lockService;
+
+    @ReadOperation
+    public List<TopKSketch.Entry> hotKeys() {
+        return lockService.hotKeys();
+    }
+}
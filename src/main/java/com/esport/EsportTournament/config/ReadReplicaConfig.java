@@ -0,0 +1,172 @@
+package com.esport.EsportTournament.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes {@link ReplicaRead} methods to read replicas.
+ * {@link DataSourceRoutingConfig} builds the application DataSource as a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the physical
+ * connection is fetched at the first statement, when the transaction's read-only flag is
+ * known, and read-only transactions draw it from {@link ReplicaRoutingDataSource}. That
+ * hands out replica connections only to transactions opened by {@link #replicaReadAdvisor};
+ * other read-only transactions, read-write transactions and everything outside a
+ * transaction (Flyway, schedulers) use the primary pools as before; so do reads that fall
+ * back from the replicas.
+ *
+ * Disabled unless app.datasource.replicas.enabled=true and replica URLs are set.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${app.datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${app.datasource.replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:12}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replicas.connection-timeout-ms:2000}")
+    private long replicaConnectionTimeout;
+
+    @Value("${app.datasource.replicas.max-lag-ms:2000}")
+    private long maxLagMillis;
+
+    @Value("${app.datasource.replicas.pin-ms:7000}")
+    private long pinMillis;
+
+    @Value("${app.datasource.replicas.lag-query:SELECT 0}")
+    private String lagQuery;
+
+    private ReplicaRoutingDataSource replicaRouting;
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(@Autowired(required = false) StringRedisTemplate redisTemplate) {
+        return new ReadYourWritesTracker(redisTemplate, pinMillis);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(WorkloadRoutingDataSource workloadRoutingDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReadYourWritesTracker tracker,
+                                                             MeterRegistry registry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(replicaUsername.isBlank() ? properties.determineUsername() : replicaUsername);
+            pool.setPassword(replicaPassword.isBlank() ? properties.determinePassword() : replicaPassword);
+            pool.setMaximumPoolSize(replicaPoolSize);
+            pool.setMinimumIdle(1);
+            pool.setConnectionTimeout(replicaConnectionTimeout);
+            pool.setReadOnly(true);
+            // Start even if the replica is down; the lag check keeps it out of rotation
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, pool));
+        }
+        log.info("📚 Read replica routing enabled: {} replica(s), max lag {}ms, read-your-writes pin {}ms",
+                replicas.size(), maxLagMillis, pinMillis);
+
+        replicaRouting = new ReplicaRoutingDataSource(workloadRoutingDataSource, replicas, tracker, lagQuery,
+                maxLagMillis, registry);
+        replicaRouting.checkReplicas();
+        return replicaRouting;
+    }
+
+    /**
+     * Runs {@link ReplicaRead} methods in a new read-only transaction marked for the replicas,
+     * with the session's cache mode set to IGNORE: the second-level and query caches are
+     * neither read nor filled, so replica results never outlive the lag. Ordered right after
+     * the {@link DbWorkload} advisor, ahead of @Transactional.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor replicaReadAdvisor(ObjectProvider<PlatformTransactionManager> transactionManager,
+                                             ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        MethodInterceptor interceptor = invocation -> {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                return invocation.proceed();
+            }
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager.getObject());
+            readOnly.setReadOnly(true);
+            Boolean previous = ReplicaRoutingDataSource.enterReplicaRead();
+            try {
+                return readOnly.execute(status -> {
+                    EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(
+                            entityManagerFactory.getObject());
+                    if (entityManager != null) {
+                        // Not GET: Hibernate puts a query cache miss under GET as well
+                        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                    }
+                    try {
+                        return invocation.proceed();
+                    } catch (RuntimeException | Error e) {
+                        throw e;
+                    } catch (Throwable e) {
+                        throw new UndeclaredThrowableException(e);
+                    }
+                });
+            } catch (UndeclaredThrowableException e) {
+                throw e.getUndeclaredThrowable();
+            } finally {
+                ReplicaRoutingDataSource.restore(previous);
+            }
+        };
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(ReplicaRead.class, true))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(ReplicaRead.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.health-check-ms:5000}", initialDelay = 5000)
+    public void checkReplicas() {
+        if (replicaRouting != null) {
+            replicaRouting.checkReplicas();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.esport.EsportTournament.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing: after a user's write transaction commits, that
+ * user's read-only transactions go to the primary for pin-ms (longer than the lag a
+ * replica is allowed to have).
+ * - The rest of the current request is pinned too, which also covers anonymous callers
+ * - Pins are kept locally and mirrored in Redis (if available) so a follow-up request
+ *   landing on another instance still sees the write
+ */
+@Slf4j
+public class ReadYourWritesTracker {
+
+    static final String KEY_PREFIX = "db:pin:";
+    static final String REQUEST_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".pinned";
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long pinMillis;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(StringRedisTemplate redisTemplate, long pinMillis) {
+        this.redisTemplate = redisTemplate;
+        this.pinMillis = pinMillis;
+    }
+
+    /**
+     * Wrap the primary pool so every read-write transaction that touches it pins its caller on commit.
+     */
+    public DataSource trackWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                writeStarted();
+                return connection;
+            }
+        };
+    }
+
+    /**
+     * True if reads of the current request or user must see the primary.
+     */
+    public boolean isPinned() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(user);
+        if (until != null) {
+            if (until > System.currentTimeMillis()) {
+                return true;
+            }
+            pinnedUntil.remove(user, until);
+        }
+        if (redisTemplate != null) {
+            try {
+                return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + user));
+            } catch (Exception e) {
+                log.debug("Read pin lookup failed for {}: {}", user, e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    void writeStarted() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (attributes != null) {
+                    attributes.setAttribute(REQUEST_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+                }
+                if (user != null) {
+                    pin(user);
+                }
+            }
+        });
+    }
+
+    void pin(String user) {
+        long now = System.currentTimeMillis();
+        if (pinnedUntil.size() > PURGE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+        pinnedUntil.put(user, now + pinMillis);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + user, "1", Duration.ofMillis(pinMillis));
+            } catch (Exception e) {
+                log.debug("Read pin write failed for {}: {}", user, e.getMessage());
+            }
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,23 @@
+package com.esport.EsportTournament.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Let this method's reads (or those of every method of this class) be served by a read
+ * replica, which may lag the primary by up to max-lag-ms. Only for reads that tolerate that:
+ * listings, history, reports. Nothing else is routed to replicas, however read-only it is.
+ * - Runs in a read-only transaction of its own; a call joining an outer transaction stays
+ *   on the outer connection
+ * - The session bypasses the second-level and query caches, so replica results are never
+ *   cached and do not outlive the lag
+ * Inert unless app.datasource.replicas.enabled=true (see {@link ReadReplicaConfig}).
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaRead {
+}
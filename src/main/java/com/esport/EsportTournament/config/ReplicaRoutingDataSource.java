@@ -0,0 +1,197 @@
+package com.esport.EsportTournament.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection source for read-only transactions.
+ * - Only transactions opened for {@link ReplicaRead} go to a replica; any other read-only
+ *   transaction (repository defaults, security lookups) stays on the primary
+ * - Round-robins over replicas whose last lag check succeeded within max-lag-ms
+ * - Falls back to the primary when the caller is pinned by {@link ReadYourWritesTracker},
+ *   when no replica is healthy, or when a replica refuses a connection (which also marks
+ *   it unhealthy until the next check)
+ * Lag is measured by {@link #checkReplicas()} with a configurable query returning seconds.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * One replica pool and its last observed state.
+     */
+    public static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+    }
+
+    private static final ThreadLocal<Boolean> REPLICA_READ = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker tracker;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter unmarkedReads;
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWritesTracker tracker,
+                                    String lagQuery, long maxLagMillis, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.tracker = tracker;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagMillis / 1000.0;
+
+        this.replicaReads = readCounter(registry, "replica", "healthy");
+        this.unmarkedReads = readCounter(registry, "primary", "unmarked");
+        this.pinnedReads = readCounter(registry, "primary", "pinned");
+        this.fallbackReads = readCounter(registry, "primary", "unavailable");
+        for (Replica replica : this.replicas) {
+            Gauge.builder("app.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name).baseUnit("seconds")
+                    .description("Replication lag at the last check (-1 when unreachable)")
+                    .register(registry);
+            Gauge.builder("app.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .description("1 while the replica receives read-only transactions")
+                    .register(registry);
+        }
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("app.datasource.reads")
+                .tag("target", target).tag("reason", reason)
+                .description("Read-only transactions by the pool that served them")
+                .register(registry);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Mark the current thread's read-only transactions as replica reads until {@link #restore(Boolean)}.
+     */
+    static Boolean enterReplicaRead() {
+        Boolean previous = REPLICA_READ.get();
+        REPLICA_READ.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restore(Boolean previous) {
+        if (previous == null) {
+            REPLICA_READ.remove();
+        } else {
+            REPLICA_READ.set(previous);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (REPLICA_READ.get() == null) {
+            unmarkedReads.increment();
+            return primary.getConnection();
+        }
+        if (tracker.isPinned()) {
+            pinnedReads.increment();
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                markUnhealthy(replica, e.getMessage());
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing uses the pools' configured credentials");
+    }
+
+    /**
+     * Measure every replica's lag and update which ones receive reads.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(5);
+                double lag;
+                try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                    lag = rs.next() ? rs.getDouble(1) : 0;
+                }
+                replica.lagSeconds = lag;
+                if (lag > maxLagSeconds) {
+                    markUnhealthy(replica, String.format("lag %.1fs above %.1fs", lag, maxLagSeconds));
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("✅ Replica {} receiving reads (lag {}s)", replica.name, lag);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = -1;
+                markUnhealthy(replica, e.getMessage());
+            }
+        }
+    }
+
+    private void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("⚠️ Replica {} removed from reads: {}", replica.name, reason);
+        } else {
+            log.debug("Replica {} still out of rotation: {}", replica.name, reason);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
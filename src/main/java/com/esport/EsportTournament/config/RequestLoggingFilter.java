@@ -6,12 +6,15 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 import java.util.UUID;
@@ -25,7 +28,11 @@ import java.util.UUID;
  * - httpPath:   /api/users/me, /api/tournaments, etc.
  * - userId:     Firebase UID extracted from X-User-Id header (if present)
  *
- * Also logs request start/end with duration in milliseconds.
+ * Each finished request may get one structured line on the "access" logger (JSON fields
+ * route, status, durationMs, sample; see logback-spring.xml). Errors and slow requests are
+ * always logged, other requests at their route's sample rate ({@link AccessLogSampler}).
+ * Error metrics are tagged with the matched route template, not the raw path, so
+ * /api/slots/17/cancel and /api/slots/18/cancel share one series.
  */
 @Slf4j
 @Component
@@ -33,12 +40,19 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RequestLoggingFilter implements Filter {
 
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
     private final MetricsService metricsService;
+    private final AccessLogSampler accessLogSampler;
 
     private static final String REQUEST_ID_KEY = "requestId";
     private static final String USER_ID_KEY = "userId";
     private static final String HTTP_METHOD_KEY = "httpMethod";
     private static final String HTTP_PATH_KEY = "httpPath";
+    private static final String ROUTE_KEY = "route";
+    private static final String STATUS_KEY = "status";
+    private static final String DURATION_KEY = "durationMs";
+    private static final String SAMPLE_KEY = "sample";
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
@@ -73,10 +87,6 @@ public class RequestLoggingFilter implements Filter {
         boolean isHealthCheck = path.contains("/actuator/") || path.equals("/health");
 
         try {
-            if (!isHealthCheck) {
-                log.info("→ {} {} (user={})", method, path, userId);
-            }
-
             chain.doFilter(request, response);
 
         } finally {
@@ -86,17 +96,15 @@ public class RequestLoggingFilter implements Filter {
 
             if (!isHealthCheck) {
                 int status = response.getStatus();
+                String route = route(request, status);
 
-                if (status >= 500) {
-                    log.error("← {} {} → {} ({}ms)", method, path, status, duration);
-                } else if (status >= 400) {
-                    log.warn("← {} {} → {} ({}ms)", method, path, status, duration);
-                } else {
-                    log.info("← {} {} → {} ({}ms)", method, path, status, duration);
+                String sample = accessLogSampler.sample(route, status, duration);
+                if (sample != null) {
+                    logAccess(route, status, duration, sample);
                 }
 
                 if (status >= 400) {
-                    metricsService.recordApiError(path, status, status >= 500 ? "server_error" : "client_error");
+                    metricsService.recordApiError(route, status, status >= 500 ? "server_error" : "client_error");
                 }
             }
 
@@ -108,6 +116,39 @@ public class RequestLoggingFilter implements Filter {
         }
     }
 
+    private void logAccess(String route, int status, long duration, String sample) {
+        MDC.put(ROUTE_KEY, route);
+        MDC.put(STATUS_KEY, String.valueOf(status));
+        MDC.put(DURATION_KEY, String.valueOf(duration));
+        MDC.put(SAMPLE_KEY, sample);
+        try {
+            if (status >= 500) {
+                accessLog.error("access");
+            } else if (status >= 400 || AccessLogSampler.SLOW.equals(sample)) {
+                accessLog.warn("access");
+            } else {
+                accessLog.info("access");
+            }
+        } finally {
+            MDC.remove(ROUTE_KEY);
+            MDC.remove(STATUS_KEY);
+            MDC.remove(DURATION_KEY);
+            MDC.remove(SAMPLE_KEY);
+        }
+    }
+
+    /**
+     * Handler pattern Spring MVC matched; requests that never reached a handler (unknown
+     * paths, rejected by security) share one bucket, as in http.server.requests.
+     */
+    static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return status == 404 ? "NOT_FOUND" : "UNKNOWN";
+    }
+
     private String resolveCurrentUserId(HttpServletRequest request) {
         String headerUserId = request.getHeader("X-User-Id");
         if (headerUserId != null && !headerUserId.isBlank()) {
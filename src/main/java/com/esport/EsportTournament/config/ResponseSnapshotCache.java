@@ -0,0 +1,170 @@
+package com.esport.EsportTournament.config;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON bodies of hot public endpoints, one snapshot per route.
+ * - A snapshot is stored together with the ETag it was rendered for; any version bump
+ *   or refresh roll-over changes the ETag, so a stale snapshot is simply never matched
+ * - Identity, gzip and brotli variants are encoded once per snapshot and written
+ *   straight to the response, skipping Jackson and Tomcat's per-request compression
+ */
+@Slf4j
+@Component
+public class ResponseSnapshotCache {
+
+    /**
+     * One rendered body and its pre-compressed variants (null when compression does not pay off).
+     */
+    record Snapshot(String etag, byte[] identity, byte[] gzip, byte[] brotli) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final boolean brotliAvailable;
+    private final Encoder.Parameters brotliParameters;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseSnapshotCache(ObjectMapper objectMapper, MeterRegistry registry,
+                                 @Value("${app.http.snapshots.brotli-quality:9}") int brotliQuality) {
+        this.objectMapper = objectMapper;
+        this.brotliAvailable = loadBrotli();
+        this.brotliParameters = new Encoder.Parameters().setQuality(brotliQuality).setMode(Encoder.Mode.TEXT);
+        this.hits = Counter.builder("app.http.snapshot.requests").tag("result", "hit")
+                .description("Responses served from pre-serialized snapshots").register(registry);
+        this.misses = Counter.builder("app.http.snapshot.requests").tag("result", "miss")
+                .description("Snapshot routes rendered by the controller").register(registry);
+    }
+
+    /**
+     * Write the snapshot of {@code route} if it was rendered for {@code etag}.
+     * Returns false when the controller has to render the body.
+     */
+    boolean writeIfPresent(String route, String etag, CacheControl cacheControl,
+                           HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Snapshot snapshot = snapshots.get(route);
+        if (snapshot == null || !snapshot.etag().equals(etag)) {
+            misses.increment();
+            return false;
+        }
+        hits.increment();
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] body = snapshot.identity();
+        String encoding = null;
+        if (snapshot.brotli() != null && accepts(acceptEncoding, "br")) {
+            body = snapshot.brotli();
+            encoding = "br";
+        } else if (snapshot.gzip() != null && accepts(acceptEncoding, "gzip")) {
+            body = snapshot.gzip();
+            encoding = "gzip";
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != null) {
+            // An explicit Content-Encoding also keeps Tomcat from compressing again
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+        return true;
+    }
+
+    /**
+     * Render and keep the body the controller just returned for {@code etag}.
+     */
+    void store(String route, String etag, Object body) {
+        Snapshot current = snapshots.get(route);
+        if (current != null && current.etag().equals(etag)) {
+            return;
+        }
+        try {
+            snapshots.put(route, render(etag, objectMapper.writeValueAsBytes(body)));
+        } catch (Exception e) {
+            log.warn("⚠️ Could not snapshot {}: {}", route, e.getMessage());
+        }
+    }
+
+    Snapshot render(String etag, byte[] identity) throws IOException {
+        byte[] gzip = gzip(identity);
+        byte[] brotli = brotliAvailable ? Encoder.compress(identity, brotliParameters) : null;
+        return new Snapshot(etag, identity,
+                gzip.length < identity.length ? gzip : null,
+                brotli != null && brotli.length < identity.length ? brotli : null);
+    }
+
+    static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * True if the Accept-Encoding header lists {@code coding} without q=0.
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            if (!tokens[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("⚠️ Brotli native library unavailable, snapshots are served as gzip only: {}", e.getMessage());
+            return false;
+        }
+    }
+}
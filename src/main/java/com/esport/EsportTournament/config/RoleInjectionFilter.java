@@ -24,6 +24,10 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Loads the Firebase user's roles into the SecurityContext (auto-creating unknown users).
+ * Per-request tracing is DEBUG; the access log line comes from {@link RequestLoggingFilter}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -40,27 +44,29 @@ public class RoleInjectionFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String requestURI = request.getRequestURI();
-        log.info("👤 RoleInjectionFilter processing: {}", requestURI);
+        log.debug("👤 RoleInjectionFilter processing: {}", requestURI);
 
         var authentication = SecurityContextHolder.getContext().getAuthentication();
-        log.info("🔍 Current authentication: {}", 
-            authentication != null ? authentication.getClass().getSimpleName() : "Null");
-        
-        if (authentication != null) {
-            log.info("🔍 Authentication principal type: {}", 
+        if (log.isDebugEnabled()) {
+            log.debug("🔍 Current authentication: {}",
+                authentication != null ? authentication.getClass().getSimpleName() : "Null");
+        }
+
+        if (authentication != null && log.isDebugEnabled()) {
+            log.debug("🔍 Authentication principal type: {}", 
                 authentication.getPrincipal() != null ? authentication.getPrincipal().getClass().getSimpleName() : "Null");
-            log.info("🔍 Is authenticated: {}", authentication.isAuthenticated());
+            log.debug("🔍 Is authenticated: {}", authentication.isAuthenticated());
         }
 
         // Only process if we have a Firebase authenticated user
         if (authentication != null && authentication.isAuthenticated() && authentication.getPrincipal() instanceof String firebaseUID) {
-            log.info("🔑 Processing roles for Firebase UID: {}", firebaseUID);
+            log.debug("🔑 Processing roles for Firebase UID: {}", firebaseUID);
 
             try {
                 // Try to fetch user from database
                 usersRepo.findByFirebaseUserUID(firebaseUID).ifPresentOrElse(
                         user -> {
-                            log.info("✅ User found in database: {} (Role: {}, Status: {})",
+                            log.debug("✅ User found in database: {} (Role: {}, Status: {})",
                                     user.getUserName(), user.getRole(), user.getStatus());
                             // User exists, assign roles
                             assignUserRoles(authentication, user, firebaseUID);
@@ -84,10 +90,10 @@ public class RoleInjectionFilter extends OncePerRequestFilter {
                 // Don't fail the request, just log the error
             }
         } else {
-            log.info("⚠️  No Firebase authentication found or not authenticated, skipping role injection");
+            log.debug("⚠️  No Firebase authentication found or not authenticated, skipping role injection");
         }
 
-        log.info("➡️  Role injection complete, proceeding to next filter");
+        log.debug("➡️  Role injection complete, proceeding to next filter");
         filterChain.doFilter(request, response);
     }
 
@@ -173,7 +179,7 @@ public class RoleInjectionFilter extends OncePerRequestFilter {
             authorities.add(new SimpleGrantedAuthority("ROLE_BANNED"));
         }
 
-        log.info("🎭 Assigned authorities {} to user {}", authorities, firebaseUID);
+        log.debug("🎭 Assigned authorities {} to user {}", authorities, firebaseUID);
 
         // Update authentication with roles
         var updatedAuth = new UsernamePasswordAuthenticationToken(
@@ -184,7 +190,7 @@ public class RoleInjectionFilter extends OncePerRequestFilter {
         updatedAuth.setDetails(authentication.getDetails());
 
         SecurityContextHolder.getContext().setAuthentication(updatedAuth);
-        log.info("🔒 Updated SecurityContext with roles for user: {}", firebaseUID);
+        log.debug("🔒 Updated SecurityContext with roles for user: {}", firebaseUID);
     }
 
     /**
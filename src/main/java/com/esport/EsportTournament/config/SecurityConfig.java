@@ -64,7 +64,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/v1/payments/qr/*").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/payments/qr").permitAll()
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
-                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**")
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics/**", "/actuator/lockcontention")
                                 .hasRole("ADMIN")
                         .requestMatchers("/ws/**").permitAll()
 
@@ -134,8 +134,9 @@ public class SecurityConfig {
         config.setAllowedOriginPatterns(allowedOrigins);
 
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-        config.setAllowedHeaders(Arrays.asList("*", "Authorization", "Content-Type", "ngrok-skip-browser-warning"));
-        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        config.setAllowedHeaders(Arrays.asList("*", "Authorization", "Content-Type", "ngrok-skip-browser-warning",
+                IdempotencyInterceptor.HEADER));
+        config.setExposedHeaders(Arrays.asList("Authorization", "Content-Type", IdempotencyInterceptor.REPLAYED_HEADER));
         config.setAllowCredentials(!containsWildcard);
         config.setMaxAge(3600L);
 
@@ -8,9 +8,15 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcConfig implements WebMvcConfigurer {
 
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+    private final IdempotencyInterceptor idempotencyInterceptor;
 
-    public WebMvcConfig(RateLimitInterceptor rateLimitInterceptor) {
+    public WebMvcConfig(RateLimitInterceptor rateLimitInterceptor,
+                        ConditionalGetInterceptor conditionalGetInterceptor,
+                        IdempotencyInterceptor idempotencyInterceptor) {
         this.rateLimitInterceptor = rateLimitInterceptor;
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+        this.idempotencyInterceptor = idempotencyInterceptor;
     }
 
     @Override
@@ -18,5 +24,13 @@ public class WebMvcConfig implements WebMvcConfigurer {
         // Apply rate limit primarily to all API endpoints to prevent brute forcing and spam
         registry.addInterceptor(rateLimitInterceptor)
                 .addPathPatterns("/api/**");
+
+        // Revalidation of polled catalog/config endpoints: 304 before the controller runs
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns(conditionalGetInterceptor.pathPatterns());
+
+        // Idempotency-Key replay for @Idempotent booking, payment and wallet writes
+        registry.addInterceptor(idempotencyInterceptor)
+                .addPathPatterns("/api/slots/**", "/api/transactions/**", "/api/wallets/**");
     }
 }
@@ -0,0 +1,51 @@
+package com.esport.EsportTournament.config;
+
+/**
+ * Workload classes with their own connection pool (see {@link WorkloadRoutingDataSource}).
+ * The current class is thread-bound: set by {@link DbWorkload} on service methods, or by
+ * {@link #run(Workload, Runnable)} for worker threads that do not go through a proxy.
+ */
+public enum Workload {
+
+    /** Everything not annotated: HTTP reads and writes outside the classes below. */
+    DEFAULT,
+    /** Slot booking and wallet operations; a reserved pool nobody else can drain. */
+    BOOKING,
+    /** Admin dashboards, earnings reports and exports; small pool with a statement timeout. */
+    ANALYTICS,
+    /** Scheduled jobs and background writers. */
+    SCHEDULER;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : DEFAULT;
+    }
+
+    /**
+     * Run {@code action} with connections drawn from {@code workload}'s pool.
+     */
+    public static void run(Workload workload, Runnable action) {
+        Workload previous = enter(workload);
+        try {
+            action.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
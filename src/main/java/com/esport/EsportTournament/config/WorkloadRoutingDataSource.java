@@ -0,0 +1,52 @@
+package com.esport.EsportTournament.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Bulkheads for the primary database: one pool per {@link Workload}, chosen by the
+ * workload bound to the calling thread. Workloads without a pool of their own use the
+ * default pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final DataSource defaultPool;
+    private final Map<Workload, DataSource> pools;
+
+    public WorkloadRoutingDataSource(DataSource defaultPool, Map<Workload, DataSource> pools) {
+        this.defaultPool = defaultPool;
+        this.pools = pools.isEmpty() ? new EnumMap<>(Workload.class) : new EnumMap<>(pools);
+    }
+
+    /**
+     * Pool serving the current thread's workload.
+     */
+    public DataSource currentPool() {
+        return pools.getOrDefault(Workload.current(), defaultPool);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return currentPool().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Workload pools use their configured credentials");
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool != defaultPool && pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -7,8 +7,13 @@ import com.esport.EsportTournament.service.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -16,6 +21,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -35,7 +41,10 @@ public class AdminController {
     private final NotificationService notificationService;
     private final SlotService slotService;
     private final AuditLogService auditLogService;
+    private final ExportService exportService;
+    private final ArchiveService archiveService;
     private static final int MAX_PAGE_SIZE = 100;
+    private static final int MIN_ARCHIVE_AGE_DAYS = 7;
 
     // ================= DASHBOARD & ANALYTICS =================
 
@@ -315,7 +324,7 @@ public class AdminController {
 
         try {
             TournamentsDTO tournament = tournamentService.getTournamentById(tournamentId);
-            Map<String, Object> slotSummary = slotService.getSlotSummary(tournamentId);
+            Map<String, Object> slotSummary = slotService.getSlotCounts(tournamentId);
 
             // Calculate revenue and participation metrics
             long bookedSlots = (long) slotSummary.get("bookedCount");
@@ -560,12 +569,16 @@ public class AdminController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(required = false) String action,
-            @RequestParam(required = false) String adminId) {
+            @RequestParam(required = false) String adminId,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(
+                    iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime from,
+            @RequestParam(required = false) @org.springframework.format.annotation.DateTimeFormat(
+                    iso = org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime to) {
 
         try {
-            // Use adminId as userId filter if provided
+            // Use adminId as userId filter if provided; without from/to, the last audit-lookback-days
             org.springframework.data.domain.Page<com.esport.EsportTournament.model.AuditLog> logsPage = auditLogService
-                    .getLogs(page, size, action, adminId);
+                    .getLogs(page, size, action, adminId, from, to);
 
             Map<String, Object> response = Map.of(
                     "content", logsPage.getContent(),
@@ -677,7 +690,7 @@ public class AdminController {
     // ================= BULK OPERATIONS =================
 
     /**
-     * Export data for backup or analysis
+     * Queue an export job (users, transactions, wallet_ledger, slots, audit_logs)
      */
     @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
     @PostMapping("/export")
@@ -688,24 +701,17 @@ public class AdminController {
         String adminUID = getAuthenticatedUserUID(authentication);
         @SuppressWarnings("unchecked")
         List<String> dataTypes = (List<String>) request.get("dataTypes");
-        String format = (String) request.get("format"); // JSON, CSV, etc.
+        String format = (String) request.get("format"); // NDJSON (JSON) or CSV
 
         log.info("Admin {} initiating data export for types: {} in format: {}", adminUID, dataTypes, format);
 
         try {
-            // In a real implementation, you'd generate actual export files
-            String exportId = "EXP_" + System.currentTimeMillis();
-
-            Map<String, Object> exportInfo = Map.of(
-                    "exportId", exportId,
-                    "status", "IN_PROGRESS",
-                    "dataTypes", dataTypes,
-                    "format", format,
-                    "initiatedBy", adminUID,
-                    "initiatedAt", LocalDateTime.now(),
-                    "estimatedCompletion", LocalDateTime.now().plusMinutes(5));
-
-            return ResponseEntity.accepted().body(exportInfo);
+            ExportService.ExportJob job = exportService.submit(dataTypes, format, adminUID);
+            return ResponseEntity.accepted().body(exportService.describe(job));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error initiating data export", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -714,7 +720,56 @@ public class AdminController {
     }
 
     /**
-     * Clean up old data
+     * List export jobs with progress
+     */
+    @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
+    @GetMapping("/export")
+    public ResponseEntity<List<Map<String, Object>>> listExports() {
+        return ResponseEntity.ok(exportService.listJobs().stream()
+                .map(exportService::describe)
+                .toList());
+    }
+
+    /**
+     * Export job status, progress and throughput
+     */
+    @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
+    @GetMapping("/export/{exportId}")
+    public ResponseEntity<Map<String, Object>> getExportStatus(@PathVariable String exportId) {
+        return ResponseEntity.ok(exportService.describe(exportService.getJob(exportId)));
+    }
+
+    /**
+     * Cancel a queued or running export
+     */
+    @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
+    @DeleteMapping("/export/{exportId}")
+    public ResponseEntity<Map<String, Object>> cancelExport(@PathVariable String exportId) {
+        exportService.cancel(exportId);
+        return ResponseEntity.ok(exportService.describe(exportService.getJob(exportId)));
+    }
+
+    /**
+     * Download one exported file. Range requests are honoured, so interrupted
+     * downloads can be resumed.
+     */
+    @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
+    @GetMapping("/export/{exportId}/download/{dataType}")
+    public ResponseEntity<Resource> downloadExport(
+            @PathVariable String exportId,
+            @PathVariable String dataType) {
+
+        Path file = exportService.getFile(exportId, dataType);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(new FileSystemResource(file));
+    }
+
+    /**
+     * Archive old data (finished tournaments with their slots/results, audit logs)
      */
     @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
     @PostMapping("/cleanup")
@@ -730,18 +785,20 @@ public class AdminController {
         log.warn("Admin {} initiating cleanup of data older than {} days for types: {}",
                 adminUID, daysOld, dataTypes);
 
-        try {
-            // In a real implementation, you'd perform actual cleanup
-            Map<String, Object> cleanupResult = Map.of(
-                    "cleanupId", "CLN_" + System.currentTimeMillis(),
-                    "status", "COMPLETED",
-                    "itemsProcessed", 1500,
-                    "itemsDeleted", 150,
-                    "spaceSaved", "45.2 MB",
-                    "executedBy", adminUID,
-                    "executedAt", LocalDateTime.now());
+        if (daysOld == null || daysOld < MIN_ARCHIVE_AGE_DAYS) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "daysOld must be at least " + MIN_ARCHIVE_AGE_DAYS));
+        }
 
+        Set<String> types = dataTypes == null || dataTypes.isEmpty()
+                ? Set.of(ArchiveService.TOURNAMENTS, ArchiveService.AUDIT_LOGS)
+                : dataTypes.stream().map(t -> t.trim().toUpperCase()).collect(java.util.stream.Collectors.toSet());
+
+        try {
+            Map<String, Object> cleanupResult = archiveService.archive(types, daysOld, daysOld, adminUID);
             return ResponseEntity.ok(cleanupResult);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             log.error("Error during data cleanup", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -749,6 +806,15 @@ public class AdminController {
         }
     }
 
+    /**
+     * Result of the most recent archival run
+     */
+    @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
+    @GetMapping("/cleanup/last")
+    public ResponseEntity<Map<String, Object>> getLastCleanup() {
+        return ResponseEntity.ok(archiveService.getLastRun());
+    }
+
     // ================= HELPER METHODS =================
 
     private String getAuthenticatedUserUID(Authentication authentication) {
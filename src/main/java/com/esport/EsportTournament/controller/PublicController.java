@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.controller;
 
+import com.esport.EsportTournament.config.ConditionalGetInterceptor;
 import com.esport.EsportTournament.dto.TournamentsDTO;
 import com.esport.EsportTournament.service.PlatformConfigService;
 import com.esport.EsportTournament.service.TournamentService;
@@ -38,6 +39,7 @@ public class PublicController {
             return ResponseEntity.ok(upcomingTournaments);
         } catch (Exception e) {
             log.error("Error fetching public tournaments", e);
+            ConditionalGetInterceptor.skipCurrentRequest();
             return ResponseEntity.ok(List.of()); // Return empty list instead of error
         }
     }
@@ -63,6 +65,7 @@ public class PublicController {
             return ResponseEntity.ok(publicStats);
         } catch (Exception e) {
             log.error("Error fetching public tournament stats", e);
+            ConditionalGetInterceptor.skipCurrentRequest();
             return ResponseEntity.ok(Map.of(
                     "totalTournaments", 0,
                     "upcomingTournaments", 0,
@@ -132,6 +135,7 @@ public class PublicController {
             return ResponseEntity.ok(publicStats);
         } catch (Exception e) {
             log.error("Error fetching public platform stats", e);
+            ConditionalGetInterceptor.skipCurrentRequest();
             return ResponseEntity.ok(Map.of(
                     "activeUsers", 0,
                     "totalTournaments", 0,
@@ -182,6 +186,7 @@ public class PublicController {
             return ResponseEntity.ok(info);
         } catch (Exception e) {
             log.error("Error fetching platform info", e);
+            ConditionalGetInterceptor.skipCurrentRequest();
             // Return default info
             Map<String, Object> defaultInfo = new HashMap<>();
             defaultInfo.put("name", "ESport Tournament Platform");
@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.controller;
 
+import com.esport.EsportTournament.config.Idempotent;
 import com.esport.EsportTournament.dto.SlotsDTO;
 import com.esport.EsportTournament.dto.TeamBookingRequestDTO;
 import com.esport.EsportTournament.service.SlotService;
@@ -28,6 +29,7 @@ public class SlotsController {
      * Book specific slot for tournament
      * POST /api/slots/book
      */
+    @Idempotent
     @PostMapping("/book")
     public ResponseEntity<SlotsDTO> bookSlot(
             @Valid @RequestBody SlotsDTO slotRequest,
@@ -51,6 +53,7 @@ public class SlotsController {
         return ResponseEntity.ok(bookedSlot);
     }
 
+    @Idempotent
     @PostMapping("/book-team")
     public ResponseEntity<List<SlotsDTO>> bookTeamSlots(
         @Valid @RequestBody TeamBookingRequestDTO req,
@@ -67,6 +70,7 @@ public class SlotsController {
      * Book next available slot for tournament
      * POST /api/slots/book-next/{tournamentId}
      */
+    @Idempotent
     @PostMapping("/book-next/{tournamentId}")
     public ResponseEntity<SlotsDTO> bookNextAvailableSlot(
             @PathVariable int tournamentId,
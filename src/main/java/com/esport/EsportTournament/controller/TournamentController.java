@@ -1,10 +1,12 @@
 package com.esport.EsportTournament.controller;
 
 import com.esport.EsportTournament.dto.TournamentFilterDTO;
+import com.esport.EsportTournament.dto.TournamentPayoutDTO;
 import com.esport.EsportTournament.dto.TournamentsDTO;
 import com.esport.EsportTournament.dto.UpdateGameCredentials;
 import com.esport.EsportTournament.model.Tournaments;
 import com.esport.EsportTournament.service.MetricsService;
+import com.esport.EsportTournament.service.PayoutService;
 import com.esport.EsportTournament.service.TournamentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +25,7 @@ public class TournamentController {
 
     private final TournamentService tournamentService;
     private final MetricsService metricsService;
+    private final PayoutService payoutService;
     private final com.esport.EsportTournament.repository.SlotRepo slotRepo;
 
     @PreAuthorize("hasAuthority('PERM_MANAGE_TOURNAMENTS')")
@@ -138,6 +141,24 @@ public class TournamentController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Credit prizes and per-kill rewards from the recorded results (idempotent)
+     * POST /api/tournaments/{id}/payout
+     */
+    @PreAuthorize("hasAuthority('PERM_MANAGE_TOURNAMENTS')")
+    @PostMapping("/{id}/payout")
+    public ResponseEntity<TournamentPayoutDTO> payoutTournament(@PathVariable int id, Authentication authentication) {
+        return ResponseEntity.ok(payoutService.payoutTournament(id, authentication.getName()));
+    }
+
+    @PreAuthorize("hasAuthority('PERM_MANAGE_TOURNAMENTS')")
+    @GetMapping("/{id}/payout")
+    public ResponseEntity<TournamentPayoutDTO> getPayout(@PathVariable int id) {
+        return payoutService.getPayout(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PreAuthorize("hasAuthority('PERM_VIEW_ANALYTICS')")
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getTournamentStats() {
@@ -0,0 +1,86 @@
+package com.esport.EsportTournament.controller;
+
+import com.esport.EsportTournament.dto.TournamentTemplateDTO;
+import com.esport.EsportTournament.service.TournamentTemplateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/tournament-templates")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('PERM_MANAGE_TOURNAMENTS')")
+public class TournamentTemplateController {
+
+    private final TournamentTemplateService templateService;
+
+    /**
+     * GET /api/admin/tournament-templates
+     */
+    @GetMapping
+    public ResponseEntity<List<TournamentTemplateDTO>> getTemplates() {
+        return ResponseEntity.ok(templateService.getTemplates());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TournamentTemplateDTO> getTemplate(@PathVariable int id) {
+        return ResponseEntity.ok(templateService.getTemplate(id));
+    }
+
+    /**
+     * POST /api/admin/tournament-templates
+     */
+    @PostMapping
+    public ResponseEntity<TournamentTemplateDTO> createTemplate(@RequestBody TournamentTemplateDTO dto,
+                                                                Authentication authentication) {
+        log.info("Admin creating tournament template: {}", dto.getName());
+        TournamentTemplateDTO created = templateService.createTemplate(dto, authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * PUT /api/admin/tournament-templates/{id}
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<TournamentTemplateDTO> updateTemplate(@PathVariable int id,
+                                                                @RequestBody TournamentTemplateDTO dto) {
+        return ResponseEntity.ok(templateService.updateTemplate(id, dto));
+    }
+
+    /**
+     * Deactivate (already created tournaments are kept)
+     * DELETE /api/admin/tournament-templates/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> deactivateTemplate(@PathVariable int id) {
+        templateService.deactivateTemplate(id);
+        return ResponseEntity.ok(Map.of("message", "Template deactivated"));
+    }
+
+    /**
+     * Create the next N days of tournaments for all active templates now
+     * POST /api/admin/tournament-templates/materialize?days=7
+     */
+    @PostMapping("/materialize")
+    public ResponseEntity<Map<String, Object>> materialize(@RequestParam(defaultValue = "7") int days,
+                                                           Authentication authentication) {
+        try {
+            return ResponseEntity.ok(templateService.materializeUpcoming(days, authentication.getName()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/materialize/last")
+    public ResponseEntity<Map<String, Object>> lastRun() {
+        return ResponseEntity.ok(templateService.getLastRun());
+    }
+}
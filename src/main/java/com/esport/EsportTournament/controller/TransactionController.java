@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.controller;
 
+import com.esport.EsportTournament.config.Idempotent;
 import com.esport.EsportTournament.dto.CustomRequestDTO;
 import com.esport.EsportTournament.dto.DepositRequestDTO;
 import com.esport.EsportTournament.dto.TransactionTableDTO;
@@ -32,6 +33,7 @@ public class TransactionController {
      * Create deposit request
      * POST /api/transactions/deposit
      */
+    @Idempotent
     @PostMapping("/deposit")
     public ResponseEntity<TransactionTableDTO> createDepositRequest(
             @Valid @RequestBody DepositRequestDTO depositRequestDTO,
@@ -53,6 +55,7 @@ public class TransactionController {
      * Create withdrawal request
      * POST /api/transactions/withdraw
      */
+    @Idempotent
     @PostMapping("/withdraw")
     public ResponseEntity<TransactionTableDTO> createWithdrawalRequest(
             @RequestBody WithdrawRequestDTO request,
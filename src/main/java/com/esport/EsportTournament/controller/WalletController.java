@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.controller;
 
+import com.esport.EsportTournament.config.Idempotent;
 import com.esport.EsportTournament.dto.WalletDTO;
 import com.esport.EsportTournament.dto.WalletLedgerDTO;
 import com.esport.EsportTournament.service.WalletService;
@@ -26,6 +27,7 @@ public class WalletController {
     }
 
     @PreAuthorize("hasAuthority('PERM_MANAGE_WALLET')")
+    @Idempotent
     @PostMapping("/{firebaseUID}")
     public ResponseEntity<WalletDTO> createWallet(@PathVariable String firebaseUID) {
         return ResponseEntity.status(201).body(walletService.createWalletForUser(firebaseUID));
@@ -45,6 +47,7 @@ public class WalletController {
     }
 
     @PreAuthorize("hasAuthority('PERM_MANAGE_WALLET')")
+    @Idempotent
     @PostMapping("/{firebaseUID}/add")
     public ResponseEntity<WalletDTO> addCoins(
             @PathVariable String firebaseUID,
@@ -65,6 +68,7 @@ public class WalletController {
     }
 
     @PreAuthorize("hasAuthority('PERM_MANAGE_WALLET')")
+    @Idempotent
     @PostMapping("/transfer")
     public ResponseEntity<Map<String, String>> transferCoins(
             @RequestBody Map<String, Object> request,
@@ -103,6 +107,7 @@ public class WalletController {
     }
 
     @PreAuthorize("hasAuthority('PERM_MANAGE_WALLET')")
+    @Idempotent
     @PostMapping("/{firebaseUID}/deduct")
     public ResponseEntity<WalletDTO> deductCoins(
             @PathVariable String firebaseUID,
@@ -0,0 +1,23 @@
+package com.esport.EsportTournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentPayoutDTO {
+    private String payoutId;
+    private int tournamentId;
+    private int resultCount;
+    private int recipients;
+    private long totalCoins;
+    private long durationMs;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    // false when this call found an existing payout and credited nothing
+    private boolean newlyCredited;
+}
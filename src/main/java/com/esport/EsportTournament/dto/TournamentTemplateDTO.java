@@ -0,0 +1,43 @@
+package com.esport.EsportTournament.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TournamentTemplateDTO {
+    private int id;
+    private String name;
+    private String game;
+    private String gameMode;
+    private String map;
+    private String teamSize;
+    private int maxPlayers;
+    private int entryFee;
+    private int prizePool;
+    private Integer perKillReward;
+    private Integer firstPrize;
+    private Integer secondPrize;
+    private Integer thirdPrize;
+    private List<String> rules = new ArrayList<>();
+    private String imageLink;
+    private String streamUrl;
+
+    // Spring cron, e.g. "0 0 18 * * *" for every day at 18:00
+    private String recurrence;
+
+    @JsonProperty("isActive")
+    private boolean isActive = true;
+
+    private LocalDateTime materializedUntil;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.esport.EsportTournament.exception;
+
+/**
+ * An Idempotency-Key was sent again with a different request body.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
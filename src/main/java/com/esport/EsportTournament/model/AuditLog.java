@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq_gen")
+    @SequenceGenerator(name = "audit_logs_seq_gen", sequenceName = "audit_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class NotificationRead {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_reads_seq_gen")
+    @SequenceGenerator(name = "notification_reads_seq_gen", sequenceName = "notification_reads_id_seq", allocationSize = 50)
     private int id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
       // hashCode
 public class Notifications {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq_gen")
+    @SequenceGenerator(name = "notifications_seq_gen", sequenceName = "notifications_id_seq", allocationSize = 50)
     private int id;
 
     private String title;
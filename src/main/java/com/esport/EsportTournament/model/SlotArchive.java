@@ -0,0 +1,45 @@
+package com.esport.EsportTournament.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only copy of a slot that belonged to an archived tournament.
+ * Rows are moved here in bulk by ArchiveService.
+ */
+@Entity
+@Immutable
+@Table(name = "slots_archive")
+@Getter
+@NoArgsConstructor
+public class SlotArchive {
+
+    @Id
+    private int id;
+
+    @Column(name = "tournament_id", nullable = false)
+    private int tournamentId;
+
+    @Column(name = "slot_number", nullable = false)
+    private int slotNumber;
+
+    @Column(name = "firebase_useruid", length = 128)
+    private String firebaseUserUID;
+
+    @Column(name = "player_name")
+    private String playerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Slots.SlotStatus status;
+
+    @Column(name = "booked_at")
+    private LocalDateTime bookedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
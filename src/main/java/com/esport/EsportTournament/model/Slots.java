@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 // Slot Object creating and assign to tournament Object id in tournament id linkage
 public class Slots {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "slots_seq_gen")
+    @SequenceGenerator(name = "slots_seq_gen", sequenceName = "slots_id_seq", allocationSize = 50)
     private int id;
 
     @ManyToOne
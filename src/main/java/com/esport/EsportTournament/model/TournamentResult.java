@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class TournamentResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tournament_results_seq_gen")
+    @SequenceGenerator(name = "tournament_results_seq_gen", sequenceName = "tournament_results_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,64 @@
+package com.esport.EsportTournament.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only copy of a tournament result that belonged to an archived tournament.
+ */
+@Entity
+@Immutable
+@Table(name = "tournament_results_archive")
+@Getter
+@NoArgsConstructor
+public class TournamentResultArchive {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "tournament_id", nullable = false)
+    private Tournaments tournament;
+
+    @Column(name = "firebase_user_uid", nullable = false)
+    private String firebaseUserUID;
+
+    @Column(name = "player_name")
+    private String playerName;
+
+    @Column(name = "team_name")
+    private String teamName;
+
+    private int kills;
+    private int placement;
+
+    @Column(name = "coins_earned")
+    private int coinsEarned;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * View as a regular result so history endpoints don't care where it came from.
+     */
+    public TournamentResult toResult() {
+        return TournamentResult.builder()
+                .id(id)
+                .tournament(tournament)
+                .firebaseUserUID(firebaseUserUID)
+                .playerName(playerName)
+                .teamName(teamName)
+                .kills(kills)
+                .placement(placement)
+                .coinsEarned(coinsEarned)
+                .createdAt(createdAt)
+                .build();
+    }
+}
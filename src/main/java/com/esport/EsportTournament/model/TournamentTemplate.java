@@ -0,0 +1,98 @@
+package com.esport.EsportTournament.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Blueprint for recurring tournaments. {@code recurrence} is a Spring cron
+ * expression (second minute hour day month weekday) giving each start time.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "tournament_templates")
+public class TournamentTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int id;
+
+    private String name;
+    private String game;
+
+    @Column(name = "game_mode")
+    private String gameMode;
+
+    @Column(name = "map_type")
+    private String mapType;
+
+    @Column(name = "team_size", length = 20, nullable = false)
+    private String teamSize;
+
+    @Column(name = "max_players")
+    private int maxPlayers;
+
+    @Column(name = "entry_fees")
+    private int entryFees;
+
+    @Column(name = "prize_pool")
+    private int prizePool;
+
+    @Column(name = "per_kill_reward")
+    private Integer perKillReward;
+
+    @Column(name = "first_prize")
+    private Integer firstPrize;
+
+    @Column(name = "second_prize")
+    private Integer secondPrize;
+
+    @Column(name = "third_prize")
+    private Integer thirdPrize;
+
+    // Rules stored as JSON array string, copied verbatim to each tournament
+    @Column(name = "rules", columnDefinition = "TEXT")
+    private String rules;
+
+    @Column(name = "image_link")
+    private String imageLink;
+
+    @Column(name = "stream_url")
+    private String streamUrl;
+
+    @Column(name = "recurrence", length = 100, nullable = false)
+    private String recurrence;
+
+    @Column(name = "is_active")
+    private boolean isActive = true;
+
+    // Latest start time already expanded into tournaments
+    @Column(name = "materialized_until")
+    private LocalDateTime materializedUntil;
+
+    @Column(name = "created_by")
+    private String createdBy;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
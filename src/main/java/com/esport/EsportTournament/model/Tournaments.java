@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -74,6 +75,19 @@ public class Tournaments {
     @Column(name = "stream_url")
     private String streamUrl;
 
+    // Set once slots/results have been moved to the archive tables
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    // Recurring template this tournament was generated from (null for hand-made ones)
+    @Column(name = "template_id")
+    private Integer templateId;
+
+    // Maintained with SQL by SlotCounterService; never written back from the entity
+    @ColumnDefault("0")
+    @Column(name = "booked_count", nullable = false, insertable = false, updatable = false)
+    private int bookedCount;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
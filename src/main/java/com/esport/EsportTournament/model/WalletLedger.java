@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class WalletLedger {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wallet_ledger_seq_gen")
+    @SequenceGenerator(name = "wallet_ledger_seq_gen", sequenceName = "wallet_ledger_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
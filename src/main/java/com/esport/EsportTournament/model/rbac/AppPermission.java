@@ -2,6 +2,8 @@ package com.esport.EsportTournament.model.rbac;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -10,6 +12,8 @@ import lombok.*;
 @Builder
 @Entity
 @Table(name = "app_permissions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "app_permission")
 public class AppPermission {
 
     @Id
@@ -1,12 +1,16 @@
 package com.esport.EsportTournament.repository;
 
 import com.esport.EsportTournament.model.AppConfig;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface AppConfigRepository extends JpaRepository<AppConfig, Integer> {
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_app_config")})
     Optional<AppConfig> findByConfigKey(String configKey);
 }
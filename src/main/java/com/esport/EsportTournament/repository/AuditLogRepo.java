@@ -1,13 +1,18 @@
 package com.esport.EsportTournament.repository;
 
 import com.esport.EsportTournament.model.AuditLog;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -19,20 +24,37 @@ import org.springframework.data.domain.Pageable;
 @Repository
 public interface AuditLogRepo extends JpaRepository<AuditLog, Long> {
 
-    /**
-     * Find recent logs by category
-     */
-    List<AuditLog> findTop100ByCategoryOrderByTimestampDesc(String category);
+    // ========== TIME-BOUNDED (partition-pruned) QUERIES ==========
+    // Windows are [from, to); see MonthlyWindows for the month-by-month list reads
 
-    /**
-     * Find recent logs by user
-     */
-    List<AuditLog> findTop100ByUserIdOrderByTimestampDesc(String userId);
+    List<AuditLog> findByCategoryAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
+            String category, LocalDateTime from, LocalDateTime to, Limit limit);
 
-    /**
-     * Find recent logs
-     */
-    List<AuditLog> findTop100ByOrderByTimestampDesc();
+    List<AuditLog> findByUserIdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
+            String userId, LocalDateTime from, LocalDateTime to, Limit limit);
+
+    List<AuditLog> findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(
+            LocalDateTime from, LocalDateTime to, Limit limit);
+
+    Page<AuditLog> findByTimestampGreaterThanEqualAndTimestampLessThan(
+            LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<AuditLog> findByUserIdAndTimestampGreaterThanEqualAndTimestampLessThan(
+            String userId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<AuditLog> findByActionAndTimestampGreaterThanEqualAndTimestampLessThan(
+            String action, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    Page<AuditLog> findByUserIdAndActionAndTimestampGreaterThanEqualAndTimestampLessThan(
+            String userId, String action, LocalDateTime from, LocalDateTime to, Pageable pageable);
+
+    // Oldest matching row: an ordered scan that stops in the first non-empty partition
+
+    Optional<AuditLog> findFirstByCategoryOrderByTimestampAsc(String category);
+
+    Optional<AuditLog> findFirstByUserIdOrderByTimestampAsc(String userId);
+
+    Optional<AuditLog> findFirstByOrderByTimestampAsc();
 
     /**
      * Find logs by action
@@ -65,9 +87,23 @@ public interface AuditLogRepo extends JpaRepository<AuditLog, Long> {
      */
     List<AuditLog> findByIpAddressOrderByTimestampDesc(String ipAddress);
 
-    Page<AuditLog> findByUserId(String userId, Pageable pageable);
-
-    Page<AuditLog> findByAction(String action, Pageable pageable);
-
-    Page<AuditLog> findByUserIdAndAction(String userId, String action, Pageable pageable);
+    /**
+     * Move one batch (oldest first) of logs older than the cutoff into audit_logs_archive.
+     * Returns the number of rows moved; 0 means nothing left to archive.
+     * Native spaces keep Hibernate from invalidating every cache region after the move.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.query.native.spaces", value = "audit_logs"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "audit_logs_archive")})
+    @Modifying
+    @Query(value = """
+            WITH batch AS (
+                SELECT id FROM audit_logs WHERE timestamp < :cutoff ORDER BY id LIMIT :batchSize
+            ), moved AS (
+                DELETE FROM audit_logs a USING batch b WHERE a.id = b.id
+                RETURNING a.id, a.category, a.action, a.user_id, a.details, a.timestamp, a.ip_address, a.user_agent
+            )
+            INSERT INTO audit_logs_archive (id, category, action, user_id, details, timestamp, ip_address, user_agent)
+            SELECT id, category, action, user_id, details, timestamp, ip_address, user_agent FROM moved
+            """, nativeQuery = true)
+    int moveBatchToArchive(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
\ No newline at end of file
@@ -1,14 +1,20 @@
 package com.esport.EsportTournament.repository;
 
 import com.esport.EsportTournament.model.GlobalRules;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface GlobalRulesRepo extends JpaRepository<GlobalRules, Integer> {
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_global_rules")})
     List<GlobalRules> findByIsActiveTrueOrderByDisplayOrderAsc();
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_global_rules")})
     List<GlobalRules> findAllByOrderByDisplayOrderAsc();
 }
 
@@ -0,0 +1,38 @@
+package com.esport.EsportTournament.repository;
+
+import com.esport.EsportTournament.model.SlotArchive;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SlotArchiveRepo extends JpaRepository<SlotArchive, Integer> {
+
+    List<SlotArchive> findByTournamentIdOrderBySlotNumberAsc(int tournamentId);
+
+    List<SlotArchive> findByFirebaseUserUIDOrderByBookedAtDesc(String firebaseUserUID);
+
+    /**
+     * Move every slot of a tournament into slots_archive in one statement.
+     * Postgres data-modifying CTE: delete + insert are atomic together.
+     * Native spaces keep Hibernate from invalidating every cache region after the move.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.query.native.spaces", value = "slots"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "slots_archive")})
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM slots WHERE tournament_id = :tournamentId
+                RETURNING id, tournament_id, slot_number, firebase_useruid, player_name, status, booked_at
+            )
+            INSERT INTO slots_archive (id, tournament_id, slot_number, firebase_useruid, player_name, status, booked_at)
+            SELECT id, tournament_id, slot_number, firebase_useruid, player_name, status, booked_at FROM moved
+            """, nativeQuery = true)
+    int moveTournamentSlotsToArchive(@Param("tournamentId") int tournamentId);
+}
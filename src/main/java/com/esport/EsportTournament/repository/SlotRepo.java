@@ -32,7 +32,8 @@ public interface SlotRepo extends JpaRepository<Slots, Integer> {
      * ✅ FIXED: Added index hint for performance
      */
     @Query("SELECT COUNT(s) > 0 FROM Slots s WHERE s.tournaments.id = :tournamentId AND s.slotNumber = :slotNumber")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_slots")})
     boolean existsByTournaments_IdAndSlotNumber(@Param("tournamentId") int tournamentId,
                                                 @Param("slotNumber") int slotNumber);
 
@@ -44,17 +45,18 @@ public interface SlotRepo extends JpaRepository<Slots, Integer> {
             "LEFT JOIN FETCH s.tournaments " +
             "WHERE s.tournaments.id = :tournamentId " +
             "ORDER BY s.slotNumber ASC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_slots")})
     List<Slots> findByTournaments_Id(@Param("tournamentId") int tournamentId);
 
     /**
-     * ✅ FIXED: Pessimistic write lock for concurrent booking
+     * ✅ FIXED: Pessimistic write lock for concurrent booking.
+     * Derived (not @Query) so "First" limits the lock to one row instead of every AVAILABLE slot.
+     * SKIP LOCKED (lock timeout -2) lets concurrent "book next" calls take different rows
+     * instead of queueing on the same one.
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM Slots s " +
-            "WHERE s.tournaments.id = :tournamentId " +
-            "AND s.status = :status " +
-            "ORDER BY s.slotNumber ASC")
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
     Optional<Slots> findFirstByTournaments_IdAndStatusOrderBySlotNumberAsc(
             @Param("tournamentId") int tournamentId,
             @Param("status") Slots.SlotStatus status);
@@ -131,12 +133,18 @@ public interface SlotRepo extends JpaRepository<Slots, Integer> {
     long countBookingsAfter(@Param("after") LocalDateTime after);
 
     /**
-     * ✅ NEW: Batch slot summary
+     * Count all booked slots
+     */
+    @Query("SELECT COUNT(s) FROM Slots s WHERE s.status = 'BOOKED'")
+    long countBooked();
+
+    /**
+     * Booking time and entry fee of slots booked since a date: rows of [bookedAt, entryFees],
+     * for day-bucketed revenue charts in one query
      */
-    @Query("SELECT s.tournaments.id, s.status, COUNT(s) FROM Slots s " +
-            "WHERE s.tournaments.id IN :tournamentIds " +
-            "GROUP BY s.tournaments.id, s.status")
-    List<Object[]> getSlotSummaryBatch(@Param("tournamentIds") List<Integer> tournamentIds);
+    @Query("SELECT s.bookedAt, s.tournaments.entryFees FROM Slots s " +
+           "WHERE s.bookedAt >= :since")
+    List<Object[]> findBookedAtAndEntryFeeSince(@Param("since") LocalDateTime since);
 
     /**
      * ✅ FIXED: Optimized statistics query
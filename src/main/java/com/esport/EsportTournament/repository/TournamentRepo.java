@@ -3,11 +3,14 @@ package com.esport.EsportTournament.repository;
 
 import com.esport.EsportTournament.model.Tournaments;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,10 +29,19 @@ public interface TournamentRepo extends JpaRepository<Tournaments, Integer> {
 //            "WHERE t.id = :id")
 //    Optional<Tournaments> findByIdWithSlots(@Param("id") int id);
 
+    /**
+     * Tournament row under a write lock (SELECT ... FOR UPDATE). Scoreboard updates and payouts
+     * both take it before touching results, so one cannot run between the other's check and writes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tournaments t WHERE t.id = :id")
+    Optional<Tournaments> findByIdForUpdate(@Param("id") int id);
+
     /**
      * Find tournaments by status with query hints for performance
      */
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_tournaments")})
     List<Tournaments> findByStatus(Tournaments.TournamentStatus status);
 
     /**
@@ -38,7 +50,8 @@ public interface TournamentRepo extends JpaRepository<Tournaments, Integer> {
     @Query("SELECT t FROM Tournaments t " +
             "WHERE t.status = :status " +
             "ORDER BY t.startTime ASC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_tournaments")})
     List<Tournaments> findByStatusOrderByStartTimeAsc(@Param("status") Tournaments.TournamentStatus status);
 
     /**
@@ -79,6 +92,12 @@ public interface TournamentRepo extends JpaRepository<Tournaments, Integer> {
      */
     long countByStatus(Tournaments.TournamentStatus status);
 
+    /**
+     * Tournament count per status in one query: rows of [status, count]
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Tournaments t GROUP BY t.status")
+    List<Object[]> countGroupedByStatus();
+
     /**
      * Sum revenue of completed tournaments
      */
@@ -121,7 +140,8 @@ public interface TournamentRepo extends JpaRepository<Tournaments, Integer> {
      * Find all tournaments ordered by start time descending
      */
     @Query("SELECT t FROM Tournaments t ORDER BY t.startTime DESC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_tournaments")})
     List<Tournaments> findAllByOrderByStartTimeDesc();
 
     /**
@@ -198,4 +218,34 @@ public interface TournamentRepo extends JpaRepository<Tournaments, Integer> {
     long countByStatusAndUpdatedAtAfter(
             @Param("status") Tournaments.TournamentStatus status,
             @Param("after") LocalDateTime after);
+
+    /**
+     * Finished tournaments not yet archived, oldest id first (archival batches)
+     */
+    @Query("SELECT t.id FROM Tournaments t " +
+            "WHERE t.status IN :statuses " +
+            "AND t.startTime < :before " +
+            "AND t.archivedAt IS NULL " +
+            "AND t.id > :afterId " +
+            "ORDER BY t.id ASC")
+    List<Integer> findArchivableIds(
+            @Param("statuses") List<Tournaments.TournamentStatus> statuses,
+            @Param("before") LocalDateTime before,
+            @Param("afterId") int afterId,
+            org.springframework.data.domain.Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Tournaments t SET t.archivedAt = :archivedAt WHERE t.id = :id AND t.archivedAt IS NULL")
+    int markArchived(@Param("id") int id, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Tournaments whose credentials predate AES-GCM (ECB or plain text), id order (migration batches)
+     */
+    @Query("SELECT t FROM Tournaments t " +
+            "WHERE ((t.gameId IS NOT NULL AND t.gameId NOT LIKE 'v2:%') " +
+            "OR (t.gamePassword IS NOT NULL AND t.gamePassword NOT LIKE 'v2:%')) " +
+            "AND t.id > :afterId " +
+            "ORDER BY t.id ASC")
+    List<Tournaments> findWithLegacyCredentials(@Param("afterId") int afterId,
+                                               org.springframework.data.domain.Pageable pageable);
 }
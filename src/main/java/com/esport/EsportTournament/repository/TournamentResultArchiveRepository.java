@@ -0,0 +1,38 @@
+package com.esport.EsportTournament.repository;
+
+import com.esport.EsportTournament.model.TournamentResultArchive;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TournamentResultArchiveRepository extends JpaRepository<TournamentResultArchive, Long> {
+
+    List<TournamentResultArchive> findByFirebaseUserUIDOrderByCreatedAtDesc(String firebaseUserUID);
+
+    List<TournamentResultArchive> findByTournament_Id(int tournamentId);
+
+    /**
+     * Move every result of a tournament into tournament_results_archive in one statement.
+     * Native spaces keep Hibernate from invalidating every cache region after the move.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.query.native.spaces", value = "tournament_results"),
+            @QueryHint(name = "org.hibernate.query.native.spaces", value = "tournament_results_archive")})
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM tournament_results WHERE tournament_id = :tournamentId
+                RETURNING id, tournament_id, firebase_user_uid, player_name, team_name, kills, placement, coins_earned, created_at
+            )
+            INSERT INTO tournament_results_archive
+                (id, tournament_id, firebase_user_uid, player_name, team_name, kills, placement, coins_earned, created_at)
+            SELECT id, tournament_id, firebase_user_uid, player_name, team_name, kills, placement, coins_earned, created_at FROM moved
+            """, nativeQuery = true)
+    int moveTournamentResultsToArchive(@Param("tournamentId") int tournamentId);
+}
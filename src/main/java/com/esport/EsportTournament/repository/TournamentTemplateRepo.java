@@ -0,0 +1,17 @@
+package com.esport.EsportTournament.repository;
+
+import com.esport.EsportTournament.model.TournamentTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TournamentTemplateRepo extends JpaRepository<TournamentTemplate, Integer> {
+
+    @Query("SELECT t FROM TournamentTemplate t WHERE t.isActive = true ORDER BY t.id ASC")
+    List<TournamentTemplate> findActiveTemplates();
+
+    List<TournamentTemplate> findAllByOrderByIdAsc();
+}
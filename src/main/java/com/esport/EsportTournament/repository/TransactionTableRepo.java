@@ -21,7 +21,8 @@ public interface TransactionTableRepo extends JpaRepository<TransactionTable, In
     /**
      * Find transaction by UID with caching
      */
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_transactions")})
     Optional<TransactionTable> findByTransactionUID(String transactionUID);
 
     /**
@@ -22,7 +22,8 @@ public interface UsersRepo extends JpaRepository<Users, Integer> {
     /**
      * Find by Firebase UID with query hint for caching
      */
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_users")})
     Optional<Users> findByFirebaseUserUID(String firebaseUID);
 
     /**
@@ -38,13 +39,15 @@ public interface UsersRepo extends JpaRepository<Users, Integer> {
     /**
      * Find users by role with caching
      */
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_users")})
     List<Users> findByRole(Users.UserRole role);
 
     /**
      * Find users by status with caching
      */
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_users")})
     List<Users> findByStatus(Users.UserStatus status);
 
     /**
@@ -75,6 +78,17 @@ public interface UsersRepo extends JpaRepository<Users, Integer> {
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    /**
+     * Count users created within date range (no entity loading)
+     */
+    long countByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Creation timestamps since a date, for day-bucketed growth charts in one query
+     */
+    @Query("SELECT u.createdAt FROM Users u WHERE u.createdAt >= :since")
+    List<LocalDateTime> findCreatedAtSince(@Param("since") LocalDateTime since);
+
     /**
      * Find multiple users by Firebase UIDs (batch operation)
      */
@@ -85,7 +99,8 @@ public interface UsersRepo extends JpaRepository<Users, Integer> {
      * Find all users ordered by creation date
      */
     @Query("SELECT u FROM Users u ORDER BY u.createdAt DESC")
-    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_users")})
     List<Users> findAllByOrderByCreatedAtDesc();
 
     /**
@@ -1,12 +1,26 @@
 package com.esport.EsportTournament.repository;
 
 import com.esport.EsportTournament.model.WalletLedger;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface WalletLedgerRepository extends JpaRepository<WalletLedger, Long> {
 
-    List<WalletLedger> findByUser_FirebaseUserUIDOrderByCreatedAtDesc(String firebaseUID);
+    /**
+     * Time-bounded variant; the created_at bound lets Postgres prune ledger partitions
+     */
+    List<WalletLedger> findByUser_FirebaseUserUIDAndCreatedAtAfterOrderByCreatedAtDesc(String firebaseUID, LocalDateTime after);
+
+    /**
+     * One [from, to) window of a user's ledger, for month-by-month reads (see MonthlyWindows)
+     */
+    List<WalletLedger> findByUser_FirebaseUserUIDAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+            String firebaseUID, LocalDateTime from, LocalDateTime to, Limit limit);
+
+    Optional<WalletLedger> findFirstByUser_FirebaseUserUIDOrderByCreatedAtAsc(String firebaseUID);
 }
 
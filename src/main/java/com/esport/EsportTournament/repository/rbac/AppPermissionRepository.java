@@ -1,12 +1,16 @@
 package com.esport.EsportTournament.repository.rbac;
 
 import com.esport.EsportTournament.model.rbac.AppPermission;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface AppPermissionRepository extends JpaRepository<AppPermission, Long> {
 
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_rbac")})
     Optional<AppPermission> findByCode(String code);
 }
 
@@ -1,12 +1,32 @@
 package com.esport.EsportTournament.repository.rbac;
 
 import com.esport.EsportTournament.model.rbac.AppRole;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AppRoleRepository extends JpaRepository<AppRole, Long> {
 
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_rbac")})
     Optional<AppRole> findByCode(String code);
+
+    /**
+     * Roles by code with their permissions fetched in the same query.
+     */
+    @EntityGraph(attributePaths = "permissions")
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_rbac")})
+    List<AppRole> findWithPermissionsByCodeIn(Collection<String> codes);
+
+    @Override
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_rbac")})
+    List<AppRole> findAll();
 }
 
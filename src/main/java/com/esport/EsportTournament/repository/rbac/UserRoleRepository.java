@@ -2,15 +2,24 @@ package com.esport.EsportTournament.repository.rbac;
 
 import com.esport.EsportTournament.model.Users;
 import com.esport.EsportTournament.model.rbac.UserRole;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
 
+    @EntityGraph(attributePaths = {"role", "role.permissions"})
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_user_roles")})
     List<UserRole> findByUser(Users user);
 
+    @EntityGraph(attributePaths = {"role", "role.permissions"})
+    @QueryHints({@QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = "query_user_roles")})
     List<UserRole> findByUser_FirebaseUserUID(String firebaseUID);
 
     boolean existsByUserAndRole_Code(Users user, String roleCode);
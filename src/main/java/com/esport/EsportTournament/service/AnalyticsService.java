@@ -1,5 +1,8 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.ReplicaRead;
+import com.esport.EsportTournament.config.Workload;
 import com.esport.EsportTournament.model.Tournaments;
 import com.esport.EsportTournament.model.Users;
 import com.esport.EsportTournament.repository.*;
@@ -10,6 +13,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -22,6 +26,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@DbWorkload(Workload.ANALYTICS)
 public class AnalyticsService {
 
     private final TournamentRepo tournamentRepo;
@@ -35,6 +40,7 @@ public class AnalyticsService {
      * Cached for 5 minutes to reduce database load
      */
     @Cacheable(value = "dashboardMetrics", unless = "#result == null")
+    @ReplicaRead
     @Transactional(readOnly = true)
     public DashboardMetrics getAdminDashboard() {
         log.info("📊 Generating admin dashboard metrics");
@@ -85,6 +91,7 @@ public class AnalyticsService {
     /**
      * Get detailed tournament analytics
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public TournamentAnalytics getTournamentAnalytics(int tournamentId) {
         log.info("📊 Generating analytics for tournament {}", tournamentId);
@@ -123,6 +130,7 @@ public class AnalyticsService {
     /**
      * Get user engagement metrics
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public UserEngagementMetrics getUserEngagementMetrics() {
         UserEngagementMetrics metrics = new UserEngagementMetrics();
@@ -146,6 +154,7 @@ public class AnalyticsService {
     /**
      * Get financial analytics
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public FinancialAnalytics getFinancialAnalytics() {
         FinancialAnalytics analytics = new FinancialAnalytics();
@@ -177,17 +186,17 @@ public class AnalyticsService {
 
     private long countNewUsersToday() {
         LocalDateTime startOfDay = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
-        return usersRepo.findByCreatedAtBetween(startOfDay, LocalDateTime.now()).size();
+        return usersRepo.countByCreatedAtBetween(startOfDay, LocalDateTime.now());
     }
 
     private long countNewUsersThisWeek() {
         LocalDateTime startOfWeek = LocalDateTime.now().minusDays(7);
-        return usersRepo.findByCreatedAtBetween(startOfWeek, LocalDateTime.now()).size();
+        return usersRepo.countByCreatedAtBetween(startOfWeek, LocalDateTime.now());
     }
 
     private long countNewUsersThisMonth() {
         LocalDateTime startOfMonth = LocalDateTime.now().minusDays(30);
-        return usersRepo.findByCreatedAtBetween(startOfMonth, LocalDateTime.now()).size();
+        return usersRepo.countByCreatedAtBetween(startOfMonth, LocalDateTime.now());
     }
 
     private long calculateTotalCoins() {
@@ -204,18 +213,10 @@ public class AnalyticsService {
     }
 
     private double calculateAvgBookingsPerTournament() {
-        List<Integer> tournamentIds = tournamentRepo.findAll().stream()
-                .map(com.esport.EsportTournament.model.Tournaments::getId)
-                .collect(Collectors.toList());
+        long tournaments = tournamentRepo.count();
+        if (tournaments == 0) return 0.0;
 
-        if (tournamentIds.isEmpty()) return 0.0;
-
-        long totalBookings = tournamentIds.stream()
-                .mapToLong(id -> slotRepo.countByTournaments_IdAndStatus(
-                        id, com.esport.EsportTournament.model.Slots.SlotStatus.BOOKED))
-                .sum();
-
-        return (double) totalBookings / tournamentIds.size();
+        return (double) slotRepo.countBooked() / tournaments;
     }
 
     private long countSlotsBookedToday() {
@@ -240,7 +241,7 @@ public class AnalyticsService {
     private long countNewUsersBetween(int daysAgo, int untilDaysAgo) {
         LocalDateTime start = LocalDateTime.now().minusDays(daysAgo);
         LocalDateTime end = LocalDateTime.now().minusDays(untilDaysAgo);
-        return usersRepo.findByCreatedAtBetween(start, end).size();
+        return usersRepo.countByCreatedAtBetween(start, end);
     }
 
     private double calculateRevenueGrowthRate() {
@@ -249,20 +250,17 @@ public class AnalyticsService {
     }
 
     private List<Map<String, Object>> generateUserGrowthChart() {
-        List<Map<String, Object>> chartData = new ArrayList<>();
+        // One query for the whole window, bucketed per day here
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> perDay = usersRepo.findCreatedAtSince(today.minusDays(30).atStartOfDay()).stream()
+                .collect(Collectors.groupingBy(LocalDateTime::toLocalDate, Collectors.counting()));
 
+        List<Map<String, Object>> chartData = new ArrayList<>();
         for (int i = 30; i >= 0; i--) {
-            LocalDateTime date = LocalDateTime.now().minusDays(i);
-            LocalDateTime nextDay = date.plusDays(1);
-
-            long count = usersRepo.findByCreatedAtBetween(
-                    date.truncatedTo(ChronoUnit.DAYS),
-                    nextDay.truncatedTo(ChronoUnit.DAYS)
-            ).size();
-
+            LocalDate date = today.minusDays(i);
             chartData.add(Map.of(
-                    "date", date.toLocalDate().toString(),
-                    "count", count
+                    "date", date.toString(),
+                    "count", perDay.getOrDefault(date, 0L)
             ));
         }
 
@@ -270,23 +268,19 @@ public class AnalyticsService {
     }
 
     private List<Map<String, Object>> generateRevenueChart() {
-        // Generate revenue chart data for last 30 days
-        List<Map<String, Object>> chartData = new ArrayList<>();
+        // Revenue per day for the last 30 days: one query, bucketed per day here
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> perDay = new HashMap<>();
+        for (Object[] row : slotRepo.findBookedAtAndEntryFeeSince(today.minusDays(30).atStartOfDay())) {
+            perDay.merge(((LocalDateTime) row[0]).toLocalDate(), ((Number) row[1]).longValue(), Long::sum);
+        }
 
+        List<Map<String, Object>> chartData = new ArrayList<>();
         for (int i = 30; i >= 0; i--) {
-            LocalDateTime date = LocalDateTime.now().minusDays(i);
-            LocalDateTime nextDay = date.plusDays(1);
-
-            long revenue = slotRepo.findAll().stream()
-                    .filter(slot -> slot.getBookedAt() != null)
-                    .filter(slot -> slot.getBookedAt().isAfter(date.truncatedTo(ChronoUnit.DAYS)))
-                    .filter(slot -> slot.getBookedAt().isBefore(nextDay.truncatedTo(ChronoUnit.DAYS)))
-                    .mapToLong(slot -> slot.getTournaments().getEntryFees())
-                    .sum();
-
+            LocalDate date = today.minusDays(i);
             chartData.add(Map.of(
-                    "date", date.toLocalDate().toString(),
-                    "revenue", revenue
+                    "date", date.toString(),
+                    "revenue", perDay.getOrDefault(date, 0L)
             ));
         }
 
@@ -294,11 +288,11 @@ public class AnalyticsService {
     }
 
     private Map<String, Long> generateTournamentDistribution() {
-        return tournamentRepo.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        t -> t.getStatus().name(),
-                        Collectors.counting()
-                ));
+        Map<String, Long> distribution = new HashMap<>();
+        for (Object[] row : tournamentRepo.countGroupedByStatus()) {
+            distribution.put(((Tournaments.TournamentStatus) row[0]).name(), (Long) row[1]);
+        }
+        return distribution;
     }
 
     private List<Map<String, Object>> generateBookingTimeline(int tournamentId) {
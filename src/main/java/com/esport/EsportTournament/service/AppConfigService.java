@@ -27,6 +27,7 @@ public class AppConfigService {
     private static final Pattern SIMPLE_VERSION_PATTERN = Pattern.compile("^\\d+\\.\\d+\\.\\d+$");
 
     private final AppConfigRepo appConfigRepo;
+    private final ResourceVersionService resourceVersionService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -49,6 +50,7 @@ public class AppConfigService {
     @Transactional
     @CacheEvict(value = "app_version", allEntries = true)
     public Map<String, String> updateAppVersion(Map<String, String> version, String adminUID) {
+        resourceVersionService.bump(ResourceVersionService.Resource.APP_CONFIG);
         if (version.containsKey("minSupported")) {
             String minSupported = safeTrim(version.get("minSupported"));
             if (!isValidVersion(minSupported)) {
@@ -100,6 +102,7 @@ public class AppConfigService {
     @Transactional
     @CacheEvict(value = "app_filters", allEntries = true)
     public Map<String, List<String>> updateFilters(Map<String, List<String>> filters, String adminUID) {
+        resourceVersionService.bump(ResourceVersionService.Resource.APP_CONFIG);
         validateFilterPayload(filters);
         try {
             String filtersJson = objectMapper.writeValueAsString(filters);
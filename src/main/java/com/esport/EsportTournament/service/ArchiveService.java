@@ -0,0 +1,221 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.Workload;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.repository.AuditLogRepo;
+import com.esport.EsportTournament.repository.SlotArchiveRepo;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.repository.TournamentResultArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Archival pipeline for finished tournaments and old audit logs.
+ * - Moves slots + results of COMPLETED/CANCELLED tournaments into *_archive tables
+ * - One short transaction per tournament; tournaments.archived_at is the checkpoint,
+ *   so an interrupted run simply resumes with the next unarchived tournament
+ * - Audit log partitions entirely past the cutoff are detached (metadata only);
+ *   leftover old rows (legacy / default partitions) move in fixed-size batches
+ * - Sleeps between batches so the archiver never starves booking traffic
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DbWorkload(Workload.SCHEDULER)
+public class ArchiveService {
+
+    public static final String TOURNAMENTS = "TOURNAMENTS";
+    public static final String AUDIT_LOGS = "AUDIT_LOGS";
+
+    private static final String ARCHIVE_LOCK_KEY = "archive:run";
+    private static final List<Tournaments.TournamentStatus> ARCHIVABLE_STATUSES = List.of(
+            Tournaments.TournamentStatus.COMPLETED,
+            Tournaments.TournamentStatus.CANCELLED);
+
+    private final TournamentRepo tournamentRepo;
+    private final SlotArchiveRepo slotArchiveRepo;
+    private final TournamentResultArchiveRepository resultArchiveRepo;
+    private final AuditLogRepo auditLogRepo;
+    private final DistributedLockService lockService;
+    private final PartitionMaintenanceService partitionMaintenanceService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.archive.tournament-retention-days:30}")
+    private int tournamentRetentionDays;
+
+    @Value("${app.archive.audit-retention-days:90}")
+    private int auditRetentionDays;
+
+    @Value("${app.archive.tournament-batch-size:20}")
+    private int tournamentBatchSize;
+
+    @Value("${app.archive.audit-batch-size:1000}")
+    private int auditBatchSize;
+
+    @Value("${app.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archive.throttle-ms:200}")
+    private long throttleMs;
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    /**
+     * Scheduled entry point using the configured retention windows.
+     */
+    public Map<String, Object> runScheduledArchival(String triggeredBy) {
+        return archive(Set.of(TOURNAMENTS, AUDIT_LOGS), tournamentRetentionDays, auditRetentionDays, triggeredBy);
+    }
+
+    /**
+     * Archive the requested data types. Both age thresholds are in days.
+     */
+    public Map<String, Object> archive(Set<String> dataTypes, int tournamentDays, int auditDays, String triggeredBy) {
+        String lockValue = lockService.acquireLock(ARCHIVE_LOCK_KEY, Duration.ofHours(1));
+        if (lockValue == null) {
+            throw new IllegalStateException("Archival is already running");
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("archiveRunId", "ARC_" + System.currentTimeMillis());
+        report.put("triggeredBy", triggeredBy);
+        report.put("startedAt", startedAt);
+
+        try {
+            if (dataTypes.contains(TOURNAMENTS)) {
+                report.put("tournaments", archiveTournaments(startedAt.minusDays(tournamentDays)));
+            }
+            if (dataTypes.contains(AUDIT_LOGS)) {
+                report.put("auditLogs", archiveAuditLogs(startedAt.minusDays(auditDays)));
+            }
+            report.put("status", "COMPLETED");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.put("status", "INTERRUPTED");
+        } finally {
+            lockService.releaseLock(ARCHIVE_LOCK_KEY, lockValue);
+            report.put("completedAt", LocalDateTime.now());
+            report.put("durationMs", Duration.between(startedAt, LocalDateTime.now()).toMillis());
+            lastRun = Collections.unmodifiableMap(report);
+        }
+
+        log.info("🗄️ Archival finished: {}", report);
+        return report;
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    private Map<String, Object> archiveTournaments(LocalDateTime before) throws InterruptedException {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int tournaments = 0;
+        long slots = 0;
+        long results = 0;
+        int failed = 0;
+        boolean drained = false;
+        int lastId = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            // Keyset on id so a tournament that fails is not retried within the same run
+            List<Integer> ids = tournamentRepo.findArchivableIds(
+                    ARCHIVABLE_STATUSES, before, lastId, PageRequest.of(0, tournamentBatchSize));
+            if (ids.isEmpty()) {
+                drained = true;
+                break;
+            }
+
+            for (Integer id : ids) {
+                lastId = id;
+                try {
+                    int[] moved = tx.execute(status -> {
+                        // Claim the tournament first: 0 rows means another run (or a concurrent
+                        // change) got there, and its slots/results must not be moved again
+                        if (tournamentRepo.markArchived(id, LocalDateTime.now()) == 0) {
+                            status.setRollbackOnly();
+                            return null;
+                        }
+                        return new int[] {
+                                slotArchiveRepo.moveTournamentSlotsToArchive(id),
+                                resultArchiveRepo.moveTournamentResultsToArchive(id)
+                        };
+                    });
+                    if (moved == null) {
+                        log.debug("⏭️ Tournament {} already archived, skipped", id);
+                    } else {
+                        slots += moved[0];
+                        results += moved[1];
+                        tournaments++;
+                    }
+                } catch (Exception e) {
+                    // Leave it unarchived; it will be retried on the next run
+                    failed++;
+                    log.error("❌ Failed to archive tournament {}: {}", id, e.getMessage());
+                }
+            }
+
+            if (failed >= tournamentBatchSize) {
+                log.warn("⚠️ Too many archival failures, stopping this run");
+                break;
+            }
+            Thread.sleep(throttleMs);
+        }
+
+        log.info("🗄️ Archived {} tournaments ({} slots, {} results) older than {}", tournaments, slots, results, before);
+        return Map.of(
+                "tournamentsArchived", tournaments,
+                "slotsMoved", slots,
+                "resultsMoved", results,
+                "failed", failed,
+                "drained", drained,
+                "cutoff", before);
+    }
+
+    private Map<String, Object> archiveAuditLogs(LocalDateTime before) throws InterruptedException {
+        // Whole expired months move into audit_logs_archive in one step; rows of the month
+        // straddling the cutoff (or everything, without partitioning) move in batches below
+        List<String> archivedPartitions = List.of();
+        try {
+            archivedPartitions = partitionMaintenanceService.archiveExpiredPartitions(
+                    PartitionMaintenanceService.AUDIT_LOGS, "audit_logs_archive", before);
+        } catch (Exception e) {
+            log.warn("⚠️ Partition archiving unavailable, falling back to row moves: {}", e.getMessage());
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long moved = 0;
+        int batches = 0;
+        boolean drained = false;
+
+        while (batches < maxBatchesPerRun) {
+            Integer count = tx.execute(status -> auditLogRepo.moveBatchToArchive(before, auditBatchSize));
+            batches++;
+            moved += count != null ? count : 0;
+            if (count == null || count < auditBatchSize) {
+                drained = true;
+                break;
+            }
+            Thread.sleep(throttleMs);
+        }
+
+        log.info("🗄️ Archived {} audit logs in {} batches older than {} (archived partitions: {})",
+                moved, batches, before, archivedPartitions);
+        return Map.of(
+                "partitionsArchived", archivedPartitions,
+                "auditLogsMoved", moved,
+                "batches", batches,
+                "drained", drained,
+                "cutoff", before);
+    }
+}
@@ -1,12 +1,13 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.ReplicaRead;
 import com.esport.EsportTournament.model.AuditLog;
 import com.esport.EsportTournament.repository.AuditLogRepo;
+import com.esport.EsportTournament.util.MonthlyWindows;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -22,7 +23,7 @@ import org.springframework.data.domain.Sort;
  * ✅ NEW: Comprehensive Audit Logging Service
  * - Tracks all critical operations
  * - Immutable audit trail
- * - Async logging for performance
+ * - Write-behind logging (see AuditWriteBehindService) for performance
  * - Compliance ready
  */
 @Slf4j
@@ -31,12 +32,18 @@ import org.springframework.data.domain.Sort;
 public class AuditLogService {
 
     private final AuditLogRepo auditLogRepo;
+    private final AuditWriteBehindService auditWriteBehindService;
+
+    // List reads return at most this many rows, as the old top-100 queries did
+    private static final int MAX_LIST_SIZE = 100;
+
+    // Default window of the paginated listing when the caller passes none
+    @Value("${app.partitions.audit-lookback-days:90}")
+    private int lookbackDays;
 
     /**
      * Log transaction events
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logTransaction(String action, String userId, long amount, String transactionId) {
         Map<String, String> details = new HashMap<>();
         details.put("amount", String.valueOf(amount));
@@ -48,8 +55,6 @@ public class AuditLogService {
     /**
      * Log slot booking events
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSlotBooking(String userId, int tournamentId, int slotNumber, int fee) {
         Map<String, String> details = new HashMap<>();
         details.put("tournamentId", String.valueOf(tournamentId));
@@ -62,8 +67,6 @@ public class AuditLogService {
     /**
      * Log team booking events
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logTeamBooking(String userId, int tournamentId, int playerCount, int totalCost) {
         Map<String, String> details = new HashMap<>();
         details.put("tournamentId", String.valueOf(tournamentId));
@@ -76,8 +79,6 @@ public class AuditLogService {
     /**
      * Log slot cancellation
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSlotCancellation(String userId, int tournamentId, int slotId, int refund) {
         Map<String, String> details = new HashMap<>();
         details.put("tournamentId", String.valueOf(tournamentId));
@@ -90,8 +91,6 @@ public class AuditLogService {
     /**
      * Log admin slot cancellation
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAdminSlotCancellation(String adminId, int tournamentId, int slotId, int refund) {
         Map<String, String> details = new HashMap<>();
         details.put("tournamentId", String.valueOf(tournamentId));
@@ -104,8 +103,6 @@ public class AuditLogService {
     /**
      * Log tournament operations
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logTournamentOperation(String action, String userId, int tournamentId,
             Map<String, String> additionalDetails) {
         Map<String, String> details = new HashMap<>(additionalDetails);
@@ -117,8 +114,6 @@ public class AuditLogService {
     /**
      * Log wallet operations
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logWalletOperation(String action, String userId, int amount, int newBalance) {
         Map<String, String> details = new HashMap<>();
         details.put("amount", String.valueOf(amount));
@@ -130,8 +125,6 @@ public class AuditLogService {
     /**
      * Log user management operations
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logUserManagement(String action, String adminId, String targetUserId, Map<String, String> details) {
         Map<String, String> fullDetails = new HashMap<>(details);
         fullDetails.put("targetUser", targetUserId);
@@ -142,8 +135,6 @@ public class AuditLogService {
     /**
      * Log security events
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSecurityEvent(String event, String userId, String ipAddress, Map<String, String> details) {
         Map<String, String> fullDetails = new HashMap<>(details);
         fullDetails.put("ipAddress", ipAddress);
@@ -164,9 +155,8 @@ public class AuditLogService {
             log.setTimestamp(LocalDateTime.now());
             log.setIpAddress(getCurrentIpAddress());
 
-            auditLogRepo.save(log);
-            //
-            // log.info("📝 Audit log created: {} - {} by {}", category, action, userId);
+            // Buffered + journaled; written to the database in batches
+            auditWriteBehindService.submit(log);
         } catch (Exception e) {
             log.error("Failed to create audit log", e);
             // Don't throw exception - logging should not break main flow
@@ -174,54 +164,63 @@ public class AuditLogService {
     }
 
     /**
-     * Get audit logs by category
+     * Get audit logs by category, newest first
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public List<AuditLog> getLogsByCategory(String category, int limit) {
-        return auditLogRepo.findTop100ByCategoryOrderByTimestampDesc(category)
-                .stream()
-                .limit(limit)
-                .toList();
+        return MonthlyWindows.newestFirst(Math.min(limit, MAX_LIST_SIZE),
+                auditLogRepo.findFirstByCategoryOrderByTimestampAsc(category).map(AuditLog::getTimestamp).orElse(null),
+                (from, to, max) -> auditLogRepo
+                        .findByCategoryAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(category, from, to, max));
     }
 
     /**
-     * Get audit logs by user
+     * Get audit logs by user, newest first
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public List<AuditLog> getLogsByUser(String userId, int limit) {
-        return auditLogRepo.findTop100ByUserIdOrderByTimestampDesc(userId)
-                .stream()
-                .limit(limit)
-                .toList();
+        return MonthlyWindows.newestFirst(Math.min(limit, MAX_LIST_SIZE),
+                auditLogRepo.findFirstByUserIdOrderByTimestampAsc(userId).map(AuditLog::getTimestamp).orElse(null),
+                (from, to, max) -> auditLogRepo
+                        .findByUserIdAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(userId, from, to, max));
     }
 
     /**
      * Get recent audit logs
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public List<AuditLog> getRecentLogs(int limit) {
-        return auditLogRepo.findTop100ByOrderByTimestampDesc()
-                .stream()
-                .limit(limit)
-                .toList();
+        return MonthlyWindows.newestFirst(Math.min(limit, MAX_LIST_SIZE),
+                auditLogRepo.findFirstByOrderByTimestampAsc().map(AuditLog::getTimestamp).orElse(null),
+                (from, to, max) -> auditLogRepo
+                        .findByTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampDesc(from, to, max));
     }
 
     /**
-     * Get paginated logs with filters
+     * Get paginated logs with filters within [from, to); without a window, the last
+     * app.partitions.audit-lookback-days. Older history is reached by passing a window.
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
-    public Page<AuditLog> getLogs(int page, int size, String action, String userId) {
+    public Page<AuditLog> getLogs(int page, int size, String action, String userId,
+                                  LocalDateTime from, LocalDateTime to) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("timestamp").descending());
+        LocalDateTime until = to != null ? to : LocalDateTime.now().plusDays(1);
+        LocalDateTime since = from != null ? from : until.minusDays(lookbackDays);
 
         if (userId != null && !userId.isEmpty() && action != null && !action.isEmpty()) {
-            return auditLogRepo.findByUserIdAndAction(userId, action, pageable);
+            return auditLogRepo.findByUserIdAndActionAndTimestampGreaterThanEqualAndTimestampLessThan(
+                    userId, action, since, until, pageable);
         } else if (userId != null && !userId.isEmpty()) {
-            return auditLogRepo.findByUserId(userId, pageable);
+            return auditLogRepo.findByUserIdAndTimestampGreaterThanEqualAndTimestampLessThan(userId, since, until, pageable);
         } else if (action != null && !action.isEmpty()) {
-            return auditLogRepo.findByAction(action, pageable);
+            return auditLogRepo.findByActionAndTimestampGreaterThanEqualAndTimestampLessThan(action, since, until, pageable);
         }
 
-        return auditLogRepo.findAll(pageable);
+        return auditLogRepo.findByTimestampGreaterThanEqualAndTimestampLessThan(since, until, pageable);
     }
 
     /**
@@ -0,0 +1,302 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.config.Workload;
+import com.esport.EsportTournament.model.AuditLog;
+import com.esport.EsportTournament.repository.AuditLogRepo;
+import com.esport.EsportTournament.util.AuditJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for audit logs.
+ * - Callers only append to a memory-mapped journal and a bounded ring buffer
+ * - A single flusher thread writes multi-row INSERTs every flush-interval or batch-size events
+ * - Journal records are committed after the INSERT succeeds; leftovers are replayed by the
+ *   flusher on startup, ahead of new events (at-least-once: a crash between INSERT and commit
+ *   can replay a batch)
+ * - Buffer or journal full → the event is written synchronously, never dropped (and never
+ *   journaled, so it is not replayed)
+ */
+@Slf4j
+@Service
+public class AuditWriteBehindService {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO audit_logs (id, category, action, user_id, details, timestamp, ip_address, user_agent) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String ID_SEQUENCE = "audit_logs_id_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogRepo auditLogRepo;
+    private final PooledIdAllocator idAllocator;
+
+    @Value("${app.audit.write-behind.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.write-behind.buffer-size:16384}")
+    private int bufferSize;
+
+    @Value("${app.audit.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.audit.write-behind.flush-interval-ms:250}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.write-behind.journal-path:${java.io.tmpdir}/esport-audit.journal}")
+    private String journalPath;
+
+    @Value("${app.audit.write-behind.journal-size-mb:32}")
+    private int journalSizeMb;
+
+    private BlockingQueue<Pending> buffer;
+    private AuditJournal journal;
+    private Thread flusher;
+    private volatile boolean running;
+    private volatile long oldestPendingAt;
+
+    // ─── Metrics ───
+    private final Counter enqueued;
+    private final Counter flushed;
+    private final Counter replayed;
+    private final Counter overflow;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+    private final MeterRegistry registry;
+
+    private record Pending(AuditLog event, long journalOffset, long enqueuedAt) {
+    }
+
+    public AuditWriteBehindService(JdbcTemplate jdbcTemplate, AuditLogRepo auditLogRepo,
+                                   PooledIdAllocator idAllocator, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditLogRepo = auditLogRepo;
+        this.idAllocator = idAllocator;
+        this.registry = registry;
+
+        this.enqueued = Counter.builder("app.audit.enqueued")
+                .description("Audit events accepted by the write-behind buffer")
+                .register(registry);
+        this.flushed = Counter.builder("app.audit.flushed")
+                .description("Audit events written to the database in batches")
+                .register(registry);
+        this.replayed = Counter.builder("app.audit.replayed")
+                .description("Audit events replayed from the journal on startup")
+                .register(registry);
+        this.overflow = Counter.builder("app.audit.overflow")
+                .description("Audit events written synchronously because buffer or journal was full")
+                .register(registry);
+        this.flushFailures = Counter.builder("app.audit.flush.failures")
+                .description("Failed batch flushes (retried)")
+                .register(registry);
+        this.flushTimer = Timer.builder("app.audit.flush.duration")
+                .description("Time to write one audit batch")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() throws Exception {
+        if (!enabled) {
+            log.info("📝 Audit write-behind disabled; audit logs are saved synchronously");
+            return;
+        }
+        buffer = new ArrayBlockingQueue<>(bufferSize);
+        journal = new AuditJournal(Paths.get(journalPath), journalSizeMb * 1024 * 1024);
+
+        Gauge.builder("app.audit.buffer.size", buffer, BlockingQueue::size)
+                .description("Audit events waiting to be flushed")
+                .register(registry);
+        Gauge.builder("app.audit.lag.ms", this, s -> s.oldestPendingAt == 0 ? 0 : System.currentTimeMillis() - s.oldestPendingAt)
+                .description("Age of the oldest unflushed audit event")
+                .register(registry);
+
+        // Replayed by the flusher before anything buffered: commits stay in journal order, and
+        // nothing replayed is also written synchronously (or left behind to be replayed twice)
+        List<AuditJournal.Entry> pending = journal.pending();
+        if (!pending.isEmpty()) {
+            replayed.increment(pending.size());
+            log.warn("📝 Replaying {} audit events from journal {}", pending.size(), journalPath);
+        }
+
+        running = true;
+        flusher = new Thread(() -> Workload.run(Workload.SCHEDULER, () -> {
+            replay(pending);
+            flushLoop();
+        }), "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("📝 Audit write-behind ready: buffer={}, batch={}, interval={}ms, journal={}",
+                bufferSize, batchSize, flushIntervalMs, journalPath);
+    }
+
+    /**
+     * Accept an audit event. Never blocks on the database unless the buffer is full.
+     */
+    public void submit(AuditLog event) {
+        if (!enabled) {
+            auditLogRepo.save(event);
+            return;
+        }
+
+        boolean accepted = false;
+        synchronized (this) {
+            // Journal and buffer are appended under one lock so offsets stay in queue order.
+            // Only journal what the buffer can take: an event written synchronously must not
+            // also sit in the journal, or it would be inserted again on replay
+            if (buffer.remainingCapacity() > 0) {
+                long offset = journal.append(event);
+                // Only submit() adds to the buffer, so the offer cannot fail here
+                accepted = offset > 0 && buffer.offer(new Pending(event, offset, System.currentTimeMillis()));
+            }
+        }
+
+        if (accepted) {
+            enqueued.increment();
+            if (oldestPendingAt == 0) {
+                oldestPendingAt = System.currentTimeMillis();
+            }
+        } else {
+            overflow.increment();
+            insertBatch(List.of(event));
+        }
+    }
+
+    private void replay(List<AuditJournal.Entry> pending) {
+        long now = System.currentTimeMillis();
+        for (int from = 0; from < pending.size() && running; from += batchSize) {
+            flush(pending.subList(from, Math.min(from + batchSize, pending.size())).stream()
+                    .map(entry -> new Pending(entry.event(), entry.endOffset(), now))
+                    .toList());
+        }
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    oldestPendingAt = 0;
+                    syncJournal();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = first.enqueuedAt() + flushIntervalMs;
+                while (batch.size() < batchSize) {
+                    long wait = deadline - System.currentTimeMillis();
+                    Pending next = wait > 0 ? buffer.poll(wait, TimeUnit.MILLISECONDS) : buffer.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // Shutdown: loop drains whatever is left
+                running = false;
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+        syncJournal();
+    }
+
+    private void flush(List<Pending> batch) {
+        List<AuditLog> events = batch.stream().map(Pending::event).toList();
+        long backoff = 200;
+        while (true) {
+            try {
+                flushTimer.record(() -> insertBatch(events));
+                break;
+            } catch (Exception e) {
+                flushFailures.increment();
+                log.error("❌ Audit batch flush failed ({} events), retrying in {}ms: {}",
+                        events.size(), backoff, e.getMessage());
+                if (!running) {
+                    // Shutting down: leave them in the journal for replay
+                    return;
+                }
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    running = false;
+                    return;
+                }
+                backoff = Math.min(backoff * 2, 10000);
+            }
+        }
+
+        flushed.increment(events.size());
+        Pending last = batch.get(batch.size() - 1);
+        synchronized (this) {
+            journal.commit(last.journalOffset());
+        }
+        oldestPendingAt = buffer.isEmpty() ? 0 : System.currentTimeMillis();
+    }
+
+    /**
+     * One multi-row INSERT for the whole batch, with ids from pooled-lo blocks (one sequence
+     * call per 50 rows rather than per row).
+     */
+    private void insertBatch(List<AuditLog> events) {
+        long[] ids = idAllocator.allocate(ID_SEQUENCE, events.size());
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + events.size() * (ROW_PLACEHOLDER.length() + 2));
+        sql.append(INSERT_PREFIX);
+        Object[] args = new Object[events.size() * 8];
+        int i = 0;
+        int row = 0;
+        for (AuditLog event : events) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args[i++] = ids[row++];
+            args[i++] = event.getCategory();
+            args[i++] = event.getAction();
+            args[i++] = event.getUserId();
+            args[i++] = event.getDetails();
+            args[i++] = Timestamp.valueOf(event.getTimestamp());
+            args[i++] = event.getIpAddress();
+            args[i++] = event.getUserAgent();
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private synchronized void syncJournal() {
+        journal.force();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (!enabled || flusher == null) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(10000);
+            synchronized (this) {
+                journal.close();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Audit journal shutdown incomplete: {}", e.getMessage());
+        }
+    }
+}
@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 public class BannerService {
 
     private final BannerRepo bannerRepo;
+    private final ResourceVersionService resourceVersionService;
 
     /**
      * Get all active banners (for public display)
@@ -54,6 +55,7 @@ public class BannerService {
      */
     @Transactional
     public BannerDTO createBanner(BannerDTO dto) {
+        resourceVersionService.bump(ResourceVersionService.Resource.BANNERS);
         Banner banner = mapToEntity(dto);
         banner = bannerRepo.save(banner);
         log.info("Created banner: {}", banner.getId());
@@ -65,6 +67,7 @@ public class BannerService {
      */
     @Transactional
     public BannerDTO updateBanner(int id, BannerDTO dto) {
+        resourceVersionService.bump(ResourceVersionService.Resource.BANNERS);
         Banner banner = bannerRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Banner not found: " + id));
         
@@ -88,6 +91,7 @@ public class BannerService {
      */
     @Transactional
     public void deleteBanner(int id) {
+        resourceVersionService.bump(ResourceVersionService.Resource.BANNERS);
         if (!bannerRepo.existsById(id)) {
             throw new RuntimeException("Banner not found: " + id);
         }
@@ -100,6 +104,7 @@ public class BannerService {
      */
     @Transactional
     public BannerDTO toggleBannerStatus(int id) {
+        resourceVersionService.bump(ResourceVersionService.Resource.BANNERS);
         Banner banner = bannerRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Banner not found: " + id));
         banner.setActive(!banner.isActive());
@@ -0,0 +1,155 @@
+package com.esport.EsportTournament.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Set-based wallet credits for bulk operations (refunds, payouts).
+ * - Wallet rows are locked in ascending user_id order, so concurrent bulk jobs never deadlock
+ * - One UPDATE ... FROM (VALUES ...) per chunk instead of a load/save per wallet
+ * - One multi-row INSERT into wallet_ledger per chunk, with ids taken from pooled-lo blocks
+ * Must run inside the caller's transaction. The JDBC writes bypass Hibernate: pending entity
+ * changes are flushed first and the persistence context is cleared afterwards, so callers
+ * re-read (or save, which merges) any entity they still use.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkWalletCreditService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String LEDGER_ID_SEQUENCE = "wallet_ledger_id_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final QueryCacheInvalidator queryCacheInvalidator;
+    private final PooledIdAllocator idAllocator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Result of one wallet credit.
+     */
+    public record Credit(String firebaseUID, int userId, int walletId, int amount, int balanceAfter) {
+    }
+
+    /**
+     * Credit every user in {@code amountsByUid} and write one CREDIT ledger row each.
+     * Users without a wallet are skipped (and logged); non-positive amounts are ignored.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Credit> creditAll(Map<String, Integer> amountsByUid, String referenceType,
+                                  String referenceId, String metadata, String actorUid) {
+        Map<String, Integer> positive = new TreeMap<>();
+        amountsByUid.forEach((uid, amount) -> {
+            if (uid != null && amount != null && amount > 0) {
+                positive.merge(uid, amount, Integer::sum);
+            }
+        });
+        if (positive.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Wallet changes still queued in the session must hit the rows before they are locked
+        entityManager.flush();
+
+        List<String> uids = new ArrayList<>(positive.keySet());
+        List<Credit> credits = new ArrayList<>(uids.size());
+        for (int from = 0; from < uids.size(); from += CHUNK_SIZE) {
+            List<String> chunk = uids.subList(from, Math.min(from + CHUNK_SIZE, uids.size()));
+            credits.addAll(creditChunk(chunk, positive));
+        }
+
+        if (credits.size() < positive.size()) {
+            log.warn("⚠️ {} of {} users had no wallet for {} {}", positive.size() - credits.size(),
+                    positive.size(), referenceType, referenceId);
+        }
+        insertLedger(credits, referenceType, referenceId, metadata, actorUid);
+        queryCacheInvalidator.tablesChanged("wallet", "wallet_ledger");
+        // Managed Wallet entities now hold the old balances; a later flush would write them back
+        entityManager.clear();
+        return credits;
+    }
+
+    private List<Credit> creditChunk(List<String> uids, Map<String, Integer> amounts) {
+        // Lock wallets in user_id order; the UPDATE below then only touches rows we already hold
+        String placeholders = String.join(", ", Collections.nCopies(uids.size(), "?"));
+        List<Credit> locked = jdbcTemplate.query(
+                "SELECT w.id, w.user_id, w.coins, u.firebase_useruid FROM wallet w " +
+                        "JOIN users u ON u.id = w.user_id " +
+                        "WHERE u.firebase_useruid IN (" + placeholders + ") " +
+                        "ORDER BY w.user_id FOR UPDATE OF w",
+                (rs, i) -> {
+                    String uid = rs.getString("firebase_useruid");
+                    int amount = amounts.get(uid);
+                    return new Credit(uid, rs.getInt("user_id"), rs.getInt("id"), amount, rs.getInt("coins") + amount);
+                },
+                uids.toArray());
+        if (locked.isEmpty()) {
+            return locked;
+        }
+
+        StringBuilder sql = new StringBuilder("UPDATE wallet AS w SET coins = w.coins + v.amount, last_updated = ? FROM (VALUES ");
+        Object[] args = new Object[1 + locked.size() * 2];
+        args[0] = Timestamp.valueOf(LocalDateTime.now());
+        int i = 1;
+        for (Credit credit : locked) {
+            if (i > 1) {
+                sql.append(", ");
+            }
+            sql.append("(CAST(? AS INTEGER), CAST(? AS INTEGER))");
+            args[i++] = credit.walletId();
+            args[i++] = credit.amount();
+        }
+        sql.append(") AS v(wallet_id, amount) WHERE w.id = v.wallet_id");
+        jdbcTemplate.update(sql.toString(), args);
+        return locked;
+    }
+
+    private void insertLedger(List<Credit> credits, String referenceType, String referenceId,
+                              String metadata, String actorUid) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < credits.size(); from += CHUNK_SIZE) {
+            List<Credit> chunk = credits.subList(from, Math.min(from + CHUNK_SIZE, credits.size()));
+            // Explicit ids: the column default would burn a whole 50-id block per row
+            long[] ids = idAllocator.allocate(LEDGER_ID_SEQUENCE, chunk.size());
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO wallet_ledger (id, user_id, wallet_id, direction, amount, balance_after, " +
+                            "reference_type, reference_id, metadata, created_by, created_at) VALUES ");
+            Object[] args = new Object[chunk.size() * 10];
+            int i = 0;
+            int row = 0;
+            for (Credit credit : chunk) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(?, ?, ?, 'CREDIT', ?, ?, ?, ?, ?, ?, ?)");
+                args[i++] = ids[row++];
+                args[i++] = credit.userId();
+                args[i++] = credit.walletId();
+                args[i++] = credit.amount();
+                args[i++] = credit.balanceAfter();
+                args[i++] = referenceType;
+                args[i++] = referenceId;
+                args[i++] = metadata;
+                args[i++] = actorUid;
+                args[i++] = now;
+            }
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.esport.EsportTournament.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.internal.StandardTimestampsCacheFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the JVM-local second-level and query caches coherent across instances.
+ * - Every table invalidation Hibernate makes here (entity writes, bulk statements and
+ *   {@link QueryCacheInvalidator}) goes through {@link BroadcastingTimestampsCache} and is
+ *   published on a Redis channel once the transaction has completed
+ * - Peers invalidate the same tables' update timestamps, so none of their cached query
+ *   results over them is used again, and evict entity and collection regions mapped to them
+ * - Publishing is coalesced on one background thread and never delays the committing request
+ * Without Redis nothing is exchanged and other instances fall back to the region TTLs.
+ */
+@Slf4j
+@Service
+public class CacheInvalidationBroadcaster {
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final EntityManagerFactory entityManagerFactory;
+    private final TimestampsFactory timestampsFactory;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+    private final Counter published;
+    private final Counter received;
+    private final Counter failures;
+
+    @Autowired(required = false)
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${app.cache.invalidation-channel:esport:cache-invalidation}")
+    private String channel;
+
+    private ExecutorService publisher;
+    private RedisMessageListenerContainer listenerContainer;
+
+    public CacheInvalidationBroadcaster(EntityManagerFactory entityManagerFactory, TimestampsFactory timestampsFactory,
+                                        MeterRegistry registry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.timestampsFactory = timestampsFactory;
+        this.published = Counter.builder("app.cache.invalidations").tag("direction", "published")
+                .description("Table invalidations sent to other instances").register(registry);
+        this.received = Counter.builder("app.cache.invalidations").tag("direction", "received")
+                .description("Table invalidations applied from other instances").register(registry);
+        this.failures = Counter.builder("app.cache.invalidations").tag("direction", "failed")
+                .description("Invalidations that could not be published").register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (redisTemplate == null) {
+            log.info("ℹ️ No Redis: cache invalidations stay local to this instance");
+            return;
+        }
+        publisher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "cache-invalidation");
+            t.setDaemon(true);
+            return t;
+        });
+        timestampsFactory.broadcaster = this;
+
+        listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        listenerContainer.addMessageListener(
+                (message, pattern) -> onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        listenerContainer.afterPropertiesSet();
+        try {
+            listenerContainer.start();
+        } catch (Exception e) {
+            // The container keeps retrying the subscription in the background
+            log.warn("⚠️ Cache invalidation channel not subscribed yet: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void stop() throws Exception {
+        timestampsFactory.broadcaster = null;
+        if (listenerContainer != null) {
+            listenerContainer.destroy();
+        }
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    /**
+     * Queue {@code tables} for other instances; called after this instance invalidated them.
+     */
+    void tablesInvalidated(String[] tables) {
+        if (publisher == null || tables.length == 0) {
+            return;
+        }
+        pending.addAll(Arrays.asList(tables));
+        if (publishScheduled.compareAndSet(false, true)) {
+            try {
+                publisher.execute(this::publishPending);
+            } catch (RuntimeException e) {
+                // Shutting down
+                publishScheduled.set(false);
+            }
+        }
+    }
+
+    private void publishPending() {
+        publishScheduled.set(false);
+        Set<String> tables = new HashSet<>();
+        for (String table : pending) {
+            if (pending.remove(table)) {
+                tables.add(table);
+            }
+        }
+        if (tables.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + " " + String.join(",", tables));
+            published.increment();
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("⚠️ Could not publish cache invalidation for {}: {}", tables, e.getMessage());
+        }
+    }
+
+    void onMessage(String message) {
+        int separator = message.indexOf(' ');
+        if (separator < 0 || message.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        Set<String> tables = Set.of(message.substring(separator + 1).split(","));
+        try {
+            invalidateLocally(tables);
+            received.increment();
+            log.debug("Applied cache invalidation from another instance for {}", tables);
+        } catch (Exception e) {
+            log.warn("⚠️ Could not apply cache invalidation for {}: {}", tables, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop everything this instance caches over {@code tables}, without publishing it again.
+     */
+    void invalidateLocally(Collection<String> tables) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        CacheImplementor cache = sessionFactory.getCache();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.canWriteToCache() && intersects(persister.getQuerySpaces(), tables)) {
+                cache.evictEntityData(persister.getEntityName());
+            }
+        });
+        sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(persister -> {
+            if (persister.hasCache() && intersects(persister.getCollectionSpaces(), tables)) {
+                cache.evictCollectionData(persister.getRole());
+            }
+        });
+        if (cache.getTimestampsCache() instanceof BroadcastingTimestampsCache timestamps) {
+            try (SessionImplementor session = (SessionImplementor) sessionFactory.openSession()) {
+                timestamps.delegate.invalidate(tables.toArray(String[]::new), session);
+            }
+        }
+    }
+
+    private static boolean intersects(Object[] spaces, Collection<String> tables) {
+        for (Object space : spaces) {
+            if (tables.contains(String.valueOf(space))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hibernate's timestamps cache factory (hibernate.cache.query_cache_factory), registered
+     * as a bean so the broadcaster can attach itself once the session factory exists.
+     */
+    public static class TimestampsFactory implements TimestampsCacheFactory {
+
+        private volatile CacheInvalidationBroadcaster broadcaster;
+
+        @Override
+        public TimestampsCache buildTimestampsCache(CacheImplementor cacheImplementor, TimestampsRegion region) {
+            return new BroadcastingTimestampsCache(
+                    StandardTimestampsCacheFactory.INSTANCE.buildTimestampsCache(cacheImplementor, region), this);
+        }
+    }
+
+    /**
+     * Standard timestamps cache that also hands every completed invalidation to the broadcaster.
+     */
+    static final class BroadcastingTimestampsCache implements TimestampsCache {
+
+        private final TimestampsCache delegate;
+        private final TimestampsFactory factory;
+
+        BroadcastingTimestampsCache(TimestampsCache delegate, TimestampsFactory factory) {
+            this.delegate = delegate;
+            this.factory = factory;
+        }
+
+        @Override
+        public TimestampsRegion getRegion() {
+            return delegate.getRegion();
+        }
+
+        @Override
+        public void preInvalidate(String[] spaces, SharedSessionContractImplementor session) {
+            delegate.preInvalidate(spaces, session);
+        }
+
+        @Override
+        public void invalidate(String[] spaces, SharedSessionContractImplementor session) {
+            delegate.invalidate(spaces, session);
+            CacheInvalidationBroadcaster broadcaster = factory.broadcaster;
+            if (broadcaster != null) {
+                broadcaster.tablesInvalidated(spaces);
+            }
+        }
+
+        @Override
+        public boolean isUpToDate(String[] spaces, Long timestamp, SharedSessionContractImplementor session) {
+            return delegate.isUpToDate(spaces, timestamp, session);
+        }
+
+        @Override
+        public boolean isUpToDate(Collection<String> spaces, Long timestamp, SharedSessionContractImplementor session) {
+            return delegate.isUpToDate(spaces, timestamp, session);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public void destroy() {
+            delegate.destroy();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.util.EncryptionUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Game credentials of tournaments: encryption plus a short-lived cache of decrypted values.
+ *
+ * Starting a tournament and every participant's credentials request decrypt the same two
+ * values; the cache keeps them per tournament for cache-ttl-seconds (bounded by
+ * cache-max-entries). Entries remember the ciphertext they came from and are only used
+ * while it matches, so a stale DTO or a change made on another instance never returns
+ * old credentials; {@link #evict(int)} drops them on update.
+ */
+@Slf4j
+@Service
+public class CredentialCryptoService {
+
+    /**
+     * Decrypted game ID and password; null when not set.
+     */
+    public record GameCredentials(String gameId, String gamePassword) {
+    }
+
+    private record Entry(String encryptedGameId, String encryptedPassword, GameCredentials credentials) {
+    }
+
+    private final EncryptionUtil encryptionUtil;
+    private final TournamentRepo tournamentRepo;
+    private final Cache<Integer, Entry> cache;
+
+    @Value("${app.credentials.migration-batch-size:100}")
+    private int migrationBatchSize;
+
+    public CredentialCryptoService(EncryptionUtil encryptionUtil,
+                                   TournamentRepo tournamentRepo,
+                                   @Value("${app.credentials.cache-ttl-seconds:60}") long ttlSeconds,
+                                   @Value("${app.credentials.cache-max-entries:500}") long maxEntries,
+                                   MeterRegistry registry) {
+        this.encryptionUtil = encryptionUtil;
+        this.tournamentRepo = tournamentRepo;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "game_credentials");
+    }
+
+    public String encrypt(String value) {
+        return encryptionUtil.encrypt(value);
+    }
+
+    /**
+     * Decrypted credentials of a tournament from its stored (encrypted) values.
+     */
+    public GameCredentials decrypt(int tournamentId, String encryptedGameId, String encryptedPassword) {
+        Entry entry = cache.getIfPresent(tournamentId);
+        if (entry != null && Objects.equals(entry.encryptedGameId(), encryptedGameId)
+                && Objects.equals(entry.encryptedPassword(), encryptedPassword)) {
+            return entry.credentials();
+        }
+        GameCredentials credentials = new GameCredentials(
+                encryptionUtil.decrypt(encryptedGameId),
+                encryptionUtil.decrypt(encryptedPassword));
+        cache.put(tournamentId, new Entry(encryptedGameId, encryptedPassword, credentials));
+        return credentials;
+    }
+
+    public void evict(int tournamentId) {
+        cache.invalidate(tournamentId);
+    }
+
+    /**
+     * Re-encrypt one batch of legacy (AES/ECB or plain text) credentials with AES-GCM.
+     *
+     * @return id of the last tournament in the batch, or -1 when nothing is left after afterId
+     */
+    @Transactional
+    public int migrateLegacyBatch(int afterId) {
+        List<Tournaments> batch = tournamentRepo.findWithLegacyCredentials(afterId,
+                PageRequest.of(0, migrationBatchSize));
+        if (batch.isEmpty()) {
+            return -1;
+        }
+        for (Tournaments tournament : batch) {
+            if (encryptionUtil.isLegacy(tournament.getGameId())) {
+                tournament.setGameId(encryptionUtil.encrypt(encryptionUtil.decrypt(tournament.getGameId())));
+            }
+            if (encryptionUtil.isLegacy(tournament.getGamePassword())) {
+                tournament.setGamePassword(encryptionUtil.encrypt(encryptionUtil.decrypt(tournament.getGamePassword())));
+            }
+            evict(tournament.getId());
+        }
+        tournamentRepo.saveAll(batch);
+        return batch.get(batch.size() - 1).getId();
+    }
+}
@@ -1,12 +1,24 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.util.TopKSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Redis-based Distributed Lock for concurrent booking protection.
@@ -16,6 +28,15 @@ import java.util.UUID;
  *
  * <p>Uses Redis SET NX EX (atomic set-if-not-exists with expiry) which is
  * the industry-standard pattern for distributed locking.</p>
+ *
+ * <p>Telemetry (all meters registered up front):
+ * app.locks.acquire (Redis round trip, outcome = acquired | contended | fallback),
+ * app.locks.held (acquire to release, outcome = released | expired),
+ * app.locks.expired_before_release, app.locks.redis_fallback (op = acquire | release) and
+ * app.locks.hot_keys{type, tournament}, the most contended keys from a {@link TopKSketch}
+ * that decays every refresh so it follows recent traffic (also at /actuator/lockcontention).
+ * Keys are tracked with their user segment redacted, so Firebase UIDs reach neither the
+ * sketch nor the metrics.</p>
  */
 @Slf4j
 @Service
@@ -23,12 +44,68 @@ public class DistributedLockService {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
+    private final TopKSketch contendedKeys;
+    private final int hotKeysReported;
+    private final MultiGauge hotKeysGauge;
+
+    private final Timer acquiredTimer;
+    private final Timer contendedTimer;
+    private final Timer fallbackTimer;
+    private final Timer heldTimer;
+    private final Timer heldExpiredTimer;
+    private final Counter expiredBeforeRelease;
+    private final Counter acquireFallbacks;
+    private final Counter releaseFallbacks;
+
     @Autowired
-    public DistributedLockService(@Autowired(required = false) RedisTemplate<String, Object> redisTemplate) {
+    public DistributedLockService(@Autowired(required = false) RedisTemplate<String, Object> redisTemplate,
+                                  @Value("${app.locks.hot-keys.capacity:256}") int hotKeysCapacity,
+                                  @Value("${app.locks.hot-keys.reported:10}") int hotKeysReported,
+                                  MeterRegistry registry) {
         this.redisTemplate = redisTemplate;
+        this.contendedKeys = new TopKSketch(hotKeysCapacity);
+        this.hotKeysReported = hotKeysReported;
+
+        this.acquiredTimer = acquireTimer(registry, "acquired");
+        this.contendedTimer = acquireTimer(registry, "contended");
+        this.fallbackTimer = acquireTimer(registry, "fallback");
+        this.heldTimer = heldTimer(registry, "released");
+        this.heldExpiredTimer = heldTimer(registry, "expired");
+        this.expiredBeforeRelease = Counter.builder("app.locks.expired_before_release")
+                .description("Locks whose TTL ran out before the holder released them")
+                .register(registry);
+        this.acquireFallbacks = fallbackCounter(registry, "acquire");
+        this.releaseFallbacks = fallbackCounter(registry, "release");
+        this.hotKeysGauge = MultiGauge.builder("app.locks.hot_keys")
+                .description("Most contended lock keys, decayed count")
+                .register(registry);
+    }
+
+    private static Timer acquireTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("app.locks.acquire")
+                .description("Redis lock acquire latency; count by outcome gives contention/failure totals")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Timer heldTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("app.locks.held")
+                .description("Time from lock acquire to release")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter fallbackCounter(MeterRegistry registry, String op) {
+        return Counter.builder("app.locks.redis_fallback")
+                .description("Lock calls that fell back to DB-only locking because Redis failed")
+                .tag("op", op)
+                .register(registry);
     }
 
     private static final String LOCK_PREFIX = "lock:";
+    private static final String VALUE_SEPARATOR = "@";
+    private static final String USER_SEGMENT = "user";
+    private static final String TOURNAMENT_SEGMENT = "tournament:";
     private static final Duration DEFAULT_LOCK_TIMEOUT = Duration.ofSeconds(10);
 
     /**
@@ -40,7 +117,9 @@ public class DistributedLockService {
      */
     public String acquireLock(String key, Duration timeout) {
         String lockKey = LOCK_PREFIX + key;
-        String lockValue = UUID.randomUUID().toString();
+        long start = System.nanoTime();
+        // Acquire time rides along in the value so release can time the hold without extra state
+        String lockValue = UUID.randomUUID() + VALUE_SEPARATOR + start;
 
         if (redisTemplate == null) {
             log.debug("🔧 Redis disabled: Simulating acquired lock for {}", lockKey);
@@ -52,13 +131,18 @@ public class DistributedLockService {
                     .setIfAbsent(lockKey, lockValue, timeout);
 
             if (Boolean.TRUE.equals(acquired)) {
+                acquiredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
                 log.debug("🔒 Lock acquired: {} (value={})", lockKey, lockValue);
                 return lockValue;
             }
 
+            contendedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            contendedKeys.add(contentionKey(key));
             log.debug("⏳ Lock not acquired (held by another): {}", lockKey);
             return null;
         } catch (Exception e) {
+            fallbackTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            acquireFallbacks.increment();
             log.warn("⚠️ Redis lock failed for {}: {} — falling back to DB locks only",
                     lockKey, e.getMessage());
             // Return a value anyway so the caller proceeds with DB-level locks as fallback
@@ -93,16 +177,86 @@ public class DistributedLockService {
             Object currentValue = redisTemplate.opsForValue().get(lockKey);
             if (lockValue.equals(currentValue)) {
                 redisTemplate.delete(lockKey);
+                recordHold(heldTimer, lockValue);
                 log.debug("🔓 Lock released: {}", lockKey);
             } else {
+                recordHold(heldExpiredTimer, lockValue);
+                expiredBeforeRelease.increment();
                 log.warn("⚠️ Lock {} already expired or owned by another caller", lockKey);
             }
         } catch (Exception e) {
+            releaseFallbacks.increment();
             log.warn("⚠️ Failed to release Redis lock {}: {}", lockKey, e.getMessage());
             // Non-fatal: the lock will auto-expire via TTL
         }
     }
 
+    /**
+     * Most contended lock keys (approximate counts, decayed every refresh), highest first.
+     */
+    public List<TopKSketch.Entry> hotKeys() {
+        return contendedKeys.top(hotKeysReported);
+    }
+
+    /**
+     * Publish the current top keys as app.locks.hot_keys{type, tournament}, summing keys that
+     * share both (e.g. several slots of one tournament), then decay the sketch. Rows that drop
+     * out of the top are removed from the gauge, keeping its series bounded.
+     */
+    @Scheduled(fixedDelayString = "${app.locks.hot-keys.refresh-ms:30000}", initialDelay = 30000)
+    public void refreshHotKeys() {
+        Map<Tags, Long> rows = new LinkedHashMap<>();
+        for (TopKSketch.Entry entry : hotKeys()) {
+            rows.merge(hotKeyTags(entry.key()), entry.count(), Long::sum);
+        }
+        hotKeysGauge.register(rows.entrySet().stream()
+                .map(row -> MultiGauge.Row.of(row.getKey(), row.getValue()))
+                .toList(), true);
+        contendedKeys.decay();
+    }
+
+    /**
+     * Lock key as tracked for contention: the segment after "user" (a Firebase UID) becomes "*".
+     */
+    static String contentionKey(String key) {
+        String[] segments = key.split(":");
+        for (int i = 0; i + 1 < segments.length; i++) {
+            if (USER_SEGMENT.equals(segments[i])) {
+                segments[i + 1] = "*";
+            }
+        }
+        return String.join(":", segments);
+    }
+
+    /**
+     * Bounded tags for a contention key: its first segment and the tournament id, if any.
+     */
+    static Tags hotKeyTags(String key) {
+        int typeEnd = key.indexOf(':');
+        String type = typeEnd < 0 ? key : key.substring(0, typeEnd);
+        String tournament = "none";
+        int at = key.indexOf(TOURNAMENT_SEGMENT);
+        if (at >= 0) {
+            int from = at + TOURNAMENT_SEGMENT.length();
+            int to = key.indexOf(':', from);
+            tournament = key.substring(from, to < 0 ? key.length() : to);
+        }
+        return Tags.of("type", type, "tournament", tournament);
+    }
+
+    private static void recordHold(Timer timer, String lockValue) {
+        int separator = lockValue.lastIndexOf(VALUE_SEPARATOR);
+        if (separator < 0) {
+            return;
+        }
+        try {
+            long acquiredAt = Long.parseLong(lockValue, separator + 1, lockValue.length(), 10);
+            timer.record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+        } catch (NumberFormatException ignored) {
+            // Not a value minted by acquireLock
+        }
+    }
+
     /**
      * Generate a lock key for a specific tournament slot.
      */
@@ -1,5 +1,8 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.ReplicaRead;
+import com.esport.EsportTournament.config.Workload;
 import com.esport.EsportTournament.dto.EarningsReportDTO;
 import com.esport.EsportTournament.model.TransactionTable;
 import com.esport.EsportTournament.repository.TransactionTableRepo;
@@ -23,6 +26,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@DbWorkload(Workload.ANALYTICS)
 public class EarningsService {
 
     private final TransactionTableRepo transactionRepo;
@@ -34,6 +38,7 @@ public class EarningsService {
     // Public API — period helpers
     // ─────────────────────────────────────────────────────────────
 
+    @ReplicaRead
     @Transactional(readOnly = true)
     public EarningsReportDTO getTodayEarnings() {
         LocalDateTime start = LocalDate.now(IST).atStartOfDay();
@@ -41,6 +46,7 @@ public class EarningsService {
         return buildReport("TODAY", start, end);
     }
 
+    @ReplicaRead
     @Transactional(readOnly = true)
     public EarningsReportDTO getWeeklyEarnings() {
         LocalDate today = LocalDate.now(IST);
@@ -49,6 +55,7 @@ public class EarningsService {
         return buildReport("WEEK", start, end);
     }
 
+    @ReplicaRead
     @Transactional(readOnly = true)
     public EarningsReportDTO getMonthlyEarnings() {
         LocalDate today = LocalDate.now(IST);
@@ -57,6 +64,7 @@ public class EarningsService {
         return buildReport("MONTH", start, end);
     }
 
+    @ReplicaRead
     @Transactional(readOnly = true)
     public EarningsReportDTO getCustomEarnings(LocalDateTime start, LocalDateTime end) {
         return buildReport("CUSTOM", start, end);
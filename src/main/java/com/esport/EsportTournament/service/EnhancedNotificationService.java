@@ -7,14 +7,22 @@ import com.esport.EsportTournament.model.Users;
 import com.esport.EsportTournament.repository.NotificationRepo;
 import com.esport.EsportTournament.repository.UsersRepo;
 import com.google.firebase.messaging.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +40,29 @@ public class EnhancedNotificationService {
         private final NotificationRepo notificationRepo;
         private final UsersRepo usersRepo;
 
+        @Value("${app.notifications.fan-out-workers:4}")
+        private int fanOutWorkers;
+
+        // Bulk fan-out (e.g. cancellation refunds) runs here, off the request thread
+        private ExecutorService fanOutExecutor;
+
+        @PostConstruct
+        void initFanOut() {
+                AtomicInteger counter = new AtomicInteger();
+                fanOutExecutor = Executors.newFixedThreadPool(fanOutWorkers, r -> {
+                        Thread t = new Thread(r, "notify-fanout-" + counter.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                });
+        }
+
+        @PreDestroy
+        void shutdownFanOut() {
+                if (fanOutExecutor != null) {
+                        fanOutExecutor.shutdown();
+                }
+        }
+
         // ==================== TOURNAMENT NOTIFICATIONS ====================
 
         /**
@@ -215,6 +246,36 @@ public class EnhancedNotificationService {
                 sendToUser(firebaseUID, title, message, data);
         }
 
+        /**
+         * Bulk variant for tournament cancellation: one notification per refunded user.
+         * Sent only after the surrounding transaction commits, on the fan-out pool.
+         */
+        public void notifyBookingsCancelledAfterCommit(Map<String, Integer> refundsByUid, int tournamentId,
+                        String tournamentName) {
+                if (refundsByUid.isEmpty()) {
+                        return;
+                }
+                Map<String, Integer> refunds = new HashMap<>(refundsByUid);
+                Runnable fanOut = () -> refunds.forEach((uid, amount) -> fanOutExecutor.execute(() -> {
+                        try {
+                                notifyBookingCancelled(uid, tournamentId, tournamentName, amount);
+                        } catch (Exception e) {
+                                log.error("❌ Cancellation notification failed for {}: {}", uid, e.getMessage());
+                        }
+                }));
+
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                                @Override
+                                public void afterCommit() {
+                                        fanOut.run();
+                                }
+                        });
+                } else {
+                        fanOut.run();
+                }
+        }
+
         // ==================== WALLET NOTIFICATIONS ====================
 
         /**
@@ -0,0 +1,421 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.config.Workload;
+import com.esport.EsportTournament.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Asynchronous export jobs for admin backups / analysis.
+ * - Bounded worker pool + bounded queue (rejects instead of piling up)
+ * - Keyset-paged reads (id > lastId LIMIT n), each page is its own short query
+ * - Gzip-compressed NDJSON or CSV written to a local spool directory
+ * - Files are served back with HTTP Range support by AdminController
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${app.export.spool-dir:${java.io.tmpdir}/esport-exports}")
+    private String spoolDir;
+
+    @Value("${app.export.page-size:1000}")
+    private int pageSize;
+
+    @Value("${app.export.workers:2}")
+    private int workers;
+
+    @Value("${app.export.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${app.export.retention-hours:24}")
+    private int retentionHours;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    public enum Dataset {
+        USERS("users",
+                "SELECT id, firebase_useruid, email, user_name, role, status, created_at, last_active_at FROM users"),
+        TRANSACTIONS("transaction_table",
+                "SELECT id, user_id, transaction_uid, amount, status, type, verified_by, created_at, verified_at FROM transaction_table"),
+        WALLET_LEDGER("wallet_ledger",
+                "SELECT id, user_id, wallet_id, direction, amount, balance_after, reference_type, reference_id, created_by, created_at FROM wallet_ledger"),
+        SLOTS("slots",
+                "SELECT id, tournament_id, slot_number, firebase_useruid, player_name, status, booked_at FROM slots"),
+        AUDIT_LOGS("audit_logs",
+                "SELECT id, category, action, user_id, details, timestamp, ip_address FROM audit_logs");
+
+        private final String table;
+        private final String select;
+
+        Dataset(String table, String select) {
+            this.table = table;
+            this.select = select;
+        }
+
+        String keysetQuery() {
+            return select + " WHERE id > ? ORDER BY id ASC LIMIT ?";
+        }
+
+        public static Dataset from(String value) {
+            try {
+                return Dataset.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export data type: " + value);
+            }
+        }
+    }
+
+    public enum Format {
+        NDJSON("ndjson"),
+        CSV("csv");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            if (value == null || value.isBlank() || "JSON".equalsIgnoreCase(value)) {
+                return NDJSON;
+            }
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    public enum JobStatus { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    @Getter
+    public static class ExportJob {
+        private final String id;
+        private final List<Dataset> datasets;
+        private final Format format;
+        private final String requestedBy;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final Map<Dataset, Path> files = new ConcurrentHashMap<>();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private final AtomicLong lastId = new AtomicLong();
+        // Written by the worker and by cancel(); every transition is a compare-and-set
+        private final AtomicReference<JobStatus> status = new AtomicReference<>(JobStatus.QUEUED);
+        private volatile Dataset currentDataset;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime completedAt;
+        private volatile String error;
+        private volatile Future<?> future;
+
+        ExportJob(String id, List<Dataset> datasets, Format format, String requestedBy) {
+            this.id = id;
+            this.datasets = datasets;
+            this.format = format;
+            this.requestedBy = requestedBy;
+        }
+
+        public JobStatus getStatus() {
+            return status.get();
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(Paths.get(spoolDir));
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "export-worker-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("📦 Export engine ready: spool={}, workers={}, queue={}", spoolDir, workers, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue an export job. Returns immediately; work happens on the export pool.
+     */
+    public ExportJob submit(List<String> dataTypes, String format, String requestedBy) {
+        if (dataTypes == null || dataTypes.isEmpty()) {
+            throw new IllegalArgumentException("At least one data type is required");
+        }
+        List<Dataset> datasets = dataTypes.stream().map(Dataset::from).distinct().toList();
+        Format exportFormat = Format.from(format);
+
+        String jobId = "EXP_" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        ExportJob job = new ExportJob(jobId, datasets, exportFormat, requestedBy);
+        jobs.put(jobId, job);
+
+        try {
+            job.future = executor.submit(() -> Workload.run(Workload.ANALYTICS, () -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw new IllegalStateException("Export queue is full, try again later");
+        }
+
+        log.info("📦 Export {} queued by {}: datasets={}, format={}", jobId, requestedBy, datasets, exportFormat);
+        return job;
+    }
+
+    public ExportJob getJob(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("Export job not found: " + jobId);
+        }
+        return job;
+    }
+
+    public List<ExportJob> listJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(ExportJob::getCreatedAt).reversed())
+                .toList();
+    }
+
+    public void cancel(String jobId) {
+        ExportJob job = getJob(jobId);
+        if (job.status.compareAndSet(JobStatus.QUEUED, JobStatus.CANCELLED)) {
+            // A queued job never gets past run()'s first check, whose finally stamps completedAt for the purge
+            job.completedAt = LocalDateTime.now();
+        } else if (!job.status.compareAndSet(JobStatus.RUNNING, JobStatus.CANCELLED)) {
+            return;
+        }
+        if (job.future != null) {
+            job.future.cancel(true);
+        }
+        log.info("🛑 Export {} cancelled", jobId);
+    }
+
+    /**
+     * Resolve the finished file of one dataset for download.
+     */
+    public Path getFile(String jobId, String dataType) {
+        ExportJob job = getJob(jobId);
+        JobStatus status = job.getStatus();
+        if (status != JobStatus.COMPLETED) {
+            throw new IllegalStateException("Export " + jobId + " is not completed (status=" + status + ")");
+        }
+        Dataset dataset = Dataset.from(dataType);
+        Path file = job.files.get(dataset);
+        if (file == null || !Files.exists(file)) {
+            throw new ResourceNotFoundException("Export file not found for " + dataset + " in " + jobId);
+        }
+        return file;
+    }
+
+    /**
+     * Progress snapshot for the status endpoint.
+     */
+    public Map<String, Object> describe(ExportJob job) {
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("exportId", job.id);
+        info.put("status", job.getStatus());
+        info.put("dataTypes", job.datasets);
+        info.put("format", job.format);
+        info.put("initiatedBy", job.requestedBy);
+        info.put("createdAt", job.createdAt);
+        info.put("startedAt", job.startedAt);
+        info.put("completedAt", job.completedAt);
+        info.put("currentDataType", job.currentDataset);
+        info.put("rowsWritten", job.rowsWritten.get());
+        info.put("rowsPerSecond", throughput(job));
+
+        Map<String, Object> files = new LinkedHashMap<>();
+        job.files.forEach((dataset, path) -> files.put(dataset.name(), Map.of(
+                "file", path.getFileName().toString(),
+                "sizeBytes", sizeOf(path),
+                "download", "/api/admin/export/" + job.id + "/download/" + dataset.name().toLowerCase(Locale.ROOT))));
+        info.put("files", files);
+        if (job.error != null) {
+            info.put("error", job.error);
+        }
+        return info;
+    }
+
+    // ── Worker ──
+
+    private void run(ExportJob job) {
+        if (!job.status.compareAndSet(JobStatus.QUEUED, JobStatus.RUNNING)) {
+            // Cancelled while queued
+            return;
+        }
+        job.startedAt = LocalDateTime.now();
+        try {
+            for (Dataset dataset : job.datasets) {
+                job.currentDataset = dataset;
+                job.files.put(dataset, exportDataset(job, dataset));
+            }
+            job.currentDataset = null;
+            // Loses to a cancel() that landed after the last page: the job stays CANCELLED
+            if (job.status.compareAndSet(JobStatus.RUNNING, JobStatus.COMPLETED)) {
+                log.info("✅ Export {} completed: rows={}, {} rows/s", job.id, job.rowsWritten.get(), throughput(job));
+            }
+        } catch (CancellationException | InterruptedException e) {
+            job.status.compareAndSet(JobStatus.RUNNING, JobStatus.CANCELLED);
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            if (!job.status.compareAndSet(JobStatus.RUNNING, JobStatus.FAILED)) {
+                return;
+            }
+            job.error = e.getMessage();
+            log.error("❌ Export {} failed on {}: {}", job.id, job.currentDataset, e.getMessage(), e);
+        } finally {
+            job.completedAt = LocalDateTime.now();
+        }
+    }
+
+    private Path exportDataset(ExportJob job, Dataset dataset) throws IOException, InterruptedException {
+        String fileName = job.id + "_" + dataset.table + "." + job.format.extension + ".gz";
+        Path target = Paths.get(spoolDir, fileName);
+        Path partial = Paths.get(spoolDir, fileName + ".part");
+
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024), StandardCharsets.UTF_8))) {
+            long lastId = 0;
+            boolean headerWritten = false;
+            while (true) {
+                if (Thread.interrupted() || job.getStatus() == JobStatus.CANCELLED) {
+                    throw new InterruptedException("Export cancelled");
+                }
+                // Keyset page: no OFFSET scans, no transaction spanning pages
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(dataset.keysetQuery(), lastId, pageSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Map<String, Object> row : rows) {
+                    if (job.format == Format.CSV) {
+                        if (!headerWritten) {
+                            out.write(String.join(",", row.keySet()));
+                            out.write('\n');
+                            headerWritten = true;
+                        }
+                        writeCsvRow(out, row);
+                    } else {
+                        out.write(objectMapper.writeValueAsString(normalize(row)));
+                        out.write('\n');
+                    }
+                }
+                lastId = ((Number) rows.get(rows.size() - 1).get("id")).longValue();
+                job.lastId.set(lastId);
+                job.rowsWritten.addAndGet(rows.size());
+                if (rows.size() < pageSize) {
+                    break;
+                }
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    private Map<String, Object> normalize(Map<String, Object> row) {
+        Map<String, Object> normalized = new LinkedHashMap<>(row.size());
+        row.forEach((key, value) -> normalized.put(key,
+                value == null || value instanceof Number || value instanceof Boolean ? value : value.toString()));
+        return normalized;
+    }
+
+    private void writeCsvRow(Writer out, Map<String, Object> row) throws IOException {
+        boolean first = true;
+        for (Object value : row.values()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            if (value != null) {
+                String text = value.toString();
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                    out.write('"');
+                    out.write(text.replace("\"", "\"\""));
+                    out.write('"');
+                } else {
+                    out.write(text);
+                }
+            }
+        }
+        out.write('\n');
+    }
+
+    private long throughput(ExportJob job) {
+        if (job.startedAt == null) {
+            return 0;
+        }
+        LocalDateTime end = job.completedAt != null ? job.completedAt : LocalDateTime.now();
+        long millis = Math.max(1, Duration.between(job.startedAt, end).toMillis());
+        return job.rowsWritten.get() * 1000 / millis;
+    }
+
+    private long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Drop finished jobs and their files after the retention window.
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 600000)
+    public void purgeExpiredExports() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().removeIf(job -> {
+            JobStatus status = job.getStatus();
+            boolean finished = status != JobStatus.QUEUED && status != JobStatus.RUNNING;
+            if (!finished || job.completedAt == null || job.completedAt.isAfter(cutoff)) {
+                return false;
+            }
+            job.files.values().forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.warn("⚠️ Could not delete export file {}: {}", path, e.getMessage());
+                }
+            });
+            return true;
+        });
+    }
+}
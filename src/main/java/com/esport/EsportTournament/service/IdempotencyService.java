@@ -0,0 +1,283 @@
+package com.esport.EsportTournament.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import com.esport.EsportTournament.exception.IdempotencyKeyReusedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Idempotency-Key bookkeeping for retried writes (bookings, deposits, withdrawals, wallet credits).
+ * - One Redis string per key: "P{request hash}{token}" while the first request runs (short TTL,
+ *   so a crashed owner frees the key), then "D{request hash}{status}{json body}" for the replay TTL
+ * - Claiming is a single SET NX; a replay is a single GET, the stored JSON is written as is
+ * - A key reused with a different request body is rejected ({@link IdempotencyKeyReusedException}),
+ *   never answered with the other request's response
+ * - Storing and releasing are compare-and-set Lua scripts on the owner's pending value, so a
+ *   claim that expired and was taken over is never overwritten or deleted
+ * - Duplicates arriving while the key is pending wait for the owner instead of running the
+ *   locked booking/payment path again: on the owning instance they park on a local future,
+ *   elsewhere they poll the key
+ * - Only successful responses are stored; on any failure the claim is released and the next
+ *   duplicate (waiting or retried later) runs the request itself
+ * Redis is optional: without it, or when it fails, requests run unprotected as before.
+ *
+ * <p>Telemetry: app.idempotency.requests (result = claimed | replayed | in_flight | fallback | mismatched)
+ * and app.idempotency.wait (time duplicates spent waiting for the owner).</p>
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    static final String KEY_PREFIX = "idem:";
+    static final char PENDING = 'P';
+    static final char DONE = 'D';
+    // Unpadded base64url SHA-256
+    static final int HASH_LENGTH = 43;
+
+    // Public so the load-test Redis stand-in can run a Java twin of them
+    public static final DefaultRedisScript<Long> COMPLETE_IF_OWNED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) return 1 end return 0",
+            Long.class);
+    public static final DefaultRedisScript<Long> RELEASE_IF_OWNED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+                    "return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    /**
+     * The caller owns the key and must {@link #complete} or {@link #release} it.
+     */
+    public record Claim(String key, String requestHash, String token) {
+        String pendingValue() {
+            return PENDING + requestHash + token;
+        }
+    }
+
+    /**
+     * Response stored by the first execution.
+     */
+    public record StoredResponse(int status, String body) {
+    }
+
+    /**
+     * Outcome of {@link #begin}: a claim to execute, a response to replay, or neither
+     * (idempotency unavailable, execute unprotected).
+     */
+    public record Decision(Claim claim, StoredResponse replay) {
+        static final Decision UNPROTECTED = new Decision(null, null);
+    }
+
+    private record InFlight(String token, CompletableFuture<Void> done) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    // Requests this instance is executing, so local duplicates wait without polling Redis
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final long waitTimeoutMillis;
+    private final long pollIntervalMillis;
+
+    private final Counter claimed;
+    private final Counter replayed;
+    private final Counter stillInFlight;
+    private final Counter fallbacks;
+    private final Counter mismatched;
+    private final Timer waitTimer;
+
+    public IdempotencyService(@Autowired(required = false) StringRedisTemplate redisTemplate,
+                              @Value("${app.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                              @Value("${app.idempotency.pending-ttl-seconds:60}") long pendingTtlSeconds,
+                              @Value("${app.idempotency.wait-timeout-ms:15000}") long waitTimeoutMillis,
+                              @Value("${app.idempotency.poll-interval-ms:50}") long pollIntervalMillis,
+                              MeterRegistry registry) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.pendingTtl = Duration.ofSeconds(pendingTtlSeconds);
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+
+        this.claimed = requestCounter(registry, "claimed", "Keyed requests executed by their first caller");
+        this.replayed = requestCounter(registry, "replayed", "Keyed requests answered with the stored response");
+        this.stillInFlight = requestCounter(registry, "in_flight",
+                "Duplicates rejected because the first request was still running after the wait timeout");
+        this.fallbacks = requestCounter(registry, "fallback", "Keyed requests executed unprotected because Redis failed");
+        this.mismatched = requestCounter(registry, "mismatched",
+                "Keyed requests rejected because the key was first used with another body");
+        this.waitTimer = Timer.builder("app.idempotency.wait")
+                .description("Time duplicates waited for the in-flight first request")
+                .register(registry);
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String result, String description) {
+        return Counter.builder("app.idempotency.requests")
+                .description(description)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Fingerprint of a request body, stored with the key so a reuse with another body is caught.
+     */
+    public static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Claim {@code key}, or wait for the request holding it and return its stored response.
+     *
+     * @param requestHash {@link #hash} of the request body
+     * @throws IdempotencyKeyReusedException when the key was first used with another body
+     * @throws IllegalStateException when the holder is still running after the wait timeout
+     */
+    public Decision begin(String key, String requestHash) {
+        if (redisTemplate == null) {
+            return Decision.UNPROTECTED;
+        }
+        String redisKey = KEY_PREFIX + key;
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMillis);
+        boolean waited = false;
+
+        while (true) {
+            String token = UUID.randomUUID().toString();
+            String current;
+            try {
+                Claim claim = new Claim(key, requestHash, token);
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(redisKey, claim.pendingValue(), pendingTtl))) {
+                    inFlight.put(key, new InFlight(token, new CompletableFuture<>()));
+                    claimed.increment();
+                    recordWait(waited, start);
+                    return new Decision(claim, null);
+                }
+                current = redisTemplate.opsForValue().get(redisKey);
+            } catch (Exception e) {
+                fallbacks.increment();
+                log.warn("⚠️ Idempotency check failed for {}: {} — executing without replay protection",
+                        redisKey, e.getMessage());
+                return Decision.UNPROTECTED;
+            }
+
+            if (current == null) {
+                // Released or expired between SET NX and GET: try to claim again
+                continue;
+            }
+            if (!current.startsWith(requestHash, 1)) {
+                mismatched.increment();
+                recordWait(waited, start);
+                throw new IdempotencyKeyReusedException(
+                        "This Idempotency-Key was already used with a different request body");
+            }
+            if (current.charAt(0) == DONE) {
+                replayed.increment();
+                recordWait(waited, start);
+                log.debug("🔁 Replaying stored response for {}", redisKey);
+                return new Decision(null, parse(current));
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                stillInFlight.increment();
+                recordWait(true, start);
+                throw new IllegalStateException(
+                        "A request with this Idempotency-Key is still being processed, retry later");
+            }
+            waited = true;
+            awaitHolder(key, Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(pollIntervalMillis)));
+        }
+    }
+
+    /**
+     * Store the successful response of a claimed request for replay.
+     */
+    public void complete(Claim claim, int status, String body) {
+        String redisKey = KEY_PREFIX + claim.key();
+        try {
+            Long stored = redisTemplate.execute(COMPLETE_IF_OWNED, List.of(redisKey), claim.pendingValue(),
+                    DONE + claim.requestHash() + String.format("%03d", status) + body,
+                    String.valueOf(ttl.toSeconds()));
+            if (!Long.valueOf(1).equals(stored)) {
+                log.warn("⚠️ Idempotency key {} expired before its response was stored", redisKey);
+            }
+        } catch (Exception e) {
+            fallbacks.increment();
+            log.warn("⚠️ Failed to store idempotent response for {}: {}", redisKey, e.getMessage());
+        } finally {
+            wakeWaiters(claim);
+        }
+    }
+
+    /**
+     * Give up a claim without storing a response (error, or no cacheable body).
+     */
+    public void release(Claim claim) {
+        String redisKey = KEY_PREFIX + claim.key();
+        try {
+            redisTemplate.execute(RELEASE_IF_OWNED, List.of(redisKey), claim.pendingValue());
+        } catch (Exception e) {
+            log.warn("⚠️ Failed to release idempotency key {}: {}", redisKey, e.getMessage());
+            // Non-fatal: the pending marker expires with its TTL
+        } finally {
+            wakeWaiters(claim);
+        }
+    }
+
+    private void awaitHolder(String key, long timeoutNanos) {
+        InFlight holder = inFlight.get(key);
+        try {
+            if (holder != null) {
+                holder.done().get(timeoutNanos, TimeUnit.NANOSECONDS);
+            } else {
+                TimeUnit.NANOSECONDS.sleep(timeoutNanos);
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            // Re-check Redis
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the in-flight request");
+        }
+    }
+
+    private void wakeWaiters(Claim claim) {
+        InFlight holder = inFlight.get(claim.key());
+        if (holder != null && holder.token().equals(claim.token()) && inFlight.remove(claim.key(), holder)) {
+            holder.done().complete(null);
+        }
+    }
+
+    private void recordWait(boolean waited, long start) {
+        if (waited) {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static StoredResponse parse(String value) {
+        int status = 1 + HASH_LENGTH;
+        return new StoredResponse(Integer.parseInt(value.substring(status, status + 3)), value.substring(status + 3));
+    }
+}
@@ -4,8 +4,13 @@ import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -18,6 +23,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Active WebSocket connections (gauge)
  * - Tournament views
  * - API errors by type
+ * - Booking latency per phase (app.bookings.phase, tagged type + phase)
+ *
+ * Tagged counters are cached per tag value and capped at max-tag-values series per
+ * metric; values beyond the cap are counted under "other" so a stray high-cardinality
+ * input can't grow the scrape. API errors are tagged with the matched route template
+ * (/api/slots/{slotId}/cancel), never the raw URI.
  *
  * View in Grafana or any Prometheus-compatible dashboard.
  */
@@ -25,7 +36,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Service
 public class MetricsService {
 
+    static final String OVERFLOW_TAG_VALUE = "other";
+
     private final MeterRegistry registry;
+    private final int maxTagValues;
 
     // ─── Counters ───
     private final Counter bookingsCreated;
@@ -47,9 +61,40 @@ public class MetricsService {
 
     // ─── Timers ───
     private final Timer bookingProcessingTime;
+    private final Timer[][] bookingPhaseTimers;
+
+    // ─── Tagged counters (bounded, cached handles) ───
+    private final TaggedCounters bookingsFailedByReason;
+    private final TaggedCounters signInsFailedByReason;
+    private final TaggedCounters registrationsByMethod;
+    private final TaggedCounters walletCreditsByReason;
+    private final TaggedCounters walletDebitsByReason;
+    private final TaggedCounters notificationsByType;
+    private final TaggedCounters adminActions;
+    private final TaggedCounters apiErrors;
+
+    /**
+     * Booking entry points, tag "type" of the booking timers.
+     */
+    public enum BookingType {
+        SINGLE, TEAM, NEXT;
+
+        final String tag = name().toLowerCase();
+    }
 
-    public MetricsService(MeterRegistry registry) {
+    /**
+     * Steps of a booking, in order, tag "phase" of app.bookings.phase.
+     */
+    public enum BookingPhase {
+        USER_LOCK, SLOT_LOCK, VALIDATION, SLOT_FETCH, WALLET_LOCK, SAVE_AND_LEDGER, AUDIT_NOTIFY, LOCK_RELEASE;
+
+        final String tag = name().toLowerCase();
+    }
+
+    public MetricsService(MeterRegistry registry,
+                          @Value("${app.metrics.max-tag-values:100}") int maxTagValues) {
         this.registry = registry;
+        this.maxTagValues = maxTagValues;
 
         // Booking metrics
         this.bookingsCreated = Counter.builder("app.bookings.created")
@@ -111,6 +156,27 @@ public class MetricsService {
         this.bookingProcessingTime = Timer.builder("app.bookings.processing_time")
                 .description("Time to process a booking request")
                 .register(registry);
+
+        // Every type × phase pair up front, so recording is an array lookup (no tag/meter allocation)
+        this.bookingPhaseTimers = new Timer[BookingType.values().length][BookingPhase.values().length];
+        for (BookingType type : BookingType.values()) {
+            for (BookingPhase phase : BookingPhase.values()) {
+                bookingPhaseTimers[type.ordinal()][phase.ordinal()] = Timer.builder("app.bookings.phase")
+                        .description("Time spent in one phase of a booking")
+                        .tag("type", type.tag)
+                        .tag("phase", phase.tag)
+                        .register(registry);
+            }
+        }
+
+        this.bookingsFailedByReason = new TaggedCounters("app.bookings.failed.by_reason", "reason");
+        this.signInsFailedByReason = new TaggedCounters("app.auth.signin.failed.by_reason", "reason");
+        this.registrationsByMethod = new TaggedCounters("app.users.registered.by_method", "method");
+        this.walletCreditsByReason = new TaggedCounters("app.wallet.credits.by_reason", "reason");
+        this.walletDebitsByReason = new TaggedCounters("app.wallet.debits.by_reason", "reason");
+        this.notificationsByType = new TaggedCounters("app.notifications.sent.by_type", "type");
+        this.adminActions = new TaggedCounters("app.admin.actions", "action");
+        this.apiErrors = new TaggedCounters("app.api.errors", "endpoint", "status", "type");
     }
 
     // ─── Booking Events ───
@@ -122,10 +188,7 @@ public class MetricsService {
 
     public void recordBookingFailed(int tournamentId, String reason) {
         bookingsFailed.increment();
-        Counter.builder("app.bookings.failed.by_reason")
-                .tag("reason", sanitizeTag(reason))
-                .register(registry)
-                .increment();
+        bookingsFailedByReason.increment(reason);
         log.debug("Metric: booking failed — tournament={}, reason={}", tournamentId, reason);
     }
 
@@ -142,6 +205,23 @@ public class MetricsService {
         sample.stop(bookingProcessingTime);
     }
 
+    /**
+     * Record the phase that started at startNanos (System.nanoTime) and return now,
+     * the start of the next phase.
+     */
+    public long recordBookingPhase(BookingType type, BookingPhase phase, long startNanos) {
+        long now = System.nanoTime();
+        bookingPhaseTimers[type.ordinal()][phase.ordinal()].record(now - startNanos, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    /**
+     * Record a whole booking that started at startNanos (System.nanoTime).
+     */
+    public void recordBookingProcessingTime(long startNanos) {
+        bookingProcessingTime.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
     // ─── Transaction Events ───
 
     public void recordDeposit(double amount) {
@@ -166,10 +246,7 @@ public class MetricsService {
 
     public void recordSignInFailed(String reason) {
         signInsFailed.increment();
-        Counter.builder("app.auth.signin.failed.by_reason")
-                .tag("reason", sanitizeTag(reason))
-                .register(registry)
-                .increment();
+        signInsFailedByReason.increment(reason);
     }
 
     // ─── WebSocket Events ───
@@ -184,51 +261,37 @@ public class MetricsService {
 
     // ─── API Error Tracking ───
 
-    public void recordApiError(String endpoint, int statusCode, String errorType) {
-        Counter.builder("app.api.errors")
-                .tag("endpoint", sanitizeTag(endpoint))
-                .tag("status", String.valueOf(statusCode))
-                .tag("type", sanitizeTag(errorType))
-                .register(registry)
-                .increment();
+    /**
+     * @param route matched handler pattern (e.g. /api/slots/{slotId}/cancel), not the raw URI
+     */
+    public void recordApiError(String route, int statusCode, String errorType) {
+        apiErrors.increment(route, String.valueOf(statusCode), errorType);
     }
 
     // ─── User Events ───
 
     public void recordUserRegistration(String method) {
         userRegistrations.increment();
-        Counter.builder("app.users.registered.by_method")
-                .tag("method", sanitizeTag(method))
-                .register(registry)
-                .increment();
+        registrationsByMethod.increment(method);
     }
 
     // ─── Wallet Events ───
 
     public void recordWalletCredit(int amount, String reason) {
         walletCredits.increment();
-        Counter.builder("app.wallet.credits.by_reason")
-                .tag("reason", sanitizeTag(reason))
-                .register(registry)
-                .increment();
+        walletCreditsByReason.increment(reason);
     }
 
     public void recordWalletDebit(int amount, String reason) {
         walletDebits.increment();
-        Counter.builder("app.wallet.debits.by_reason")
-                .tag("reason", sanitizeTag(reason))
-                .register(registry)
-                .increment();
+        walletDebitsByReason.increment(reason);
     }
 
     // ─── Notification Events ───
 
     public void recordNotificationSent(String type) {
         notificationsSent.increment();
-        Counter.builder("app.notifications.sent.by_type")
-                .tag("type", sanitizeTag(type))
-                .register(registry)
-                .increment();
+        notificationsByType.increment(type);
     }
 
     // ─── Tournament Management ───
@@ -240,21 +303,59 @@ public class MetricsService {
     // ─── Admin Action Tracking ───
 
     public void recordAdminAction(String action, String adminUid) {
-        Counter.builder("app.admin.actions")
-                .tag("action", sanitizeTag(action))
-                .register(registry)
-                .increment();
+        adminActions.increment(action);
         log.debug("Metric: admin action — action={}, admin={}", action, adminUid);
     }
 
     // ─── Helpers ───
 
     /**
-     * Sanitize tag values for Prometheus compatibility (no special chars).
+     * Counters of one metric keyed by their raw tag values. A hit is a single map lookup
+     * (no builder, no registry lookup, no sanitizing); new values register a counter until
+     * maxTagValues series exist, after which they all land in the "other" series.
+     */
+    private final class TaggedCounters {
+
+        private final String name;
+        private final String[] tagKeys;
+        private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+        private final Counter overflow;
+
+        TaggedCounters(String name, String... tagKeys) {
+            this.name = name;
+            this.tagKeys = tagKeys;
+            String[] overflowValues = new String[tagKeys.length];
+            Arrays.fill(overflowValues, OVERFLOW_TAG_VALUE);
+            this.overflow = register(overflowValues);
+        }
+
+        void increment(String... values) {
+            String key = values.length == 1 ? String.valueOf(values[0]) : String.join("|", values);
+            Counter counter = counters.get(key);
+            if (counter == null) {
+                counter = counters.size() < maxTagValues
+                        ? counters.computeIfAbsent(key, k -> register(values))
+                        : overflow;
+            }
+            counter.increment();
+        }
+
+        private Counter register(String[] values) {
+            Counter.Builder builder = Counter.builder(name);
+            for (int i = 0; i < tagKeys.length; i++) {
+                builder.tag(tagKeys[i], sanitizeTag(values[i]));
+            }
+            return builder.register(registry);
+        }
+    }
+
+    /**
+     * Sanitize tag values for Prometheus compatibility (no special chars; route
+     * templates keep their / and {}).
      */
     private String sanitizeTag(String value) {
         if (value == null) return "unknown";
-        return value.replaceAll("[^a-zA-Z0-9_\\-.]", "_")
-                .substring(0, Math.min(value.length(), 50));
+        return value.replaceAll("[^a-zA-Z0-9_\\-./{}]", "_")
+                .substring(0, Math.min(value.length(), 80));
     }
 }
@@ -0,0 +1,164 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.Workload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maintains the monthly range partitions of audit_logs and wallet_ledger (V15).
+ * - Creates partitions a few months ahead so inserts never land in DEFAULT
+ * - Archives audit_logs partitions that fall entirely before the archive cutoff into
+ *   audit_logs_archive (rows copied, partition dropped), see {@link #archiveExpiredPartitions}
+ * - Detaches wallet_ledger partitions past its retention (off by default); detached tables
+ *   are left in place for dump / drop by ops
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@DbWorkload(Workload.SCHEDULER)
+public class PartitionMaintenanceService {
+
+    public static final String AUDIT_LOGS = "audit_logs";
+    public static final String WALLET_LEDGER = "wallet_ledger";
+    private static final Set<String> PARTITIONED_TABLES = Set.of(AUDIT_LOGS, WALLET_LEDGER);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps the ledger forever; it is the financial record
+    @Value("${app.partitions.wallet-ledger-retention-months:0}")
+    private int walletLedgerRetentionMonths;
+
+    /**
+     * Runs shortly after startup and then every 6 hours.
+     */
+    @Scheduled(initialDelay = 120000, fixedDelay = 21600000)
+    public void maintainPartitions() {
+        try {
+            int created = ensureFuturePartitions(AUDIT_LOGS) + ensureFuturePartitions(WALLET_LEDGER);
+            if (created > 0) {
+                log.info("🗂️ Created {} new monthly partitions", created);
+            }
+            if (walletLedgerRetentionMonths > 0) {
+                detachExpiredPartitions(WALLET_LEDGER, LocalDateTime.now().minusMonths(walletLedgerRetentionMonths));
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Partition maintenance skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Make sure partitions exist for the current month and the next {@code monthsAhead} months.
+     */
+    public int ensureFuturePartitions(String table) {
+        requirePartitioned(table);
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_monthly_partitions(?, ?, ?)", Integer.class,
+                table, java.sql.Date.valueOf(LocalDate.now().withDayOfMonth(1)), monthsAhead);
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Detach every partition whose upper bound is at or before the cutoff.
+     * Metadata-only; no rows are scanned or deleted.
+     */
+    public List<String> detachExpiredPartitions(String table, LocalDateTime cutoff) {
+        requirePartitioned(table);
+        List<String> detached = new ArrayList<>();
+        for (String partition : expiredPartitions(table, cutoff)) {
+            try {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    try (Statement statement = connection.createStatement()) {
+                        // Give up quickly rather than queue behind live writers
+                        statement.execute("SET lock_timeout = '5s'");
+                        try {
+                            statement.execute("ALTER TABLE " + table + " DETACH PARTITION \"" + partition + "\"");
+                        } finally {
+                            statement.execute("RESET lock_timeout");
+                        }
+                    }
+                    return null;
+                });
+                detached.add(partition);
+                log.info("🗂️ Detached partition {} from {}", partition, table);
+            } catch (Exception e) {
+                log.warn("⚠️ Could not detach partition {} from {}: {}", partition, table, e.getMessage());
+            }
+        }
+        return detached;
+    }
+
+    /**
+     * Move every partition whose upper bound is at or before the cutoff into {@code archiveTable},
+     * one transaction per partition: lock it against writers, copy its rows, detach and drop it.
+     * Same outcome as row-by-row archival (rows end up in the archive table), without the
+     * DELETE and the dead tuples it leaves behind. Returns the partitions archived.
+     */
+    public List<String> archiveExpiredPartitions(String table, String archiveTable, LocalDateTime cutoff) {
+        requirePartitioned(table);
+        String columns = jdbcTemplate.queryForObject("SELECT partition_column_list(?)", String.class, table);
+        List<String> archived = new ArrayList<>();
+        for (String partition : expiredPartitions(table, cutoff)) {
+            try {
+                long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                    boolean autoCommit = connection.getAutoCommit();
+                    connection.setAutoCommit(false);
+                    try (Statement statement = connection.createStatement()) {
+                        statement.execute("SET LOCAL lock_timeout = '5s'");
+                        // SHARE blocks late writers to this partition between the copy and the detach
+                        statement.execute("LOCK TABLE \"" + partition + "\" IN SHARE MODE");
+                        long copied = statement.executeUpdate("INSERT INTO " + archiveTable + " (" + columns
+                                + ") SELECT " + columns + " FROM \"" + partition + "\"");
+                        statement.execute("ALTER TABLE " + table + " DETACH PARTITION \"" + partition + "\"");
+                        statement.execute("DROP TABLE \"" + partition + "\"");
+                        connection.commit();
+                        return copied;
+                    } catch (Exception e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(autoCommit);
+                    }
+                });
+                archived.add(partition);
+                log.info("🗂️ Archived partition {} of {} into {} ({} rows)", partition, table, archiveTable, rows);
+            } catch (Exception e) {
+                log.warn("⚠️ Could not archive partition {} of {}: {}", partition, table, e.getMessage());
+            }
+        }
+        return archived;
+    }
+
+    private List<String> expiredPartitions(String table, LocalDateTime cutoff) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                  AND pg_get_expr(c.relpartbound, c.oid) <> 'DEFAULT'
+                  AND substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \\(''([^'']+)''\\)')::timestamptz <= ?
+                ORDER BY c.relname
+                """, String.class, table, Timestamp.valueOf(cutoff));
+    }
+
+    private void requirePartitioned(String table) {
+        if (!PARTITIONED_TABLES.contains(table)) {
+            throw new IllegalArgumentException("Not a partitioned table: " + table);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.dto.TournamentPayoutDTO;
+import com.esport.EsportTournament.exception.ResourceNotFoundException;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prize and per-kill payouts for completed tournaments.
+ * - Earnings are computed from tournament_results: perKillReward × kills plus the
+ *   first/second/third prize (split evenly when a whole team shares a placement)
+ * - Tournaments without any prize configuration pay the coinsEarned submitted with the scoreboard
+ * - All wallets, ledger rows and result rows are written in one transaction, keyed by the
+ *   payout ID; a second call for the same tournament returns the existing payout untouched
+ */
+@Slf4j
+@Service
+public class PayoutService {
+
+    private static final int CHUNK_SIZE = 500;
+    static final String LEDGER_REFERENCE = "TOURNAMENT_PAYOUT";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TournamentRepo tournamentRepo;
+    private final BulkWalletCreditService bulkWalletCreditService;
+
+    // ─── Metrics ───
+    private final Timer payoutTimer;
+    private final Counter coinsPaid;
+    private final DistributionSummary resultsPerPayout;
+
+    /**
+     * One tournament_results row as needed for the payout.
+     */
+    record ResultRow(long id, String firebaseUID, int kills, int placement, int submittedCoins) {
+    }
+
+    /**
+     * Coins awarded to one result row.
+     */
+    record Award(long resultId, String firebaseUID, int coins) {
+    }
+
+    public PayoutService(JdbcTemplate jdbcTemplate, TournamentRepo tournamentRepo,
+                         BulkWalletCreditService bulkWalletCreditService, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tournamentRepo = tournamentRepo;
+        this.bulkWalletCreditService = bulkWalletCreditService;
+
+        this.payoutTimer = Timer.builder("app.payout.duration")
+                .description("Time to compute and credit one tournament payout")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.coinsPaid = Counter.builder("app.payout.coins")
+                .description("Coins credited by tournament payouts")
+                .register(registry);
+        this.resultsPerPayout = DistributionSummary.builder("app.payout.results")
+                .description("Result rows processed per payout")
+                .register(registry);
+    }
+
+    public static String payoutId(int tournamentId) {
+        return "PAYOUT-T" + tournamentId;
+    }
+
+    /**
+     * Credit prizes and per-kill rewards for every recorded result of the tournament.
+     */
+    @Transactional
+    public TournamentPayoutDTO payoutTournament(int tournamentId, String actorUid) {
+        long started = System.nanoTime();
+        // Locked so a scoreboard update cannot replace the results while they are paid out
+        Tournaments tournament = tournamentRepo.findByIdForUpdate(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found: " + tournamentId));
+        // Results can still change until the tournament is completed; cancelled ones were refunded
+        if (tournament.getStatus() != Tournaments.TournamentStatus.COMPLETED) {
+            throw new IllegalStateException("Only completed tournaments can be paid out (status: "
+                    + tournament.getStatus() + ")");
+        }
+
+        String payoutId = payoutId(tournamentId);
+        // Claim the payout first: a concurrent call blocks on the unique key, then inserts nothing
+        int claimed = jdbcTemplate.update(
+                "INSERT INTO tournament_payouts (payout_id, tournament_id, created_by, created_at) " +
+                        "VALUES (?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                payoutId, tournamentId, actorUid, new Timestamp(System.currentTimeMillis()));
+        if (claimed == 0) {
+            log.info("ℹ️ Payout {} already credited, skipping", payoutId);
+            return getPayout(tournamentId)
+                    .orElseThrow(() -> new IllegalStateException("Payout " + payoutId + " is in progress"));
+        }
+
+        List<ResultRow> rows = jdbcTemplate.query(
+                "SELECT id, firebase_user_uid, kills, placement, coins_earned FROM tournament_results " +
+                        "WHERE tournament_id = ? ORDER BY id",
+                (rs, i) -> new ResultRow(rs.getLong("id"), rs.getString("firebase_user_uid"),
+                        rs.getInt("kills"), rs.getInt("placement"), rs.getInt("coins_earned")),
+                tournamentId);
+        if (rows.isEmpty()) {
+            throw new IllegalStateException("No results recorded for tournament " + tournamentId);
+        }
+
+        List<Award> awards = computeAwards(tournament, rows);
+        Map<String, Integer> perUser = new HashMap<>();
+        for (Award award : awards) {
+            if (award.coins() > 0) {
+                perUser.merge(award.firebaseUID(), award.coins(), Integer::sum);
+            }
+        }
+
+        List<BulkWalletCreditService.Credit> credits = bulkWalletCreditService.creditAll(perUser, LEDGER_REFERENCE,
+                payoutId, "tournament=" + tournamentId, actorUid);
+        updateResultCoins(awards);
+
+        long total = credits.stream().mapToLong(BulkWalletCreditService.Credit::amount).sum();
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        jdbcTemplate.update(
+                "UPDATE tournament_payouts SET result_count = ?, recipients = ?, total_coins = ?, duration_ms = ? " +
+                        "WHERE payout_id = ?",
+                rows.size(), credits.size(), total, durationMs, payoutId);
+
+        payoutTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        coinsPaid.increment(total);
+        resultsPerPayout.record(rows.size());
+        log.info("🏆 Payout {} credited {} coins to {} users ({} results) in {}ms",
+                payoutId, total, credits.size(), rows.size(), durationMs);
+
+        TournamentPayoutDTO dto = getPayout(tournamentId).orElseThrow();
+        dto.setNewlyCredited(true);
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TournamentPayoutDTO> getPayout(int tournamentId) {
+        return jdbcTemplate.query(
+                "SELECT payout_id, tournament_id, result_count, recipients, total_coins, duration_ms, created_by, created_at " +
+                        "FROM tournament_payouts WHERE tournament_id = ?",
+                (rs, i) -> new TournamentPayoutDTO(rs.getString("payout_id"), rs.getInt("tournament_id"),
+                        rs.getInt("result_count"), rs.getInt("recipients"), rs.getLong("total_coins"),
+                        rs.getLong("duration_ms"), rs.getString("created_by"),
+                        rs.getTimestamp("created_at").toLocalDateTime(), false),
+                tournamentId).stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isPaidOut(int tournamentId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tournament_payouts WHERE tournament_id = ?", Integer.class, tournamentId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Earnings per result row. Single pass plus one grouping by placement.
+     */
+    static List<Award> computeAwards(Tournaments tournament, List<ResultRow> rows) {
+        int perKill = orZero(tournament.getPerKillReward());
+        int[] prizes = {orZero(tournament.getFirstPrize()), orZero(tournament.getSecondPrize()),
+                orZero(tournament.getThirdPrize())};
+        boolean configured = perKill > 0 || prizes[0] > 0 || prizes[1] > 0 || prizes[2] > 0;
+
+        List<Award> awards = new ArrayList<>(rows.size());
+        if (!configured) {
+            for (ResultRow row : rows) {
+                awards.add(new Award(row.id(), row.firebaseUID(), Math.max(0, row.submittedCoins())));
+            }
+            return awards;
+        }
+
+        // Team members share a placement: each prize is split across its rows
+        Map<Integer, List<Integer>> podium = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            int placement = rows.get(i).placement();
+            if (placement >= 1 && placement <= 3 && prizes[placement - 1] > 0) {
+                podium.computeIfAbsent(placement, p -> new ArrayList<>()).add(i);
+            }
+        }
+        int[] prizeShare = new int[rows.size()];
+        podium.forEach((placement, indexes) -> {
+            int prize = prizes[placement - 1];
+            int share = prize / indexes.size();
+            int remainder = prize % indexes.size();
+            for (int k = 0; k < indexes.size(); k++) {
+                prizeShare[indexes.get(k)] = share + (k < remainder ? 1 : 0);
+            }
+        });
+
+        for (int i = 0; i < rows.size(); i++) {
+            ResultRow row = rows.get(i);
+            int coins = Math.max(0, row.kills()) * perKill + prizeShare[i];
+            awards.add(new Award(row.id(), row.firebaseUID(), coins));
+        }
+        return awards;
+    }
+
+    /**
+     * Store the credited amount on each result row (one UPDATE per chunk).
+     */
+    private void updateResultCoins(List<Award> awards) {
+        for (int from = 0; from < awards.size(); from += CHUNK_SIZE) {
+            List<Award> chunk = awards.subList(from, Math.min(from + CHUNK_SIZE, awards.size()));
+            StringBuilder sql = new StringBuilder("UPDATE tournament_results AS r SET coins_earned = v.coins FROM (VALUES ");
+            Object[] args = new Object[chunk.size() * 2];
+            int i = 0;
+            for (Award award : chunk) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append("(CAST(? AS BIGINT), CAST(? AS INTEGER))");
+                args[i++] = award.resultId();
+                args[i++] = award.coins();
+            }
+            sql.append(") AS v(id, coins) WHERE r.id = v.id");
+            jdbcTemplate.update(sql.toString(), args);
+        }
+    }
+
+    private static int orZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
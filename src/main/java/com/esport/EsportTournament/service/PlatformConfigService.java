@@ -19,6 +19,7 @@ import java.util.Map;
 public class PlatformConfigService {
 
     private final AppConfigRepo appConfigRepo;
+    private final ResourceVersionService resourceVersionService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -41,6 +42,7 @@ public class PlatformConfigService {
      */
     @Transactional
     public Map<String, Object> updatePlatformInfo(Map<String, Object> info, String adminUID) {
+        resourceVersionService.bump(ResourceVersionService.Resource.PLATFORM_INFO);
         if (info.containsKey("name")) {
             setConfigValue("platform_name", info.get("name").toString(), adminUID);
         }
@@ -0,0 +1,48 @@
+package com.esport.EsportTournament.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Ids for JDBC bulk inserts into tables whose entities draw pooled-lo ids (V16): slots,
+ * audit_logs, tournament_results, wallet_ledger, notifications, notification_reads.
+ * - Their sequences step by {@link #BLOCK_SIZE}; each nextval reserves the block starting at
+ *   the returned value, exactly as Hibernate does
+ * - n rows take ceil(n / BLOCK_SIZE) values, fetched in one statement, so bulk and JPA inserts
+ *   never collide and a row never burns a whole block
+ * Never rely on the column default for these tables: every row would take a block of its own.
+ */
+@Service
+@RequiredArgsConstructor
+public class PooledIdAllocator {
+
+    /** Must match allocationSize of the entities' sequence generators and the V16 increment */
+    public static final int BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * {@code count} unused ids from {@code sequence}, in ascending order.
+     */
+    public long[] allocate(String sequence, int count) {
+        long[] ids = new long[count];
+        if (count == 0) {
+            return ids;
+        }
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        StringBuilder sql = new StringBuilder("SELECT nextval('").append(sequence).append("') FROM (VALUES ");
+        for (int k = 1; k <= blocks; k++) {
+            sql.append(k > 1 ? ", " : "").append('(').append(k).append(')');
+        }
+        sql.append(") AS b(k)");
+        long[] bases = jdbcTemplate.queryForList(sql.toString(), Long.class).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        for (int i = 0; i < count; i++) {
+            ids[i] = bases[i / BLOCK_SIZE] + i % BLOCK_SIZE;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,44 @@
+package com.esport.EsportTournament.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Set;
+
+/**
+ * Keeps Hibernate's second-level and query caches coherent with writes made through
+ * JdbcTemplate, which Hibernate never sees.
+ * - Registers the same cleanup a native Hibernate update does: the tables' update
+ *   timestamps are pre-invalidated now and invalidated again when the transaction
+ *   completes, so no cached query result over them survives the write
+ * - Entity regions of entities mapped to those tables are evicted with it
+ * Must be called inside the writing transaction; outside one there is nothing to hook into.
+ */
+@Slf4j
+@Service
+public class QueryCacheInvalidator {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Invalidate cached results over {@code tables} for the current transaction's writes.
+     */
+    public void tablesChanged(String... tables) {
+        if (tables.length == 0 || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        if (!session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled()
+                && !session.getFactory().getSessionFactoryOptions().isSecondLevelCacheEnabled()) {
+            return;
+        }
+        BulkOperationCleanupAction.schedule(session, Set.of(tables));
+        log.debug("Scheduled cache invalidation for tables {}", (Object) tables);
+    }
+}
@@ -42,9 +42,7 @@ public class RbacService {
 
         Set<String> authorities = new HashSet<>();
         for (UserRole assignment : assignments) {
-            AppRole role = assignment.getRole();
-            authorities.add(ROLE_PREFIX + role.getCode());
-            role.getPermissions().forEach(permission -> authorities.add(PERMISSION_PREFIX + permission.getCode()));
+            authorities.add(ROLE_PREFIX + assignment.getRole().getCode());
         }
 
         // Role hierarchy: add implied roles
@@ -64,20 +62,14 @@ public class RbacService {
             authorities.add(ROLE_PREFIX + "USER");
         }
 
-        // 🔥 CRITICAL FIX: Fetch permissions for ALL roles (assigned + implied)
-        // The previous loop only fetched permissions for DIRECTLY assigned roles.
-        // Now that we have the full list of roles in 'authorities', we need to get
-        // their permissions.
+        // Permissions of ALL roles (assigned + implied), fetched with the roles in one query
+        // instead of one permissions select per role
         Set<String> allRoles = authorities.stream()
                 .filter(a -> a.startsWith(ROLE_PREFIX))
                 .map(a -> a.substring(ROLE_PREFIX.length()))
                 .collect(Collectors.toSet());
 
-        List<AppRole> impliedAppRoles = appRoleRepository.findAll().stream()
-                .filter(r -> allRoles.contains(r.getCode()))
-                .toList();
-
-        for (AppRole role : impliedAppRoles) {
+        for (AppRole role : appRoleRepository.findWithPermissionsByCodeIn(allRoles)) {
             role.getPermissions().forEach(permission -> authorities.add(PERMISSION_PREFIX + permission.getCode()));
         }
 
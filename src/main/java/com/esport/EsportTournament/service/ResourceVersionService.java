@@ -0,0 +1,128 @@
+package com.esport.EsportTournament.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for polled read-mostly resources, used to build ETags.
+ * - Services bump a resource after the mutating transaction commits, so a client can
+ *   never receive a new version together with the old content
+ * - Versions live in Redis so every instance hands out the same ETag; each instance
+ *   memoizes the value for version-memo-ms to keep conditional requests off Redis
+ * - Without Redis the counters are per instance, seeded with the startup time
+ */
+@Slf4j
+@Service
+public class ResourceVersionService {
+
+    static final String KEY_PREFIX = "resource:version:";
+
+    public enum Resource {
+        TOURNAMENTS, BANNERS, APP_CONFIG, PLATFORM_INFO
+    }
+
+    private record Memo(long version, long fetchedAt) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final Map<Resource, AtomicLong> localVersions = new EnumMap<>(Resource.class);
+    private final Map<Resource, Memo> memos = new EnumMap<>(Resource.class);
+
+    @Value("${app.http.etag.version-memo-ms:1000}")
+    private long memoMillis;
+
+    public ResourceVersionService(@Autowired(required = false) StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        long seed = System.currentTimeMillis();
+        for (Resource resource : Resource.values()) {
+            localVersions.put(resource, new AtomicLong(seed));
+        }
+    }
+
+    public static String key(Resource resource) {
+        return KEY_PREFIX + resource.name().toLowerCase();
+    }
+
+    /**
+     * Current version of a resource.
+     */
+    public long current(Resource resource) {
+        long now = System.currentTimeMillis();
+        synchronized (memos) {
+            Memo memo = memos.get(resource);
+            if (memo != null && now - memo.fetchedAt() < memoMillis) {
+                return memo.version();
+            }
+        }
+        long version = readVersion(resource);
+        synchronized (memos) {
+            memos.put(resource, new Memo(version, now));
+        }
+        return version;
+    }
+
+    /**
+     * Advance a resource's version once the current transaction commits (immediately outside one).
+     */
+    public void bump(Resource resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(resource);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                increment(resource);
+            }
+        });
+    }
+
+    private long readVersion(Resource resource) {
+        if (redisTemplate != null) {
+            try {
+                String key = key(resource);
+                String value = redisTemplate.opsForValue().get(key);
+                if (value == null) {
+                    // Seed with the clock so a wiped Redis never reissues an ETag clients still hold
+                    redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+                    value = redisTemplate.opsForValue().get(key);
+                }
+                if (value != null) {
+                    return Long.parseLong(value);
+                }
+            } catch (Exception e) {
+                log.debug("Resource version read failed for {}: {}", resource, e.getMessage());
+            }
+        }
+        return localVersions.get(resource).get();
+    }
+
+    private void increment(Resource resource) {
+        long version = localVersions.get(resource).incrementAndGet();
+        if (redisTemplate != null) {
+            try {
+                String key = key(resource);
+                redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(System.currentTimeMillis()));
+                Long incremented = redisTemplate.opsForValue().increment(key);
+                if (incremented != null) {
+                    version = incremented;
+                }
+            } catch (Exception e) {
+                log.debug("Resource version bump failed for {}: {}", resource, e.getMessage());
+            }
+        }
+        synchronized (memos) {
+            memos.put(resource, new Memo(version, System.currentTimeMillis()));
+        }
+        log.debug("Resource {} now at version {}", resource, version);
+    }
+}
@@ -0,0 +1,237 @@
+package com.esport.EsportTournament.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Booked/available slot counters per tournament.
+ * - tournaments.booked_count is the durable counter, adjusted by SQL in the same
+ *   transaction as the booking, cancellation or refund that changes a slot
+ * - A Redis hash (booked, total) per tournament serves summary reads in one round trip;
+ *   it is filled from the column on a miss and incremented after commit
+ * - {@link #reconcile()} recomputes the column from slots and drops drifted hashes
+ * Redis is optional: without it every read falls back to the column.
+ */
+@Slf4j
+@Service
+public class SlotCounterService {
+
+    static final String KEY_PREFIX = "tournament:slots:";
+    static final String BOOKED = "booked";
+    static final String TOTAL = "total";
+
+    // Only increment hashes that are already populated; a missing hash is rebuilt from the column
+    private static final DefaultRedisScript<Long> INCREMENT_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+                    "return redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) end return nil",
+            Long.class);
+
+    // One statement, one snapshot: each counter is paired with the slot count it should match.
+    // Takes no locks, so bookings are never blocked behind reconciliation
+    private static final String FIND_DRIFTED = """
+            SELECT t.id, t.booked_count, COUNT(s.id) AS booked
+            FROM tournaments t
+            LEFT JOIN slots s ON s.tournament_id = t.id AND s.status = 'BOOKED'
+            WHERE t.archived_at IS NULL AND t.status IN ('UPCOMING', 'ONGOING')
+            GROUP BY t.id, t.booked_count
+            HAVING t.booked_count <> COUNT(s.id)
+            ORDER BY t.id
+            """;
+    // Compare-and-set: a booking that committed since the snapshot changed the counter, so
+    // the correction is skipped and re-checked on the next run
+    private static final String CORRECT = "UPDATE tournaments SET booked_count = ? WHERE id = ? AND booked_count = ?";
+
+    private record Drift(int tournamentId, int counter, int booked) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final QueryCacheInvalidator queryCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter driftCounter;
+
+    @Value("${app.slots.counters.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    /**
+     * Counter snapshot for one tournament.
+     */
+    public record Counts(long booked, long total) {
+        public long available() {
+            return Math.max(0, total - booked);
+        }
+    }
+
+    public SlotCounterService(JdbcTemplate jdbcTemplate,
+                              @Autowired(required = false) StringRedisTemplate redisTemplate,
+                              QueryCacheInvalidator queryCacheInvalidator,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.queryCacheInvalidator = queryCacheInvalidator;
+        this.transactionTemplate = transactionTemplate;
+        this.driftCounter = Counter.builder("app.slots.counter.drift")
+                .description("Tournaments whose booked_count was corrected by reconciliation")
+                .register(registry);
+    }
+
+    public static String key(int tournamentId) {
+        return KEY_PREFIX + tournamentId;
+    }
+
+    /**
+     * Add {@code delta} booked slots (negative for releases) in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjustBooked(int tournamentId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE tournaments SET booked_count = booked_count + ? WHERE id = ?",
+                delta, tournamentId);
+        queryCacheInvalidator.tablesChanged("tournaments");
+        afterCommit(() -> incrementCached(tournamentId, delta));
+    }
+
+    /**
+     * Drop the cached hash once the caller commits (e.g. maxPlayers changed).
+     */
+    public void invalidate(int tournamentId) {
+        afterCommit(() -> evict(List.of(tournamentId)));
+    }
+
+    /**
+     * Counts for one tournament: Redis hash if present, otherwise the tournament row.
+     */
+    public Counts getCounts(int tournamentId) {
+        Counts cached = readCached(tournamentId);
+        if (cached != null) {
+            return cached;
+        }
+        Counts counts = jdbcTemplate.query(
+                "SELECT booked_count, max_players FROM tournaments WHERE id = ?",
+                rs -> rs.next() ? new Counts(rs.getInt(1), rs.getInt(2)) : null, tournamentId);
+        if (counts == null) {
+            return new Counts(0, 0);
+        }
+        writeCached(tournamentId, counts);
+        return counts;
+    }
+
+    /**
+     * Recompute booked_count of every active tournament from its slots and evict the
+     * hashes of the ones that had drifted. Returns the number of corrected tournaments.
+     * Drift is found without locks; each correction is its own short compare-and-set
+     * transaction, so no tournament row is held longer than one UPDATE.
+     */
+    public int reconcile() {
+        List<Drift> drifts = jdbcTemplate.query(FIND_DRIFTED,
+                (rs, i) -> new Drift(rs.getInt("id"), rs.getInt("booked_count"), rs.getInt("booked")));
+        List<Integer> corrected = new ArrayList<>();
+        for (Drift drift : drifts) {
+            Boolean applied = transactionTemplate.execute(status -> {
+                if (jdbcTemplate.update(CORRECT, drift.booked(), drift.tournamentId(), drift.counter()) == 0) {
+                    return false;
+                }
+                queryCacheInvalidator.tablesChanged("tournaments");
+                return true;
+            });
+            if (Boolean.TRUE.equals(applied)) {
+                corrected.add(drift.tournamentId());
+            }
+        }
+        if (!corrected.isEmpty()) {
+            driftCounter.increment(corrected.size());
+            evict(corrected);
+            log.warn("⚠️ Corrected booked_count drift for {} tournaments: {}", corrected.size(),
+                    corrected.size() > 20 ? corrected.subList(0, 20) + "…" : corrected);
+        }
+        return corrected.size();
+    }
+
+    // ── Redis helpers: failures are logged and fall back to the column ──
+
+    private Counts readCached(int tournamentId) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            List<Object> values = redisTemplate.opsForHash().multiGet(key(tournamentId), Arrays.asList(BOOKED, TOTAL));
+            if (values.size() == 2 && values.get(0) != null && values.get(1) != null) {
+                return new Counts(Long.parseLong(values.get(0).toString()), Long.parseLong(values.get(1).toString()));
+            }
+        } catch (Exception e) {
+            log.debug("Slot counter read failed for tournament {}: {}", tournamentId, e.getMessage());
+        }
+        return null;
+    }
+
+    private void writeCached(int tournamentId, Counts counts) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            String key = key(tournamentId);
+            redisTemplate.opsForHash().putAll(key, Map.of(
+                    BOOKED, String.valueOf(counts.booked()), TOTAL, String.valueOf(counts.total())));
+            redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
+        } catch (Exception e) {
+            log.debug("Slot counter write failed for tournament {}: {}", tournamentId, e.getMessage());
+        }
+    }
+
+    private void incrementCached(int tournamentId, int delta) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(INCREMENT_IF_PRESENT, List.of(key(tournamentId)), BOOKED, String.valueOf(delta));
+        } catch (Exception e) {
+            log.debug("Slot counter increment failed for tournament {}: {}", tournamentId, e.getMessage());
+            evict(List.of(tournamentId));
+        }
+    }
+
+    private void evict(List<Integer> tournamentIds) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(tournamentIds.stream().map(SlotCounterService::key).toList());
+        } catch (Exception e) {
+            log.debug("Slot counter eviction failed for {}: {}", tournamentIds, e.getMessage());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
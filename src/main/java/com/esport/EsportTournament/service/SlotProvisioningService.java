@@ -0,0 +1,203 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot row provisioning with set-based SQL.
+ * - Slots are generated server-side with generate_series: one INSERT however large the bracket
+ * - Resizing only adds the missing slot numbers or removes the surplus AVAILABLE ones
+ * - Brackets above lazy-threshold only materialize their first lazy-chunk rows; the rest are
+ *   created on demand when a slot number is booked or the materialized pool runs low
+ *
+ * Lock order is slot rows before the tournament row, as in booking (slot FOR UPDATE, then the
+ * booked_count UPDATE) and cancellation; taking them the other way round deadlocks against those.
+ *
+ * Ids are drawn from slots_id_seq in blocks of {@link #ID_BLOCK}, the same pooled-lo scheme
+ * Hibernate uses for {@code Slots}, so bulk and JPA inserts never collide or waste ids.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotProvisioningService {
+
+    /** Must match allocationSize of the Slots sequence generator */
+    static final int ID_BLOCK = PooledIdAllocator.BLOCK_SIZE;
+
+    private static final int RANGES_PER_STATEMENT = 500;
+
+    // %2$s is the VALUES list of (tournament_id, first, last) ranges
+    private static final String INSERT_MISSING = """
+            WITH ranges (tournament_id, lo, hi) AS (VALUES %2$s),
+            missing AS (
+                SELECT r.tournament_id, n, row_number() OVER (ORDER BY r.tournament_id, n) AS rn
+                FROM ranges r CROSS JOIN LATERAL generate_series(r.lo, r.hi) AS n
+                WHERE NOT EXISTS (SELECT 1 FROM slots s WHERE s.tournament_id = r.tournament_id AND s.slot_number = n)
+            ), blocks AS (
+                SELECT k, nextval('slots_id_seq') AS base
+                FROM generate_series(1, (SELECT (COUNT(*) + %1$d - 1) / %1$d FROM missing)) AS k
+            )
+            INSERT INTO slots (id, tournament_id, slot_number, status, version)
+            SELECT b.base + (m.rn - 1) %% %1$d, m.tournament_id, m.n, 'AVAILABLE', 0
+            FROM missing m JOIN blocks b ON b.k = (m.rn - 1) / %1$d + 1
+            ON CONFLICT (tournament_id, slot_number) DO NOTHING
+            """;
+    private static final String RANGE_ROW = "(CAST(? AS INTEGER), CAST(? AS INTEGER), CAST(? AS INTEGER))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SlotCounterService slotCounterService;
+    private final QueryCacheInvalidator queryCacheInvalidator;
+
+    @Value("${app.slots.lazy-threshold:1000}")
+    private int lazyThreshold;
+
+    @Value("${app.slots.lazy-chunk:200}")
+    private int lazyChunk;
+
+    @Value("${app.slots.low-water:20}")
+    private int lowWater;
+
+    /**
+     * Bring the tournament to {@code maxPlayers} slots. Returns rows added (positive) or removed (negative).
+     */
+    @Transactional
+    public int resize(int tournamentId, int maxPlayers) {
+        // Slots first (waits for in-flight bookings, which lock a slot and then the tournament),
+        // then the tournament row, which serializes concurrent resizes of the same tournament
+        jdbcTemplate.queryForList("SELECT id FROM slots WHERE tournament_id = ? ORDER BY slot_number FOR UPDATE",
+                Long.class, tournamentId);
+        Integer currentMax = jdbcTemplate.query(
+                "SELECT max_players FROM tournaments WHERE id = ? FOR UPDATE",
+                rs -> rs.next() ? rs.getInt(1) : null, tournamentId);
+        if (currentMax == null) {
+            throw new ResourceNotFoundException("Tournament not found: " + tournamentId);
+        }
+
+        Integer bookedAbove = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slots WHERE tournament_id = ? AND slot_number > ? AND status = 'BOOKED'",
+                Integer.class, tournamentId, maxPlayers);
+        if (bookedAbove != null && bookedAbove > 0) {
+            throw new IllegalStateException(
+                    "Cannot shrink to " + maxPlayers + " slots: " + bookedAbove + " higher slots are booked");
+        }
+
+        int removed = jdbcTemplate.update(
+                "DELETE FROM slots WHERE tournament_id = ? AND slot_number > ? AND status = 'AVAILABLE'",
+                tournamentId, maxPlayers);
+        if (removed > 0) {
+            queryCacheInvalidator.tablesChanged("slots");
+        }
+        int added = insertRange(tournamentId, 1, eagerTarget(maxPlayers));
+
+        if (currentMax != maxPlayers) {
+            jdbcTemplate.update("UPDATE tournaments SET max_players = ?, updated_at = NOW() WHERE id = ?",
+                    maxPlayers, tournamentId);
+            queryCacheInvalidator.tablesChanged("tournaments");
+            slotCounterService.invalidate(tournamentId);
+        }
+        log.info("🔨 Slots for tournament {} resized {} → {}: +{} / -{}{}", tournamentId, currentMax, maxPlayers,
+                added, removed, isLazy(maxPlayers) ? " (lazy)" : "");
+        return added - removed;
+    }
+
+    /**
+     * Create slot rows {@code from..to} (capped at maxPlayers) that do not exist yet.
+     * Runs in the caller's transaction so the booking can lock the new rows right away.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int materialize(int tournamentId, int from, int to, int maxPlayers) {
+        int upper = Math.min(to, maxPlayers);
+        if (from < 1 || from > upper) {
+            return 0;
+        }
+        return insertRange(tournamentId, from, upper);
+    }
+
+    /**
+     * Materialize the next chunk after the highest existing slot number.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int materializeNextChunk(int tournamentId, int maxPlayers) {
+        Integer highest = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(slot_number), 0) FROM slots WHERE tournament_id = ?",
+                Integer.class, tournamentId);
+        int from = (highest != null ? highest : 0) + 1;
+        return materialize(tournamentId, from, from + lazyChunk - 1, maxPlayers);
+    }
+
+    /**
+     * Keep a buffer of AVAILABLE rows for lazily materialized brackets. Always its own transaction:
+     * it runs after the booking committed, where joining would write into a finished transaction.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void topUp(int tournamentId, int maxPlayers) {
+        if (!isLazy(maxPlayers)) {
+            return;
+        }
+        Integer available = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM slots WHERE tournament_id = ? AND status = 'AVAILABLE'",
+                Integer.class, tournamentId);
+        if (available != null && available < lowWater) {
+            int added = materializeNextChunk(tournamentId, maxPlayers);
+            log.debug("Topped up {} slots for tournament {}", added, tournamentId);
+        }
+    }
+
+    /**
+     * Initial slot rows for many freshly created tournaments (tournament id → maxPlayers)
+     * with one INSERT per {@value #RANGES_PER_STATEMENT} tournaments.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int provisionAll(Map<Integer, Integer> maxPlayersByTournament) {
+        List<int[]> ranges = new ArrayList<>(maxPlayersByTournament.size());
+        maxPlayersByTournament.forEach((tournamentId, maxPlayers) ->
+                ranges.add(new int[] {tournamentId, 1, eagerTarget(maxPlayers)}));
+        int inserted = 0;
+        for (int from = 0; from < ranges.size(); from += RANGES_PER_STATEMENT) {
+            inserted += insertRanges(ranges.subList(from, Math.min(from + RANGES_PER_STATEMENT, ranges.size())));
+        }
+        return inserted;
+    }
+
+    public boolean isLazy(int maxPlayers) {
+        return maxPlayers > lazyThreshold;
+    }
+
+    private int eagerTarget(int maxPlayers) {
+        return isLazy(maxPlayers) ? Math.min(maxPlayers, lazyChunk) : maxPlayers;
+    }
+
+    private int insertRange(int tournamentId, int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        return insertRanges(List.<int[]>of(new int[] {tournamentId, from, to}));
+    }
+
+    private int insertRanges(List<int[]> ranges) {
+        Object[] args = new Object[ranges.size() * 3];
+        int i = 0;
+        for (int[] range : ranges) {
+            args[i++] = range[0];
+            args[i++] = range[1];
+            args[i++] = range[2];
+        }
+        String values = String.join(", ", Collections.nCopies(ranges.size(), RANGE_ROW));
+        int inserted = jdbcTemplate.update(INSERT_MISSING.formatted(ID_BLOCK, values), args);
+        if (inserted > 0) {
+            queryCacheInvalidator.tablesChanged("slots");
+        }
+        return inserted;
+    }
+}
@@ -1,22 +1,33 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.Workload;
 import com.esport.EsportTournament.dto.SlotsDTO;
 import com.esport.EsportTournament.dto.TeamBookingRequestDTO;
 import com.esport.EsportTournament.exception.ResourceNotFoundException;
+import com.esport.EsportTournament.model.SlotArchive;
 import com.esport.EsportTournament.model.Slots;
 import com.esport.EsportTournament.model.Tournaments;
 import com.esport.EsportTournament.model.Users;
 import com.esport.EsportTournament.model.Wallet;
 import com.esport.EsportTournament.model.WalletLedger;
+import com.esport.EsportTournament.repository.SlotArchiveRepo;
 import com.esport.EsportTournament.repository.SlotRepo;
 import com.esport.EsportTournament.repository.TournamentRepo;
 import com.esport.EsportTournament.repository.UsersRepo;
 import com.esport.EsportTournament.repository.WalletRepo;
+import com.esport.EsportTournament.service.MetricsService.BookingPhase;
+import com.esport.EsportTournament.service.MetricsService.BookingType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -64,6 +75,7 @@ import java.util.stream.Collectors;
 public class SlotService {
 
         private final SlotRepo slotRepo;
+        private final SlotArchiveRepo slotArchiveRepo;
         private final TournamentRepo tournamentRepo;
         private final UsersRepo usersRepo;
         private final WalletRepo walletRepo;
@@ -72,6 +84,14 @@ public class SlotService {
         private final WalletLedgerService walletLedgerService;
         private final DistributedLockService lockService;
         private final MetricsService metricsService;
+        private final BulkWalletCreditService bulkWalletCreditService;
+        private final SlotProvisioningService slotProvisioningService;
+        private final SlotCounterService slotCounterService;
+        private final JdbcTemplate jdbcTemplate;
+        private final QueryCacheInvalidator queryCacheInvalidator;
+
+        @PersistenceContext
+        private EntityManager entityManager;
 
         // Lock timeout for slot booking operations
         private static final Duration SLOT_LOCK_TIMEOUT = Duration.ofSeconds(10);
@@ -92,7 +112,8 @@ public class SlotService {
          * 5. Book slot → deduct coins (this order prevents last-slot double-charge)
          * 6. Release locks
          */
-        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        @DbWorkload(Workload.BOOKING)
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public SlotsDTO bookSpecificSlot(int tournamentId, String firebaseUID, String playerName, int slotNumber) {
                 log.info("🎯 User {} attempting to book slot {} for tournament {}", firebaseUID, slotNumber,
                                 tournamentId);
@@ -103,10 +124,15 @@ public class SlotService {
                         throw new IllegalArgumentException("Invalid slot number: " + slotNumber);
                 }
 
+                // Phase timings: each record call returns the start of the next phase
+                long started = System.nanoTime();
+                long phase = started;
+
                 // ── REDIS DISTRIBUTED LOCKS ──
                 // Layer 1: User-level lock — prevents same user double-tapping
                 String userLockKey = DistributedLockService.userBookingLockKey(firebaseUID, tournamentId);
                 String userLockValue = lockService.acquireLock(userLockKey, USER_LOCK_TIMEOUT);
+                phase = metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.USER_LOCK, phase);
                 if (userLockValue == null) {
                         throw new IllegalStateException(
                                         "Your previous booking request is still processing. Please wait.");
@@ -115,6 +141,7 @@ public class SlotService {
                 // Layer 2: Slot-level lock — prevents two users booking same slot
                 String slotLockKey = DistributedLockService.slotLockKey(tournamentId, slotNumber);
                 String slotLockValue = lockService.acquireLock(slotLockKey, SLOT_LOCK_TIMEOUT);
+                phase = metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.SLOT_LOCK, phase);
                 if (slotLockValue == null) {
                         lockService.releaseLock(userLockKey, userLockValue);
                         throw new IllegalStateException(
@@ -128,10 +155,11 @@ public class SlotService {
                         // ── USER VALIDATION ──
                         Users user = usersRepo.findByFirebaseUserUID(firebaseUID)
                                         .orElseThrow(() -> new ResourceNotFoundException("User not found: " + firebaseUID));
+                        phase = metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.VALIDATION, phase);
 
                         // ── SLOT LOCK + CHECK (DB pessimistic lock) ──
-                        Slots slot = slotRepo.findByTournaments_IdAndSlotNumberForUpdate(tournamentId, slotNumber)
-                                        .orElseThrow(() -> new ResourceNotFoundException("Slot not found: " + slotNumber));
+                        Slots slot = lockSlot(tournament, slotNumber);
+                        phase = metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.SLOT_FETCH, phase);
 
                         if (slot.getStatus() != Slots.SlotStatus.AVAILABLE) {
                                 throw new IllegalStateException("Slot " + slotNumber + " is already booked");
@@ -153,6 +181,7 @@ public class SlotService {
                                                                         entryFee, wallet.getCoins()));
                                 }
                         }
+                        phase = metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.WALLET_LOCK, phase);
 
                         // ── BOOK THE SLOT (do this FIRST) ──
                         slot.setUser(user);
@@ -173,11 +202,14 @@ public class SlotService {
                                                 wallet.getCoins(), "TOURNAMENT_BOOK", String.valueOf(tournamentId), null,
                                                 firebaseUID);
                         }
+                        slotCounterService.adjustBooked(tournamentId, 1);
+                        phase = metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.SAVE_AND_LEDGER, phase);
 
                         // ── AUDIT + NOTIFY ──
                         auditLogService.logSlotBooking(firebaseUID, tournamentId, slotNumber, entryFee);
                         notificationService.notifySlotBooked(firebaseUID, tournamentId, tournament.getName(),
                                         slotNumber, entryFee);
+                        metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.AUDIT_NOTIFY, phase);
 
                         log.info("✅ Slot booked successfully: user={}, tournament={}, slot={}, fee={}",
                                         firebaseUID, tournamentId, slotNumber, entryFee);
@@ -190,8 +222,11 @@ public class SlotService {
                         throw e;
                 } finally {
                         // ── ALWAYS RELEASE LOCKS ──
+                        long release = System.nanoTime();
                         lockService.releaseLock(slotLockKey, slotLockValue);
                         lockService.releaseLock(userLockKey, userLockValue);
+                        metricsService.recordBookingPhase(BookingType.SINGLE, BookingPhase.LOCK_RELEASE, release);
+                        metricsService.recordBookingProcessingTime(started);
                 }
         }
 
@@ -203,7 +238,8 @@ public class SlotService {
          * Book team slots with all-or-nothing atomicity.
          * Either ALL slots in the team are booked, or NONE are.
          */
-        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        @DbWorkload(Workload.BOOKING)
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public List<SlotsDTO> bookTeamSlots(int tournamentId, String firebaseUID,
                         List<TeamBookingRequestDTO.PlayerInfo> players) {
                 log.info("🎯 User {} booking team of {} for tournament {}", firebaseUID, 
@@ -228,9 +264,13 @@ public class SlotService {
                         }
                 }
 
+                long started = System.nanoTime();
+                long phase = started;
+
                 // ── REDIS USER LOCK (prevents double-tap) ──
                 String userLockKey = DistributedLockService.userBookingLockKey(firebaseUID, tournamentId);
                 String userLockValue = lockService.acquireLock(userLockKey, USER_LOCK_TIMEOUT);
+                phase = metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.USER_LOCK, phase);
                 if (userLockValue == null) {
                         throw new IllegalStateException(
                                         "Your previous booking request is still processing. Please wait.");
@@ -255,6 +295,7 @@ public class SlotService {
                                 acquiredSlotLockKeys.add(slotLockKey);
                                 acquiredSlotLockValues.add(slotLockValue);
                         }
+                        phase = metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.SLOT_LOCK, phase);
 
                         // ── TOURNAMENT VALIDATION ──
                         Tournaments tournament = validateTournamentForBooking(tournamentId);
@@ -262,14 +303,12 @@ public class SlotService {
                         // ── USER VALIDATION ──
                         Users user = usersRepo.findByFirebaseUserUID(firebaseUID)
                                         .orElseThrow(() -> new ResourceNotFoundException("User not found: " + firebaseUID));
+                        phase = metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.VALIDATION, phase);
 
                         // ── LOCK AND VERIFY ALL SLOTS ARE AVAILABLE ──
                         List<Slots> slotsToBook = new ArrayList<>();
                         for (TeamBookingRequestDTO.PlayerInfo player : sortedPlayers) {
-                                Slots slot = slotRepo.findByTournaments_IdAndSlotNumberForUpdate(
-                                                tournamentId, player.getSlotNumber())
-                                                .orElseThrow(() -> new ResourceNotFoundException(
-                                                                "Slot not found: " + player.getSlotNumber()));
+                                Slots slot = lockSlot(tournament, player.getSlotNumber());
 
                                 if (slot.getStatus() != Slots.SlotStatus.AVAILABLE) {
                                         throw new IllegalStateException(
@@ -277,6 +316,7 @@ public class SlotService {
                                 }
                                 slotsToBook.add(slot);
                         }
+                        phase = metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.SLOT_FETCH, phase);
 
                         // ── WALLET CHECK (after ALL slots confirmed available) ──
                         int totalCost = tournament.getEntryFees() * players.size();
@@ -292,6 +332,7 @@ public class SlotService {
                                                                         totalCost, wallet.getCoins()));
                                 }
                         }
+                        phase = metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.WALLET_LOCK, phase);
 
                         // ── BOOK ALL SLOTS (do this FIRST) ──
                         List<SlotsDTO> bookedSlots = new ArrayList<>();
@@ -316,11 +357,14 @@ public class SlotService {
                                                 wallet.getCoins(), "TEAM_TOURNAMENT_BOOK", String.valueOf(tournamentId), null,
                                                 firebaseUID);
                         }
+                        slotCounterService.adjustBooked(tournamentId, players.size());
+                        phase = metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.SAVE_AND_LEDGER, phase);
 
                         // ── AUDIT + NOTIFY ──
                         auditLogService.logTeamBooking(firebaseUID, tournamentId, players.size(), totalCost);
                         notificationService.notifySlotBooked(firebaseUID, tournamentId, tournament.getName(),
                                         sortedPlayers.get(0).getSlotNumber(), totalCost);
+                        metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.AUDIT_NOTIFY, phase);
 
                         log.info("✅ Team booked: user={}, tournament={}, slots={}, cost={}",
                                         firebaseUID, tournamentId, players.size(), totalCost);
@@ -333,10 +377,13 @@ public class SlotService {
                         throw e;
                 } finally {
                         // ── RELEASE ALL LOCKS (reverse order to prevent deadlocks) ──
+                        long release = System.nanoTime();
                         for (int i = acquiredSlotLockKeys.size() - 1; i >= 0; i--) {
                                 lockService.releaseLock(acquiredSlotLockKeys.get(i), acquiredSlotLockValues.get(i));
                         }
                         lockService.releaseLock(userLockKey, userLockValue);
+                        metricsService.recordBookingPhase(BookingType.TEAM, BookingPhase.LOCK_RELEASE, release);
+                        metricsService.recordBookingProcessingTime(started);
                 }
         }
 
@@ -356,16 +403,21 @@ public class SlotService {
          *   1. Find first available slot WITH pessimistic lock (already has it in repo)
          *   2. Book directly — slot is already locked
          */
-        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        @DbWorkload(Workload.BOOKING)
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public SlotsDTO bookNextAvailableSlot(int tournamentId, String firebaseUID, String playerName) {
                 log.info("🎯 User {} booking next available slot for tournament {}", firebaseUID, tournamentId);
 
                 // Validate inputs
                 validatePlayerName(playerName);
 
+                long started = System.nanoTime();
+                long phase = started;
+
                 // ── REDIS USER LOCK ──
                 String userLockKey = DistributedLockService.userBookingLockKey(firebaseUID, tournamentId);
                 String userLockValue = lockService.acquireLock(userLockKey, USER_LOCK_TIMEOUT);
+                phase = metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.USER_LOCK, phase);
                 if (userLockValue == null) {
                         throw new IllegalStateException(
                                         "Your previous booking request is still processing. Please wait.");
@@ -378,13 +430,21 @@ public class SlotService {
                         // ── USER VALIDATION ──
                         Users user = usersRepo.findByFirebaseUserUID(firebaseUID)
                                         .orElseThrow(() -> new ResourceNotFoundException("User not found: " + firebaseUID));
+                        phase = metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.VALIDATION, phase);
 
                         // ── FIND + LOCK next available slot (atomic, no TOCTOU) ──
                         // This query already uses @Lock(PESSIMISTIC_WRITE) in the repo
-                        Slots slot = slotRepo.findFirstByTournaments_IdAndStatusOrderBySlotNumberAsc(
-                                        tournamentId, Slots.SlotStatus.AVAILABLE)
-                                        .orElseThrow(() -> new IllegalStateException(
-                                                        "No available slots remaining in this tournament"));
+                        Optional<Slots> nextSlot = slotRepo.findFirstByTournaments_IdAndStatusOrderBySlotNumberAsc(
+                                        tournamentId, Slots.SlotStatus.AVAILABLE);
+                        if (nextSlot.isEmpty()
+                                        && slotProvisioningService.materializeNextChunk(tournamentId, tournament.getMaxPlayers()) > 0) {
+                                // Lazily materialized bracket: the next chunk of rows was just created
+                                nextSlot = slotRepo.findFirstByTournaments_IdAndStatusOrderBySlotNumberAsc(
+                                                tournamentId, Slots.SlotStatus.AVAILABLE);
+                        }
+                        Slots slot = nextSlot.orElseThrow(() -> new IllegalStateException(
+                                        "No available slots remaining in this tournament"));
+                        phase = metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.SLOT_FETCH, phase);
 
                         // ── WALLET CHECK (after slot confirmed available and locked) ──
                         int entryFee = tournament.getEntryFees();
@@ -400,6 +460,7 @@ public class SlotService {
                                                                         entryFee, wallet.getCoins()));
                                 }
                         }
+                        phase = metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.WALLET_LOCK, phase);
 
                         // ── BOOK SLOT FIRST ──
                         slot.setUser(user);
@@ -417,14 +478,18 @@ public class SlotService {
                                                 wallet.getCoins(), "TOURNAMENT_BOOK", String.valueOf(tournamentId), null,
                                                 firebaseUID);
                         }
+                        slotCounterService.adjustBooked(tournamentId, 1);
+                        phase = metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.SAVE_AND_LEDGER, phase);
 
                         // ── AUDIT + NOTIFY ──
                         auditLogService.logSlotBooking(firebaseUID, tournamentId, slot.getSlotNumber(), entryFee);
                         notificationService.notifySlotBooked(firebaseUID, tournamentId, tournament.getName(),
                                         slot.getSlotNumber(), entryFee);
+                        metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.AUDIT_NOTIFY, phase);
 
                         log.info("✅ Next available slot booked: user={}, tournament={}, slot={}",
                                         firebaseUID, tournamentId, slot.getSlotNumber());
+                        topUpAfterCommit(tournamentId, tournament.getMaxPlayers());
                         metricsService.recordBookingCreated(tournamentId, 1);
 
                         return mapToDTO(bookedSlot);
@@ -433,7 +498,10 @@ public class SlotService {
                         metricsService.recordBookingFailed(tournamentId, e.getClass().getSimpleName());
                         throw e;
                 } finally {
+                        long release = System.nanoTime();
                         lockService.releaseLock(userLockKey, userLockValue);
+                        metricsService.recordBookingPhase(BookingType.NEXT, BookingPhase.LOCK_RELEASE, release);
+                        metricsService.recordBookingProcessingTime(started);
                 }
         }
 
@@ -450,7 +518,10 @@ public class SlotService {
          * - Wallet desynced (always refunds to current balance)
          * - User trying to cancel another user's slot
          */
-        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        // READ COMMITTED like booking: the booked_count UPDATE is a hot row that fails with a
+        // serialization error under REPEATABLE READ whenever a booking of the same tournament
+        // commits first. Two cancels of one slot are still caught by the Slots @Version check
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public void cancelSlotBooking(int slotId, String firebaseUID) {
                 log.info("🔄 User {} cancelling slot: {}", firebaseUID, slotId);
 
@@ -493,6 +564,7 @@ public class SlotService {
                 slot.setStatus(Slots.SlotStatus.AVAILABLE);
                 slot.setBookedAt(null);
                 slotRepo.save(slot);
+                slotCounterService.adjustBooked(slot.getTournaments().getId(), -1);
 
                 // ── AUDIT + NOTIFY ──
                 auditLogService.logSlotCancellation(firebaseUID, slot.getTournaments().getId(), slotId, refundAmount);
@@ -507,7 +579,8 @@ public class SlotService {
         // CANCELLATION: Admin Cancel
         // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 
-        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        // READ COMMITTED for the same reason as cancelSlotBooking
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public void adminCancelSlotBooking(int slotId, String adminUID) {
                 log.info("🔄 Admin {} cancelling slot: {}", adminUID, slotId);
 
@@ -554,6 +627,10 @@ public class SlotService {
         // SLOT GENERATION
         // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 
+        /**
+         * Create or resize the slot rows of a tournament. Only the difference is inserted
+         * or deleted; booked slots are never removed.
+         */
         @Transactional
         public void preGenerateSlots(int tournamentId, int maxPlayers) {
                 log.info("🔨 Pre-generating {} slots for tournament {}", maxPlayers, tournamentId);
@@ -562,39 +639,8 @@ public class SlotService {
                         throw new IllegalArgumentException("Invalid maxPlayers: must be between 1 and 10,000");
                 }
 
-                Tournaments tournament = tournamentRepo.findById(tournamentId)
-                                .orElseThrow(() -> new ResourceNotFoundException(
-                                                "Tournament not found: " + tournamentId));
-
-                // Check for existing slots
-                List<Slots> existingSlots = slotRepo.findByTournaments_Id(tournamentId);
-                if (!existingSlots.isEmpty()) {
-                        boolean hasBookings = existingSlots.stream()
-                                        .anyMatch(s -> s.getStatus() == Slots.SlotStatus.BOOKED);
-
-                        if (hasBookings) {
-                                log.warn("⚠️ Cannot regenerate slots for tournament {}: Found existing bookings!",
-                                                tournamentId);
-                                throw new IllegalStateException(
-                                                "Cannot regenerate slots: Tournament already has bookings. Please cancel bookings first.");
-                        }
-
-                        slotRepo.deleteAll(existingSlots);
-                        log.info("Deleted {} existing slots", existingSlots.size());
-                }
-
-                // Generate new slots
-                List<Slots> newSlots = new ArrayList<>();
-                for (int i = 1; i <= maxPlayers; i++) {
-                        Slots slot = new Slots();
-                        slot.setTournaments(tournament);
-                        slot.setSlotNumber(i);
-                        slot.setStatus(Slots.SlotStatus.AVAILABLE);
-                        newSlots.add(slot);
-                }
-
-                slotRepo.saveAll(newSlots);
-                log.info("✅ Generated {} new slots for tournament {}", maxPlayers, tournamentId);
+                int delta = slotProvisioningService.resize(tournamentId, maxPlayers);
+                log.info("✅ Slots ready for tournament {}: maxPlayers={}, delta={}", tournamentId, maxPlayers, delta);
         }
 
         // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
@@ -603,41 +649,54 @@ public class SlotService {
 
         @Transactional(readOnly = true)
         public List<SlotsDTO> getSlots(int tournamentId) {
-                return slotRepo.findByTournaments_Id(tournamentId).stream()
+                List<SlotsDTO> slots = slotRepo.findByTournaments_Id(tournamentId).stream()
+                                .map(this::mapToDTO)
+                                .collect(Collectors.toList());
+                if (!slots.isEmpty()) {
+                        return slots;
+                }
+                // ── Archived tournaments keep their slots in slots_archive ──
+                return slotArchiveRepo.findByTournamentIdOrderBySlotNumberAsc(tournamentId).stream()
                                 .map(this::mapToDTO)
                                 .collect(Collectors.toList());
         }
 
         @Transactional(readOnly = true)
         public List<SlotsDTO> getUserBookedSlots(String firebaseUID) {
-                return slotRepo.findByUser_FirebaseUserUID(firebaseUID).stream()
+                List<SlotsDTO> slots = slotRepo.findByUser_FirebaseUserUID(firebaseUID).stream()
                                 .map(this::mapToDTO)
-                                .collect(Collectors.toList());
+                                .collect(Collectors.toCollection(ArrayList::new));
+                // Archived bookings of a user can be newer than some live ones, so the merged list
+                // is sorted as a whole, newest booking first, like UserService.getUserHistory
+                slotArchiveRepo.findByFirebaseUserUIDOrderByBookedAtDesc(firebaseUID).stream()
+                                .map(this::mapToDTO)
+                                .forEach(slots::add);
+                slots.sort(Comparator.comparing(SlotsDTO::getBookedAt,
+                                Comparator.nullsLast(Comparator.reverseOrder())));
+                return slots;
         }
 
         @Transactional(readOnly = true)
         public Map<String, Object> getSlotSummary(int tournamentId) {
-                List<Slots> allSlots = slotRepo.findByTournaments_Id(tournamentId);
-
-                List<SlotsDTO> slotsList = allSlots.stream()
-                                .map(this::mapToDTO)
-                                .collect(Collectors.toList());
+                Map<String, Object> summary = getSlotCounts(tournamentId);
+                summary.put("slots", getSlots(tournamentId));
+                return summary;
+        }
 
-                long totalSlots = allSlots.size();
-                long bookedSlots = allSlots.stream()
-                                .filter(s -> s.getStatus() == Slots.SlotStatus.BOOKED)
-                                .count();
-                long availableSlots = allSlots.stream()
-                                .filter(s -> s.getStatus() == Slots.SlotStatus.AVAILABLE)
-                                .count();
+        /**
+         * Booked/available counts from the per-tournament counters, without loading any slot rows.
+         * Slot numbers of lazily materialized brackets that have no row yet count as available.
+         */
+        public Map<String, Object> getSlotCounts(int tournamentId) {
+                SlotCounterService.Counts counts = slotCounterService.getCounts(tournamentId);
+                long totalSlots = counts.total();
+                long bookedSlots = counts.booked();
 
                 Map<String, Object> summary = new HashMap<>();
-                summary.put("slots", slotsList);
                 summary.put("totalSlots", totalSlots);
                 summary.put("bookedCount", bookedSlots);
-                summary.put("availableCount", availableSlots);
+                summary.put("availableCount", counts.available());
                 summary.put("fillRate", totalSlots > 0 ? (bookedSlots * 100.0 / totalSlots) : 0);
-
                 return summary;
         }
 
@@ -645,66 +704,97 @@ public class SlotService {
         // TOURNAMENT CANCELLATION (bulk refund)
         // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
 
-        @Transactional(isolation = Isolation.REPEATABLE_READ)
+        /**
+         * Refund and release every booked slot of a cancelled tournament, set-based:
+         * 1. Claim booked slots with one SELECT ... FOR UPDATE (a concurrent re-run blocks here,
+         *    then finds nothing still BOOKED — re-running is a no-op)
+         * 2. Group refunds per user; wallets are credited in sorted user order by one UPDATE
+         *    and the ledger rows are written by one multi-row INSERT
+         * 3. Release the slots with a single UPDATE; slots of users who could not be refunded
+         *    (no wallet) stay BOOKED
+         * 4. Notifications fan out asynchronously after commit
+         * The statements run through JDBC, so the session is flushed before and cleared after them.
+         * READ COMMITTED on purpose (was REPEATABLE READ): every row read for a decision is locked
+         * with FOR UPDATE first, which returns its latest committed version, and balances move by
+         * relative updates (coins = coins + amount). Under REPEATABLE READ the wallet lock fails
+         * with a serialization error as soon as any refunded user's wallet changed concurrently,
+         * aborting the whole cancellation with nobody to retry it.
+         */
+        @Transactional(isolation = Isolation.READ_COMMITTED)
         public void processTournamentCancellation(int tournamentId) {
                 log.info("🚨 Processing cancellation for tournament: {}", tournamentId);
+                long started = System.nanoTime();
 
                 Tournaments tournament = tournamentRepo.findById(tournamentId)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Tournament not found: " + tournamentId));
+                // Slot changes still queued in the session must be in the rows the SQL below reads
+                entityManager.flush();
 
-                List<Slots> bookedSlots = slotRepo.findByTournaments_Id(tournamentId).stream()
-                                .filter(s -> s.getStatus() == Slots.SlotStatus.BOOKED)
-                                .collect(Collectors.toList());
+                List<String> bookedUids = jdbcTemplate.queryForList(
+                                "SELECT firebase_useruid FROM slots WHERE tournament_id = ? AND status = 'BOOKED' " +
+                                                "ORDER BY id FOR UPDATE",
+                                String.class, tournamentId);
 
-                if (bookedSlots.isEmpty()) {
+                if (bookedUids.isEmpty()) {
                         log.info("ℹ️ No bookings found for tournament {}. No refunds needed.", tournamentId);
                         return;
                 }
 
-                log.info("💰 Processing refunds for {} bookings...", bookedSlots.size());
+                log.info("💰 Processing refunds for {} bookings...", bookedUids.size());
 
+                // ── GROUP BY USER: one wallet update per user, however many slots they held ──
                 int refundAmount = tournament.getEntryFees();
-                int successCount = 0;
-
-                for (Slots slot : bookedSlots) {
-                        try {
-                                Users user = slot.getUser();
-                                if (user == null) continue;
-
-                                String userFirebaseUID = user.getFirebaseUserUID();
-
-                                // Refund to wallet (with lock for safety)
-                                if (refundAmount > 0) {
-                                        Wallet wallet = walletRepo.findByUserIdForUpdate(userFirebaseUID)
-                                                        .orElseThrow(() -> new ResourceNotFoundException(
-                                                                        "Wallet not found for user: " + userFirebaseUID));
-
-                                        wallet.setCoins(wallet.getCoins() + refundAmount);
-                                        wallet.setLastUpdated(LocalDateTime.now());
-                                        walletRepo.save(wallet);
-
-                                        walletLedgerService.recordEntry(wallet, WalletLedger.Direction.CREDIT, refundAmount,
-                                                        wallet.getCoins(), "TOURNAMENT_CANCELLED_REFUND",
-                                                        String.valueOf(tournamentId), null, "SYSTEM");
-                                }
+                Map<String, Integer> refundsByUid = new HashMap<>();
+                for (String uid : bookedUids) {
+                        if (uid != null) {
+                                refundsByUid.merge(uid, refundAmount, Integer::sum);
+                        }
+                }
 
-                                // Reset slot
-                                releaseSlot(slot);
+                List<BulkWalletCreditService.Credit> credits = refundAmount > 0
+                                ? bulkWalletCreditService.creditAll(refundsByUid, "TOURNAMENT_CANCELLED_REFUND",
+                                                String.valueOf(tournamentId), null, "SYSTEM")
+                                : Collections.emptyList();
 
-                                // Notify user
-                                notificationService.notifyBookingCancelled(userFirebaseUID, tournamentId,
-                                                tournament.getName(), refundAmount);
+                // ── RELEASE: claimed slots in one statement, except those of users left unrefunded ──
+                // (no wallet): their slots stay BOOKED as the record of what is still owed
+                Set<String> unrefunded = new TreeSet<>();
+                if (refundAmount > 0) {
+                        unrefunded.addAll(refundsByUid.keySet());
+                        credits.forEach(c -> unrefunded.remove(c.firebaseUID()));
+                }
+                StringBuilder release = new StringBuilder(
+                                "UPDATE slots SET status = 'AVAILABLE', firebase_useruid = NULL, player_name = NULL, " +
+                                                "booked_at = NULL, version = version + 1 " +
+                                                "WHERE tournament_id = ? AND status = 'BOOKED'");
+                List<Object> releaseArgs = new ArrayList<>();
+                releaseArgs.add(tournamentId);
+                if (!unrefunded.isEmpty()) {
+                        release.append(" AND (firebase_useruid IS NULL OR firebase_useruid NOT IN (")
+                                        .append(String.join(", ", Collections.nCopies(unrefunded.size(), "?")))
+                                        .append("))");
+                        releaseArgs.addAll(unrefunded);
+                        log.warn("⚠️ Tournament {}: keeping slots of {} unrefunded users booked", tournamentId,
+                                        unrefunded.size());
+                }
+                int released = jdbcTemplate.update(release.toString(), releaseArgs.toArray());
+                queryCacheInvalidator.tablesChanged("slots");
+                // Managed Slots entities are stale now; drop them instead of flushing them back
+                entityManager.clear();
+                slotCounterService.adjustBooked(tournamentId, -released);
 
-                                successCount++;
-                        } catch (Exception e) {
-                                log.error("❌ Failed to refund user {} for slot {}: {}",
-                                                slot.getUser() != null ? slot.getUser().getFirebaseUserUID() : "unknown",
-                                                slot.getId(), e.getMessage());
-                        }
+                Map<String, Integer> notified = new HashMap<>();
+                if (refundAmount > 0) {
+                        credits.forEach(c -> notified.put(c.firebaseUID(), c.amount()));
+                } else {
+                        refundsByUid.keySet().forEach(uid -> notified.put(uid, 0));
                 }
+                notificationService.notifyBookingsCancelledAfterCommit(notified, tournamentId, tournament.getName());
 
-                log.info("✅ Cancellation processing complete. Refunded {}/{} users.", successCount, bookedSlots.size());
+                log.info("✅ Cancellation processing complete. Released {} slots, refunded {}/{} users in {}ms.",
+                                released, credits.size(), refundsByUid.size(),
+                                (System.nanoTime() - started) / 1_000_000);
         }
 
         // ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
@@ -758,6 +848,39 @@ public class SlotService {
                 }
         }
 
+        /**
+         * Lock a slot by number, creating its row first if the bracket is lazily materialized.
+         */
+        private Slots lockSlot(Tournaments tournament, int slotNumber) {
+                int tournamentId = tournament.getId();
+                Optional<Slots> slot = slotRepo.findByTournaments_IdAndSlotNumberForUpdate(tournamentId, slotNumber);
+                if (slot.isEmpty() && slotProvisioningService.materialize(
+                                tournamentId, slotNumber, slotNumber, tournament.getMaxPlayers()) > 0) {
+                        slot = slotRepo.findByTournaments_IdAndSlotNumberForUpdate(tournamentId, slotNumber);
+                }
+                return slot.orElseThrow(() -> new ResourceNotFoundException("Slot not found: " + slotNumber));
+        }
+
+        /**
+         * Large brackets keep a small buffer of materialized AVAILABLE rows ahead of book-next.
+         */
+        private void topUpAfterCommit(int tournamentId, int maxPlayers) {
+                if (!slotProvisioningService.isLazy(maxPlayers)
+                                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                        return;
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                                try {
+                                        slotProvisioningService.topUp(tournamentId, maxPlayers);
+                                } catch (Exception e) {
+                                        log.warn("⚠️ Slot top-up failed for tournament {}: {}", tournamentId, e.getMessage());
+                                }
+                        }
+                });
+        }
+
         /**
          * Release a slot back to available state.
          */
@@ -767,6 +890,7 @@ public class SlotService {
                 slot.setStatus(Slots.SlotStatus.AVAILABLE);
                 slot.setBookedAt(null);
                 slotRepo.save(slot);
+                slotCounterService.adjustBooked(slot.getTournaments().getId(), -1);
         }
 
         /**
@@ -783,4 +907,15 @@ public class SlotService {
                 dto.setBookedAt(slot.getBookedAt());
                 return dto;
         }
+
+        private SlotsDTO mapToDTO(SlotArchive slot) {
+                return new SlotsDTO(
+                                slot.getId(),
+                                slot.getTournamentId(),
+                                slot.getSlotNumber(),
+                                slot.getFirebaseUserUID(),
+                                slot.getPlayerName(),
+                                slot.getStatus(),
+                                slot.getBookedAt());
+        }
 }
@@ -1,5 +1,7 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.Workload;
 import com.esport.EsportTournament.dto.SlotsDTO;
 import com.esport.EsportTournament.model.Tournaments;
 import com.esport.EsportTournament.repository.TournamentRepo;
@@ -25,13 +27,18 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@DbWorkload(Workload.SCHEDULER)
 public class TournamentSchedulerService {
 
     private final TournamentRepo tournamentRepo;
     private final SlotService slotService;
     private final NotificationService notificationService;
     private final WebSocketService webSocketService;
-    private final com.esport.EsportTournament.util.EncryptionUtil encryptionUtil;
+    private final ArchiveService archiveService;
+    private final TournamentTemplateService tournamentTemplateService;
+    private final SlotCounterService slotCounterService;
+    private final ResourceVersionService resourceVersionService;
+    private final CredentialCryptoService credentialCryptoService;
     private final Map<String, LocalDateTime> reminderTracker = new ConcurrentHashMap<>();
 
     /**
@@ -151,28 +158,72 @@ public class TournamentSchedulerService {
     }
 
     /**
-     * Clean up old tournament data
+     * Archive old finished tournaments and audit logs
      * Runs daily at 2 AM
      */
     @Scheduled(cron = "0 0 2 * * *") // Daily at 2 AM
-    @Transactional
     public void cleanupOldTournaments() {
         try {
-            LocalDateTime thirtyDaysAgo = LocalDateTime.now().minusDays(30);
-
-            List<Tournaments> oldTournaments = tournamentRepo.findByStatusesAndStartTimeBefore(
-                    List.of(
-                            Tournaments.TournamentStatus.COMPLETED,
-                            Tournaments.TournamentStatus.CANCELLED),
-                    thirtyDaysAgo);
+            // No surrounding transaction: the archiver commits per tournament / per batch
+            Map<String, Object> report = archiveService.runScheduledArchival("SCHEDULER");
+            log.info("🧹 Nightly archival: {}", report);
+        } catch (IllegalStateException e) {
+            log.info("🧹 Skipping nightly archival: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Error in cleanup scheduler", e);
+        }
+    }
 
-            // Archive or clean up old tournaments
-            log.info("🧹 Found {} old tournaments for cleanup", oldTournaments.size());
+    /**
+     * Expand recurring templates into the next days of tournaments
+     * Runs daily at 00:15
+     */
+    @Scheduled(cron = "${app.templates.materialize-cron:0 15 0 * * *}")
+    public void materializeRecurringTournaments() {
+        try {
+            // No surrounding transaction: the template job runs its own single batch transaction
+            Map<String, Object> report = tournamentTemplateService.materializeScheduled("SCHEDULER");
+            log.info("📅 Recurring tournaments: {}", report);
+        } catch (IllegalStateException e) {
+            log.info("📅 Skipping template materialization: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Error in template materialization", e);
+        }
+    }
 
-            // In production, archive to separate table instead of deleting
+    /**
+     * Recompute booked-slot counters of active tournaments from the slots table
+     * Runs every 5 minutes by default
+     */
+    @Scheduled(fixedDelayString = "${app.slots.counters.reconcile-ms:300000}", initialDelay = 60000)
+    public void reconcileSlotCounters() {
+        try {
+            int corrected = slotCounterService.reconcile();
+            if (corrected > 0) {
+                log.info("🔢 Reconciled slot counters of {} tournaments", corrected);
+            }
+        } catch (Exception e) {
+            log.error("❌ Error reconciling slot counters", e);
+        }
+    }
 
+    /**
+     * Re-encrypt legacy AES/ECB game credentials with AES-GCM, one batch per transaction
+     * Runs every hour; a no-op once everything is migrated
+     */
+    @Scheduled(fixedDelayString = "${app.credentials.migration-ms:3600000}", initialDelay = 120000)
+    public void migrateLegacyCredentials() {
+        try {
+            int migrated = 0;
+            int lastId = 0;
+            while ((lastId = credentialCryptoService.migrateLegacyBatch(lastId)) > 0) {
+                migrated++;
+            }
+            if (migrated > 0) {
+                log.info("🔐 Re-encrypted legacy game credentials in {} batch(es)", migrated);
+            }
         } catch (Exception e) {
-            log.error("❌ Error in cleanup scheduler", e);
+            log.error("❌ Error migrating legacy game credentials", e);
         }
     }
 
@@ -217,6 +268,7 @@ public class TournamentSchedulerService {
         tournament.setStatus(Tournaments.TournamentStatus.ONGOING);
         tournament.setUpdatedAt(LocalDateTime.now());
         tournamentRepo.save(tournament);
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
 
         // Get all participants
         List<String> participantUIDs = getParticipantUIDs(tournament.getId());
@@ -227,8 +279,10 @@ public class TournamentSchedulerService {
         }
 
         // Send game credentials to participants
-        String decryptedGameId = encryptionUtil.decrypt(tournament.getGameId());
-        String decryptedGamePassword = encryptionUtil.decrypt(tournament.getGamePassword());
+        CredentialCryptoService.GameCredentials credentials = credentialCryptoService.decrypt(
+                tournament.getId(), tournament.getGameId(), tournament.getGamePassword());
+        String decryptedGameId = credentials.gameId();
+        String decryptedGamePassword = credentials.gamePassword();
 
         if (decryptedGameId != null && !decryptedGameId.isBlank()
                 && decryptedGamePassword != null && !decryptedGamePassword.isBlank()) {
@@ -272,6 +326,7 @@ public class TournamentSchedulerService {
         tournament.setStatus(Tournaments.TournamentStatus.COMPLETED);
         tournament.setUpdatedAt(LocalDateTime.now());
         tournamentRepo.save(tournament);
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
 
         List<String> participantUIDs = getParticipantUIDs(tournament.getId());
 
@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.ReplicaRead;
 import com.esport.EsportTournament.dto.SlotsDTO;
 import com.esport.EsportTournament.dto.TournamentsDTO;
 import com.esport.EsportTournament.exception.ResourceNotFoundException;
@@ -31,12 +32,15 @@ public class TournamentService {
 
     private final TournamentRepo tournamentRepo;
     private final TournamentResultRepository tournamentResultRepository;
+    private final com.esport.EsportTournament.repository.TournamentResultArchiveRepository tournamentResultArchiveRepository;
     private final com.esport.EsportTournament.repository.SlotRepo slotRepo;
     private final SlotService slotService;
+    private final PayoutService payoutService;
     private final RulesService rulesService;
     private final NotificationService notificationService;
     private final MetricsService metricsService;
-    private final com.esport.EsportTournament.util.EncryptionUtil encryptionUtil;
+    private final ResourceVersionService resourceVersionService;
+    private final CredentialCryptoService credentialCryptoService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -46,6 +50,7 @@ public class TournamentService {
     @Transactional
     @CacheEvict(value = { "tournaments", "upcoming_tournaments", "tournament_stats" }, allEntries = true)
     public TournamentsDTO createTournament(TournamentsDTO dto) {
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
         log.info("Creating tournament with teamSize: {}", dto.getTeamSize());
 
         Tournaments tournament = new Tournaments();
@@ -68,8 +73,8 @@ public class TournamentService {
         tournament.setGame(dto.getGame());
         tournament.setGameMode(dto.getGameMode());
         // Encrypt credentials
-        tournament.setGameId(encryptionUtil.encrypt(dto.getGameId()));
-        tournament.setGamePassword(encryptionUtil.encrypt(dto.getGamePassword()));
+        tournament.setGameId(credentialCryptoService.encrypt(dto.getGameId()));
+        tournament.setGamePassword(credentialCryptoService.encrypt(dto.getGamePassword()));
 
         // Save rules as JSON string
         if (dto.getRules() != null && !dto.getRules().isEmpty()) {
@@ -110,9 +115,11 @@ public class TournamentService {
         TournamentsDTO tournamentsDTO = getTournamentById(tournamentId);
 
         // 🔥 CRITICAL FIX: Check for null values before creating map
-        // Decrypt credentials
-        String gameId = encryptionUtil.decrypt(tournamentsDTO.getGameId());
-        String gamePassword = encryptionUtil.decrypt(tournamentsDTO.getGamePassword());
+        // Decrypt credentials (cached per tournament)
+        CredentialCryptoService.GameCredentials credentials = credentialCryptoService.decrypt(
+                tournamentId, tournamentsDTO.getGameId(), tournamentsDTO.getGamePassword());
+        String gameId = credentials.gameId();
+        String gamePassword = credentials.gamePassword();
 
         // Log the values for debugging (masked)
         log.debug("Tournament {} - GameId: {}, GamePassword: {}",
@@ -153,6 +160,7 @@ public class TournamentService {
     @Transactional
     @CacheEvict(value = { "tournaments", "upcoming_tournaments", "tournament", "tournament_stats" }, allEntries = true)
     public TournamentsDTO updateGameCredentials(int tournamentId, String gameId, String gamePassword) {
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
         log.info("Updating game credentials for tournament ID: {}", tournamentId);
 
         if (gameId == null || gameId.trim().isEmpty()) {
@@ -166,11 +174,12 @@ public class TournamentService {
         Tournaments tournament = tournamentRepo.findById(tournamentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tournament not found with ID: " + tournamentId));
 
-        tournament.setGameId(encryptionUtil.encrypt(gameId));
-        tournament.setGamePassword(encryptionUtil.encrypt(gamePassword));
+        tournament.setGameId(credentialCryptoService.encrypt(gameId));
+        tournament.setGamePassword(credentialCryptoService.encrypt(gamePassword));
         tournament.setUpdatedAt(LocalDateTime.now());
 
         Tournaments updated = tournamentRepo.save(tournament);
+        credentialCryptoService.evict(tournamentId);
         log.info("Game credentials updated successfully for tournament ID: {}", tournamentId);
 
         List<SlotsDTO> slotList = slotService.getSlots(tournamentId);
@@ -192,6 +201,7 @@ public class TournamentService {
     @Transactional
     @CacheEvict(value = { "tournaments", "upcoming_tournaments", "tournament", "tournament_stats" }, allEntries = true)
     public TournamentsDTO updateStartTime(int tournamentId, LocalDateTime newStartTime) {
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
         log.info("Updating start time for tournament ID: {}", tournamentId);
 
         if (newStartTime == null) {
@@ -228,22 +238,21 @@ public class TournamentService {
     public List<TournamentsDTO> getAllTournaments() {
         log.debug("Fetching all tournaments");
         List<Tournaments> tournaments = tournamentRepo.findAllByOrderByStartTimeDesc();
-        Map<Integer, Long> bookedCounts = getBookedCountsBatch(tournaments);
         return tournaments.stream()
-                .map(t -> mapToDTOSimple(t, bookedCounts.getOrDefault(t.getId(), 0L)))
+                .map(t -> mapToDTOSimple(t, t.getBookedCount()))
                 .collect(Collectors.toList());
     }
 
     /**
      * ADDED: Get tournaments by status
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public List<TournamentsDTO> getTournamentsByStatus(Tournaments.TournamentStatus status) {
         log.debug("Fetching tournaments with status: {}", status);
         List<Tournaments> tournaments = tournamentRepo.findByStatusOrderByStartTimeAsc(status);
-        Map<Integer, Long> bookedCounts = getBookedCountsBatch(tournaments);
         return tournaments.stream()
-                .map(t -> mapToDTOSimple(t, bookedCounts.getOrDefault(t.getId(), 0L)))
+                .map(t -> mapToDTOSimple(t, t.getBookedCount()))
                 .collect(Collectors.toList());
     }
 
@@ -256,12 +265,12 @@ public class TournamentService {
         return getTournamentsByStatus(Tournaments.TournamentStatus.UPCOMING);
     }
 
+    @ReplicaRead
     @Transactional(readOnly = true)
     public org.springframework.data.domain.Page<TournamentsDTO> getTournamentsPaginated(
             Tournaments.TournamentStatus status, String search, org.springframework.data.domain.Pageable pageable) {
         org.springframework.data.domain.Page<Tournaments> page = tournamentRepo.findByFilters(status, search, pageable);
-        Map<Integer, Long> bookedCounts = getBookedCountsBatch(page.getContent());
-        return page.map(t -> mapToDTOSimple(t, bookedCounts.getOrDefault(t.getId(), 0L)));
+        return page.map(t -> mapToDTOSimple(t, t.getBookedCount()));
     }
 
     /**
@@ -296,6 +305,7 @@ public class TournamentService {
     @Transactional
     @CacheEvict(value = { "tournaments", "upcoming_tournaments", "tournament", "tournament_stats" }, allEntries = true)
     public TournamentsDTO updateTournamentStatus(int tournamentId, Tournaments.TournamentStatus newStatus) {
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
         log.info("Updating status for tournament ID: {} to {}", tournamentId, newStatus);
 
         if (newStatus == null) {
@@ -328,6 +338,7 @@ public class TournamentService {
     @Transactional
     @CacheEvict(value = { "tournaments", "upcoming_tournaments", "tournament", "tournament_stats" }, allEntries = true)
     public void deleteTournament(int tournamentId) {
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
         log.warn("Deleting tournament ID: {}", tournamentId);
 
         Tournaments tournament = tournamentRepo.findById(tournamentId)
@@ -361,68 +372,50 @@ public class TournamentService {
     @Transactional
     @CacheEvict(value = { "tournaments", "upcoming_tournaments", "tournament", "tournament_stats" }, allEntries = true)
     public TournamentsDTO updateTournamentScoreboard(int tournamentId, List<Map<String, Object>> scoreboardData) {
+        resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
         log.info("Updating scoreboard for tournament: {}", tournamentId);
 
-        Tournaments tournament = tournamentRepo.findById(tournamentId)
+        // Same lock as PayoutService.payoutTournament: the paid-out check and the result rewrite
+        // below must not interleave with a payout claiming this tournament
+        Tournaments tournament = tournamentRepo.findByIdForUpdate(tournamentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tournament not found: " + tournamentId));
 
-        // Convert scoreboard data to DTO format
-        List<TournamentsDTO.ScoreboardEntry> scoreboard = scoreboardData.stream()
-                .map(data -> {
-                    TournamentsDTO.ScoreboardEntry entry = new TournamentsDTO.ScoreboardEntry();
-                    entry.setPlayerName((String) data.get("playerName"));
-                    entry.setTeamName((String) data.get("teamName"));
-                    entry.setKills(data.get("kills") != null ? ((Number) data.get("kills")).intValue() : 0);
-                    entry.setCoinsEarned(
-                            data.get("coinsEarned") != null ? ((Number) data.get("coinsEarned")).intValue() : 0);
-                    entry.setPlacement(data.get("placement") != null ? ((Number) data.get("placement")).intValue() : 0);
-                    return entry;
-                })
-                .collect(Collectors.toList());
+        if (payoutService.isPaidOut(tournamentId)) {
+            throw new IllegalStateException("Prizes for this tournament have already been paid out; results are final");
+        }
 
         // 🔥 CRITICAL FIX: Persist scoreboard to database
         // First, clear existing results for this tournament to avoid duplicates if
         // updated multiple times
         tournamentResultRepository.deleteByTournament_Id(tournamentId);
 
-        List<TournamentResult> results = new ArrayList<>();
-
-        // We need to map player names to Firebase UIDs.
-        // Ideally, the frontend should send UIDs. If not, we try to match via Slots.
+        // Player name → UID from booked slots, used when the frontend does not send UIDs
         List<SlotsDTO> slots = slotService.getSlots(tournamentId);
         Map<String, String> playerNameToUidMap = slots.stream()
                 .filter(s -> s.getPlayerName() != null && s.getFirebaseUserUID() != null)
                 .collect(Collectors.toMap(SlotsDTO::getPlayerName, SlotsDTO::getFirebaseUserUID, (a, b) -> a));
 
-        for (TournamentsDTO.ScoreboardEntry entry : scoreboard) {
-            // 🔥 CRITICAL FIX: Prioritize UID from input if available
-            String uid = null;
-
-            // Try to find UID in the original map data first
-            for (Map<String, Object> data : scoreboardData) {
-                if (entry.getPlayerName().equals(data.get("playerName"))) {
-                    if (data.containsKey("firebaseUserUID")) {
-                        uid = (String) data.get("firebaseUserUID");
-                    } else if (data.containsKey("uid")) {
-                        uid = (String) data.get("uid");
-                    }
-                    break;
-                }
+        // Single pass over the submitted rows: UID from input first, then the name map
+        List<TournamentsDTO.ScoreboardEntry> scoreboard = new ArrayList<>(scoreboardData.size());
+        List<TournamentResult> results = new ArrayList<>(scoreboardData.size());
+        for (Map<String, Object> data : scoreboardData) {
+            TournamentsDTO.ScoreboardEntry entry = new TournamentsDTO.ScoreboardEntry();
+            entry.setPlayerName((String) data.get("playerName"));
+            entry.setTeamName((String) data.get("teamName"));
+            entry.setKills(data.get("kills") != null ? ((Number) data.get("kills")).intValue() : 0);
+            entry.setCoinsEarned(
+                    data.get("coinsEarned") != null ? ((Number) data.get("coinsEarned")).intValue() : 0);
+            entry.setPlacement(data.get("placement") != null ? ((Number) data.get("placement")).intValue() : 0);
+            scoreboard.add(entry);
+
+            String uid = (String) data.get("firebaseUserUID");
+            if (uid == null) {
+                uid = (String) data.get("uid");
             }
-
-            // Fallback to name lookup if not found in input
             if (uid == null) {
                 uid = playerNameToUidMap.get(entry.getPlayerName());
             }
-
-            // If we can't find the UID by name, we might have an issue.
-            // For now, we skip if UID is missing, or we could try to look it up if passed
-            // in data.
-            // Let's check if the input data has 'firebaseUserUID' or 'uid'
             if (uid == null) {
-                // Try to find in the original map if passed
-                // This requires the frontend to send it.
-                // For now, we log a warning.
                 log.warn("⚠️ Could not find UID for player: {} in tournament: {}", entry.getPlayerName(), tournamentId);
                 continue;
             }
@@ -546,7 +539,11 @@ public class TournamentService {
         // Scoreboard and prize fields are optional and can be set by admin
         // They will be populated from database if columns exist, or left empty
         try {
-            List<TournamentResult> results = tournamentResultRepository.findByTournament_Id(t.getId());
+            List<TournamentResult> results = t.getArchivedAt() != null
+                    ? tournamentResultArchiveRepository.findByTournament_Id(t.getId()).stream()
+                            .map(com.esport.EsportTournament.model.TournamentResultArchive::toResult)
+                            .collect(Collectors.toList())
+                    : tournamentResultRepository.findByTournament_Id(t.getId());
             List<TournamentsDTO.ScoreboardEntry> scoreboard = results.stream()
                     .map(r -> new TournamentsDTO.ScoreboardEntry(
                             r.getPlayerName(),
@@ -622,22 +619,4 @@ public class TournamentService {
         dto.setRegisteredPlayers((int) registeredPlayers);
         return dto;
     }
-
-    private Map<Integer, Long> getBookedCountsBatch(List<Tournaments> tournaments) {
-        if (tournaments.isEmpty()) return new java.util.HashMap<>();
-        
-        List<Integer> ids = tournaments.stream().map(Tournaments::getId).collect(Collectors.toList());
-        List<Object[]> summaries = slotRepo.getSlotSummaryBatch(ids);
-        
-        Map<Integer, Long> counts = new java.util.HashMap<>();
-        for (Object[] row : summaries) {
-            Integer tid = (Integer) row[0];
-            com.esport.EsportTournament.model.Slots.SlotStatus status = (com.esport.EsportTournament.model.Slots.SlotStatus) row[1];
-            Long count = (Long) row[2];
-            if (status == com.esport.EsportTournament.model.Slots.SlotStatus.BOOKED) {
-                counts.put(tid, count);
-            }
-        }
-        return counts;
-    }
 }
@@ -0,0 +1,321 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.dto.TournamentTemplateDTO;
+import com.esport.EsportTournament.exception.ResourceNotFoundException;
+import com.esport.EsportTournament.model.TournamentTemplate;
+import com.esport.EsportTournament.repository.TournamentTemplateRepo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Recurring tournament templates.
+ * - Admins define a template once with a cron recurrence
+ * - A batch job expands every active template into the next N days of tournaments:
+ *   one multi-row INSERT per chunk, one bulk slot generation, one catalog cache invalidation
+ * - (template_id, start_time) is unique, so overlapping or repeated runs never duplicate
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TournamentTemplateService {
+
+    private static final String MATERIALIZE_LOCK_KEY = "templates:materialize";
+    private static final Set<String> TEAM_SIZES = Set.of("SOLO", "DUO", "SQUAD", "HEXA");
+    private static final List<String> CATALOG_CACHES = List.of("tournaments", "upcoming_tournaments", "tournament_stats");
+    private static final DateTimeFormatter NAME_SUFFIX = DateTimeFormatter.ofPattern("dd MMM HH:mm");
+    private static final int INSERT_CHUNK = 200;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO tournaments (name, game, game_mode, map_type, team_size, max_players, entry_fees, prize_pool, " +
+                    "per_kill_reward, first_prize, second_prize, third_prize, rules, image_link, stream_url, " +
+                    "start_time, status, created_at, updated_at, template_id) VALUES ";
+    private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 'UPCOMING', ?, ?, ?)";
+
+    private final TournamentTemplateRepo templateRepo;
+    private final SlotProvisioningService slotProvisioningService;
+    private final DistributedLockService lockService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final ResourceVersionService resourceVersionService;
+    private final QueryCacheInvalidator queryCacheInvalidator;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${app.templates.horizon-days:7}")
+    private int horizonDays;
+
+    @Value("${app.templates.max-occurrences-per-template:100}")
+    private int maxOccurrencesPerTemplate;
+
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    // ==================== TEMPLATE CRUD ====================
+
+    @Transactional(readOnly = true)
+    public List<TournamentTemplateDTO> getTemplates() {
+        return templateRepo.findAllByOrderByIdAsc().stream().map(this::mapToDTO).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public TournamentTemplateDTO getTemplate(int id) {
+        return mapToDTO(findTemplate(id));
+    }
+
+    @Transactional
+    public TournamentTemplateDTO createTemplate(TournamentTemplateDTO dto, String adminUID) {
+        TournamentTemplate template = new TournamentTemplate();
+        apply(template, dto);
+        template.setCreatedBy(adminUID);
+        TournamentTemplate saved = templateRepo.save(template);
+        log.info("📅 Tournament template created: id={}, name={}, recurrence={}",
+                saved.getId(), saved.getName(), saved.getRecurrence());
+        return mapToDTO(saved);
+    }
+
+    @Transactional
+    public TournamentTemplateDTO updateTemplate(int id, TournamentTemplateDTO dto) {
+        TournamentTemplate template = findTemplate(id);
+        String previousRecurrence = template.getRecurrence();
+        apply(template, dto);
+        if (!template.getRecurrence().equals(previousRecurrence)) {
+            // New schedule: expand again from now (already created tournaments stay as they are)
+            template.setMaterializedUntil(null);
+        }
+        log.info("📅 Tournament template updated: id={}", id);
+        return mapToDTO(templateRepo.save(template));
+    }
+
+    @Transactional
+    public void deactivateTemplate(int id) {
+        TournamentTemplate template = findTemplate(id);
+        template.setActive(false);
+        templateRepo.save(template);
+        log.info("📅 Tournament template deactivated: id={}", id);
+    }
+
+    // ==================== BATCH MATERIALIZATION ====================
+
+    public Map<String, Object> materializeScheduled(String triggeredBy) {
+        return materializeUpcoming(horizonDays, triggeredBy);
+    }
+
+    /**
+     * Create the tournaments of every active template that start within the next {@code days} days.
+     */
+    public Map<String, Object> materializeUpcoming(int days, String triggeredBy) {
+        if (days < 1 || days > 60) {
+            throw new IllegalArgumentException("days must be between 1 and 60");
+        }
+        String lockValue = lockService.acquireLock(MATERIALIZE_LOCK_KEY, Duration.ofMinutes(30));
+        if (lockValue == null) {
+            throw new IllegalStateException("Template materialization is already running");
+        }
+
+        long started = System.currentTimeMillis();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("triggeredBy", triggeredBy);
+        report.put("horizonDays", days);
+        try {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            report.putAll(Objects.requireNonNull(tx.execute(status -> materialize(days))));
+            if ((int) report.get("tournamentsCreated") > 0) {
+                evictCatalogCaches();
+                resourceVersionService.bump(ResourceVersionService.Resource.TOURNAMENTS);
+            }
+            report.put("status", "COMPLETED");
+        } finally {
+            lockService.releaseLock(MATERIALIZE_LOCK_KEY, lockValue);
+            report.put("durationMs", System.currentTimeMillis() - started);
+            lastRun = Collections.unmodifiableMap(report);
+        }
+
+        log.info("📅 Template materialization finished: {}", report);
+        return report;
+    }
+
+    public Map<String, Object> getLastRun() {
+        return lastRun;
+    }
+
+    private Map<String, Object> materialize(int days) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.plusDays(days);
+        List<TournamentTemplate> templates = templateRepo.findActiveTemplates();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (TournamentTemplate template : templates) {
+            List<LocalDateTime> starts = occurrences(template, now, horizon, maxOccurrencesPerTemplate);
+            for (LocalDateTime start : starts) {
+                rows.add(toRow(template, start, now));
+            }
+            // Capped runs resume after the last created start instead of skipping the rest
+            LocalDateTime covered = starts.size() >= maxOccurrencesPerTemplate ? starts.get(starts.size() - 1) : horizon;
+            if (template.getMaterializedUntil() == null || template.getMaterializedUntil().isBefore(covered)) {
+                template.setMaterializedUntil(covered);
+            }
+        }
+
+        Map<Integer, Integer> created = new LinkedHashMap<>();
+        for (int from = 0; from < rows.size(); from += INSERT_CHUNK) {
+            created.putAll(insertTournaments(rows.subList(from, Math.min(from + INSERT_CHUNK, rows.size()))));
+        }
+        int slots = created.isEmpty() ? 0 : slotProvisioningService.provisionAll(created);
+        templateRepo.saveAll(templates);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("templates", templates.size());
+        result.put("occurrences", rows.size());
+        result.put("tournamentsCreated", created.size());
+        result.put("slotsCreated", slots);
+        result.put("until", horizon);
+        return result;
+    }
+
+    /**
+     * Start times of a template in (max(now, materializedUntil), horizon].
+     */
+    static List<LocalDateTime> occurrences(TournamentTemplate template, LocalDateTime now,
+                                           LocalDateTime horizon, int limit) {
+        CronExpression cron = CronExpression.parse(template.getRecurrence());
+        LocalDateTime cursor = template.getMaterializedUntil() != null && template.getMaterializedUntil().isAfter(now)
+                ? template.getMaterializedUntil()
+                : now;
+        List<LocalDateTime> starts = new ArrayList<>();
+        LocalDateTime next;
+        while (starts.size() < limit && (next = cron.next(cursor)) != null && !next.isAfter(horizon)) {
+            starts.add(next);
+            cursor = next;
+        }
+        return starts;
+    }
+
+    private Object[] toRow(TournamentTemplate template, LocalDateTime start, LocalDateTime now) {
+        Timestamp createdAt = Timestamp.valueOf(now);
+        return new Object[] {
+                template.getName() + " - " + start.format(NAME_SUFFIX),
+                template.getGame(), template.getGameMode(), template.getMapType(), template.getTeamSize(),
+                template.getMaxPlayers(), template.getEntryFees(), template.getPrizePool(),
+                template.getPerKillReward(), template.getFirstPrize(), template.getSecondPrize(), template.getThirdPrize(),
+                template.getRules(), template.getImageLink(), template.getStreamUrl(),
+                Timestamp.valueOf(start), createdAt, createdAt, template.getId()
+        };
+    }
+
+    /**
+     * One multi-row INSERT; returns id → maxPlayers of the rows actually created.
+     */
+    private Map<Integer, Integer> insertTournaments(List<Object[]> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(rows.size() * 19);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDER);
+            args.addAll(Arrays.asList(rows.get(i)));
+        }
+        sql.append(" ON CONFLICT (template_id, start_time) WHERE template_id IS NOT NULL DO NOTHING");
+        sql.append(" RETURNING id, max_players");
+
+        Map<Integer, Integer> created = new LinkedHashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            created.put(rs.getInt("id"), rs.getInt("max_players"));
+        }, args.toArray());
+        if (!created.isEmpty()) {
+            queryCacheInvalidator.tablesChanged("tournaments");
+        }
+        return created;
+    }
+
+    private void evictCatalogCaches() {
+        for (String name : CATALOG_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // ==================== HELPERS ====================
+
+    private TournamentTemplate findTemplate(int id) {
+        return templateRepo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament template not found: " + id));
+    }
+
+    private void apply(TournamentTemplate template, TournamentTemplateDTO dto) {
+        if (dto.getName() == null || dto.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Template name is required");
+        }
+        if (dto.getRecurrence() == null || !CronExpression.isValidExpression(dto.getRecurrence())) {
+            throw new IllegalArgumentException("Invalid recurrence (expected a cron expression such as \"0 0 18 * * *\")");
+        }
+        String teamSize = dto.getTeamSize() == null || dto.getTeamSize().isBlank()
+                ? "SOLO" : dto.getTeamSize().trim().toUpperCase();
+        if (!TEAM_SIZES.contains(teamSize)) {
+            throw new IllegalArgumentException("Invalid team size: " + dto.getTeamSize());
+        }
+        if (dto.getMaxPlayers() < 1 || dto.getMaxPlayers() > 10000) {
+            throw new IllegalArgumentException("Invalid maxPlayers: must be between 1 and 10,000");
+        }
+        if (dto.getEntryFee() < 0) {
+            throw new IllegalArgumentException("Entry fee cannot be negative");
+        }
+
+        template.setName(dto.getName().trim());
+        template.setGame(dto.getGame());
+        template.setGameMode(dto.getGameMode());
+        template.setMapType(dto.getMap());
+        template.setTeamSize(teamSize);
+        template.setMaxPlayers(dto.getMaxPlayers());
+        template.setEntryFees(dto.getEntryFee());
+        template.setPrizePool(dto.getPrizePool());
+        template.setPerKillReward(dto.getPerKillReward());
+        template.setFirstPrize(dto.getFirstPrize());
+        template.setSecondPrize(dto.getSecondPrize());
+        template.setThirdPrize(dto.getThirdPrize());
+        template.setImageLink(dto.getImageLink());
+        template.setStreamUrl(dto.getStreamUrl());
+        template.setRecurrence(dto.getRecurrence().trim());
+        template.setActive(dto.isActive());
+        try {
+            template.setRules(dto.getRules() != null && !dto.getRules().isEmpty()
+                    ? objectMapper.writeValueAsString(dto.getRules()) : null);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid rules: " + e.getMessage());
+        }
+    }
+
+    private TournamentTemplateDTO mapToDTO(TournamentTemplate t) {
+        List<String> rules = new ArrayList<>();
+        if (t.getRules() != null && !t.getRules().isBlank()) {
+            try {
+                rules = objectMapper.readValue(t.getRules(), new TypeReference<List<String>>() {});
+            } catch (Exception e) {
+                log.warn("Error parsing rules for template {}: {}", t.getId(), e.getMessage());
+            }
+        }
+        return new TournamentTemplateDTO(t.getId(), t.getName(), t.getGame(), t.getGameMode(), t.getMapType(),
+                t.getTeamSize(), t.getMaxPlayers(), t.getEntryFees(), t.getPrizePool(), t.getPerKillReward(),
+                t.getFirstPrize(), t.getSecondPrize(), t.getThirdPrize(), rules, t.getImageLink(), t.getStreamUrl(),
+                t.getRecurrence(), t.isActive(), t.getMaterializedUntil(), t.getCreatedBy(), t.getCreatedAt(),
+                t.getUpdatedAt());
+    }
+}
@@ -1,5 +1,6 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.ReplicaRead;
 import com.esport.EsportTournament.dto.TransactionTableDTO;
 import com.esport.EsportTournament.exception.ResourceNotFoundException;
 import com.esport.EsportTournament.model.TransactionTable;
@@ -313,6 +314,7 @@ public class TransactionTableService {
     /**
      * Get all transactions (admin only)
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public List<TransactionTableDTO> getAllTransactionTable() {
         return transactionRepo.findAllByOrderByCreatedAtDesc().stream()
@@ -333,6 +335,7 @@ public class TransactionTableService {
     /**
      * Get paginated transactions (admin only)
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public org.springframework.data.domain.Page<TransactionTableDTO> getTransactionsPaginated(
             TransactionTable.TransactionType type,
@@ -356,6 +359,7 @@ public class TransactionTableService {
     /**
      * ✅ NEW: Get transaction statistics
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public Map<String, Object> getTransactionStats() {
         List<TransactionTable> allTransactions = transactionRepo.findAll();
@@ -1,10 +1,13 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.ReplicaRead;
 import com.esport.EsportTournament.dto.UserDTO;
 import com.esport.EsportTournament.exception.ResourceNotFoundException;
 import com.esport.EsportTournament.model.Users;
 import com.esport.EsportTournament.model.TournamentResult;
+import com.esport.EsportTournament.model.TournamentResultArchive;
 import com.esport.EsportTournament.repository.UsersRepo;
+import com.esport.EsportTournament.repository.TournamentResultArchiveRepository;
 import com.esport.EsportTournament.repository.TournamentResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +17,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,6 +35,7 @@ public class UserService {
     private final NotificationService notificationService;
     private final RbacService rbacService;
     private final TournamentResultRepository tournamentResultRepository;
+    private final TournamentResultArchiveRepository tournamentResultArchiveRepository;
 
     // Email validation pattern
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
@@ -181,6 +187,7 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    @ReplicaRead
     @Transactional(readOnly = true)
     public Page<UserDTO> getUsersPaginated(
             Users.UserRole role,
@@ -349,6 +356,7 @@ public class UserService {
     /**
      * Get comprehensive user statistics
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public Map<String, Object> getUserStatistics() {
         List<Users> allUsers = usersRepository.findAll();
@@ -617,11 +625,21 @@ public class UserService {
     /**
      * Get user tournament history
      */
+    @ReplicaRead
     @Transactional(readOnly = true)
     public List<TournamentResult> getUserHistory(String firebaseUID) {
         log.debug("Fetching history for user: {}", firebaseUID);
         validateFirebaseUID(firebaseUID);
-        return tournamentResultRepository.findByFirebaseUserUIDOrderByCreatedAtDesc(firebaseUID);
+        List<TournamentResult> history = new ArrayList<>(
+                tournamentResultRepository.findByFirebaseUserUIDOrderByCreatedAtDesc(firebaseUID));
+        // Results of archived tournaments live in tournament_results_archive; a result recorded late
+        // for an old tournament can be newer than live rows, so the merged list is sorted again
+        tournamentResultArchiveRepository.findByFirebaseUserUIDOrderByCreatedAtDesc(firebaseUID).stream()
+                .map(TournamentResultArchive::toResult)
+                .forEach(history::add);
+        history.sort(Comparator.comparing(TournamentResult::getCreatedAt,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return history;
     }
 
     private UserDTO mapToDTO(Users user) {
@@ -6,11 +6,13 @@ import com.esport.EsportTournament.model.Wallet;
 import com.esport.EsportTournament.model.WalletLedger;
 import com.esport.EsportTournament.repository.UsersRepo;
 import com.esport.EsportTournament.repository.WalletLedgerRepository;
+import com.esport.EsportTournament.util.MonthlyWindows;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -45,9 +47,29 @@ public class WalletLedgerService {
         log.debug("Ledger entry recorded for user {} direction {} amount {}", wallet.getUserId().getFirebaseUserUID(), direction, amount);
     }
 
+    /**
+     * The user's full ledger, newest first, read one month partition at a time
+     */
     @Transactional(readOnly = true)
     public List<WalletLedgerDTO> getLedgerForUser(String firebaseUID) {
-        List<WalletLedger> entries = walletLedgerRepository.findByUser_FirebaseUserUIDOrderByCreatedAtDesc(firebaseUID);
+        LocalDateTime oldest = walletLedgerRepository.findFirstByUser_FirebaseUserUIDOrderByCreatedAtAsc(firebaseUID)
+                .map(WalletLedger::getCreatedAt)
+                .orElse(null);
+        return MonthlyWindows.newestFirst(Integer.MAX_VALUE, oldest, (from, to, limit) -> walletLedgerRepository
+                        .findByUser_FirebaseUserUIDAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDesc(
+                                firebaseUID, from, to, limit))
+                .stream()
+                .map(WalletLedgerDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Ledger entries since the given time (bounded, so only recent partitions are read)
+     */
+    @Transactional(readOnly = true)
+    public List<WalletLedgerDTO> getLedgerForUser(String firebaseUID, LocalDateTime since) {
+        List<WalletLedger> entries = walletLedgerRepository
+                .findByUser_FirebaseUserUIDAndCreatedAtAfterOrderByCreatedAtDesc(firebaseUID, since);
         return entries.stream().map(WalletLedgerDTO::fromEntity).toList();
     }
 
@@ -1,5 +1,7 @@
 package com.esport.EsportTournament.service;
 
+import com.esport.EsportTournament.config.DbWorkload;
+import com.esport.EsportTournament.config.Workload;
 import com.esport.EsportTournament.dto.WalletDTO;
 import com.esport.EsportTournament.dto.WalletLedgerDTO;
 import com.esport.EsportTournament.exception.ResourceNotFoundException;
@@ -31,6 +33,7 @@ import java.util.stream.Collectors;
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@DbWorkload(Workload.BOOKING)
 public class WalletService {
 
     private final WalletRepo walletRepo;
@@ -237,6 +240,7 @@ public class WalletService {
     /**
      * Get all wallets (Admin only)
      */
+    @DbWorkload(Workload.ANALYTICS)
     @Transactional(readOnly = true)
     public List<WalletDTO> getAllWallets() {
         return walletRepo.findAll().stream()
@@ -247,6 +251,7 @@ public class WalletService {
     /**
      * ✅ NEW: Get wallet statistics (Admin only)
      */
+    @DbWorkload(Workload.ANALYTICS)
     @Transactional(readOnly = true)
     public Map<String, Object> getWalletStatistics() {
         List<Wallet> allWallets = walletRepo.findAll();
@@ -0,0 +1,186 @@
+package com.esport.EsportTournament.util;
+
+import com.esport.EsportTournament.model.AuditLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Memory-mapped, append-only journal for audit events that are not yet in Postgres.
+ *
+ * Layout: [committedOffset:long][writeOffset:long] then records of
+ * [length:int][payload]. Everything between committedOffset and writeOffset is
+ * replayed on startup. Once all records are committed the journal wraps back
+ * to the start, so the file never grows beyond its mapped size.
+ *
+ * Writes survive a process crash as soon as they hit the mapping (page cache);
+ * {@link #force()} is called periodically for durability across OS crashes.
+ * Not thread-safe: callers serialize access.
+ */
+public class AuditJournal implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 16;
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long committedOffset;
+    private long writeOffset;
+
+    public AuditJournal(Path path, int sizeBytes) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+
+        long committed = buffer.getLong(0);
+        long written = buffer.getLong(8);
+        boolean valid = committed >= HEADER_SIZE && written >= committed && written <= sizeBytes;
+        this.committedOffset = valid ? committed : HEADER_SIZE;
+        this.writeOffset = valid ? written : HEADER_SIZE;
+        writeHeader();
+    }
+
+    /**
+     * Append one event. Returns the end offset of the record, or -1 if the journal is full.
+     */
+    public long append(AuditLog event) {
+        byte[] payload = encode(event);
+        int recordSize = 4 + payload.length;
+
+        if (writeOffset + recordSize > buffer.capacity()) {
+            if (committedOffset != writeOffset) {
+                return -1;
+            }
+            // Everything is in the database: wrap around
+            committedOffset = HEADER_SIZE;
+            writeOffset = HEADER_SIZE;
+            writeHeader();
+            if (writeOffset + recordSize > buffer.capacity()) {
+                return -1;
+            }
+        }
+
+        buffer.putInt((int) writeOffset, payload.length);
+        buffer.put((int) writeOffset + 4, payload);
+        writeOffset += recordSize;
+        buffer.putLong(8, writeOffset);
+        return writeOffset;
+    }
+
+    /**
+     * Mark everything up to (and including) the record ending at {@code endOffset} as persisted.
+     */
+    public void commit(long endOffset) {
+        if (endOffset > committedOffset && endOffset <= writeOffset) {
+            committedOffset = endOffset;
+            buffer.putLong(0, committedOffset);
+        }
+    }
+
+    /**
+     * Records written but never committed (pending at the last shutdown / crash).
+     */
+    public List<Entry> pending() {
+        List<Entry> entries = new ArrayList<>();
+        long offset = committedOffset;
+        while (offset + 4 <= writeOffset) {
+            int length = buffer.getInt((int) offset);
+            if (length <= 0 || offset + 4 + length > writeOffset) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get((int) offset + 4, payload);
+            offset += 4 + length;
+            entries.add(new Entry(decode(payload), offset));
+        }
+        return entries;
+    }
+
+    public long pendingBytes() {
+        return writeOffset - committedOffset;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void writeHeader() {
+        buffer.putLong(0, committedOffset);
+        buffer.putLong(8, writeOffset);
+    }
+
+    public record Entry(AuditLog event, long endOffset) {
+    }
+
+    // ── Encoding: epoch millis + length-prefixed UTF-8 strings ──
+
+    static byte[] encode(AuditLog event) {
+        byte[][] fields = {
+                bytes(event.getCategory()), bytes(event.getAction()), bytes(event.getUserId()),
+                bytes(event.getDetails()), bytes(event.getIpAddress()), bytes(event.getUserAgent())
+        };
+        int size = 8;
+        for (byte[] field : fields) {
+            size += 4 + (field != null ? field.length : 0);
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+        out.putLong(timestamp.atZone(ZONE).toInstant().toEpochMilli());
+        for (byte[] field : fields) {
+            if (field == null) {
+                out.putInt(-1);
+            } else {
+                out.putInt(field.length);
+                out.put(field);
+            }
+        }
+        return out.array();
+    }
+
+    static AuditLog decode(byte[] payload) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        AuditLog event = new AuditLog();
+        event.setTimestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.getLong()), ZONE));
+        event.setCategory(string(in));
+        event.setAction(string(in));
+        event.setUserId(string(in));
+        event.setDetails(string(in));
+        event.setIpAddress(string(in));
+        event.setUserAgent(string(in));
+        return event;
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String string(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        in.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
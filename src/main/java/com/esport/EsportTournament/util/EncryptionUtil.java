@@ -1,18 +1,42 @@
 package com.esport.EsportTournament.util;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.AEADBadTagException;
 import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
 import java.util.Base64;
 import java.security.MessageDigest;
 import java.util.Arrays;
 
+/**
+ * Encrypts tournament credentials with AES-GCM and a random 12-byte IV per value:
+ * "v2:" + Base64(iv | ciphertext | tag).
+ * Values without the prefix are legacy AES/ECB (or plain text) and still decrypt;
+ * {@link #isLegacy(String)} tells the migration job which rows to re-encrypt.
+ *
+ * Cipher.getInstance is a provider lookup, so each thread keeps its own instances and
+ * only re-inits them per call (Cipher is not thread-safe).
+ */
+@Slf4j
 @Component
 public class EncryptionUtil {
 
+    static final String GCM_PREFIX = "v2:";
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ThreadLocal<Cipher> gcmCipher = ThreadLocal.withInitial(() -> cipher("AES/GCM/NoPadding"));
+    private final ThreadLocal<Cipher> ecbCipher = ThreadLocal.withInitial(() -> cipher("AES/ECB/PKCS5Padding"));
+
     private SecretKeySpec secretKey;
 
     public EncryptionUtil(@Value("${app.security.encryption-key:default-secret-key-change-me}") String myKey) {
@@ -35,9 +59,15 @@ public class EncryptionUtil {
         if (strToEncrypt == null)
             return null;
         try {
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
-            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
-            return Base64.getEncoder().encodeToString(cipher.doFinal(strToEncrypt.getBytes(StandardCharsets.UTF_8)));
+            byte[] iv = new byte[GCM_IV_BYTES];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = gcmCipher.get();
+            cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            byte[] sealed = cipher.doFinal(strToEncrypt.getBytes(StandardCharsets.UTF_8));
+
+            byte[] out = Arrays.copyOf(iv, GCM_IV_BYTES + sealed.length);
+            System.arraycopy(sealed, 0, out, GCM_IV_BYTES, sealed.length);
+            return GCM_PREFIX + Base64.getEncoder().encodeToString(out);
         } catch (Exception e) {
             throw new RuntimeException("Error while encrypting: " + e.toString(), e);
         }
@@ -46,14 +76,47 @@ public class EncryptionUtil {
     public String decrypt(String strToDecrypt) {
         if (strToDecrypt == null)
             return null;
+        if (strToDecrypt.startsWith(GCM_PREFIX)) {
+            return decryptGcm(strToDecrypt);
+        }
         try {
-            Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5PADDING");
+            Cipher cipher = ecbCipher.get();
             cipher.init(Cipher.DECRYPT_MODE, secretKey);
-            return new String(cipher.doFinal(Base64.getDecoder().decode(strToDecrypt)));
+            return new String(cipher.doFinal(Base64.getDecoder().decode(strToDecrypt)), StandardCharsets.UTF_8);
         } catch (Exception e) {
             // Fallback: return original string if decryption fails (handles legacy plain
             // text)
             return strToDecrypt;
         }
     }
+
+    /**
+     * True for values written before AES-GCM (ECB ciphertext or plain text).
+     */
+    public boolean isLegacy(String value) {
+        return value != null && !value.startsWith(GCM_PREFIX);
+    }
+
+    private String decryptGcm(String value) {
+        try {
+            byte[] in = Base64.getDecoder().decode(value.substring(GCM_PREFIX.length()));
+            Cipher cipher = gcmCipher.get();
+            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(GCM_TAG_BITS, in, 0, GCM_IV_BYTES));
+            return new String(cipher.doFinal(in, GCM_IV_BYTES, in.length - GCM_IV_BYTES), StandardCharsets.UTF_8);
+        } catch (AEADBadTagException e) {
+            log.error("❌ Credential failed authentication (tampered or wrong key)");
+            return null;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            log.error("❌ Could not decrypt credential: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Cipher cipher(String transformation) {
+        try {
+            return Cipher.getInstance(transformation);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher not available: " + transformation, e);
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.esport.EsportTournament.util;
+
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Newest-first reads over tables partitioned by calendar month (audit_logs, wallet_ledger).
+ * Every query is bounded to one month, so Postgres prunes it to a single partition; months
+ * are walked back until the limit is filled or the oldest matching row has been passed,
+ * which keeps old history reachable without ever reading all partitions at once.
+ */
+public final class MonthlyWindows {
+
+    /**
+     * Rows in [from, to), newest first, at most limit of them.
+     */
+    @FunctionalInterface
+    public interface WindowQuery<T> {
+        List<T> find(LocalDateTime from, LocalDateTime to, Limit limit);
+    }
+
+    private MonthlyWindows() {
+    }
+
+    /**
+     * Up to limit rows, newest first.
+     *
+     * @param oldest timestamp of the oldest matching row, or null when nothing matches
+     */
+    public static <T> List<T> newestFirst(int limit, LocalDateTime oldest, WindowQuery<T> query) {
+        List<T> rows = new ArrayList<>();
+        if (oldest == null || limit <= 0) {
+            return rows;
+        }
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        // The current month's window is open-ended, so rows stamped ahead of the clock are kept
+        LocalDateTime to = from.plusYears(100);
+        while (rows.size() < limit && to.isAfter(oldest)) {
+            rows.addAll(query.find(from, to, Limit.of(limit - rows.size())));
+            to = from;
+            from = from.minusMonths(1);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,148 @@
+package com.esport.EsportTournament.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter sketch: approximate top-K counts over an unbounded key space
+ * in a fixed number of counters.
+ *
+ * When all counters are taken, a new key replaces the smallest one and inherits its count
+ * (kept as the entry's possible overcount, "error"). Any key seen more than N/capacity
+ * times is guaranteed to be tracked. {@link #decay()} halves all counts so the ranking
+ * follows recent traffic.
+ *
+ * Counters sit in a min-heap indexed from the key map, so {@link #add(String)} costs
+ * O(log capacity) whether the key is tracked, new, or evicts the smallest.
+ */
+public class TopKSketch {
+
+    /**
+     * One tracked key; count may overstate the true count by at most error.
+     */
+    public record Entry(String key, long count, long error) {
+    }
+
+    private static final class Counter {
+        String key;
+        long count;
+        long error;
+        int index;
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private int size;
+
+    public TopKSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    public synchronized void add(String key) {
+        Counter counter = counters.get(key);
+        if (counter == null && size < capacity) {
+            // New leaf with the lowest possible count: it can only move up
+            counter = new Counter();
+            counter.key = key;
+            counter.count = 1;
+            counter.index = size;
+            heap[size++] = counter;
+            counters.put(key, counter);
+            siftUp(counter.index);
+            return;
+        }
+        if (counter == null) {
+            counter = heap[0];
+            counters.remove(counter.key);
+            counter.key = key;
+            counter.error = counter.count;
+            counters.put(key, counter);
+        }
+        // A larger count can only move down
+        counter.count++;
+        siftDown(counter.index);
+    }
+
+    /**
+     * The k highest counts, highest first.
+     */
+    public synchronized List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            entries.add(new Entry(heap[i].key, heap[i].count, heap[i].error));
+        }
+        entries.sort(Comparator.comparingLong(Entry::count).reversed());
+        return entries.size() > k ? List.copyOf(entries.subList(0, k)) : entries;
+    }
+
+    /**
+     * Halve every count, dropping keys that reach zero.
+     */
+    public synchronized void decay() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            Counter counter = heap[i];
+            counter.count >>= 1;
+            counter.error >>= 1;
+            if (counter.count == 0) {
+                counters.remove(counter.key);
+            } else {
+                counter.index = kept;
+                heap[kept++] = counter;
+            }
+        }
+        for (int i = kept; i < size; i++) {
+            heap[i] = null;
+        }
+        size = kept;
+        // Halving keeps the order of the survivors, but compacting moved them
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].index = index;
+            index = parent;
+        }
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].index = index;
+            index = child;
+        }
+        heap[index] = counter;
+        counter.index = index;
+    }
+}
@@ -0,0 +1,63 @@
+-- ============================================================================
+-- V14: Archive tables for finished tournaments and old audit logs
+-- Finished tournaments stay in `tournaments` (marked with archived_at); their
+-- slots / results move out of the hot tables so booking-path indexes stay small.
+-- ============================================================================
+
+ALTER TABLE tournaments ADD COLUMN IF NOT EXISTS archived_at TIMESTAMPTZ;
+
+CREATE INDEX IF NOT EXISTS idx_tournaments_archivable
+    ON tournaments (status, start_time)
+    WHERE archived_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS slots_archive (
+    id                  INTEGER PRIMARY KEY,
+    tournament_id       INTEGER NOT NULL REFERENCES tournaments(id) ON DELETE CASCADE,
+    slot_number         INTEGER NOT NULL,
+    firebase_useruid    VARCHAR(128),
+    player_name         VARCHAR(255),
+    status              VARCHAR(20) NOT NULL,
+    booked_at           TIMESTAMPTZ,
+    archived_at         TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_slots_archive_tournament
+    ON slots_archive (tournament_id);
+
+CREATE INDEX IF NOT EXISTS idx_slots_archive_user
+    ON slots_archive (firebase_useruid, booked_at DESC)
+    WHERE firebase_useruid IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS tournament_results_archive (
+    id                  BIGINT PRIMARY KEY,
+    tournament_id       INTEGER NOT NULL REFERENCES tournaments(id) ON DELETE CASCADE,
+    firebase_user_uid   VARCHAR(128) NOT NULL,
+    player_name         VARCHAR(255),
+    team_name           VARCHAR(255),
+    kills               INTEGER NOT NULL DEFAULT 0,
+    placement           INTEGER NOT NULL DEFAULT 0,
+    coins_earned        INTEGER NOT NULL DEFAULT 0,
+    created_at          TIMESTAMPTZ,
+    archived_at         TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_tournament_results_archive_tournament
+    ON tournament_results_archive (tournament_id);
+
+CREATE INDEX IF NOT EXISTS idx_tournament_results_archive_user
+    ON tournament_results_archive (firebase_user_uid, created_at DESC);
+
+CREATE TABLE IF NOT EXISTS audit_logs_archive (
+    id          BIGINT PRIMARY KEY,
+    category    VARCHAR(50) NOT NULL,
+    action      VARCHAR(100) NOT NULL,
+    user_id     VARCHAR(128) NOT NULL,
+    details     TEXT,
+    timestamp   TIMESTAMPTZ NOT NULL,
+    ip_address  VARCHAR(45),
+    user_agent  VARCHAR(500),
+    archived_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_archive_user_timestamp
+    ON audit_logs_archive (user_id, timestamp DESC);
@@ -0,0 +1,117 @@
+-- ============================================================================
+-- V15: Monthly range partitioning for audit_logs and wallet_ledger
+-- The existing tables are attached as one "legacy" partition (no row copy),
+-- covering everything up to the start of next month. Monthly partitions are
+-- created ahead of time by ensure_monthly_partitions(), which
+-- PartitionMaintenanceService calls on a schedule. A DEFAULT partition catches
+-- rows if maintenance ever falls behind, so inserts never fail.
+-- ============================================================================
+
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, from_month DATE, months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month)::date;
+    month_end   DATE;
+    part_name   TEXT;
+    created     INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_end := (month_start + INTERVAL '1 month')::date;
+        part_name := format('%s_y%sm%s', parent, to_char(month_start, 'YYYY'), to_char(month_start, 'MM'));
+        IF to_regclass(part_name) IS NULL THEN
+            BEGIN
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               part_name, parent, month_start, month_end);
+                created := created + 1;
+            EXCEPTION WHEN invalid_object_definition THEN
+                -- Range already covered (e.g. by the legacy partition)
+                NULL;
+            END;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ----------------------------------------------------------------------------
+-- audit_logs
+-- ----------------------------------------------------------------------------
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+ALTER TABLE audit_logs_legacy RENAME CONSTRAINT audit_logs_pkey TO audit_logs_legacy_pkey;
+ALTER INDEX IF EXISTS idx_audit_category_timestamp RENAME TO idx_audit_legacy_category_timestamp;
+ALTER INDEX IF EXISTS idx_audit_user_timestamp RENAME TO idx_audit_legacy_user_timestamp;
+ALTER INDEX IF EXISTS idx_audit_action_timestamp RENAME TO idx_audit_legacy_action_timestamp;
+
+CREATE TABLE audit_logs (
+    id          BIGINT NOT NULL DEFAULT nextval('audit_logs_id_seq'),
+    category    VARCHAR(50) NOT NULL,
+    action      VARCHAR(100) NOT NULL,
+    user_id     VARCHAR(128) NOT NULL,
+    details     TEXT,
+    timestamp   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    ip_address  VARCHAR(45),
+    user_agent  VARCHAR(500),
+    CONSTRAINT audit_logs_pkey PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+ALTER SEQUENCE audit_logs_id_seq OWNED BY audit_logs.id;
+
+CREATE INDEX IF NOT EXISTS idx_audit_category_timestamp ON audit_logs (category, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_user_timestamp ON audit_logs (user_id, timestamp DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_action_timestamp ON audit_logs (action, timestamp DESC);
+
+-- ----------------------------------------------------------------------------
+-- wallet_ledger
+-- ----------------------------------------------------------------------------
+UPDATE wallet_ledger SET created_at = TIMESTAMPTZ 'epoch' WHERE created_at IS NULL;
+ALTER TABLE wallet_ledger ALTER COLUMN created_at SET NOT NULL;
+
+ALTER TABLE wallet_ledger RENAME TO wallet_ledger_legacy;
+ALTER TABLE wallet_ledger_legacy RENAME CONSTRAINT wallet_ledger_pkey TO wallet_ledger_legacy_pkey;
+ALTER INDEX IF EXISTS idx_wallet_ledger_user_created RENAME TO idx_wallet_ledger_legacy_user_created;
+
+CREATE TABLE wallet_ledger (
+    id              BIGINT NOT NULL DEFAULT nextval('wallet_ledger_id_seq'),
+    user_id         INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    wallet_id       INTEGER NOT NULL REFERENCES wallet(id) ON DELETE CASCADE,
+    -- Same names as on the legacy table, which ATTACH matches them by
+    direction       VARCHAR(10) NOT NULL CONSTRAINT wallet_ledger_direction_check CHECK (direction IN ('CREDIT','DEBIT')),
+    amount          INTEGER NOT NULL CONSTRAINT wallet_ledger_amount_check CHECK (amount > 0),
+    balance_after   INTEGER NOT NULL,
+    reference_type  VARCHAR(64),
+    reference_id    VARCHAR(100),
+    metadata        TEXT,
+    created_by      VARCHAR(100),
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT wallet_ledger_pkey PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE wallet_ledger_id_seq OWNED BY wallet_ledger.id;
+
+CREATE INDEX IF NOT EXISTS idx_wallet_ledger_user_created ON wallet_ledger (user_id, created_at DESC);
+
+-- ----------------------------------------------------------------------------
+-- Attach legacy data, create the next months and the safety-net partitions
+-- ----------------------------------------------------------------------------
+DO $$
+DECLARE
+    legacy_bound DATE := (date_trunc('month', NOW()) + INTERVAL '1 month')::date;
+BEGIN
+    -- The CHECK constraint lets ATTACH skip its own validation scan. The old single-column
+    -- primary key has to go: ATTACH builds the parent's (id, timestamp) key on the partition
+    -- and a table cannot have two
+    ALTER TABLE audit_logs_legacy DROP CONSTRAINT audit_logs_legacy_pkey;
+    EXECUTE format('ALTER TABLE audit_logs_legacy ADD CONSTRAINT audit_logs_legacy_range CHECK (timestamp < %L)', legacy_bound);
+    EXECUTE format('ALTER TABLE audit_logs ATTACH PARTITION audit_logs_legacy FOR VALUES FROM (MINVALUE) TO (%L)', legacy_bound);
+
+    ALTER TABLE wallet_ledger_legacy DROP CONSTRAINT wallet_ledger_legacy_pkey;
+    EXECUTE format('ALTER TABLE wallet_ledger_legacy ADD CONSTRAINT wallet_ledger_legacy_range CHECK (created_at < %L)', legacy_bound);
+    EXECUTE format('ALTER TABLE wallet_ledger ATTACH PARTITION wallet_ledger_legacy FOR VALUES FROM (MINVALUE) TO (%L)', legacy_bound);
+
+    PERFORM ensure_monthly_partitions('audit_logs', legacy_bound, 3);
+    PERFORM ensure_monthly_partitions('wallet_ledger', legacy_bound, 3);
+END $$;
+
+CREATE TABLE IF NOT EXISTS audit_logs_default PARTITION OF audit_logs DEFAULT;
+CREATE TABLE IF NOT EXISTS wallet_ledger_default PARTITION OF wallet_ledger DEFAULT;
@@ -0,0 +1,36 @@
+-- ============================================================================
+-- V16: Pooled sequence ids for high-volume tables
+-- Hibernate now reserves ids 50 at a time (pooled-lo optimizer), which lets it
+-- batch INSERTs instead of one round trip per row (IDENTITY forbids batching).
+-- The existing serial/identity sequences are reused so current ids are kept;
+-- each one is stepped by 50 and positioned just past MAX(id). Raw INSERTs that
+-- still rely on the column default take a whole block, so they never collide.
+-- ============================================================================
+
+DO $$
+DECLARE
+    tbl         TEXT;
+    seq         TEXT;
+    is_identity BOOLEAN;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['slots', 'audit_logs', 'tournament_results', 'wallet_ledger',
+                               'notifications', 'notification_reads'] LOOP
+        seq := pg_get_serial_sequence(tbl, 'id');
+        IF seq IS NULL THEN
+            seq := tbl || '_id_seq';
+            EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I', seq);
+        END IF;
+
+        SELECT a.attidentity <> '' INTO is_identity
+        FROM pg_attribute a
+        WHERE a.attrelid = tbl::regclass AND a.attname = 'id';
+
+        IF is_identity THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', tbl);
+        ELSE
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+        END IF;
+
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 1 FROM %I), false)', seq, tbl);
+    END LOOP;
+END $$;
@@ -0,0 +1,16 @@
+-- ============================================================================
+-- V17: Tournament payouts (one row per credited tournament)
+-- The row is inserted in the same transaction that credits wallets, so its
+-- existence is the idempotency guard for re-submitted payouts.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS tournament_payouts (
+    payout_id       VARCHAR(64) PRIMARY KEY,
+    tournament_id   INTEGER NOT NULL UNIQUE REFERENCES tournaments(id) ON DELETE CASCADE,
+    result_count    INTEGER NOT NULL DEFAULT 0,
+    recipients      INTEGER NOT NULL DEFAULT 0,
+    total_coins     BIGINT NOT NULL DEFAULT 0,
+    duration_ms     BIGINT NOT NULL DEFAULT 0,
+    created_by      VARCHAR(128),
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
@@ -0,0 +1,38 @@
+-- ============================================================================
+-- V18: Recurring tournament templates
+-- Each active template is expanded into concrete tournaments for the next few
+-- days by a batch job. (template_id, start_time) is unique so re-running the
+-- job never creates duplicates.
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS tournament_templates (
+    id                  SERIAL PRIMARY KEY,
+    name                VARCHAR(255) NOT NULL,
+    game                VARCHAR(100),
+    game_mode           VARCHAR(100),
+    map_type            VARCHAR(100),
+    team_size           VARCHAR(20) NOT NULL DEFAULT 'SOLO',
+    max_players         INTEGER NOT NULL,
+    entry_fees          INTEGER NOT NULL DEFAULT 0,
+    prize_pool          INTEGER NOT NULL DEFAULT 0,
+    per_kill_reward     INTEGER DEFAULT 0,
+    first_prize         INTEGER DEFAULT 0,
+    second_prize        INTEGER DEFAULT 0,
+    third_prize         INTEGER DEFAULT 0,
+    rules               TEXT,
+    image_link          VARCHAR(500),
+    stream_url          VARCHAR(500),
+    recurrence          VARCHAR(100) NOT NULL,
+    is_active           BOOLEAN NOT NULL DEFAULT TRUE,
+    materialized_until  TIMESTAMPTZ,
+    created_by          VARCHAR(128),
+    created_at          TIMESTAMPTZ DEFAULT NOW(),
+    updated_at          TIMESTAMPTZ DEFAULT NOW(),
+    CHECK (team_size IN ('SOLO','DUO','SQUAD','HEXA'))
+);
+
+ALTER TABLE tournaments
+    ADD COLUMN IF NOT EXISTS template_id INTEGER REFERENCES tournament_templates(id) ON DELETE SET NULL;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tournaments_template_start
+    ON tournaments (template_id, start_time) WHERE template_id IS NOT NULL;
@@ -0,0 +1,17 @@
+-- ============================================================================
+-- V19: Denormalized booked-slot counter
+-- Catalog pages read tournaments.booked_count with the row instead of grouping
+-- the slots table. Bookings, cancellations and refunds adjust it in the same
+-- transaction; a scheduled job reconciles any drift against slots.
+-- ============================================================================
+
+ALTER TABLE tournaments ADD COLUMN IF NOT EXISTS booked_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE tournaments t
+SET booked_count = c.booked
+FROM (
+    SELECT tournament_id, COUNT(*) AS booked FROM slots WHERE status = 'BOOKED' GROUP BY tournament_id
+    UNION ALL
+    SELECT tournament_id, COUNT(*) AS booked FROM slots_archive WHERE status = 'BOOKED' GROUP BY tournament_id
+) c
+WHERE t.id = c.tournament_id;
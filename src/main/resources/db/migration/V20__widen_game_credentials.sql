@@ -0,0 +1,9 @@
+-- ============================================================================
+-- V20: Room for AES-GCM game credentials
+-- "v2:" + Base64(iv | ciphertext | tag) is longer than the old AES/ECB values
+-- and overflows VARCHAR(100) from ~45 plain-text characters on. Existing ECB
+-- values are re-encrypted by the scheduler (CredentialCryptoService).
+-- ============================================================================
+
+ALTER TABLE tournaments ALTER COLUMN game_id TYPE VARCHAR(255);
+ALTER TABLE tournaments ALTER COLUMN game_password TYPE VARCHAR(255);
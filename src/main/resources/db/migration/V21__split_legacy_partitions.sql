@@ -0,0 +1,119 @@
+-- ============================================================================
+-- V21: Monthly partitions for all history, DEFAULT-safe partition creation
+-- - ensure_monthly_partitions() no longer fails when the DEFAULT partition already
+--   holds rows for the month being created: those rows are moved into the new
+--   partition before it is attached
+-- - The single legacy partition V15 attached (everything before its cutoff) is
+--   split into monthly partitions, so every row is in a monthly partition that
+--   can be pruned by time and archived as a whole. Every row is copied; nothing is
+--   filtered by age. Runs in the migration transaction; audit_logs and wallet_ledger
+--   are locked while their history is copied
+-- ============================================================================
+
+-- Column list of a table in attribute order, for explicit INSERT ... SELECT
+-- (tables attached as partitions may have a different physical column order)
+CREATE OR REPLACE FUNCTION partition_column_list(tbl TEXT)
+RETURNS TEXT AS $$
+    SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum)
+    FROM pg_attribute
+    WHERE attrelid = tbl::regclass AND attnum > 0 AND NOT attisdropped;
+$$ LANGUAGE sql STABLE;
+
+-- Partition key column of a RANGE partitioned table
+CREATE OR REPLACE FUNCTION partition_key_column(parent TEXT)
+RETURNS TEXT AS $$
+    SELECT a.attname::text
+    FROM pg_partitioned_table p
+    JOIN pg_attribute a ON a.attrelid = p.partrelid AND a.attnum = p.partattrs[0]
+    WHERE p.partrelid = parent::regclass;
+$$ LANGUAGE sql STABLE;
+
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(parent TEXT, from_month DATE, months_ahead INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start  DATE := date_trunc('month', from_month)::date;
+    month_end    DATE;
+    part_name    TEXT;
+    default_name TEXT := parent || '_default';
+    key_column   TEXT := partition_key_column(parent);
+    columns      TEXT := partition_column_list(parent);
+    has_default  BOOLEAN := to_regclass(parent || '_default') IS NOT NULL;
+    stranded     BOOLEAN;
+    created      INTEGER := 0;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_end := (month_start + INTERVAL '1 month')::date;
+        part_name := format('%s_y%sm%s', parent, to_char(month_start, 'YYYY'), to_char(month_start, 'MM'));
+        IF to_regclass(part_name) IS NULL THEN
+            stranded := FALSE;
+            IF has_default THEN
+                EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE %I >= %L AND %I < %L)',
+                               default_name, key_column, month_start, key_column, month_end)
+                    INTO stranded;
+            END IF;
+
+            IF stranded THEN
+                -- CREATE ... PARTITION OF would fail the DEFAULT partition's constraint check:
+                -- build the table, move the rows over, then attach it
+                EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                               part_name, parent);
+                EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING %s) '
+                               'INSERT INTO %I (%s) SELECT %s FROM moved',
+                               default_name, key_column, month_start, key_column, month_end, columns,
+                               part_name, columns, columns);
+                EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                               parent, part_name, month_start, month_end);
+                created := created + 1;
+            ELSE
+                BEGIN
+                    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                                   part_name, parent, month_start, month_end);
+                    created := created + 1;
+                EXCEPTION WHEN invalid_object_definition THEN
+                    -- Range already covered by another partition
+                    NULL;
+                END;
+            END IF;
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Replace the legacy partition of parent with monthly partitions holding the same rows
+CREATE OR REPLACE FUNCTION split_legacy_partition(parent TEXT)
+RETURNS BIGINT AS $$
+DECLARE
+    legacy      TEXT := parent || '_legacy';
+    key_column  TEXT := partition_key_column(parent);
+    columns     TEXT := partition_column_list(parent);
+    month_start DATE;
+    moved       BIGINT := 0;
+BEGIN
+    IF to_regclass(legacy) IS NULL THEN
+        RETURN 0;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', parent, legacy);
+
+    -- One partition per month that has rows (no empty partitions for sparse old data)
+    FOR month_start IN EXECUTE format('SELECT DISTINCT date_trunc(''month'', %I)::date FROM %I', key_column, legacy) LOOP
+        PERFORM ensure_monthly_partitions(parent, month_start, 0);
+    END LOOP;
+
+    EXECUTE format('INSERT INTO %I (%s) SELECT %s FROM %I', parent, columns, columns, legacy);
+    GET DIAGNOSTICS moved = ROW_COUNT;
+
+    EXECUTE format('DROP TABLE %I', legacy);
+    RAISE NOTICE 'Moved % rows of % into monthly partitions', moved, legacy;
+    RETURN moved;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT split_legacy_partition('audit_logs');
+SELECT split_legacy_partition('wallet_ledger');
+
+-- Current month and the next three, as PartitionMaintenanceService keeps them
+SELECT ensure_monthly_partitions('audit_logs', date_trunc('month', NOW())::date, 3);
+SELECT ensure_monthly_partitions('wallet_ledger', date_trunc('month', NOW())::date, 3);
@@ -0,0 +1,189 @@
+package com.esport.EsportTournament.migration;
+
+import com.esport.EsportTournament.service.PartitionMaintenanceService;
+import com.esport.EsportTournament.service.PooledIdAllocator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Monthly partitioning of audit_logs and wallet_ledger on a real PostgreSQL 16.
+ * History is written before V15 (two years of audit logs, ledger rows with and without
+ * created_at), then every migration up to the latest runs and the rows are checked to have
+ * landed in monthly partitions, none lost. Also covers partition maintenance: a month whose
+ * rows already sit in DEFAULT, and archiving whole expired partitions into audit_logs_archive.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class PartitioningPostgresTest {
+
+    private static final int HISTORY_MONTHS = 24;
+    private static final int AUDIT_ROWS_PER_MONTH = 50;
+    private static final int LEDGER_ROWS_PER_MONTH = 20;
+    private static final int LEDGER_ROWS_WITHOUT_DATE = 5;
+
+    private EmbeddedPostgres postgres;
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+    private PartitionMaintenanceService maintenance;
+
+    @BeforeAll
+    void migrateWithHistory() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        dataSource = postgres.getPostgresDatabase();
+        jdbc = new JdbcTemplate(dataSource);
+        maintenance = new PartitionMaintenanceService(jdbc);
+        ReflectionTestUtils.setField(maintenance, "monthsAhead", 3);
+
+        flyway("14").migrate();
+        seedHistory();
+        flyway(null).migrate();
+    }
+
+    @AfterAll
+    void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    @Order(1)
+    void historyIsSplitIntoMonthlyPartitions() {
+        assertEquals(HISTORY_MONTHS * AUDIT_ROWS_PER_MONTH, count("audit_logs"));
+        assertEquals(HISTORY_MONTHS * LEDGER_ROWS_PER_MONTH + LEDGER_ROWS_WITHOUT_DATE, count("wallet_ledger"));
+
+        for (String parent : List.of("audit_logs", "wallet_ledger")) {
+            assertNull(jdbc.queryForObject("SELECT to_regclass(?)::text", String.class, parent + "_legacy"),
+                    parent + " legacy partition must be gone");
+            assertEquals(0, count(parent + "_default"), parent + " history must not sit in DEFAULT");
+        }
+        // Oldest audit month and the current one each have their own partition
+        LocalDate oldest = LocalDate.now().withDayOfMonth(1).minusMonths(HISTORY_MONTHS - 1);
+        assertEquals(AUDIT_ROWS_PER_MONTH, count(partition("audit_logs", oldest)));
+        // Ledger rows that had no created_at were stamped with the epoch and kept
+        assertEquals(LEDGER_ROWS_WITHOUT_DATE, count(partition("wallet_ledger", LocalDate.of(1970, 1, 1))));
+
+        // Sequences still feed the partitioned tables
+        jdbc.update("INSERT INTO audit_logs (category, action, user_id) VALUES ('SYSTEM', 'AFTER_MIGRATION', 'u')");
+        assertEquals(HISTORY_MONTHS * AUDIT_ROWS_PER_MONTH + 1, count("audit_logs"));
+    }
+
+    @Test
+    @Order(2)
+    void timeBoundedReadsArePruned() {
+        List<String> plan = jdbc.queryForList("""
+                EXPLAIN SELECT * FROM audit_logs
+                WHERE user_id = 'uid-1' AND timestamp > NOW() - INTERVAL '60 days'
+                ORDER BY timestamp DESC LIMIT 100
+                """, String.class);
+        String oldest = partition("audit_logs", LocalDate.now().withDayOfMonth(1).minusMonths(HISTORY_MONTHS - 1));
+        assertTrue(plan.stream().noneMatch(line -> line.contains(oldest)), String.join("\n", plan));
+    }
+
+    @Test
+    @Order(3)
+    void rowsAlreadyInDefaultMoveIntoTheNewPartition() {
+        LocalDate farMonth = LocalDate.now().withDayOfMonth(1).plusMonths(8);
+        jdbc.update("INSERT INTO audit_logs (category, action, user_id, timestamp) VALUES ('SYSTEM', 'EARLY', 'u', ?)",
+                java.sql.Timestamp.valueOf(farMonth.atStartOfDay().plusDays(3)));
+        assertEquals(1, count("audit_logs_default"));
+
+        Integer created = jdbc.queryForObject("SELECT ensure_monthly_partitions('audit_logs', ?, 0)", Integer.class,
+                java.sql.Date.valueOf(farMonth));
+
+        assertEquals(1, created);
+        assertEquals(0, count("audit_logs_default"));
+        assertEquals(1, count(partition("audit_logs", farMonth)));
+    }
+
+    @Test
+    @Order(4)
+    void expiredPartitionsAreArchivedNotJustDetached() {
+        LocalDateTime cutoff = LocalDate.now().withDayOfMonth(1).minusMonths(12).atStartOfDay();
+        long before = count("audit_logs");
+
+        List<String> archived = maintenance.archiveExpiredPartitions(PartitionMaintenanceService.AUDIT_LOGS,
+                "audit_logs_archive", cutoff);
+
+        // History spans the current month and the 23 before it; months -23..-13 end by the cutoff
+        assertEquals(HISTORY_MONTHS - 1 - 12, archived.size());
+        long moved = (long) archived.size() * AUDIT_ROWS_PER_MONTH;
+        assertEquals(moved, count("audit_logs_archive"));
+        assertEquals(before - moved, count("audit_logs"));
+        for (String name : archived) {
+            assertNull(jdbc.queryForObject("SELECT to_regclass(?)::text", String.class, name), name + " dropped");
+        }
+    }
+
+    @Test
+    @Order(5)
+    void bulkInsertIdsComeInPooledBlocks() {
+        long[] ids = new PooledIdAllocator(jdbc).allocate("audit_logs_id_seq", 60);
+        jdbc.update("INSERT INTO audit_logs (id, category, action, user_id) VALUES (?, 'SYSTEM', 'BULK', 'u')", ids[59]);
+
+        // Two nextval calls for 60 rows; the sequence steps by the block size (V16)
+        assertEquals(60, java.util.Arrays.stream(ids).distinct().count());
+        assertEquals(ids[0] + 49, ids[49]);
+        Long next = jdbc.queryForObject("SELECT nextval('audit_logs_id_seq')", Long.class);
+        assertEquals(ids[50] + PooledIdAllocator.BLOCK_SIZE, next);
+    }
+
+    // ── Helpers ──
+
+    private Flyway flyway(String target) {
+        var config = Flyway.configure().dataSource(dataSource).locations("classpath:db/migration");
+        if (target != null) {
+            config.target(target);
+        }
+        return config.load();
+    }
+
+    private void seedHistory() {
+        jdbc.update("INSERT INTO users (firebase_useruid, email, user_name) VALUES ('uid-1', 'u1@pg.test', 'u1')");
+        jdbc.update("INSERT INTO wallet (user_id, coins) SELECT id, 0 FROM users WHERE firebase_useruid = 'uid-1'");
+
+        LocalDate month = LocalDate.now().withDayOfMonth(1).minusMonths(HISTORY_MONTHS - 1);
+        for (int m = 0; m < HISTORY_MONTHS; m++, month = month.plusMonths(1)) {
+            java.sql.Timestamp at = java.sql.Timestamp.valueOf(month.atStartOfDay().plusDays(1));
+            jdbc.update("""
+                    INSERT INTO audit_logs (category, action, user_id, details, timestamp)
+                    SELECT 'WALLET', 'SEEDED', 'uid-' || (g % 3), 'row ' || g, ?::timestamptz + g * INTERVAL '1 minute'
+                    FROM generate_series(1, ?) g
+                    """, at, AUDIT_ROWS_PER_MONTH);
+            jdbc.update("""
+                    INSERT INTO wallet_ledger (user_id, wallet_id, direction, amount, balance_after, created_at)
+                    SELECT u.id, w.id, 'CREDIT', 10, 10 * g, ?::timestamptz + g * INTERVAL '1 minute'
+                    FROM users u JOIN wallet w ON w.user_id = u.id, generate_series(1, ?) g
+                    """, at, LEDGER_ROWS_PER_MONTH);
+        }
+        jdbc.update("""
+                INSERT INTO wallet_ledger (user_id, wallet_id, direction, amount, balance_after, created_at)
+                SELECT u.id, w.id, 'DEBIT', 1, 0, NULL
+                FROM users u JOIN wallet w ON w.user_id = u.id, generate_series(1, ?) g
+                """, LEDGER_ROWS_WITHOUT_DATE);
+    }
+
+    private long count(String table) {
+        Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    private static String partition(String parent, LocalDate month) {
+        return String.format("%s_y%04dm%02d", parent, month.getYear(), month.getMonthValue());
+    }
+}
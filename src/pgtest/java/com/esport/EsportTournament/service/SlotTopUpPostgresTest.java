@@ -0,0 +1,141 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.model.Slots;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.model.Wallet;
+import com.esport.EsportTournament.repository.SlotRepo;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.repository.UsersRepo;
+import com.esport.EsportTournament.repository.WalletRepo;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lazily materialized brackets on PostgreSQL 16 (slot provisioning SQL does not run on H2):
+ * the top-up after a booking commits must persist its rows.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.ssl.enabled=false",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.username=postgres",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.enabled=true",
+        "app.slots.lazy-threshold=5",
+        "app.slots.lazy-chunk=4",
+        "app.slots.low-water=4"
+})
+class SlotTopUpPostgresTest {
+
+    private static final String BOOKER = "topup-booker";
+
+    private static final FakeRedisServer REDIS = startRedis();
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private TournamentRepo tournamentRepo;
+    @Autowired
+    private SlotRepo slotRepo;
+    @Autowired
+    private UsersRepo usersRepo;
+    @Autowired
+    private WalletRepo walletRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        REDIS.close();
+        POSTGRES.close();
+    }
+
+    @Test
+    void topUpAfterBookingCommitsNewRows() {
+        int tournamentId = transactionTemplate.execute(status -> seed());
+
+        slotService.bookNextAvailableSlot(tournamentId, BOOKER, "booker");
+
+        // 1 booked + 3 available left, below low-water: the next chunk (5..8) was added after commit
+        assertEquals(8, slotRepo.findByTournaments_Id(tournamentId).size());
+        assertEquals(7, slotRepo.findByTournaments_Id(tournamentId).stream()
+                .filter(slot -> slot.getStatus() == Slots.SlotStatus.AVAILABLE).count());
+    }
+
+    private int seed() {
+        Users user = new Users();
+        user.setFirebaseUserUID(BOOKER);
+        user.setEmail(BOOKER + "@topup.test");
+        user.setUserName(BOOKER);
+        user.setCreatedAt(LocalDateTime.now());
+        usersRepo.save(user);
+
+        Wallet wallet = new Wallet();
+        wallet.setUserId(user);
+        wallet.setCoins(100);
+        wallet.setLastUpdated(LocalDateTime.now());
+        walletRepo.save(wallet);
+
+        Tournaments tournament = new Tournaments();
+        tournament.setName("Lazy cup");
+        tournament.setGame("BGMI");
+        tournament.setGameMode("Classic");
+        tournament.setMapType("Erangel");
+        tournament.setTeamSize("SOLO");
+        tournament.setMaxPlayers(20);
+        tournament.setEntryFees(10);
+        tournament.setPrizePool(100);
+        tournament.setStatus(Tournaments.TournamentStatus.UPCOMING);
+        tournament.setStartTime(LocalDateTime.now().plusDays(1));
+        tournament.setCreatedAt(LocalDateTime.now());
+        tournamentRepo.save(tournament);
+
+        // Only the first lazy chunk is materialized
+        for (int number = 1; number <= 4; number++) {
+            Slots slot = new Slots();
+            slot.setTournaments(tournament);
+            slot.setSlotNumber(number);
+            slot.setStatus(Slots.SlotStatus.AVAILABLE);
+            slotRepo.save(slot);
+        }
+        return tournament.getId();
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.esport.EsportTournament.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Insert throughput: IDENTITY (one round trip per row, no batching) vs a pooled
+ * sequence (ids reserved 50 at a time, JDBC batches of 50) for the two bulk
+ * paths in the app: slot pre-generation and tournament result saves.
+ *
+ * Not a unit test; run manually:
+ *   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *   java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *        com.esport.EsportTournament.benchmark.IdGenerationBenchmark
+ * Point it at Postgres with -Dbench.url=jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true
+ * -Dbench.user=... -Dbench.password=... (defaults to in-memory H2 in PostgreSQL mode).
+ */
+public class IdGenerationBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int SLOT_ROWS = 10_000;
+    private static final int RESULT_ROWS = 5_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("bench.url", "jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        String user = System.getProperty("bench.user", "sa");
+        String password = System.getProperty("bench.password", "");
+
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            createSchema(connection);
+
+            System.out.printf("%-28s %12s %12s %8s%n", "scenario", "identity/s", "pooled/s", "gain");
+            report("slot pre-generation", SLOT_ROWS,
+                    () -> insertSlotsIdentity(connection), () -> insertSlotsPooled(connection));
+            report("bulk tournament results", RESULT_ROWS,
+                    () -> insertResultsIdentity(connection), () -> insertResultsPooled(connection));
+
+            dropSchema(connection);
+        }
+    }
+
+    private interface Run {
+        void run() throws Exception;
+    }
+
+    private static void report(String name, int rows, Run identity, Run pooled) throws Exception {
+        // Warm-up round for both strategies
+        identity.run();
+        pooled.run();
+
+        long identityNanos = 0;
+        long pooledNanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            identity.run();
+            identityNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            pooled.run();
+            pooledNanos += System.nanoTime() - start;
+        }
+        double identityRate = rows * ROUNDS / (identityNanos / 1e9);
+        double pooledRate = rows * ROUNDS / (pooledNanos / 1e9);
+        System.out.printf("%-28s %12.0f %12.0f %7.1fx%n", name, identityRate, pooledRate, pooledRate / identityRate);
+    }
+
+    // ── Slots ──
+
+    private static void insertSlotsIdentity(Connection c) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO bench_slots_identity (tournament_id, slot_number, status, version) VALUES (?, ?, 'AVAILABLE', 0)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 1; i <= SLOT_ROWS; i++) {
+                ps.setInt(1, 1);
+                ps.setInt(2, i);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        reset(c, "bench_slots_identity");
+    }
+
+    private static void insertSlotsPooled(Connection c) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO bench_slots_pooled (id, tournament_id, slot_number, status, version) VALUES (?, ?, ?, 'AVAILABLE', 0)")) {
+            long hi = 0;
+            long next = 0;
+            for (int i = 1; i <= SLOT_ROWS; i++) {
+                if (next >= hi) {
+                    next = nextBlock(c, "bench_slots_seq");
+                    hi = next + ALLOCATION_SIZE;
+                }
+                ps.setLong(1, next++);
+                ps.setInt(2, 1);
+                ps.setInt(3, i);
+                ps.addBatch();
+                if (i % ALLOCATION_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        reset(c, "bench_slots_pooled");
+    }
+
+    // ── Tournament results ──
+
+    private static void insertResultsIdentity(Connection c) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO bench_results_identity (tournament_id, firebase_user_uid, player_name, kills, placement, coins_earned, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 1; i <= RESULT_ROWS; i++) {
+                bindResult(ps, 1, i, now);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        reset(c, "bench_results_identity");
+    }
+
+    private static void insertResultsPooled(Connection c) throws Exception {
+        try (PreparedStatement ps = c.prepareStatement(
+                "INSERT INTO bench_results_pooled (id, tournament_id, firebase_user_uid, player_name, kills, placement, coins_earned, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            long hi = 0;
+            long next = 0;
+            for (int i = 1; i <= RESULT_ROWS; i++) {
+                if (next >= hi) {
+                    next = nextBlock(c, "bench_results_seq");
+                    hi = next + ALLOCATION_SIZE;
+                }
+                ps.setLong(1, next++);
+                bindResult(ps, 2, i, now);
+                ps.addBatch();
+                if (i % ALLOCATION_SIZE == 0) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+        reset(c, "bench_results_pooled");
+    }
+
+    private static void bindResult(PreparedStatement ps, int from, int i, Timestamp now) throws Exception {
+        ps.setInt(from, 1);
+        ps.setString(from + 1, "uid-" + i);
+        ps.setString(from + 2, "player-" + i);
+        ps.setInt(from + 3, i % 20);
+        ps.setInt(from + 4, i);
+        ps.setInt(from + 5, (i % 20) * 10);
+        ps.setTimestamp(from + 6, now);
+    }
+
+    // ── Schema helpers ──
+
+    private static long nextBlock(Connection c, String sequence) throws Exception {
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT nextval('" + sequence + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void reset(Connection c, String table) throws Exception {
+        c.commit();
+        try (Statement st = c.createStatement()) {
+            st.execute("DELETE FROM " + table);
+        }
+        c.commit();
+    }
+
+    private static void createSchema(Connection c) throws Exception {
+        try (Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE bench_slots_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "tournament_id INTEGER NOT NULL, slot_number INTEGER NOT NULL, status VARCHAR(20), version BIGINT)");
+            st.execute("CREATE TABLE bench_slots_pooled (id BIGINT PRIMARY KEY, " +
+                    "tournament_id INTEGER NOT NULL, slot_number INTEGER NOT NULL, status VARCHAR(20), version BIGINT)");
+            st.execute("CREATE SEQUENCE bench_slots_seq INCREMENT BY " + ALLOCATION_SIZE);
+
+            String resultColumns = "tournament_id INTEGER NOT NULL, firebase_user_uid VARCHAR(128) NOT NULL, player_name VARCHAR(255), " +
+                    "kills INTEGER, placement INTEGER, coins_earned INTEGER, created_at TIMESTAMP";
+            st.execute("CREATE TABLE bench_results_identity (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " + resultColumns + ")");
+            st.execute("CREATE TABLE bench_results_pooled (id BIGINT PRIMARY KEY, " + resultColumns + ")");
+            st.execute("CREATE SEQUENCE bench_results_seq INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        c.commit();
+    }
+
+    private static void dropSchema(Connection c) throws Exception {
+        try (Statement st = c.createStatement()) {
+            for (String table : new String[] {"bench_slots_identity", "bench_slots_pooled", "bench_results_identity", "bench_results_pooled"}) {
+                st.execute("DROP TABLE " + table);
+            }
+            st.execute("DROP SEQUENCE bench_slots_seq");
+            st.execute("DROP SEQUENCE bench_results_seq");
+        }
+        c.commit();
+    }
+}
@@ -0,0 +1,207 @@
+package com.esport.EsportTournament.benchmark;
+
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end cost of GET /api/public/tournaments over real HTTP: Tomcat, the filter chain
+ * (security, rate limits), the ETag interceptor and either the pre-serialized snapshot or
+ * the controller, service cache, Jackson and Tomcat's compression. Run it once with
+ * snapshots on and once with -Dbench.snapshots=false and compare the two reports. The
+ * "served" column is the Content-Encoding that came back: Tomcat does not compress
+ * responses with a strong ETag, so without snapshots these bodies are sent uncompressed.
+ *
+ * Local stand-ins as in the load harness: in-memory H2 and {@link FakeRedisServer}.
+ * Compression is configured as in production (the test application.yml leaves it off).
+ * Allocation is the whole JVM's, so it includes the in-process HTTP client; that share is
+ * the same with and without snapshots. Requests rotate over {@code bench.clients} client
+ * addresses to stay under the per-IP rate limits.
+ *
+ * Not part of the default test run (the class name is outside Surefire's includes):
+ *   mvn test -Dtest=ResponseSnapshotBenchmark -Dsurefire.failIfNoSpecifiedTests=false [-Dbench.snapshots=false]
+ * Options (system properties): bench.tournaments (default 100), bench.requests per scenario
+ * (default 20000), bench.concurrency (default 8), bench.clients (default 4096).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.data.redis.ssl.enabled=false",
+        "server.compression.enabled=true",
+        "server.compression.min-response-size=1024",
+        "server.compression.mime-types=application/json"
+})
+class ResponseSnapshotBenchmark {
+
+    private static final String PATH = "/api/public/tournaments";
+
+    private static final FakeRedisServer REDIS = startRedis();
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final boolean snapshots = Boolean.parseBoolean(System.getProperty("bench.snapshots", "true"));
+    private final int tournaments = Integer.getInteger("bench.tournaments", 100);
+    private final int requests = Integer.getInteger("bench.requests", 20_000);
+    private final int concurrency = Integer.getInteger("bench.concurrency", 8);
+    private final int clients = Integer.getInteger("bench.clients", 4096);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TournamentRepo tournamentRepo;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+        registry.add("app.http.snapshots.enabled", () -> System.getProperty("bench.snapshots", "true"));
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @Test
+    void publicTournaments() throws Exception {
+        seedTournaments();
+
+        System.out.printf("%s, %d tournaments, %d requests x %d threads%n",
+                snapshots ? "snapshots on" : "snapshots off", tournaments, requests, concurrency);
+        System.out.printf("%-10s %-9s %10s %9s %9s %14s %12s%n",
+                "accept", "served", "req/s", "p50 ms", "p99 ms", "alloc B/req", "wire B/req");
+        for (String encoding : List.of("gzip", "br", "identity")) {
+            report(encoding);
+        }
+
+        double hits = meterRegistry.get("app.http.snapshot.requests").tag("result", "hit").counter().count();
+        assertEquals(snapshots, hits > 0, "snapshot hits: " + hits);
+    }
+
+    private void report(String encoding) throws Exception {
+        // Warm-up also creates the rate limit buckets of every client address
+        run(encoding, Math.max(clients, requests / 10));
+
+        long allocatedBefore = THREADS.getTotalThreadAllocatedBytes();
+        long start = System.nanoTime();
+        Result result = run(encoding, requests);
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getTotalThreadAllocatedBytes() - allocatedBefore;
+
+        long[] sorted = result.latencies();
+        Arrays.sort(sorted);
+        System.out.printf("%-10s %-9s %10.0f %9.2f %9.2f %14d %12d%n", encoding, result.servedAs(),
+                requests / (elapsed / 1e9),
+                sorted[sorted.length / 2] / 1e6, sorted[(int) Math.ceil(0.99 * sorted.length) - 1] / 1e6,
+                allocated / requests, result.wireBytes() / requests);
+    }
+
+    private record Result(long[] latencies, long wireBytes, String servedAs) {
+    }
+
+    private Result run(String encoding, int count) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long[] latencies = new long[count];
+        List<Future<Long>> workers = new ArrayList<>();
+        AtomicInteger next = new AtomicInteger();
+        Set<String> servedAs = ConcurrentHashMap.newKeySet();
+        for (int t = 0; t < concurrency; t++) {
+            workers.add(pool.submit(() -> {
+                long bytes = 0;
+                for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                    long start = System.nanoTime();
+                    HttpResponse<byte[]> response = http.send(request(encoding), HttpResponse.BodyHandlers.ofByteArray());
+                    latencies[i] = System.nanoTime() - start;
+                    assertEquals(200, response.statusCode());
+                    servedAs.add(response.headers().firstValue("Content-Encoding").orElse("identity"));
+                    bytes += response.body().length;
+                }
+                return bytes;
+            }));
+        }
+        long wireBytes = 0;
+        for (Future<Long> worker : workers) {
+            wireBytes += worker.get();
+        }
+        pool.shutdown();
+        return new Result(latencies, wireBytes, String.join("+", servedAs));
+    }
+
+    private HttpRequest request(String encoding) {
+        int client = sequence.getAndIncrement() % clients;
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + PATH))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept-Encoding", encoding)
+                .header("X-Forwarded-For", "10.9." + (client >> 8 & 255) + "." + (client & 255))
+                .GET()
+                .build();
+    }
+
+    private void seedTournaments() {
+        List<Tournaments> rows = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < tournaments; i++) {
+            Tournaments tournament = new Tournaments();
+            tournament.setName("Evening Scrims #" + i);
+            tournament.setGame(i % 2 == 0 ? "BGMI" : "Free Fire");
+            tournament.setGameMode("Battle Royale");
+            tournament.setMapType(i % 3 == 0 ? "Erangel" : "Miramar");
+            tournament.setTeamSize(i % 4 == 0 ? "SQUAD" : "SOLO");
+            tournament.setMaxPlayers(100);
+            tournament.setEntryFees(20 + i % 5 * 10);
+            tournament.setPrizePool(1000 + i * 10);
+            tournament.setStatus(Tournaments.TournamentStatus.UPCOMING);
+            tournament.setStartTime(start.plusHours(i));
+            tournament.setCreatedAt(LocalDateTime.now());
+            rows.add(tournament);
+        }
+        tournamentRepo.saveAll(rows);
+        assertTrue(tournamentRepo.count() >= tournaments);
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
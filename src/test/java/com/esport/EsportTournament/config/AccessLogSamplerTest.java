@@ -0,0 +1,33 @@
+package com.esport.EsportTournament.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogSamplerTest {
+
+    private final AccessLogSampler sampler = new AccessLogSampler(0.0,
+            List.of("/api/tournaments/{id}=1", "/api/users/me=0"), 500);
+
+    @Test
+    void errorsAndSlowRequestsAreAlwaysLogged() {
+        assertEquals(AccessLogSampler.ERROR, sampler.sample("/api/users/me", 404, 3));
+        assertEquals(AccessLogSampler.ERROR, sampler.sample("/api/users/me", 503, 3));
+        assertEquals(AccessLogSampler.SLOW, sampler.sample("/api/users/me", 200, 500));
+    }
+
+    @Test
+    void successesFollowTheRouteRateElseTheDefault() {
+        assertEquals(AccessLogSampler.SAMPLED, sampler.sample("/api/tournaments/{id}", 200, 3));
+        assertNull(sampler.sample("/api/users/me", 200, 3));
+        assertNull(sampler.sample("/api/banners", 200, 3));
+    }
+
+    @Test
+    void malformedRateIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccessLogSampler(0.1, List.of("/api/banners=often"), 500));
+    }
+}
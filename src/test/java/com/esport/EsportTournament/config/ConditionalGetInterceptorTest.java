@@ -0,0 +1,94 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.service.ResourceVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalGetInterceptorTest {
+
+    private final ResourceVersionService versions = new ResourceVersionService(null);
+    private final ResponseSnapshotCache snapshots =
+            new ResponseSnapshotCache(new ObjectMapper(), new SimpleMeterRegistry(), 5);
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(versions, snapshots, 60, 300, true);
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredBeforeTheController() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletRequest initial = get("/api/filters", null);
+        assertTrue(interceptor.preHandle(initial, first, null));
+        String etag = (String) initial.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(get("/api/filters", "W/" + etag), response, null));
+        assertEquals(304, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertEquals("max-age=300, public", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void bumpInvalidatesOnlyThatResource() throws Exception {
+        MockHttpServletRequest banners = get("/api/banners", null);
+        MockHttpServletRequest version = get("/api/app/version", null);
+        interceptor.preHandle(banners, new MockHttpServletResponse(), null);
+        interceptor.preHandle(version, new MockHttpServletResponse(), null);
+
+        versions.bump(ResourceVersionService.Resource.BANNERS);
+
+        String bannersTag = (String) banners.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        String versionTag = (String) version.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        assertTrue(interceptor.preHandle(get("/api/banners", bannersTag), new MockHttpServletResponse(), null));
+        assertFalse(interceptor.preHandle(get("/api/app/version", versionTag), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void otherMethodsAndPathsPassThrough() throws Exception {
+        MockHttpServletRequest put = get("/api/filters", "*");
+        put.setMethod("PUT");
+        assertTrue(interceptor.preHandle(put, new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(get("/api/tournaments/5", "*"), new MockHttpServletResponse(), null));
+    }
+
+    private static MockHttpServletRequest get(String uri, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    @Test
+    void renderedSnapshotIsServedWithPreferredEncoding() throws Exception {
+        MockHttpServletRequest first = get("/api/banners", null);
+        assertTrue(interceptor.preHandle(first, new MockHttpServletResponse(), null));
+        String etag = (String) first.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        snapshots.store("b", etag, List.of(Map.of("title", "x".repeat(2000))));
+
+        MockHttpServletRequest second = get("/api/banners", null);
+        second.addHeader("Accept-Encoding", "gzip, br;q=0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(second, response, null));
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(etag, response.getHeader("ETag"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).startsWith("[{\"title\":\"xxx"));
+        }
+    }
+
+    @Test
+    void acceptEncodingHonoursQualityZero() {
+        assertTrue(ResponseSnapshotCache.accepts("gzip, deflate, br", "br"));
+        assertFalse(ResponseSnapshotCache.accepts("gzip;q=1.0, br;q=0", "br"));
+        assertFalse(ResponseSnapshotCache.accepts(null, "gzip"));
+    }
+}
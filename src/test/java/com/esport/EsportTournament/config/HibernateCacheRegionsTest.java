@@ -0,0 +1,55 @@
+package com.esport.EsportTournament.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HibernateCacheRegionsTest {
+
+    private static final String PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+    private final CachingProvider provider = Caching.getCachingProvider(PROVIDER);
+    private final CacheManager cacheManager = provider.getCacheManager(
+            URI.create("classpath:hibernate-jcache.conf"), getClass().getClassLoader());
+
+    @AfterEach
+    void close() {
+        cacheManager.close();
+    }
+
+    @Test
+    void everyRegionNamedByEntitiesAndRepositoriesIsBounded() {
+        String[] regions = {"app_role", "app_role_permissions", "app_permission", "global_rules", "app_config",
+                "banner", "payment", "query_app_config", "query_rbac", "query_global_rules", "query_user_roles",
+                "query_users", "query_transactions", "query_tournaments", "query_slots",
+                "default-query-results-region"};
+        for (String region : regions) {
+            CaffeineConfiguration<?, ?> configuration = configuration(region);
+            assertTrue(configuration.getMaximumSize().isPresent(), region + " has no maximum size");
+            assertTrue(configuration.getExpireAfterWrite().isPresent(), region + " has no TTL");
+        }
+    }
+
+    @Test
+    void updateTimestampsNeverExpire() {
+        CaffeineConfiguration<?, ?> configuration = configuration("default-update-timestamps-region");
+
+        assertTrue(configuration.getExpireAfterWrite().isEmpty());
+        assertTrue(configuration.getExpireAfterAccess().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuration(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        assertNotNull(cache, region + " is not declared in hibernate-jcache.conf");
+        return cache.getConfiguration(CaffeineConfiguration.class);
+    }
+}
@@ -0,0 +1,171 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.repository.TransactionTableRepo;
+import com.esport.EsportTournament.repository.UsersRepo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Idempotency-Key behaviour of a real endpoint (deposit requests, whose duplicate UTR check
+ * makes a second execution visible as a 409).
+ */
+@SpringBootTest(properties = "spring.data.redis.ssl.enabled=false")
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IdempotencyInterceptorTest {
+
+    private static final String PLAYER = "idem-player";
+    private static final String OTHER_PLAYER = "idem-other";
+
+    private static final FakeRedisServer REDIS = startRedis();
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UsersRepo usersRepo;
+    @Autowired
+    private TransactionTableRepo transactionRepo;
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @BeforeAll
+    void seed() {
+        for (String uid : List.of(PLAYER, OTHER_PLAYER)) {
+            Users user = new Users();
+            user.setFirebaseUserUID(uid);
+            user.setEmail(uid + "@idem.test");
+            user.setUserName(uid);
+            user.setCreatedAt(LocalDateTime.now());
+            usersRepo.save(user);
+        }
+    }
+
+    @Test
+    void retryWithSameKeyReplaysFirstResponse() throws Exception {
+        MockHttpServletResponse first = deposit(PLAYER, "retry-1", "UTR00000001");
+        MockHttpServletResponse retry = deposit(PLAYER, "retry-1", "UTR00000001");
+
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+        assertEquals(201, retry.getStatus());
+        assertEquals("true", retry.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(1, transactionRepo.findAll().stream()
+                .filter(t -> "UTR00000001".equals(t.getTransactionUID())).count());
+
+        // Without the key the request runs again and hits the duplicate UTR check
+        assertEquals(409, deposit(PLAYER, null, "UTR00000001").getStatus());
+    }
+
+    @Test
+    void keysAreScopedToCaller() throws Exception {
+        assertEquals(201, deposit(PLAYER, "shared-key", "UTR00000002").getStatus());
+
+        MockHttpServletResponse other = deposit(OTHER_PLAYER, "shared-key", "UTR00000003");
+
+        assertEquals(201, other.getStatus());
+        assertNull(other.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+    }
+
+    @Test
+    void failedRequestIsNotStored() throws Exception {
+        assertEquals(400, deposit(PLAYER, "fix-and-retry", "bad").getStatus());
+
+        MockHttpServletResponse corrected = deposit(PLAYER, "fix-and-retry", "UTR00000004");
+
+        assertEquals(201, corrected.getStatus());
+        assertNull(corrected.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsUnprocessable() throws Exception {
+        assertEquals(201, deposit(PLAYER, "reused-key", "UTR00000006").getStatus());
+
+        MockHttpServletResponse reused = deposit(PLAYER, "reused-key", "UTR00000007");
+
+        assertEquals(422, reused.getStatus());
+        assertNull(reused.getHeader(IdempotencyInterceptor.REPLAYED_HEADER));
+        assertTrue(transactionRepo.findAll().stream()
+                .noneMatch(t -> "UTR00000007".equals(t.getTransactionUID())));
+    }
+
+    @Test
+    void malformedKeyIsRejected() throws Exception {
+        assertEquals(400, deposit(PLAYER, "not a valid key", "UTR00000005").getStatus());
+    }
+
+    @Test
+    void oversizedBodyIsRefusedOnlyOnIdempotentRoutes() throws Exception {
+        String padding = "x".repeat(70_000);
+
+        assertEquals(413, mockMvc.perform(post("/api/transactions/deposit")
+                        .header(IdempotencyInterceptor.HEADER, "big-deposit")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transactionUID\":\"UTR00000008\",\"amount\":100,\"note\":\"" + padding + "\"}")
+                        .requestAttr(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME, context(PLAYER)))
+                .andReturn().getResponse().getStatus());
+
+        // Device tokens are not @Idempotent: the header is ignored and the body is not buffered
+        assertNotEquals(413, mockMvc.perform(post("/api/users/device-token")
+                        .header(IdempotencyInterceptor.HEADER, "big-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"deviceToken\":\"" + padding + "\"}")
+                        .requestAttr(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME, context(PLAYER)))
+                .andReturn().getResponse().getStatus());
+    }
+
+    private MockHttpServletResponse deposit(String uid, String idempotencyKey, String utr) throws Exception {
+        var request = post("/api/transactions/deposit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"transactionUID\":\"" + utr + "\",\"amount\":100}")
+                .requestAttr(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME, context(uid));
+        if (idempotencyKey != null) {
+            request.header(IdempotencyInterceptor.HEADER, idempotencyKey);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SecurityContextImpl context(String uid) {
+        return new SecurityContextImpl(new UsernamePasswordAuthenticationToken(uid, null, List.of()));
+    }
+}
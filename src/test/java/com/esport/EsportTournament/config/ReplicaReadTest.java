@@ -0,0 +1,105 @@
+package com.esport.EsportTournament.config;
+
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.service.TournamentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * {@link ReplicaRead} end to end. The "replica" pool points at the test database itself;
+ * what matters is which pool a read is counted against and whether it fills the query cache.
+ */
+@SpringBootTest(properties = {
+        "spring.data.redis.ssl.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:testdb;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.replicas.username=sa",
+        "app.datasource.replicas.lag-query=SELECT 0"
+})
+class ReplicaReadTest {
+
+    private static final FakeRedisServer REDIS = startRedis();
+
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private TournamentRepo tournamentRepo;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @Test
+    void onlyMarkedReadsUseTheReplicaAndTheyNeverFillTheQueryCache() {
+        Tournaments tournament = new Tournaments();
+        tournament.setName("Replica read");
+        tournament.setGame("BGMI");
+        tournament.setMaxPlayers(100);
+        tournament.setStatus(Tournaments.TournamentStatus.CANCELLED);
+        tournament.setStartTime(LocalDateTime.now().plusDays(1));
+        tournamentRepo.save(tournament);
+        // The save pinned the test's mock request to the primary; the reads below are a later request
+        RequestContextHolder.resetRequestAttributes();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Other test contexts share the JVM's cache regions
+        sessionFactory.getCache().evictQueryRegions();
+        Statistics statistics = sessionFactory.getStatistics();
+
+        double replicaReads = reads("replica", "healthy");
+        long puts = statistics.getQueryCachePutCount();
+        assertFalse(tournamentService.getTournamentsByStatus(Tournaments.TournamentStatus.CANCELLED).isEmpty());
+        assertEquals(replicaReads + 1, reads("replica", "healthy"));
+        assertEquals(puts, statistics.getQueryCachePutCount(), "replica results must not be cached");
+
+        // SimpleJpaRepository's own read-only transactions stay on the primary
+        double unmarkedReads = reads("primary", "unmarked");
+        assertTrue(tournamentRepo.count() > 0);
+        assertEquals(unmarkedReads + 1, reads("primary", "unmarked"));
+
+        // The same cacheable query outside @ReplicaRead reads the primary and is cached
+        tournamentRepo.findByStatusOrderByStartTimeAsc(Tournaments.TournamentStatus.CANCELLED);
+        assertEquals(replicaReads + 1, reads("replica", "healthy"));
+        assertEquals(puts + 1, statistics.getQueryCachePutCount());
+    }
+
+    private double reads(String target, String reason) {
+        return meterRegistry.get("app.datasource.reads").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
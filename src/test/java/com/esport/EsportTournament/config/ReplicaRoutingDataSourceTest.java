@@ -0,0 +1,125 @@
+package com.esport.EsportTournament.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two H2 databases stand in for primary and replica; each knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void markedReadOnlyTransactionsUseReplica() {
+        ReplicaRoutingDataSource routing = route("SELECT 0");
+        routing.checkReplicas();
+
+        assertEquals("replica", replicaRead(() -> readOnly.execute(status -> node())));
+        assertEquals("primary", replicaRead(() -> readWrite.execute(status -> node())));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void unmarkedReadOnlyTransactionsStayOnPrimary() {
+        route("SELECT 0").checkReplicas();
+
+        // e.g. a repository method's default read-only transaction, called from a filter
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        ReplicaRoutingDataSource routing = route("SELECT 5");
+        routing.checkReplicas();
+
+        assertFalse(routing.getReplicas().get(0).isHealthy());
+        assertEquals("primary", replicaRead(() -> readOnly.execute(status -> node())));
+    }
+
+    @Test
+    void userReadsThePrimaryAfterTheirOwnWrite() {
+        route("SELECT 0").checkReplicas();
+        login("writer");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET touched = touched + 1"));
+
+        assertEquals("primary", replicaRead(() -> readOnly.execute(status -> node())));
+        login("someone-else");
+        assertEquals("replica", replicaRead(() -> readOnly.execute(status -> node())));
+    }
+
+    private ReplicaRoutingDataSource route(String lagQuery) {
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(null, 60_000);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+                List.of(new ReplicaRoutingDataSource.Replica("replica-1", replica)), tracker, lagQuery, 1000,
+                new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(tracker.trackWrites(primary));
+        dataSource.setReadOnlyDataSource(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return routing;
+    }
+
+    private static <T> T replicaRead(Supplier<T> read) {
+        Boolean previous = ReplicaRoutingDataSource.enterReplicaRead();
+        try {
+            return read.get();
+        } finally {
+            ReplicaRoutingDataSource.restore(previous);
+        }
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static void login(String uid) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(uid, null, List.of()));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20), touched INT DEFAULT 0)");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
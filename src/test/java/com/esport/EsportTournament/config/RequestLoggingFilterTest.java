@@ -0,0 +1,20 @@
+package com.esport.EsportTournament.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestLoggingFilterTest {
+
+    @Test
+    void routeUsesMatchedPatternAndBucketsUnmatchedRequests() {
+        MockHttpServletRequest matched = new MockHttpServletRequest("POST", "/api/slots/17/cancel");
+        matched.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/slots/{slotId}/cancel");
+
+        assertEquals("/api/slots/{slotId}/cancel", RequestLoggingFilter.route(matched, 409));
+        assertEquals("NOT_FOUND", RequestLoggingFilter.route(new MockHttpServletRequest("GET", "/nope/1"), 404));
+        assertEquals("UNKNOWN", RequestLoggingFilter.route(new MockHttpServletRequest("GET", "/api/slots/1"), 401));
+    }
+}
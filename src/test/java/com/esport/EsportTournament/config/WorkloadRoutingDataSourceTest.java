@@ -0,0 +1,89 @@
+package com.esport.EsportTournament.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class WorkloadRoutingDataSourceTest {
+
+    @DbWorkload(Workload.BOOKING)
+    static class Bookings {
+        Workload book() {
+            return Workload.current();
+        }
+
+        @DbWorkload(Workload.ANALYTICS)
+        Workload stats() {
+            return Workload.current();
+        }
+    }
+
+    @Test
+    void advisorBindsClassWorkloadAndMethodOverride() {
+        ProxyFactory factory = new ProxyFactory(new Bookings());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(DataSourceRoutingConfig.dbWorkloadAdvisor());
+        Bookings bookings = (Bookings) factory.getProxy();
+
+        assertEquals(Workload.BOOKING, bookings.book());
+        assertEquals(Workload.ANALYTICS, bookings.stats());
+        assertEquals(Workload.DEFAULT, Workload.current());
+    }
+
+    @Test
+    void connectionsComeFromTheCurrentWorkloadsPool() {
+        DataSource primary = mock(DataSource.class);
+        DataSource booking = mock(DataSource.class);
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource(primary, Map.of(Workload.BOOKING, booking));
+
+        assertSame(primary, routing.currentPool());
+        Workload.run(Workload.BOOKING, () -> assertSame(booking, routing.currentPool()));
+        // No scheduler pool configured: falls back to the primary pool
+        Workload.run(Workload.SCHEDULER, () -> assertSame(primary, routing.currentPool()));
+    }
+
+    @Test
+    void bulkheadsAreCarvedOutOfThePrimaryBudget() throws Exception {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:h2:mem:bulkheads");
+        primary.setDriverClassName("org.h2.Driver");
+        primary.setMaximumPoolSize(12);
+
+        try (WorkloadRoutingDataSource routing = config(4, 2, 3)
+                .workloadRoutingDataSource(primary, new SimpleMeterRegistry())) {
+            assertEquals(3, primary.getMaximumPoolSize());
+            Workload.run(Workload.SCHEDULER,
+                    () -> assertEquals(3, ((HikariDataSource) routing.currentPool()).getMaximumPoolSize()));
+        }
+    }
+
+    @Test
+    void bulkheadsThatLeaveTooLittleForThePrimaryFailStartup() {
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:h2:mem:bulkheads");
+        primary.setDriverClassName("org.h2.Driver");
+        primary.setMaximumPoolSize(10);
+
+        assertThrows(IllegalStateException.class,
+                () -> config(6, 3, 2).workloadRoutingDataSource(primary, new SimpleMeterRegistry()));
+        assertEquals(10, primary.getMaximumPoolSize());
+    }
+
+    private static DataSourceRoutingConfig config(int booking, int analytics, int scheduler) {
+        DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+        ReflectionTestUtils.setField(config, "bulkheadsEnabled", true);
+        ReflectionTestUtils.setField(config, "bookingPoolSize", booking);
+        ReflectionTestUtils.setField(config, "analyticsPoolSize", analytics);
+        ReflectionTestUtils.setField(config, "schedulerPoolSize", scheduler);
+        ReflectionTestUtils.setField(config, "schedulingThreads", 1);
+        return config;
+    }
+}
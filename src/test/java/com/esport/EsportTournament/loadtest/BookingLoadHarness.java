@@ -0,0 +1,537 @@
+package com.esport.EsportTournament.loadtest;
+
+import com.esport.EsportTournament.model.Slots;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.model.Wallet;
+import com.esport.EsportTournament.model.WalletLedger;
+import com.esport.EsportTournament.repository.SlotRepo;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.repository.UsersRepo;
+import com.esport.EsportTournament.repository.WalletLedgerRepository;
+import com.esport.EsportTournament.repository.WalletRepo;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tournament-open load harness: seeds players with funded wallets and one UPCOMING
+ * tournament, then releases every player at once against /api/slots/book, /book-team and
+ * /book-next over real HTTP. Reports throughput, p50/p99/p999 per endpoint, outcome
+ * counts (lock conflicts, slot taken, sold out, ...) and checks the booking invariants:
+ * no slot handed to two players, no negative balance, ledger sum equals wallet balance,
+ * debits equal entry fee × booked slots, booked_count equals booked rows.
+ *
+ * Local stand-ins: in-memory H2 (or -Dload.db.url for an empty Postgres, migrated by
+ * Flyway), {@link FakeRedisServer} for locks and caches, and a filter that trusts
+ * an X-Load-Test-User header instead of verifying Firebase tokens. Seeded users have no device
+ * token, so notifications stop before FCM.
+ *
+ * Not part of the default test run (the class name is outside Surefire's includes):
+ *   mvn test -Dtest=BookingLoadHarness -Dsurefire.failIfNoSpecifiedTests=false \
+ *       -Dload.players=400 -Dload.slots=100 -Dload.concurrency=64
+ * Options (system properties): load.players, load.slots, load.concurrency, load.attempts,
+ * load.entry-fee, load.starting-coins, load.team-size, load.mix (e.g. book:50,book-next:35,book-team:15),
+ * load.seed, load.report (default target/load-report.json), load.db.url/user/password.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.data.redis.ssl.enabled=false"
+})
+class BookingLoadHarness {
+
+    private static final String BOOK = "book";
+    private static final String BOOK_NEXT = "book-next";
+    private static final String BOOK_TEAM = "book-team";
+
+    private static final String USER_HEADER = "X-Load-Test-User";
+
+    private static final FakeRedisServer REDIS = startRedis();
+
+    private final int players = Integer.getInteger("load.players", 400);
+    private final int slots = Integer.getInteger("load.slots", 100);
+    private final int concurrency = Integer.getInteger("load.concurrency", 64);
+    private final int attempts = Integer.getInteger("load.attempts", 3);
+    private final int entryFee = Integer.getInteger("load.entry-fee", 20);
+    private final int startingCoins = Integer.getInteger("load.starting-coins", 100);
+    private final int teamSize = Integer.getInteger("load.team-size", 4);
+    private final long seed = Long.getLong("load.seed", 42L);
+    private final Map<String, Integer> mix = parseMix(System.getProperty("load.mix", "book:50,book-next:35,book-team:15"));
+    private final Path reportPath = Path.of(System.getProperty("load.report", "target/load-report.json"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TournamentRepo tournamentRepo;
+    @Autowired
+    private UsersRepo usersRepo;
+    @Autowired
+    private WalletRepo walletRepo;
+    @Autowired
+    private WalletLedgerRepository walletLedgerRepository;
+    @Autowired
+    private SlotRepo slotRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * A slot acknowledged to a player with HTTP 200.
+     */
+    private record Grant(int slotNumber, String uid) {
+    }
+
+    /**
+     * Treats the X-Load-Test-User header as an already verified Firebase identity. Runs ahead
+     * of Spring Security and hands the context over through the request attribute the
+     * stateless security context repository reads, so the app's own filters (Firebase token
+     * check skipped for lack of a Bearer header, role injection, rate limits) run unchanged.
+     */
+    @TestConfiguration
+    static class TrustedUserHeader {
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> trustedUserFilter() {
+            FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain filterChain) throws ServletException, IOException {
+                    String uid = request.getHeader(USER_HEADER);
+                    if (uid != null && !uid.isBlank()) {
+                        request.setAttribute(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME,
+                                new SecurityContextImpl(new UsernamePasswordAuthenticationToken(uid, null, List.of())));
+                    }
+                    filterChain.doFilter(request, response);
+                }
+            });
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @DynamicPropertySource
+    static void standIns(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+        String dbUrl = System.getProperty("load.db.url", "");
+        if (!dbUrl.isBlank()) {
+            registry.add("spring.datasource.url", () -> dbUrl);
+            registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+            registry.add("spring.datasource.username", () -> System.getProperty("load.db.user", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("load.db.password", ""));
+            registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+            registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+            registry.add("spring.flyway.enabled", () -> "true");
+        }
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @Test
+    void tournamentOpen() throws Exception {
+        int tournamentId = seedTournament();
+        List<String> uids = seedPlayers();
+        log.info("🏁 Load run: {} players, {} slots, concurrency {}, mix {}", players, slots, concurrency, mix);
+
+        Map<String, Recorder> recorders = new LinkedHashMap<>();
+        mix.keySet().forEach(endpoint -> recorders.put(endpoint, new Recorder()));
+        ConcurrentLinkedQueue<Grant> grants = new ConcurrentLinkedQueue<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> sessions = new ArrayList<>();
+        for (int i = 0; i < uids.size(); i++) {
+            int player = i;
+            String endpoint = pick(new Random(seed + i));
+            sessions.add(pool.submit(() -> {
+                start.await();
+                playerSession(tournamentId, player, uids.get(player), endpoint, recorders.get(endpoint), grants);
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (var session : sessions) {
+            session.get();
+        }
+        long elapsedNanos = System.nanoTime() - began;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        Map<String, Object> invariants = checkInvariants(tournamentId, uids, grants);
+        Map<String, Object> report = report(elapsedNanos, recorders, invariants);
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writeValue(reportPath.toFile(), report);
+        System.out.println(objectMapper.writeValueAsString(report));
+        log.info("📄 Load report written to {}", reportPath.toAbsolutePath());
+
+        invariants.forEach((name, result) -> assertTrue(Boolean.TRUE.equals(((Map<?, ?>) result).get("ok")),
+                "Invariant violated: " + name + " " + result));
+    }
+
+    // ── Player behaviour ──
+
+    private void playerSession(int tournamentId, int player, String uid, String endpoint, Recorder recorder,
+                               ConcurrentLinkedQueue<Grant> grants) {
+        Random random = new Random(seed * 31 + player);
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            HttpRequest request = switch (endpoint) {
+                case BOOK -> post("/api/slots/book", uid, player, Map.of(
+                        "tournamentId", tournamentId,
+                        "slotNumber", 1 + random.nextInt(slots),
+                        "playerName", "player" + player));
+                case BOOK_TEAM -> {
+                    int firstSlot = 1 + teamSize * random.nextInt(Math.max(slots / teamSize, 1));
+                    List<Map<String, Object>> team = new ArrayList<>();
+                    for (int m = 0; m < teamSize; m++) {
+                        team.add(Map.of("slotNumber", firstSlot + m, "playerName", "player" + player + "_" + m));
+                    }
+                    yield post("/api/slots/book-team", uid, player, Map.of("tournamentId", tournamentId, "players", team));
+                }
+                default -> post("/api/slots/book-next/" + tournamentId, uid, player,
+                        Map.of("playerName", "player" + player));
+            };
+
+            long sent = System.nanoTime();
+            String outcome;
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                outcome = classify(response, uid, grants);
+            } catch (IOException e) {
+                outcome = "transport_error";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorder.record(System.nanoTime() - sent, outcome);
+
+            // Players retry contention; everything else ends their session
+            if (!"lock_conflict".equals(outcome) && !"slot_taken".equals(outcome)) {
+                return;
+            }
+        }
+    }
+
+    private HttpRequest post(String path, String uid, int player, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                    .timeout(Duration.ofSeconds(30))
+                    .header(USER_HEADER, uid)
+                    .header("Content-Type", "application/json")
+                    // One client address per player, as on mobile networks; keeps per-IP limits per player
+                    .header("X-Forwarded-For", "10." + (player >> 16 & 255) + "." + (player >> 8 & 255) + "." + (player & 255))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String classify(HttpResponse<String> response, String uid, ConcurrentLinkedQueue<Grant> grants)
+            throws IOException {
+        JsonNode body = response.body().isBlank() ? objectMapper.nullNode() : objectMapper.readTree(response.body());
+        if (response.statusCode() == 200) {
+            for (JsonNode slot : body.isArray() ? body : List.of(body)) {
+                grants.add(new Grant(slot.path("slotNumber").asInt(), uid));
+            }
+            return "booked";
+        }
+        String message = body.path("message").asText("");
+        if (message.contains("currently being booked") || message.contains("still processing")) {
+            return "lock_conflict";
+        }
+        if (message.contains("already booked")) {
+            return "slot_taken";
+        }
+        if (message.contains("No available slots")) {
+            return "sold_out";
+        }
+        if (message.contains("Insufficient balance")) {
+            return "insufficient_balance";
+        }
+        return "http_" + response.statusCode();
+    }
+
+    private String pick(Random random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return BOOK_NEXT;
+    }
+
+    // ── Seeding ──
+
+    private int seedTournament() {
+        Tournaments tournament = new Tournaments();
+        tournament.setName("Load test open");
+        tournament.setGame("BGMI");
+        tournament.setGameMode("Classic");
+        tournament.setMapType("Erangel");
+        tournament.setTeamSize("SQUAD");
+        tournament.setMaxPlayers(slots);
+        tournament.setEntryFees(entryFee);
+        tournament.setPrizePool(entryFee * slots);
+        tournament.setStatus(Tournaments.TournamentStatus.UPCOMING);
+        tournament.setStartTime(LocalDateTime.now().plusDays(1));
+        tournament.setCreatedAt(LocalDateTime.now());
+        Tournaments saved = tournamentRepo.save(tournament);
+
+        // All rows up front (SlotProvisioningService's bulk insert is Postgres-only SQL)
+        List<Slots> rows = new ArrayList<>();
+        for (int number = 1; number <= slots; number++) {
+            Slots slot = new Slots();
+            slot.setTournaments(saved);
+            slot.setSlotNumber(number);
+            slot.setStatus(Slots.SlotStatus.AVAILABLE);
+            rows.add(slot);
+        }
+        slotRepo.saveAll(rows);
+        return saved.getId();
+    }
+
+    private List<String> seedPlayers() {
+        return transactionTemplate.execute(status -> {
+            List<String> uids = new ArrayList<>();
+            List<Users> users = new ArrayList<>();
+            for (int i = 0; i < players; i++) {
+                Users user = new Users();
+                user.setFirebaseUserUID("load-" + seed + "-" + i);
+                user.setEmail("load-" + seed + "-" + i + "@load.test");
+                user.setUserName("player" + i);
+                user.setCreatedAt(LocalDateTime.now());
+                users.add(user);
+                uids.add(user.getFirebaseUserUID());
+            }
+            usersRepo.saveAll(users);
+            for (Users user : users) {
+                Wallet wallet = new Wallet();
+                wallet.setUserId(user);
+                wallet.setCoins(startingCoins);
+                wallet.setLastUpdated(LocalDateTime.now());
+                walletRepo.save(wallet);
+                walletLedgerRepository.save(WalletLedger.builder()
+                        .user(user).wallet(wallet)
+                        .direction(WalletLedger.Direction.CREDIT)
+                        .amount(startingCoins).balanceAfter(startingCoins)
+                        .referenceType("LOAD_TEST_SEED").createdBy("load-test")
+                        .build());
+            }
+            return uids;
+        });
+    }
+
+    // ── Invariants ──
+
+    private Map<String, Object> checkInvariants(int tournamentId, List<String> uids, ConcurrentLinkedQueue<Grant> grants) {
+        Map<String, Object> results = new LinkedHashMap<>();
+
+        // Every slot number acknowledged with 200 went to exactly one player, and the row agrees
+        Map<Integer, String> grantedTo = new LinkedHashMap<>();
+        long doubleGrants = grants.stream().filter(g -> grantedTo.putIfAbsent(g.slotNumber(), g.uid()) != null).count();
+        Map<Integer, String> owners = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT slot_number, firebase_useruid FROM slots WHERE tournament_id = ? AND status = 'BOOKED'",
+                (RowCallbackHandler) rs -> owners.put(rs.getInt(1), rs.getString(2)), tournamentId);
+        long mismatched = grantedTo.entrySet().stream()
+                .filter(e -> !e.getValue().equals(owners.get(e.getKey())))
+                .count();
+        Integer duplicateRows = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM (SELECT slot_number FROM slots WHERE tournament_id = ?
+                                      GROUP BY slot_number HAVING COUNT(*) > 1) d
+                """, Integer.class, tournamentId);
+        results.put("no_double_booking", invariant(doubleGrants == 0 && mismatched == 0 && duplicateRows == 0
+                        && owners.size() == grantedTo.size(),
+                Map.of("granted", grantedTo.size(), "bookedRows", owners.size(), "doubleGrants", doubleGrants,
+                        "ownerMismatches", mismatched, "duplicateSlotRows", duplicateRows)));
+
+        Integer negative = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM wallet WHERE coins < 0", Integer.class);
+        results.put("no_negative_balance", invariant(negative == 0, Map.of("negativeWallets", negative)));
+
+        Integer ledgerMismatches = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    SELECT w.id FROM wallet w LEFT JOIN wallet_ledger l ON l.wallet_id = w.id
+                    GROUP BY w.id, w.coins
+                    HAVING w.coins <> COALESCE(SUM(CASE WHEN l.direction = 'CREDIT' THEN l.amount ELSE -l.amount END), 0)
+                ) m
+                """, Integer.class);
+        results.put("ledger_matches_wallet", invariant(ledgerMismatches == 0, Map.of("mismatchedWallets", ledgerMismatches)));
+
+        Long debited = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM wallet_ledger WHERE direction = 'DEBIT' AND reference_id = ?",
+                Long.class, String.valueOf(tournamentId));
+        long expected = (long) entryFee * owners.size();
+        results.put("debits_match_bookings", invariant(debited == expected, Map.of("debited", debited, "expected", expected)));
+
+        Integer bookedCount = jdbcTemplate.queryForObject(
+                "SELECT booked_count FROM tournaments WHERE id = ?", Integer.class, tournamentId);
+        results.put("booked_count_matches_rows", invariant(bookedCount == owners.size(),
+                Map.of("bookedCount", bookedCount, "bookedRows", owners.size())));
+        return results;
+    }
+
+    private static Map<String, Object> invariant(boolean ok, Map<String, Object> detail) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("ok", ok);
+        result.putAll(detail);
+        return result;
+    }
+
+    // ── Reporting ──
+
+    private Map<String, Object> report(long elapsedNanos, Map<String, Recorder> recorders, Map<String, Object> invariants) {
+        double seconds = elapsedNanos / 1e9;
+        long requests = recorders.values().stream().mapToLong(Recorder::count).sum();
+        long lockConflicts = recorders.values().stream().mapToLong(r -> r.outcome("lock_conflict")).sum();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", Map.of("players", players, "slots", slots, "concurrency", concurrency,
+                "attempts", attempts, "entryFee", entryFee, "startingCoins", startingCoins,
+                "teamSize", teamSize, "mix", mix, "seed", seed,
+                "database", System.getProperty("load.db.url", "h2:mem")));
+        report.put("durationSeconds", round(seconds));
+        report.put("requests", requests);
+        report.put("throughputPerSecond", round(requests / seconds));
+        report.put("lockFailureRate", requests == 0 ? 0 : round((double) lockConflicts / requests));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorders.forEach((endpoint, recorder) -> endpoints.put(endpoint, recorder.summary()));
+        report.put("endpoints", endpoints);
+        report.put("invariants", invariants);
+        report.put("redisCommands", REDIS.getCommandCounts());
+        return report;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * Latencies and outcomes for one endpoint.
+     */
+    private static final class Recorder {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+
+        void record(long nanos, String outcome) {
+            latencies.add(nanos);
+            outcomes.computeIfAbsent(outcome, o -> new AtomicLong()).incrementAndGet();
+        }
+
+        long count() {
+            return latencies.size();
+        }
+
+        long outcome(String name) {
+            AtomicLong count = outcomes.get(name);
+            return count == null ? 0 : count.get();
+        }
+
+        Map<String, Object> summary() {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", sorted.length);
+            Map<String, Long> counts = new LinkedHashMap<>();
+            outcomes.forEach((name, count) -> counts.put(name, count.get()));
+            summary.put("outcomes", counts);
+            summary.put("lockFailureRate", sorted.length == 0 ? 0 : round((double) outcome("lock_conflict") / sorted.length));
+            summary.put("p50Ms", percentileMillis(sorted, 0.50));
+            summary.put("p99Ms", percentileMillis(sorted, 0.99));
+            summary.put("p999Ms", percentileMillis(sorted, 0.999));
+            summary.put("maxMs", sorted.length == 0 ? 0 : round(sorted[sorted.length - 1] / 1e6));
+            return summary;
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return round(sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6);
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        Arrays.stream(spec.split(",")).map(String::trim).filter(s -> !s.isEmpty()).forEach(part -> {
+            String[] kv = part.split(":");
+            String endpoint = kv[0].trim();
+            if (!List.of(BOOK, BOOK_NEXT, BOOK_TEAM).contains(endpoint)) {
+                throw new IllegalArgumentException("Unknown endpoint in load.mix: " + endpoint);
+            }
+            weights.put(endpoint, kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+        });
+        return weights;
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package com.esport.EsportTournament.loadtest;
+
+import com.esport.EsportTournament.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.regex.Pattern;
+
+/**
+ * In-process Redis stand-in speaking RESP2 on a loopback port, enough for what the app
+ * sends: strings with NX/XX and expiry (locks, cache entries, versions), hashes (slot
+ * counters), KEYS/SCAN (cache clears), DEL/EXISTS/EXPIRE and channel pub/sub (cache
+ * invalidation between instances). Commands run one at a time under a single monitor, like
+ * the real single-threaded server, so SET NX is atomic.
+ *
+ * Scripting is limited to Java twins of the idempotency compare-and-set scripts, run by EVAL
+ * under the same monitor. EVALSHA always answers NOSCRIPT (clients fall back to EVAL) and any
+ * other script is an error, which the slot counter already treats as "evict and rebuild from
+ * the column".
+ */
+@Slf4j
+public class FakeRedisServer implements AutoCloseable {
+
+    private record Entry(Object value, long expiresAt) {
+        boolean expired(long now) {
+            return expiresAt > 0 && expiresAt <= now;
+        }
+    }
+
+    private static final byte[] OK = "+OK\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL_BULK = "$-1\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final Map<String, Entry> data = new HashMap<>();
+    // Script source -> Java twin, given KEYS and ARGV
+    private final Map<String, BiFunction<List<byte[]>, List<byte[]>, byte[]>> scripts = Map.of(
+            IdempotencyService.COMPLETE_IF_OWNED.getScriptAsString(), this::completeIfOwned,
+            IdempotencyService.RELEASE_IF_OWNED.getScriptAsString(), this::releaseIfOwned);
+    private final Map<String, AtomicLong> commandCounts = new ConcurrentHashMap<>();
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+
+    public FakeRedisServer() throws IOException {
+        serverSocket = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+        connections.submit(this::accept);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Commands served so far, by name.
+     */
+    public Map<String, Long> getCommandCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        commandCounts.forEach((name, count) -> counts.put(name, count.get()));
+        return counts;
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.submit(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Fake Redis accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Client socket output; published messages are written to it from other connections' threads.
+     */
+    private static final class Connection {
+        private final OutputStream out;
+        private final Set<String> channels = ConcurrentHashMap.newKeySet();
+
+        Connection(OutputStream out) {
+            this.out = out;
+        }
+
+        synchronized void write(byte[] bytes, boolean flush) throws IOException {
+            out.write(bytes);
+            if (flush) {
+                out.flush();
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Connection connection = null;
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            connection = new Connection(out);
+            List<byte[]> command;
+            while ((command = readCommand(in)) != null) {
+                byte[] reply = pubSub(command, connection);
+                if (reply == null) {
+                    synchronized (data) {
+                        reply = execute(command);
+                    }
+                }
+                connection.write(reply, in.available() == 0);
+            }
+        } catch (IOException e) {
+            log.debug("Fake Redis connection closed: {}", e.getMessage());
+        } finally {
+            if (connection != null) {
+                for (String channel : connection.channels) {
+                    subscribers.getOrDefault(channel, Set.of()).remove(connection);
+                }
+            }
+        }
+    }
+
+    /**
+     * SUBSCRIBE, UNSUBSCRIBE and PUBLISH, which need the calling connection; null for any other command.
+     */
+    private byte[] pubSub(List<byte[]> command, Connection connection) {
+        String name = text(command.get(0)).toUpperCase(Locale.ROOT);
+        switch (name) {
+            case "SUBSCRIBE", "UNSUBSCRIBE" -> {
+                commandCounts.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+                boolean subscribe = name.equals("SUBSCRIBE");
+                List<String> channels = new ArrayList<>();
+                for (int i = 1; i < command.size(); i++) {
+                    channels.add(text(command.get(i)));
+                }
+                if (!subscribe && channels.isEmpty()) {
+                    channels.addAll(connection.channels);
+                }
+                ByteArrayBuilder reply = new ByteArrayBuilder();
+                for (String channel : channels) {
+                    if (subscribe) {
+                        connection.channels.add(channel);
+                        subscribers.computeIfAbsent(channel, c -> ConcurrentHashMap.newKeySet()).add(connection);
+                    } else {
+                        connection.channels.remove(channel);
+                        subscribers.getOrDefault(channel, Set.of()).remove(connection);
+                    }
+                    reply.append("*3\r\n").append(bulk(name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8)))
+                            .append(bulk(channel.getBytes(StandardCharsets.UTF_8)))
+                            .append(integer(connection.channels.size()));
+                }
+                if (channels.isEmpty()) {
+                    reply.append("*3\r\n").append(bulk("unsubscribe".getBytes(StandardCharsets.UTF_8)))
+                            .append(NULL_BULK).append(integer(0));
+                }
+                return reply.toByteArray();
+            }
+            case "PUBLISH" -> {
+                commandCounts.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+                byte[] message = new ByteArrayBuilder().append("*3\r\n").append(bulk("message".getBytes(StandardCharsets.UTF_8)))
+                        .append(bulk(command.get(1))).append(bulk(command.get(2))).toByteArray();
+                int delivered = 0;
+                for (Connection subscriber : subscribers.getOrDefault(text(command.get(1)), Set.of())) {
+                    try {
+                        subscriber.write(message, true);
+                        delivered++;
+                    } catch (IOException e) {
+                        log.debug("Fake Redis subscriber gone: {}", e.getMessage());
+                    }
+                }
+                return integer(delivered);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        String header = readLine(in);
+        if (header == null) {
+            return null;
+        }
+        if (header.isEmpty() || header.charAt(0) != '*') {
+            // Inline command (redis-cli style), split on spaces
+            List<byte[]> inline = new ArrayList<>();
+            for (String part : header.trim().split("\\s+")) {
+                inline.add(part.getBytes(StandardCharsets.UTF_8));
+            }
+            return inline;
+        }
+        int count = Integer.parseInt(header.substring(1));
+        List<byte[]> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String length = readLine(in);
+            if (length == null || length.charAt(0) != '$') {
+                throw new IOException("Malformed RESP bulk header: " + length);
+            }
+            byte[] arg = in.readNBytes(Integer.parseInt(length.substring(1)));
+            in.readNBytes(2);
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\r') {
+                in.read();
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.isEmpty() ? null : line.toString();
+    }
+
+    private byte[] execute(List<byte[]> command) {
+        String name = text(command.get(0)).toUpperCase(Locale.ROOT);
+        commandCounts.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+        long now = System.currentTimeMillis();
+        try {
+            return switch (name) {
+                case "PING" -> simple("PONG");
+                case "HELLO" -> error("ERR unknown command 'HELLO'");
+                case "CLIENT", "SELECT", "AUTH", "READONLY", "QUIT" -> OK;
+                case "INFO" -> bulk("# Server\r\nredis_version:7.2.0\r\nredis_mode:standalone\r\n"
+                        .getBytes(StandardCharsets.UTF_8));
+                case "DBSIZE" -> integer(data.size());
+                case "FLUSHALL", "FLUSHDB" -> {
+                    data.clear();
+                    yield OK;
+                }
+                case "GET" -> {
+                    Entry entry = live(text(command.get(1)), now);
+                    yield entry == null ? NULL_BULK : bulk((byte[]) entry.value());
+                }
+                case "SET" -> set(command, now);
+                case "SETNX" -> {
+                    String key = text(command.get(1));
+                    if (live(key, now) != null) {
+                        yield integer(0);
+                    }
+                    data.put(key, new Entry(command.get(2), 0));
+                    yield integer(1);
+                }
+                case "SETEX", "PSETEX" -> {
+                    long ttl = Long.parseLong(text(command.get(2)));
+                    data.put(text(command.get(1)), new Entry(command.get(3),
+                            now + ("SETEX".equals(name) ? ttl * 1000 : ttl)));
+                    yield OK;
+                }
+                case "INCR", "INCRBY", "DECR", "DECRBY" -> {
+                    String key = text(command.get(1));
+                    long delta = command.size() > 2 ? Long.parseLong(text(command.get(2))) : 1;
+                    if (name.startsWith("DECR")) {
+                        delta = -delta;
+                    }
+                    Entry entry = live(key, now);
+                    long value = (entry == null ? 0 : Long.parseLong(text((byte[]) entry.value()))) + delta;
+                    data.put(key, new Entry(String.valueOf(value).getBytes(StandardCharsets.UTF_8),
+                            entry == null ? 0 : entry.expiresAt()));
+                    yield integer(value);
+                }
+                case "DEL", "UNLINK" -> {
+                    int removed = 0;
+                    for (int i = 1; i < command.size(); i++) {
+                        if (live(text(command.get(i)), now) != null) {
+                            data.remove(text(command.get(i)));
+                            removed++;
+                        }
+                    }
+                    yield integer(removed);
+                }
+                case "EXISTS" -> {
+                    int present = 0;
+                    for (int i = 1; i < command.size(); i++) {
+                        if (live(text(command.get(i)), now) != null) {
+                            present++;
+                        }
+                    }
+                    yield integer(present);
+                }
+                case "EXPIRE", "PEXPIRE" -> {
+                    String key = text(command.get(1));
+                    Entry entry = live(key, now);
+                    if (entry == null) {
+                        yield integer(0);
+                    }
+                    long ttl = Long.parseLong(text(command.get(2)));
+                    data.put(key, new Entry(entry.value(), now + ("EXPIRE".equals(name) ? ttl * 1000 : ttl)));
+                    yield integer(1);
+                }
+                case "TTL", "PTTL" -> {
+                    Entry entry = live(text(command.get(1)), now);
+                    if (entry == null) {
+                        yield integer(-2);
+                    }
+                    if (entry.expiresAt() == 0) {
+                        yield integer(-1);
+                    }
+                    long remaining = entry.expiresAt() - now;
+                    yield integer("TTL".equals(name) ? remaining / 1000 : remaining);
+                }
+                case "HSET", "HMSET" -> {
+                    Map<String, byte[]> hash = hash(text(command.get(1)), now, true);
+                    int added = 0;
+                    for (int i = 2; i + 1 < command.size(); i += 2) {
+                        if (hash.put(text(command.get(i)), command.get(i + 1)) == null) {
+                            added++;
+                        }
+                    }
+                    yield "HMSET".equals(name) ? OK : integer(added);
+                }
+                case "HGET" -> {
+                    Map<String, byte[]> hash = hash(text(command.get(1)), now, false);
+                    byte[] value = hash == null ? null : hash.get(text(command.get(2)));
+                    yield value == null ? NULL_BULK : bulk(value);
+                }
+                case "HMGET" -> {
+                    Map<String, byte[]> hash = hash(text(command.get(1)), now, false);
+                    List<byte[]> values = new ArrayList<>();
+                    for (int i = 2; i < command.size(); i++) {
+                        values.add(hash == null ? null : hash.get(text(command.get(i))));
+                    }
+                    yield array(values);
+                }
+                case "HGETALL" -> {
+                    Map<String, byte[]> hash = hash(text(command.get(1)), now, false);
+                    List<byte[]> values = new ArrayList<>();
+                    if (hash != null) {
+                        hash.forEach((field, value) -> {
+                            values.add(field.getBytes(StandardCharsets.UTF_8));
+                            values.add(value);
+                        });
+                    }
+                    yield array(values);
+                }
+                case "HINCRBY" -> {
+                    Map<String, byte[]> hash = hash(text(command.get(1)), now, true);
+                    String field = text(command.get(2));
+                    byte[] current = hash.get(field);
+                    long value = (current == null ? 0 : Long.parseLong(text(current)))
+                            + Long.parseLong(text(command.get(3)));
+                    hash.put(field, String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+                    yield integer(value);
+                }
+                case "HDEL" -> {
+                    Map<String, byte[]> hash = hash(text(command.get(1)), now, false);
+                    int removed = 0;
+                    for (int i = 2; hash != null && i < command.size(); i++) {
+                        if (hash.remove(text(command.get(i))) != null) {
+                            removed++;
+                        }
+                    }
+                    yield integer(removed);
+                }
+                case "KEYS" -> array(matching(text(command.get(1)), now));
+                case "SCAN" -> {
+                    String pattern = "*";
+                    for (int i = 2; i + 1 < command.size(); i += 2) {
+                        if ("MATCH".equalsIgnoreCase(text(command.get(i)))) {
+                            pattern = text(command.get(i + 1));
+                        }
+                    }
+                    // Everything in one page: cursor 0 ends the iteration
+                    ByteArrayBuilder reply = new ByteArrayBuilder().append("*2\r\n").append(bulk("0".getBytes()));
+                    yield reply.append(array(matching(pattern, now))).toByteArray();
+                }
+                case "EVALSHA" -> error("NOSCRIPT No matching script. Please use EVAL.");
+                case "EVAL" -> {
+                    var script = scripts.get(text(command.get(1)));
+                    if (script == null) {
+                        yield error("ERR scripting is not supported by the load-test Redis stand-in");
+                    }
+                    int keys = Integer.parseInt(text(command.get(2)));
+                    yield script.apply(command.subList(3, 3 + keys), command.subList(3 + keys, command.size()));
+                }
+                default -> error("ERR unknown command '" + name + "'");
+            };
+        } catch (RuntimeException e) {
+            return error("ERR " + e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private boolean holds(byte[] key, byte[] expected) {
+        Entry entry = live(text(key), System.currentTimeMillis());
+        return entry != null && Arrays.equals((byte[]) entry.value(), expected);
+    }
+
+    // if GET(KEYS[1]) == ARGV[1] then SET KEYS[1] ARGV[2] EX ARGV[3]; return 1 end; return 0
+    private byte[] completeIfOwned(List<byte[]> keys, List<byte[]> args) {
+        if (!holds(keys.get(0), args.get(0))) {
+            return integer(0);
+        }
+        long ttlMillis = Long.parseLong(text(args.get(2))) * 1000;
+        data.put(text(keys.get(0)), new Entry(args.get(1), System.currentTimeMillis() + ttlMillis));
+        return integer(1);
+    }
+
+    // if GET(KEYS[1]) == ARGV[1] then return DEL KEYS[1] end; return 0
+    private byte[] releaseIfOwned(List<byte[]> keys, List<byte[]> args) {
+        if (!holds(keys.get(0), args.get(0))) {
+            return integer(0);
+        }
+        data.remove(text(keys.get(0)));
+        return integer(1);
+    }
+
+    private byte[] set(List<byte[]> command, long now) {
+        String key = text(command.get(1));
+        long expiresAt = 0;
+        boolean nx = false;
+        boolean xx = false;
+        for (int i = 3; i < command.size(); i++) {
+            String option = text(command.get(i)).toUpperCase(Locale.ROOT);
+            switch (option) {
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "EX" -> expiresAt = now + Long.parseLong(text(command.get(++i))) * 1000;
+                case "PX" -> expiresAt = now + Long.parseLong(text(command.get(++i)));
+                case "KEEPTTL" -> {
+                    Entry existing = live(key, now);
+                    expiresAt = existing != null ? existing.expiresAt() : 0;
+                }
+                default -> {
+                    return error("ERR syntax error");
+                }
+            }
+        }
+        boolean exists = live(key, now) != null;
+        if ((nx && exists) || (xx && !exists)) {
+            return NULL_BULK;
+        }
+        data.put(key, new Entry(command.get(2), expiresAt));
+        return OK;
+    }
+
+    private Entry live(String key, long now) {
+        Entry entry = data.get(key);
+        if (entry != null && entry.expired(now)) {
+            data.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> hash(String key, long now, boolean create) {
+        Entry entry = live(key, now);
+        if (entry == null) {
+            if (!create) {
+                return null;
+            }
+            entry = new Entry(new HashMap<String, byte[]>(), 0);
+            data.put(key, entry);
+        }
+        if (!(entry.value() instanceof Map)) {
+            throw new IllegalStateException("WRONGTYPE Operation against a key holding the wrong kind of value");
+        }
+        return (Map<String, byte[]>) entry.value();
+    }
+
+    private List<byte[]> matching(String glob, long now) {
+        Pattern pattern = Pattern.compile(globToRegex(glob));
+        List<byte[]> keys = new ArrayList<>();
+        Iterator<Map.Entry<String, Entry>> it = data.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> entry = it.next();
+            if (entry.getValue().expired(now)) {
+                it.remove();
+            } else if (pattern.matcher(entry.getKey()).matches()) {
+                keys.add(entry.getKey().getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return keys;
+    }
+
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] simple(String value) {
+        return ("+" + value + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] error(String message) {
+        return ("-" + message + "\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] integer(long value) {
+        return (":" + value + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] bulk(byte[] value) {
+        return new ByteArrayBuilder().append("$" + value.length + "\r\n").append(value).append("\r\n").toByteArray();
+    }
+
+    private static byte[] array(List<byte[]> values) {
+        ByteArrayBuilder reply = new ByteArrayBuilder().append("*" + values.size() + "\r\n");
+        for (byte[] value : values) {
+            reply.append(value == null ? NULL_BULK : bulk(value));
+        }
+        return reply.toByteArray();
+    }
+
+    private static final class ByteArrayBuilder {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        ByteArrayBuilder append(String text) {
+            return append(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ByteArrayBuilder append(byte[] bytes) {
+            buffer.writeBytes(bytes);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
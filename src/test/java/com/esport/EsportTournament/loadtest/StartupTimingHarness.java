@@ -0,0 +1,294 @@
+package com.esport.EsportTournament.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.Driver;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cold-start report: launches the packaged app in a fresh JVM per run and measures
+ * startup-to-ready (process start until /actuator/health answers 200), the JVM-reported
+ * "Started ... in" time, and the latency of the first and following requests to
+ * /api/public/tournaments.
+ *
+ * Modes:
+ *   jar-lazy      today's image: fat jar, lazy initialization
+ *   jar-eager     fat jar, eager initialization
+ *   aot-eager     extracted jar with Spring AOT, eager
+ *   aot-cds-eager Dockerfile.cds: extracted jar, Spring AOT and the AppCDS archive of a
+ *                 training run (cds-training profile, same as the image build)
+ * All runs use the memory flags of the Dockerfile.
+ *
+ * Local stand-ins: in-memory H2 (schema from Hibernate, migrations skipped) and
+ * {@link FakeRedisServer}. Absolute times on Postgres differ; compare the modes.
+ *
+ * Needs the AOT jar and is not part of the default test run:
+ *   mvn -Pcds package -DskipTests
+ *   mvn test -Dtest=StartupTimingHarness -Dsurefire.failIfNoSpecifiedTests=false
+ * Options (system properties): startup.jar, startup.runs (per mode, default 3), startup.modes,
+ * startup.requests (after the first, default 20), startup.timeout-seconds (default 180),
+ * startup.report (default target/startup-report.json).
+ */
+@Slf4j
+class StartupTimingHarness {
+
+    private static final String MAIN_CLASS = "com.esport.EsportTournament.EsportTournamentApplication";
+    private static final String AOT_MARKER = "BOOT-INF/classes/com/esport/EsportTournament/"
+            + "EsportTournamentApplication__ApplicationContextInitializer.class";
+    private static final Pattern STARTED = Pattern.compile("Started EsportTournamentApplication in ([0-9.]+) seconds");
+
+    /**
+     * JVM flags of the Dockerfile (Render free tier).
+     */
+    private static final List<String> JAVA_OPTS = List.of(
+            "-Xms128m", "-Xmx256m", "-XX:MaxMetaspaceSize=256m", "-XX:ReservedCodeCacheSize=32m",
+            "-XX:+UseSerialGC", "-XX:+TieredCompilation", "-XX:TieredStopAtLevel=1",
+            "-Dspring.jmx.enabled=false", "-Dfile.encoding=UTF-8");
+
+    private final Path jar = Path.of(System.getProperty("startup.jar", "target/EsportTournament-0.0.1-SNAPSHOT.jar"));
+    private final int runs = Integer.getInteger("startup.runs", 3);
+    private final List<String> modes = Arrays.asList(
+            System.getProperty("startup.modes", "jar-lazy,jar-eager,aot-eager,aot-cds-eager").split(","));
+    private final int requests = Integer.getInteger("startup.requests", 20);
+    private final Duration timeout = Duration.ofSeconds(Long.getLong("startup.timeout-seconds", 180L));
+    private final Path reportPath = Path.of(System.getProperty("startup.report", "target/startup-report.json"));
+
+    private final Path workDir = Path.of("target", "startup").toAbsolutePath();
+    private final Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    /**
+     * One launch of the app.
+     */
+    private record Run(long readyMillis, double startedSeconds, double firstRequestMillis, double warmMedianMillis) {
+    }
+
+    @Test
+    void coldStart() throws Exception {
+        assertTrue(Files.exists(jar), jar + " not found; build it with: mvn -Pcds package -DskipTests");
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            assertTrue(zip.getEntry(AOT_MARKER) != null, jar + " has no AOT classes; build it with -Pcds");
+        }
+
+        Path extracted = extract();
+        Path archive = extracted.resolve("app.jsa");
+        if (modes.contains("aot-cds-eager")) {
+            train(extracted, archive);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("jar", jar.toString());
+        report.put("runsPerMode", runs);
+        Map<String, Object> results = new LinkedHashMap<>();
+        try (FakeRedisServer redis = new FakeRedisServer()) {
+            for (String mode : modes) {
+                List<Run> samples = new ArrayList<>();
+                for (int i = 0; i < runs; i++) {
+                    Run run = launch(mode, extracted, archive, redis.getPort(), i);
+                    log.info("⏱️ {} run {}: ready {} ms, first request {} ms", mode, i + 1,
+                            run.readyMillis(), String.format("%.1f", run.firstRequestMillis()));
+                    samples.add(run);
+                }
+                results.put(mode, summarize(samples));
+            }
+        }
+        report.put("modes", results);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(reportPath.toAbsolutePath().getParent());
+        objectMapper.writeValue(reportPath.toFile(), report);
+        System.out.println(objectMapper.writeValueAsString(report));
+        log.info("📄 Startup report written to {}", reportPath.toAbsolutePath());
+    }
+
+    // ── Build steps (same commands as Dockerfile.cds) ──
+
+    private Path extract() throws IOException, InterruptedException {
+        Path extracted = workDir.resolve("application");
+        Files.createDirectories(workDir);
+        Path copy = workDir.resolve("app.jar");
+        Files.copy(jar, copy, StandardCopyOption.REPLACE_EXISTING);
+        exec(List.of(java.toString(), "-Djarmode=tools", "-jar", copy.toString(),
+                "extract", "--force", "--destination", extracted.toString()), workDir.resolve("extract.log"));
+        return extracted;
+    }
+
+    private void train(Path extracted, Path archive) throws IOException, InterruptedException {
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>(List.of(java.toString()));
+        command.addAll(JAVA_OPTS);
+        command.addAll(List.of("-XX:ArchiveClassesAtExit=" + archive.toAbsolutePath(),
+                "-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh",
+                "-Dspring.profiles.active=cds-training",
+                "-jar", extracted.resolve("app.jar").toAbsolutePath().toString()));
+        long start = System.nanoTime();
+        exec(command, workDir.resolve("training.log"));
+        assertTrue(Files.exists(archive), "training run wrote no archive, see " + workDir.resolve("training.log"));
+        log.info("🧪 AppCDS training run took {} ms, archive {} MB",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), Files.size(archive) >> 20);
+    }
+
+    private void exec(List<String> command, Path output) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        if (!process.waitFor(timeout.toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("Timed out: " + String.join(" ", command));
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("Exit " + process.exitValue() + ", see " + output.toAbsolutePath());
+        }
+    }
+
+    // ── Measured launch ──
+
+    private Run launch(String mode, Path extracted, Path archive, int redisPort, int index) throws Exception {
+        int port = freePort();
+        String h2 = Path.of(Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+
+        List<String> command = new ArrayList<>(List.of(java.toString()));
+        command.addAll(JAVA_OPTS);
+        boolean lazy = mode.endsWith("lazy");
+        switch (mode) {
+            case "jar-lazy", "jar-eager" -> command.addAll(List.of(
+                    "-Dloader.path=" + h2, "-cp", jar.toAbsolutePath().toString(),
+                    "org.springframework.boot.loader.launch.PropertiesLauncher"));
+            case "aot-eager", "aot-cds-eager" -> {
+                if (mode.equals("aot-cds-eager")) {
+                    command.add("-XX:SharedArchiveFile=" + archive.toAbsolutePath());
+                }
+                command.addAll(List.of("-Dspring.aot.enabled=true",
+                        "-cp", extracted.resolve("app.jar").toAbsolutePath() + File.pathSeparator + h2,
+                        MAIN_CLASS));
+            }
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + mode);
+        }
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.main.lazy-initialization=" + lazy,
+                "--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--app.flyway.migrate-on-start=false",
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + redisPort,
+                "--spring.data.redis.ssl.enabled=false"));
+
+        Path output = workDir.resolve(mode + "-" + index + ".log");
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        try {
+            long readyMillis = awaitReady(process, port, start, output);
+            double firstRequest = timeRequest(port);
+            double[] warm = new double[requests];
+            for (int i = 0; i < requests; i++) {
+                warm[i] = timeRequest(port);
+            }
+            Arrays.sort(warm);
+            return new Run(readyMillis, startedSeconds(output), firstRequest, requests == 0 ? 0 : warm[requests / 2]);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private long awaitReady(Process process, int port, long start, Path output) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(uri(port, "/actuator/health")).timeout(Duration.ofSeconds(2)).build();
+        long deadline = start + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("App exited with " + process.exitValue() + ", see " + output.toAbsolutePath());
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+            } catch (IOException notListening) {
+                // not up yet
+            }
+            Thread.sleep(20);
+        }
+        throw new IllegalStateException("Not ready within " + timeout + ", see " + output.toAbsolutePath());
+    }
+
+    private double timeRequest(int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri(port, "/api/public/tournaments")).timeout(Duration.ofSeconds(30)).build();
+        long start = System.nanoTime();
+        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        if (status != 200) {
+            throw new IllegalStateException("GET /api/public/tournaments returned " + status);
+        }
+        return millis;
+    }
+
+    private static double startedSeconds(Path output) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(output));
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : -1;
+    }
+
+    private static Map<String, Object> summarize(List<Run> samples) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("readyMillisMedian", median(samples.stream().mapToDouble(Run::readyMillis).toArray()));
+        summary.put("startedSecondsMedian", median(samples.stream().mapToDouble(Run::startedSeconds).toArray()));
+        summary.put("firstRequestMillisMedian", median(samples.stream().mapToDouble(Run::firstRequestMillis).toArray()));
+        summary.put("warmRequestMillisMedian", median(samples.stream().mapToDouble(Run::warmMedianMillis).toArray()));
+        summary.put("runs", samples);
+        return summary;
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        return Math.round(values[values.length / 2] * 10) / 10.0;
+    }
+
+    private static URI uri(int port, String path) throws URISyntaxException {
+        return new URI("http://127.0.0.1:" + port + path);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
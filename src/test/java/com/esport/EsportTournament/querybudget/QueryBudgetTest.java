@@ -0,0 +1,367 @@
+package com.esport.EsportTournament.querybudget;
+
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.model.NotificationRead;
+import com.esport.EsportTournament.model.Notifications;
+import com.esport.EsportTournament.model.Slots;
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.model.Wallet;
+import com.esport.EsportTournament.model.rbac.AppPermission;
+import com.esport.EsportTournament.model.rbac.AppRole;
+import com.esport.EsportTournament.model.rbac.UserRole;
+import com.esport.EsportTournament.repository.NotificationReadRepo;
+import com.esport.EsportTournament.repository.NotificationRepo;
+import com.esport.EsportTournament.repository.SlotRepo;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.repository.UsersRepo;
+import com.esport.EsportTournament.repository.WalletRepo;
+import com.esport.EsportTournament.repository.rbac.AppPermissionRepository;
+import com.esport.EsportTournament.repository.rbac.AppRoleRepository;
+import com.esport.EsportTournament.repository.rbac.UserRoleRepository;
+import com.esport.EsportTournament.service.AnalyticsService;
+import com.esport.EsportTournament.service.NotificationService;
+import com.esport.EsportTournament.service.RbacService;
+import com.esport.EsportTournament.service.SlotService;
+import com.esport.EsportTournament.service.TournamentService;
+import com.esport.EsportTournament.service.WalletService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * SQL statement budgets for the main read and booking paths, measured from a cold cache
+ * against a data set big enough that a per-item query (N+1) blows the budget.
+ *
+ * A budget is the statement count of the call today; raise it only together with the change
+ * that needs the extra query, never to absorb a loop. Failures list the SQL that was issued.
+ * Endpoint budgets include the per-request cost of the security filters (user lookup and
+ * RBAC authorities in RoleInjectionFilter).
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.data.redis.ssl.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.esport.EsportTournament.querybudget.SqlStatementRecorder",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+
+    private static final int TOURNAMENTS = 12;
+    private static final int SLOTS_PER_TOURNAMENT = 10;
+    private static final int BOOKED_PER_TOURNAMENT = 6;
+    private static final int NOTIFICATIONS = 20;
+    private static final List<String> ROLES = List.of("USER", "OPERATOR", "MANAGER", "ADMIN", "SUPER_ADMIN");
+    private static final int PERMISSIONS_PER_ROLE = 3;
+
+    private static final String PLAYER = "budget-player-0";
+    private static final String ADMIN = "budget-admin";
+    private static final String BOOKER = "budget-booker";
+
+    private static final FakeRedisServer REDIS = startRedis();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepo tournamentRepo;
+    @Autowired
+    private SlotRepo slotRepo;
+    @Autowired
+    private UsersRepo usersRepo;
+    @Autowired
+    private WalletRepo walletRepo;
+    @Autowired
+    private NotificationRepo notificationRepo;
+    @Autowired
+    private NotificationReadRepo notificationReadRepo;
+    @Autowired
+    private AppRoleRepository appRoleRepository;
+    @Autowired
+    private AppPermissionRepository appPermissionRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private TournamentService tournamentService;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private RbacService rbacService;
+    @Autowired
+    private AnalyticsService analyticsService;
+    @Autowired
+    private WalletService walletService;
+
+    private QueryCounter queries;
+    private final List<Integer> tournamentIds = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @BeforeAll
+    void seed() {
+        queries = new QueryCounter(entityManagerFactory, this::flushRedis);
+        transactionTemplate.executeWithoutResult(status -> {
+            seedRoles();
+            List<Users> players = seedPlayers();
+            seedTournaments(players);
+            seedNotifications();
+        });
+    }
+
+    // ── Service budgets ──
+
+    @Test
+    void tournamentReads() {
+        int id = tournamentIds.get(0);
+        queries.assertWithin("TournamentService.getAllTournaments", 1, tournamentService::getAllTournaments);
+        queries.assertWithin("TournamentService.getUpcomingTournaments", 1, tournamentService::getUpcomingTournaments);
+        // mapToDTO: tournament, global rules (no own rules), slots with players, results
+        queries.assertWithin("TournamentService.getTournamentById", 4, () -> tournamentService.getTournamentById(id));
+    }
+
+    @Test
+    void slotReads() {
+        int id = tournamentIds.get(0);
+        queries.assertWithin("SlotService.getSlots", 1, () -> slotService.getSlots(id));
+        queries.assertWithin("SlotService.getUserBookedSlots", 3, () -> slotService.getUserBookedSlots(PLAYER));
+        queries.assertWithin("SlotService.getSlotSummary", 1, () -> slotService.getSlotSummary(id));
+    }
+
+    @Test
+    void notificationReads() {
+        // user check, notifications, read markers of this user
+        queries.assertWithin("NotificationService.getNotificationsForUser", 3,
+                () -> notificationService.getNotificationsForUser(PLAYER));
+    }
+
+    @Test
+    void rbacAuthorities() {
+        // user, assignments with their roles, all (assigned + implied) roles with permissions
+        QueryCounter.Measurement measurement = queries.assertWithin("RbacService.getGrantedAuthorities", 3,
+                () -> rbacService.getGrantedAuthorities(ADMIN));
+        assertEquals(0, measurement.collectionFetches(), "permissions must come with the roles, not per role");
+        Set<String> authorities = rbacService.getGrantedAuthorities(ADMIN);
+        assertEquals(ROLES.size() * (1 + PERMISSIONS_PER_ROLE), authorities.size());
+    }
+
+    @Test
+    void analytics() {
+        queries.assertWithin("AnalyticsService.getAdminDashboard", 23, analyticsService::getAdminDashboard);
+        queries.assertWithin("AnalyticsService.getTournamentAnalytics", 5,
+                () -> analyticsService.getTournamentAnalytics(tournamentIds.get(0)));
+    }
+
+    @Test
+    void walletReads() {
+        queries.assertWithin("WalletService.getWalletByFirebaseUID", 2, () -> walletService.getWalletByFirebaseUID(PLAYER));
+        queries.assertWithin("WalletService.getWalletLedger", 1, () -> walletService.getWalletLedger(PLAYER));
+    }
+
+    @Test
+    void booking() {
+        // tournament, user, locked slot, locked wallet, ledger id + insert, slot and wallet updates
+        int id = tournamentIds.get(1);
+        queries.assertWithin("SlotService.bookSpecificSlot", 8,
+                () -> slotService.bookSpecificSlot(id, BOOKER, "booker", SLOTS_PER_TOURNAMENT));
+        queries.assertWithin("SlotService.bookNextAvailableSlot", 8,
+                () -> slotService.bookNextAvailableSlot(id, BOOKER, "booker"));
+    }
+
+    // ── Endpoint budgets (filters + controller + service) ──
+
+    @Test
+    void readEndpoints() {
+        int id = tournamentIds.get(0);
+        // each: the service budget + 3 for the user and RBAC lookups of RoleInjectionFilter
+        endpointWithin("GET /api/tournaments", 4, get("/api/tournaments"));
+        endpointWithin("GET /api/tournaments/{id}", 7, get("/api/tournaments/" + id));
+        endpointWithin("GET /api/slots/{tournamentId}", 4, get("/api/slots/" + id));
+        endpointWithin("GET /api/notifications/my", 5, get("/api/notifications/my"));
+    }
+
+    @Test
+    void bookingEndpoint() {
+        int id = tournamentIds.get(2);
+        // user lookups are query-cache hits after the filter; ledger ids come from a pooled sequence
+        endpointWithin("POST /api/slots/book", 10, post("/api/slots/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tournamentId\":" + id + ",\"slotNumber\":" + SLOTS_PER_TOURNAMENT
+                        + ",\"playerName\":\"booker\"}"));
+    }
+
+    private void endpointWithin(String name, int budget, MockHttpServletRequestBuilder request) {
+        RequestBuilder asPlayer = request.requestAttr(RequestAttributeSecurityContextRepository.DEFAULT_REQUEST_ATTR_NAME,
+                new SecurityContextImpl(new UsernamePasswordAuthenticationToken(
+                        name.startsWith("POST") ? BOOKER : PLAYER, null, List.of())));
+        queries.assertWithin(name, budget, () -> {
+            try {
+                int status = mockMvc.perform(asPlayer).andReturn().getResponse().getStatus();
+                assertEquals(200, status, name);
+                return status;
+            } catch (Exception e) {
+                throw new IllegalStateException(name + " failed", e);
+            }
+        });
+    }
+
+    // ── Seed data ──
+
+    private void seedRoles() {
+        for (String code : ROLES) {
+            AppRole role = AppRole.builder().code(code).description(code).build();
+            for (int p = 0; p < PERMISSIONS_PER_ROLE; p++) {
+                role.getPermissions().add(appPermissionRepository.save(AppPermission.builder()
+                        .code(code + "_PERM_" + p).description(code).build()));
+            }
+            appRoleRepository.save(role);
+        }
+    }
+
+    private List<Users> seedPlayers() {
+        List<Users> players = new ArrayList<>();
+        for (int i = 0; i < BOOKED_PER_TOURNAMENT; i++) {
+            players.add(user("budget-player-" + i));
+        }
+        Users admin = user(ADMIN);
+        for (String code : List.of("ADMIN", "SUPER_ADMIN")) {
+            userRoleRepository.save(UserRole.builder().user(admin).role(appRoleRepository.findByCode(code).orElseThrow()).build());
+        }
+        user(BOOKER);
+        return players;
+    }
+
+    private Users user(String uid) {
+        Users user = new Users();
+        user.setFirebaseUserUID(uid);
+        user.setEmail(uid + "@budget.test");
+        user.setUserName(uid);
+        user.setCreatedAt(LocalDateTime.now().minusDays(uid.length() % 20));
+        usersRepo.save(user);
+
+        Wallet wallet = new Wallet();
+        wallet.setUserId(user);
+        wallet.setCoins(1_000);
+        wallet.setLastUpdated(LocalDateTime.now());
+        walletRepo.save(wallet);
+        userRoleRepository.save(UserRole.builder().user(user).role(appRoleRepository.findByCode("USER").orElseThrow()).build());
+        return user;
+    }
+
+    private void seedTournaments(List<Users> players) {
+        for (int t = 0; t < TOURNAMENTS; t++) {
+            Tournaments tournament = new Tournaments();
+            tournament.setName("Budget cup " + t);
+            tournament.setGame(t % 2 == 0 ? "BGMI" : "Free Fire");
+            tournament.setGameMode("Classic");
+            tournament.setMapType("Erangel");
+            tournament.setTeamSize("SOLO");
+            tournament.setMaxPlayers(SLOTS_PER_TOURNAMENT);
+            tournament.setEntryFees(10);
+            tournament.setPrizePool(100);
+            tournament.setStatus(Tournaments.TournamentStatus.UPCOMING);
+            tournament.setStartTime(LocalDateTime.now().plusDays(1 + t));
+            tournament.setCreatedAt(LocalDateTime.now());
+            tournament.setBookedCount(BOOKED_PER_TOURNAMENT);
+            tournamentRepo.save(tournament);
+            tournamentIds.add(tournament.getId());
+
+            for (int number = 1; number <= SLOTS_PER_TOURNAMENT; number++) {
+                Slots slot = new Slots();
+                slot.setTournaments(tournament);
+                slot.setSlotNumber(number);
+                slot.setStatus(Slots.SlotStatus.AVAILABLE);
+                if (number <= BOOKED_PER_TOURNAMENT) {
+                    Users player = players.get(number - 1);
+                    slot.setUser(player);
+                    slot.setPlayerName(player.getUserName());
+                    slot.setStatus(Slots.SlotStatus.BOOKED);
+                    slot.setBookedAt(LocalDateTime.now().minusDays(number));
+                }
+                slotRepo.save(slot);
+            }
+        }
+    }
+
+    private void seedNotifications() {
+        for (int n = 0; n < NOTIFICATIONS; n++) {
+            Notifications notification = new Notifications();
+            notification.setTitle("Notice " + n);
+            notification.setMessage("Budget notice " + n);
+            notification.setTargetAudience(n % 2 == 0 ? Notifications.TargetAudience.ALL : Notifications.TargetAudience.USER);
+            notification.setCreatedBy(ADMIN);
+            notification.setCreatedAt(LocalDateTime.now().minusHours(n));
+            notificationRepo.save(notification);
+            if (n % 3 == 0) {
+                NotificationRead read = new NotificationRead();
+                read.setNotification(notification);
+                read.setFirebaseUserUID(PLAYER);
+                read.setReadAt(LocalDateTime.now());
+                notificationReadRepo.save(read);
+            }
+        }
+    }
+
+    private void flushRedis() {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
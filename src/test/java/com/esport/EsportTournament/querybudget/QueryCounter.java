@@ -0,0 +1,98 @@
+package com.esport.EsportTournament.querybudget;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements one service call or request issues and fails when a budget is
+ * exceeded.
+ *
+ * Every measurement starts cold: Hibernate's second-level and query caches are evicted and
+ * the given hook clears anything else (Redis caches), so the count is what a cache miss
+ * costs. The statement count comes from {@link SqlStatementRecorder} (calling thread only);
+ * entity loads, collection fetches and cache hits come from Hibernate statistics
+ * (hibernate.generate_statistics) and are reported alongside to point at the N+1.
+ */
+@Slf4j
+public class QueryCounter {
+
+    /**
+     * What one measured call did.
+     */
+    public record Measurement(String name, List<String> statements, long entityLoads,
+                              long collectionFetches, long secondLevelCacheHits, long queryCacheHits) {
+
+        public int count() {
+            return statements.size();
+        }
+
+        String describe() {
+            StringBuilder out = new StringBuilder()
+                    .append(name).append(": ").append(count()).append(" statements, ")
+                    .append(entityLoads).append(" entity loads, ")
+                    .append(collectionFetches).append(" collection fetches, ")
+                    .append(secondLevelCacheHits).append(" L2 hits, ")
+                    .append(queryCacheHits).append(" query cache hits");
+            for (int i = 0; i < statements.size(); i++) {
+                out.append(System.lineSeparator()).append("  ").append(i + 1).append(". ").append(statements.get(i));
+            }
+            return out.toString();
+        }
+    }
+
+    private final SessionFactory sessionFactory;
+    private final Runnable clearCaches;
+
+    public QueryCounter(EntityManagerFactory entityManagerFactory, Runnable clearCaches) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.clearCaches = clearCaches;
+        if (!sessionFactory.getStatistics().isStatisticsEnabled()) {
+            throw new IllegalStateException("Query budgets need hibernate.generate_statistics=true");
+        }
+    }
+
+    /**
+     * Run the call from a cold cache and record what it issued.
+     */
+    public <T> Measurement measure(String name, Supplier<T> call) {
+        sessionFactory.getCache().evictAllRegions();
+        clearCaches.run();
+
+        Statistics statistics = sessionFactory.getStatistics();
+        long entityLoads = statistics.getEntityLoadCount();
+        long collectionFetches = statistics.getCollectionFetchCount();
+        long secondLevelHits = statistics.getSecondLevelCacheHitCount();
+        long queryCacheHits = statistics.getQueryCacheHitCount();
+
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            call.get();
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        return new Measurement(name, statements,
+                statistics.getEntityLoadCount() - entityLoads,
+                statistics.getCollectionFetchCount() - collectionFetches,
+                statistics.getSecondLevelCacheHitCount() - secondLevelHits,
+                statistics.getQueryCacheHitCount() - queryCacheHits);
+    }
+
+    /**
+     * Measure the call and fail, listing its SQL, when it issues more than budget statements.
+     */
+    public Measurement assertWithin(String name, int budget, Supplier<?> call) {
+        Measurement measurement = measure(name, call);
+        if (measurement.count() > budget) {
+            throw new AssertionError("Query budget exceeded (" + measurement.count() + " > " + budget + ") for "
+                    + measurement.describe());
+        }
+        log.info("🧮 {}: {} statements (budget {})", name, measurement.count(), budget);
+        return measurement;
+    }
+}
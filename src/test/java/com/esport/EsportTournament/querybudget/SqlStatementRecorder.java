@@ -0,0 +1,38 @@
+package com.esport.EsportTournament.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hibernate statement inspector that keeps the SQL prepared on the current thread while a
+ * {@link QueryCounter} measurement is open. Per thread, so schedulers and async listeners
+ * running next to the measured call do not count against its budget.
+ *
+ * Registered through hibernate.session_factory.statement_inspector; sees everything Hibernate
+ * prepares (JPQL, criteria, native queries, lazy loads, flushes), not plain JdbcTemplate SQL.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    static void start() {
+        RECORDING.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> statements = RECORDING.get();
+        RECORDING.remove();
+        return statements == null ? List.of() : List.copyOf(statements);
+    }
+}
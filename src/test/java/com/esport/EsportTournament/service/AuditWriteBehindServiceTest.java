@@ -0,0 +1,116 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.model.AuditLog;
+import com.esport.EsportTournament.repository.AuditLogRepo;
+import com.esport.EsportTournament.util.AuditJournal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AuditWriteBehindServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void overflowWrittenSynchronouslyIsNotReplayed() throws Exception {
+        Path journalFile = dir.resolve("audit.journal");
+        CountDownLatch flusherBlocked = new CountDownLatch(1);
+        CountDownLatch releaseFlusher = new CountDownLatch(1);
+        List<String> inserted = new CopyOnWriteArrayList<>();
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            if (Thread.currentThread().getName().equals("audit-flusher")) {
+                flusherBlocked.countDown();
+                releaseFlusher.await(5, TimeUnit.SECONDS);
+            }
+            // Varargs are expanded: SQL, then eight values per row (id, category, action, ...)
+            Object[] args = invocation.getArguments();
+            for (int i = 3; i < args.length; i += 8) {
+                inserted.add((String) args[i]);
+            }
+            return (args.length - 1) / 8;
+        });
+
+        AuditWriteBehindService service = service(jdbcTemplate, journalFile);
+        service.submit(event("FIRST"));
+        assertTrue(flusherBlocked.await(5, TimeUnit.SECONDS));
+        service.submit(event("BUFFERED"));
+        service.submit(event("OVERFLOW"));
+        assertEquals(List.of("OVERFLOW"), inserted, "full buffer falls back to a synchronous insert");
+
+        releaseFlusher.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (inserted.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        ReflectionTestUtils.invokeMethod(service, "stop");
+
+        assertEquals(3, inserted.size());
+        assertEquals(1, inserted.stream().filter("OVERFLOW"::equals).count());
+        try (AuditJournal journal = new AuditJournal(journalFile, 64 * 1024)) {
+            assertEquals(List.of(), journal.pending(), "nothing left for replay");
+        }
+    }
+
+    @Test
+    void replayedEventsAreWrittenOnceAndCommitted() throws Exception {
+        Path journalFile = dir.resolve("replay.journal");
+        try (AuditJournal journal = new AuditJournal(journalFile, 64 * 1024)) {
+            for (int i = 0; i < 5; i++) {
+                journal.append(event("LEFT_OVER"));
+            }
+        }
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+        // More left-overs than the buffer holds, which used to leave the tail in the journal
+        AuditWriteBehindService service = service(jdbcTemplate, journalFile);
+        verify(jdbcTemplate, timeout(5000).times(3)).update(startsWith("INSERT INTO audit_logs"), any(Object[].class));
+        ReflectionTestUtils.invokeMethod(service, "stop");
+
+        try (AuditJournal journal = new AuditJournal(journalFile, 64 * 1024)) {
+            assertEquals(List.of(), journal.pending());
+        }
+    }
+
+    private AuditWriteBehindService service(JdbcTemplate jdbcTemplate, Path journalFile) {
+        AtomicLong nextId = new AtomicLong();
+        PooledIdAllocator idAllocator = mock(PooledIdAllocator.class);
+        when(idAllocator.allocate(eq("audit_logs_id_seq"), anyInt())).thenAnswer(invocation ->
+                LongStream.range(0, invocation.<Integer>getArgument(1)).map(i -> nextId.incrementAndGet()).toArray());
+        AuditWriteBehindService service = new AuditWriteBehindService(jdbcTemplate, mock(AuditLogRepo.class),
+                idAllocator, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "bufferSize", 1);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(service, "journalPath", journalFile.toString());
+        ReflectionTestUtils.setField(service, "journalSizeMb", 1);
+        ReflectionTestUtils.invokeMethod(service, "start");
+        return service;
+    }
+
+    private AuditLog event(String action) {
+        AuditLog log = new AuditLog();
+        log.setCategory("SYSTEM");
+        log.setAction(action);
+        log.setUserId("uid-1");
+        log.setTimestamp(LocalDateTime.now());
+        return log;
+    }
+}
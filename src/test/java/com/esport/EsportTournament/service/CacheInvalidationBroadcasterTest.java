@@ -0,0 +1,121 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.model.Users;
+import com.esport.EsportTournament.repository.UsersRepo;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cached user lookups (read by RoleInjectionFilter on every request) across instances: a write
+ * made by another instance reaches this one's query cache through the invalidation channel.
+ */
+@SpringBootTest(properties = "spring.data.redis.ssl.enabled=false")
+class CacheInvalidationBroadcasterTest {
+
+    private static final FakeRedisServer REDIS = startRedis();
+
+    @Autowired
+    private UsersRepo usersRepo;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${app.cache.invalidation-channel:esport:cache-invalidation}")
+    private String channel;
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        REDIS.close();
+    }
+
+    @Test
+    void banByAnotherInstanceIsSeenAfterItsInvalidation() throws Exception {
+        Users user = save("ban-peer");
+        assertEquals(Users.UserStatus.ACTIVE, usersRepo.findByFirebaseUserUID("ban-peer").orElseThrow().getStatus());
+
+        // Another instance bans the user: the row changes, this instance's cached result does not
+        jdbcTemplate.update("UPDATE users SET status = 'BANNED' WHERE id = ?", user.getId());
+        assertEquals(Users.UserStatus.ACTIVE, usersRepo.findByFirebaseUserUID("ban-peer").orElseThrow().getStatus(),
+                "lookup is served from the query cache");
+
+        redisTemplate.convertAndSend(channel, "other-instance users");
+
+        assertEquals(Users.UserStatus.BANNED, awaitStatus("ban-peer", Users.UserStatus.BANNED));
+    }
+
+    @Test
+    void localWritesArePublished() throws Exception {
+        List<String> messages = new CopyOnWriteArrayList<>();
+        RedisMessageListenerContainer peer = new RedisMessageListenerContainer();
+        peer.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        peer.addMessageListener((message, pattern) -> messages.add(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        peer.afterPropertiesSet();
+        peer.start();
+        try {
+            save("publish-local");
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (messages.stream().noneMatch(m -> m.matches("\\S+ (.*,)?users(,.*)?"))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(messages.stream().anyMatch(m -> m.matches("\\S+ (.*,)?users(,.*)?")), messages.toString());
+        } finally {
+            peer.destroy();
+        }
+    }
+
+    private Users save(String uid) {
+        Users user = new Users();
+        user.setFirebaseUserUID(uid);
+        user.setEmail(uid + "@cache.test");
+        user.setUserName(uid);
+        user.setCreatedAt(LocalDateTime.now());
+        return usersRepo.save(user);
+    }
+
+    private Users.UserStatus awaitStatus(String uid, Users.UserStatus expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        Users.UserStatus status = usersRepo.findByFirebaseUserUID(uid).orElseThrow().getStatus();
+        while (status != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            status = usersRepo.findByFirebaseUserUID(uid).orElseThrow().getStatus();
+        }
+        return status;
+    }
+
+    private static FakeRedisServer startRedis() {
+        try {
+            return new FakeRedisServer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.repository.TournamentRepo;
+import com.esport.EsportTournament.util.EncryptionUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CredentialCryptoServiceTest {
+
+    private final EncryptionUtil encryptionUtil = spy(new EncryptionUtil("test-key"));
+    private final CredentialCryptoService service = new CredentialCryptoService(encryptionUtil,
+            mock(TournamentRepo.class), 60, 10, new SimpleMeterRegistry());
+
+    @Test
+    void decryptedCredentialsAreCachedUntilCiphertextChangesOrEvicted() {
+        String id = encryptionUtil.encrypt("room-1");
+        String password = encryptionUtil.encrypt("pass-1");
+
+        assertEquals("room-1", service.decrypt(7, id, password).gameId());
+        assertEquals("pass-1", service.decrypt(7, id, password).gamePassword());
+        verify(encryptionUtil, times(2)).decrypt(anyString());
+
+        String newPassword = encryptionUtil.encrypt("pass-2");
+        assertEquals("pass-2", service.decrypt(7, id, newPassword).gamePassword());
+        verify(encryptionUtil, times(4)).decrypt(anyString());
+
+        service.evict(7);
+        service.decrypt(7, id, newPassword);
+        verify(encryptionUtil, times(6)).decrypt(anyString());
+    }
+}
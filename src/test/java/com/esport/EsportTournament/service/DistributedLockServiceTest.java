@@ -0,0 +1,92 @@
+package com.esport.EsportTournament.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DistributedLockServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, Object> ops = mock(ValueOperations.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DistributedLockService lockService = new DistributedLockService(redisTemplate, 16, 5, registry);
+
+    DistributedLockServiceTest() {
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+    }
+
+    @Test
+    void contentionIsTimedAndRankedByKey() {
+        when(ops.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false);
+
+        assertNull(lockService.acquireLock("slot:tournament:1:slot:7", Duration.ofSeconds(10)));
+        assertNull(lockService.acquireLock("slot:tournament:1:slot:7", Duration.ofSeconds(10)));
+
+        assertEquals(2, registry.get("app.locks.acquire").tag("outcome", "contended").timer().count());
+        assertEquals("slot:tournament:1:slot:7", lockService.hotKeys().get(0).key());
+        assertEquals(2, lockService.hotKeys().get(0).count());
+
+        lockService.refreshHotKeys();
+        assertEquals(2, registry.get("app.locks.hot_keys").tag("type", "slot").tag("tournament", "1")
+                .gauge().value());
+    }
+
+    @Test
+    void userIdsNeverReachHotKeysOrTags() {
+        when(ops.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(false);
+
+        lockService.acquireLock(DistributedLockService.userBookingLockKey("uid-alice", 5), Duration.ofSeconds(10));
+        lockService.acquireLock(DistributedLockService.userBookingLockKey("uid-bob", 5), Duration.ofSeconds(10));
+        lockService.acquireLock("archive:run", Duration.ofSeconds(10));
+
+        assertEquals("booking:user:*:tournament:5", lockService.hotKeys().get(0).key());
+        assertEquals(2, lockService.hotKeys().get(0).count());
+
+        lockService.refreshHotKeys();
+        assertEquals(2, registry.get("app.locks.hot_keys").tag("type", "booking").tag("tournament", "5")
+                .gauge().value());
+        assertEquals(1, registry.get("app.locks.hot_keys").tag("tournament", "none").gauge().value());
+        assertTrue(registry.getMeters().stream()
+                .flatMap(meter -> meter.getId().getTags().stream())
+                .noneMatch(tag -> tag.getValue().contains("uid-")));
+    }
+
+    @Test
+    void releaseTimesHoldAndCountsExpiry() {
+        when(ops.setIfAbsent(anyString(), any(), any(Duration.class))).thenReturn(true);
+        String first = lockService.acquireLock("a", Duration.ofSeconds(10));
+        String second = lockService.acquireLock("b", Duration.ofSeconds(10));
+
+        when(ops.get("lock:a")).thenReturn(first);
+        lockService.releaseLock("a", first);
+        when(ops.get("lock:b")).thenReturn(null);
+        lockService.releaseLock("b", second);
+
+        verify(redisTemplate).delete("lock:a");
+        assertEquals(1, registry.get("app.locks.held").tag("outcome", "released").timer().count());
+        assertEquals(1, registry.get("app.locks.held").tag("outcome", "expired").timer().count());
+        assertEquals(1, registry.get("app.locks.expired_before_release").counter().count());
+    }
+
+    @Test
+    void redisFailureFallsBackAndIsCountedSeparately() {
+        when(ops.setIfAbsent(anyString(), any(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertNotNull(lockService.acquireLock("a", Duration.ofSeconds(10)));
+
+        assertEquals(1, registry.get("app.locks.redis_fallback").tag("op", "acquire").counter().count());
+        assertEquals(0, registry.get("app.locks.acquire").tag("outcome", "contended").timer().count());
+        assertTrue(lockService.hotKeys().isEmpty());
+    }
+}
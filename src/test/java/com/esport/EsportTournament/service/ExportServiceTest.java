@@ -0,0 +1,138 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ExportService exportService;
+
+    @TempDir
+    Path spool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(exportService, "spoolDir", spool.toString());
+        ReflectionTestUtils.setField(exportService, "pageSize", 2);
+        ReflectionTestUtils.setField(exportService, "workers", 1);
+        ReflectionTestUtils.setField(exportService, "queueCapacity", 2);
+        ReflectionTestUtils.setField(exportService, "retentionHours", 24);
+        ReflectionTestUtils.invokeMethod(exportService, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(exportService, "shutdown");
+    }
+
+    @Test
+    void submit_pagesByKeysetAndWritesGzipCsv() throws Exception {
+        when(jdbcTemplate.queryForList(contains("FROM slots WHERE id > ?"), eq(0L), eq(2)))
+                .thenReturn(List.of(row(1, "Alpha"), row(2, "Bravo, Jr.")));
+        when(jdbcTemplate.queryForList(contains("FROM slots WHERE id > ?"), eq(2L), eq(2)))
+                .thenReturn(List.of(row(3, "Charlie")));
+
+        ExportService.ExportJob job = exportService.submit(List.of("slots"), "csv", "admin-1");
+        job.getFuture().get();
+
+        assertEquals(ExportService.JobStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getRowsWritten().get());
+        assertEquals(3, job.getLastId().get());
+
+        Path file = exportService.getFile(job.getId(), "slots");
+        String csv;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertEquals("id,player_name\n1,Alpha\n2,\"Bravo, Jr.\"\n3,Charlie\n", csv);
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), anyLong(), anyInt());
+    }
+
+    @Test
+    void submit_rejectsUnknownDataType() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.submit(List.of("passwords"), "csv", "admin-1"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void cancelledQueuedJobIsPurged() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.queryForList(contains("FROM slots WHERE id > ?"), anyLong(), anyInt()))
+                .thenAnswer(invocation -> {
+                    running.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+        ExportService.ExportJob busy = exportService.submit(List.of("slots"), "csv", "admin-1");
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        ExportService.ExportJob queued = exportService.submit(List.of("slots"), "csv", "admin-1");
+        exportService.cancel(queued.getId());
+        release.countDown();
+        busy.getFuture().get();
+
+        assertEquals(ExportService.JobStatus.CANCELLED, queued.getStatus());
+        assertNotNull(queued.getCompletedAt());
+        ReflectionTestUtils.setField(exportService, "retentionHours", -1);
+        exportService.purgeExpiredExports();
+        assertThrows(ResourceNotFoundException.class, () -> exportService.getJob(queued.getId()));
+    }
+
+    @Test
+    void cancelDuringLastPageIsNotOverwrittenByCompletion() throws Exception {
+        when(jdbcTemplate.queryForList(contains("FROM slots WHERE id > ?"), anyLong(), anyInt()))
+                .thenAnswer(invocation -> {
+                    // Cancel lands after the last page was read, before the worker marks the job done
+                    exportService.cancel(exportService.listJobs().get(0).getId());
+                    return List.of();
+                });
+
+        ExportService.ExportJob job = exportService.submit(List.of("slots"), "csv", "admin-1");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getCompletedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertNotNull(job.getCompletedAt());
+        assertEquals(ExportService.JobStatus.CANCELLED, job.getStatus());
+        assertThrows(IllegalStateException.class, () -> exportService.getFile(job.getId(), "slots"));
+    }
+
+    private Map<String, Object> row(long id, String playerName) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("player_name", playerName);
+        return row;
+    }
+}
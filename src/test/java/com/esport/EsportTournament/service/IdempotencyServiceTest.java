@@ -0,0 +1,157 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.exception.IdempotencyKeyReusedException;
+import com.esport.EsportTournament.loadtest.FakeRedisServer;
+import com.esport.EsportTournament.service.IdempotencyService.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyServiceTest {
+
+    private static final String BODY = IdempotencyService.hash("{\"amount\":100}".getBytes(StandardCharsets.UTF_8));
+
+    private final FakeRedisServer redis;
+    private final LettuceConnectionFactory connectionFactory;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StringRedisTemplate template;
+    private final IdempotencyService service;
+
+    IdempotencyServiceTest() throws IOException {
+        redis = new FakeRedisServer();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("127.0.0.1", redis.getPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        template = new StringRedisTemplate(connectionFactory);
+        service = new IdempotencyService(template, 3600, 30, 2000, 20, registry);
+    }
+
+    @AfterEach
+    void stop() throws IOException {
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForFirstResponse() throws Exception {
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Decision>> decisions = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            decisions.add(pool.submit(() -> {
+                start.await();
+                Decision decision = service.begin("uid:POST:/api/slots/book:k1", BODY);
+                if (decision.claim() != null) {
+                    Thread.sleep(100);
+                    service.complete(decision.claim(), 200, "{\"slotNumber\":7}");
+                }
+                return decision;
+            }));
+        }
+        start.countDown();
+
+        int claims = 0;
+        for (Future<Decision> future : decisions) {
+            Decision decision = future.get(5, TimeUnit.SECONDS);
+            if (decision.claim() != null) {
+                claims++;
+            } else {
+                assertEquals(200, decision.replay().status());
+                assertEquals("{\"slotNumber\":7}", decision.replay().body());
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, claims);
+        assertEquals(callers - 1, registry.get("app.idempotency.requests").tag("result", "replayed").counter().count());
+        assertEquals(callers - 1, registry.get("app.idempotency.wait").timer().count());
+
+        // Later retries replay with one GET and no waiting
+        assertEquals(200, service.begin("uid:POST:/api/slots/book:k1", BODY).replay().status());
+    }
+
+    @Test
+    void releasedClaimLetsNextDuplicateExecute() throws Exception {
+        Decision first = service.begin("uid:POST:/api/transactions/deposit:k2", BODY);
+        assertNotNull(first.claim());
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<Decision> duplicate = pool.submit(() -> service.begin("uid:POST:/api/transactions/deposit:k2", BODY));
+        Thread.sleep(50);
+        service.release(first.claim());
+
+        Decision second = duplicate.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+        assertNotNull(second.claim(), "a failed first request must not be replayed");
+        assertNull(second.replay());
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsRejected() {
+        String otherBody = IdempotencyService.hash("{\"amount\":900}".getBytes(StandardCharsets.UTF_8));
+        Decision first = service.begin("uid:POST:/api/transactions/withdraw:k5", BODY);
+
+        // Rejected at once while the first request runs, and after it completed
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.begin("uid:POST:/api/transactions/withdraw:k5", otherBody));
+        service.complete(first.claim(), 201, "{\"id\":1}");
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.begin("uid:POST:/api/transactions/withdraw:k5", otherBody));
+
+        assertEquals(201, service.begin("uid:POST:/api/transactions/withdraw:k5", BODY).replay().status());
+        assertEquals(2, registry.get("app.idempotency.requests").tag("result", "mismatched").counter().count());
+    }
+
+    @Test
+    void expiredOwnerCannotOverwriteOrReleaseTheNextClaim() {
+        Decision stale = service.begin("uid:POST:/api/wallet/credit:k6", BODY);
+        // Pending marker expired while the first request was still running
+        template.delete(IdempotencyService.KEY_PREFIX + "uid:POST:/api/wallet/credit:k6");
+        Decision current = service.begin("uid:POST:/api/wallet/credit:k6", BODY);
+        assertNotNull(current.claim());
+
+        service.complete(stale.claim(), 200, "{\"stale\":true}");
+        service.release(stale.claim());
+        assertEquals(current.claim().pendingValue(),
+                template.opsForValue().get(IdempotencyService.KEY_PREFIX + "uid:POST:/api/wallet/credit:k6"));
+
+        service.complete(current.claim(), 200, "{\"stale\":false}");
+        assertEquals("{\"stale\":false}", service.begin("uid:POST:/api/wallet/credit:k6", BODY).replay().body());
+    }
+
+    @Test
+    void stillRunningAfterWaitTimeoutIsConflict() {
+        IdempotencyService impatient = new IdempotencyService(new StringRedisTemplate(connectionFactory),
+                3600, 30, 100, 20, registry);
+        assertNotNull(impatient.begin("uid:POST:/api/slots/book-team:k3", BODY).claim());
+
+        assertThrows(IllegalStateException.class, () -> impatient.begin("uid:POST:/api/slots/book-team:k3", BODY));
+        assertEquals(1, registry.get("app.idempotency.requests").tag("result", "in_flight").counter().count());
+    }
+
+    @Test
+    void withoutRedisRequestsRunUnprotected() {
+        IdempotencyService withoutRedis = new IdempotencyService(null, 3600, 30, 2000, 20, new SimpleMeterRegistry());
+
+        Decision decision = withoutRedis.begin("uid:POST:/api/slots/book:k4", BODY);
+
+        assertNull(decision.claim());
+        assertNull(decision.replay());
+    }
+}
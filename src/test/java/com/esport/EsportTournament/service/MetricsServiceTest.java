@@ -0,0 +1,57 @@
+package com.esport.EsportTournament.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricsService metricsService = new MetricsService(registry, 3);
+
+    @Test
+    void bookingPhaseTimersArePreRegisteredPerTypeAndPhase() {
+        assertEquals(MetricsService.BookingType.values().length * MetricsService.BookingPhase.values().length,
+                registry.find("app.bookings.phase").timers().size());
+    }
+
+    @Test
+    void recordBookingPhaseTimesFromStartAndReturnsNextStart() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        long next = metricsService.recordBookingPhase(MetricsService.BookingType.TEAM,
+                MetricsService.BookingPhase.WALLET_LOCK, start);
+
+        Timer timer = registry.get("app.bookings.phase").tags("type", "team", "phase", "wallet_lock").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 5);
+        assertTrue(next >= start);
+    }
+
+    @Test
+    void taggedCountersOverflowIntoOtherPastTheCap() {
+        for (int i = 0; i < 10; i++) {
+            metricsService.recordBookingFailed(1, "Reason" + i);
+        }
+        metricsService.recordBookingFailed(1, "Reason0");
+
+        assertEquals(4, registry.find("app.bookings.failed.by_reason").counters().size());
+        assertEquals(2, registry.get("app.bookings.failed.by_reason").tag("reason", "Reason0").counter().count());
+        assertEquals(7, registry.get("app.bookings.failed.by_reason")
+                .tag("reason", MetricsService.OVERFLOW_TAG_VALUE).counter().count());
+    }
+
+    @Test
+    void apiErrorsKeepRouteTemplates() {
+        metricsService.recordApiError("/api/slots/{slotId}/cancel", 409, "client_error");
+        metricsService.recordApiError("/api/slots/{slotId}/cancel", 409, "client_error");
+
+        assertEquals(2, registry.get("app.api.errors")
+                .tags("endpoint", "/api/slots/{slotId}/cancel", "status", "409", "type", "client_error")
+                .counter().count());
+    }
+}
@@ -0,0 +1,93 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.model.Tournaments;
+import com.esport.EsportTournament.repository.TournamentRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PayoutServiceTest {
+
+    @Test
+    void computeAwards_addsPerKillRewardAndSplitsPlacementPrizeAcrossTeam() {
+        Tournaments tournament = tournament(5, 100, 50, 0);
+        List<PayoutService.ResultRow> rows = List.of(
+                new PayoutService.ResultRow(1, "a", 3, 1, 0),
+                new PayoutService.ResultRow(2, "b", 0, 1, 0),
+                new PayoutService.ResultRow(3, "c", 1, 1, 0),
+                new PayoutService.ResultRow(4, "d", 2, 2, 0),
+                new PayoutService.ResultRow(5, "e", 4, 3, 999));
+
+        List<PayoutService.Award> awards = PayoutService.computeAwards(tournament, rows);
+
+        // 100 split over three teammates: 34 / 33 / 33
+        assertEquals(3 * 5 + 34, awards.get(0).coins());
+        assertEquals(33, awards.get(1).coins());
+        assertEquals(5 + 33, awards.get(2).coins());
+        assertEquals(2 * 5 + 50, awards.get(3).coins());
+        // No third prize configured: kills only, submitted coins ignored
+        assertEquals(4 * 5, awards.get(4).coins());
+    }
+
+    @Test
+    void computeAwards_withoutPrizeConfigurationPaysSubmittedCoins() {
+        Tournaments tournament = tournament(0, 0, 0, 0);
+        List<PayoutService.Award> awards = PayoutService.computeAwards(tournament, List.of(
+                new PayoutService.ResultRow(1, "a", 7, 1, 120),
+                new PayoutService.ResultRow(2, "b", 2, 2, -5)));
+
+        assertEquals(120, awards.get(0).coins());
+        assertEquals(0, awards.get(1).coins());
+    }
+
+    @Test
+    void computeAwards_handlesThousandsOfResults() {
+        Tournaments tournament = tournament(2, 1000, 500, 250);
+        List<PayoutService.ResultRow> rows = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            rows.add(new PayoutService.ResultRow(i, "uid-" + i, i % 10, (i / 4) + 1, 0));
+        }
+
+        List<PayoutService.Award> awards = PayoutService.computeAwards(tournament, rows);
+
+        assertEquals(5000, awards.size());
+        long kills = rows.stream().mapToLong(PayoutService.ResultRow::kills).sum();
+        long total = awards.stream().mapToLong(PayoutService.Award::coins).sum();
+        assertEquals(kills * 2 + 1000 + 500 + 250, total);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Tournaments.TournamentStatus.class, names = "COMPLETED", mode = EnumSource.Mode.EXCLUDE)
+    void payoutTournament_rejectsTournamentsThatAreNotCompleted(Tournaments.TournamentStatus status) {
+        Tournaments tournament = tournament(5, 100, 50, 0);
+        tournament.setStatus(status);
+        TournamentRepo tournamentRepo = mock(TournamentRepo.class);
+        when(tournamentRepo.findByIdForUpdate(1)).thenReturn(Optional.of(tournament));
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        BulkWalletCreditService credits = mock(BulkWalletCreditService.class);
+        PayoutService service = new PayoutService(jdbcTemplate, tournamentRepo, credits, new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> service.payoutTournament(1, "admin"));
+        // Nothing claimed or credited
+        verifyNoInteractions(jdbcTemplate, credits);
+    }
+
+    private Tournaments tournament(int perKill, int first, int second, int third) {
+        Tournaments tournament = new Tournaments();
+        tournament.setId(1);
+        tournament.setPerKillReward(perKill);
+        tournament.setFirstPrize(first);
+        tournament.setSecondPrize(second);
+        tournament.setThirdPrize(third);
+        return tournament;
+    }
+}
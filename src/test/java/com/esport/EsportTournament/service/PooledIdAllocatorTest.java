@@ -0,0 +1,37 @@
+package com.esport.EsportTournament.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledIdAllocatorTest {
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:pooled-ids;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", ""));
+    private final PooledIdAllocator allocator = new PooledIdAllocator(jdbc);
+
+    @Test
+    void rowsShareBlocksInsteadOfTakingOneEach() {
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS ledger_seq START WITH 1 INCREMENT BY 50");
+
+        long[] first = allocator.allocate("ledger_seq", 120);
+        long[] second = allocator.allocate("ledger_seq", 1);
+
+        // 120 rows take three blocks: 1-50, 51-100 and the first 20 of 101-150
+        assertEquals(120, Arrays.stream(first).distinct().count());
+        assertEquals(1, first[0]);
+        assertEquals(120, first[119]);
+        // The unused tail of the third block is skipped, as Hibernate skips its own on restart
+        assertArrayEquals(new long[]{151}, second);
+        assertEquals(201, jdbc.queryForObject("SELECT nextval('ledger_seq')", Long.class));
+    }
+
+    @Test
+    void nothingRequestedTouchesNoSequence() {
+        assertEquals(0, allocator.allocate("missing_seq", 0).length);
+    }
+}
@@ -0,0 +1,70 @@
+package com.esport.EsportTournament.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlotCounterServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SlotCounterService service = new SlotCounterService(jdbcTemplate, null,
+            mock(QueryCacheInvalidator.class), new TransactionTemplate(mock(PlatformTransactionManager.class)),
+            new SimpleMeterRegistry());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getCounts_withoutRedisReadsTournamentRow() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(7)))
+                .thenReturn(new SlotCounterService.Counts(30, 100));
+
+        SlotCounterService.Counts counts = service.getCounts(7);
+
+        assertEquals(30, counts.booked());
+        assertEquals(70, counts.available());
+    }
+
+    @Test
+    void adjustBooked_updatesColumnAndSkipsZeroDelta() {
+        service.adjustBooked(7, -3);
+        service.adjustBooked(7, 0);
+
+        verify(jdbcTemplate, times(1)).update(contains("booked_count = booked_count + ?"), eq(-3), eq(7));
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reconcile_correctsOnlyCountersUnchangedSinceTheSnapshot() throws Exception {
+        when(jdbcTemplate.query(contains("HAVING t.booked_count <> COUNT(s.id)"), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<Object> mapper = invocation.getArgument(1);
+                    return List.of(mapper.mapRow(row(7, 5, 3), 0), mapper.mapRow(row(8, 2, 4), 1));
+                });
+        // Tournament 8 had a booking commit in between: its compare-and-set matches nothing
+        when(jdbcTemplate.update(contains("AND booked_count = ?"), eq(3), eq(7), eq(5))).thenReturn(1);
+        when(jdbcTemplate.update(contains("AND booked_count = ?"), eq(4), eq(8), eq(2))).thenReturn(0);
+
+        assertEquals(1, service.reconcile());
+        // No row locks: only the snapshot read and one conditional UPDATE per drifted tournament
+        verify(jdbcTemplate, never()).queryForList(contains("FOR UPDATE"), any(Class.class));
+    }
+
+    private ResultSet row(int id, int counter, int booked) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("id")).thenReturn(id);
+        when(rs.getInt("booked_count")).thenReturn(counter);
+        when(rs.getInt("booked")).thenReturn(booked);
+        return rs;
+    }
+}
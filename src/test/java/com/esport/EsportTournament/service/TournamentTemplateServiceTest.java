@@ -0,0 +1,53 @@
+package com.esport.EsportTournament.service;
+
+import com.esport.EsportTournament.model.TournamentTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTemplateServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    @Test
+    void occurrences_expandsDailyCronAcrossHorizon() {
+        TournamentTemplate template = template("0 0 18 * * *", null);
+
+        List<LocalDateTime> starts = TournamentTemplateService.occurrences(template, NOW, NOW.plusDays(7), 100);
+
+        assertEquals(7, starts.size());
+        assertEquals(LocalDateTime.of(2026, 3, 2, 18, 0), starts.get(0));
+        assertEquals(LocalDateTime.of(2026, 3, 8, 18, 0), starts.get(6));
+    }
+
+    @Test
+    void occurrences_resumeAfterMaterializedUntil() {
+        TournamentTemplate template = template("0 0 18 * * *", LocalDateTime.of(2026, 3, 5, 18, 0));
+
+        List<LocalDateTime> starts = TournamentTemplateService.occurrences(template, NOW, NOW.plusDays(7), 100);
+
+        assertEquals(3, starts.size());
+        assertEquals(LocalDateTime.of(2026, 3, 6, 18, 0), starts.get(0));
+    }
+
+    @Test
+    void occurrences_areCappedPerTemplate() {
+        TournamentTemplate template = template("0 */5 * * * *", null);
+
+        List<LocalDateTime> starts = TournamentTemplateService.occurrences(template, NOW, NOW.plusDays(7), 50);
+
+        assertEquals(50, starts.size());
+    }
+
+    private TournamentTemplate template(String recurrence, LocalDateTime materializedUntil) {
+        TournamentTemplate template = new TournamentTemplate();
+        template.setId(1);
+        template.setName("Daily Scrim");
+        template.setRecurrence(recurrence);
+        template.setMaterializedUntil(materializedUntil);
+        return template;
+    }
+}
@@ -0,0 +1,70 @@
+package com.esport.EsportTournament.util;
+
+import com.esport.EsportTournament.model.AuditLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void uncommittedEntriesAreReplayedAfterReopen() throws Exception {
+        Path file = dir.resolve("audit.journal");
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        try (AuditJournal journal = new AuditJournal(file, 64 * 1024)) {
+            long first = journal.append(event("SLOT", "SLOT_BOOKED", "uid-1", now));
+            journal.append(event("WALLET", "COINS_ADDED", "uid-2", now));
+            journal.commit(first);
+        }
+
+        try (AuditJournal reopened = new AuditJournal(file, 64 * 1024)) {
+            List<AuditJournal.Entry> pending = reopened.pending();
+            assertEquals(1, pending.size());
+            AuditLog replayed = pending.get(0).event();
+            assertEquals("WALLET", replayed.getCategory());
+            assertEquals("COINS_ADDED", replayed.getAction());
+            assertEquals("uid-2", replayed.getUserId());
+            assertEquals(now, replayed.getTimestamp());
+            assertNull(replayed.getUserAgent());
+        }
+    }
+
+    @Test
+    void appendWrapsOnlyWhenEverythingIsCommitted() throws Exception {
+        try (AuditJournal journal = new AuditJournal(dir.resolve("small.journal"), 256)) {
+            long last = 0;
+            long offset;
+            while ((offset = journal.append(event("SLOT", "SLOT_BOOKED", "uid-1", LocalDateTime.now()))) > 0) {
+                last = offset;
+            }
+            assertTrue(last > 0);
+            assertTrue(journal.pendingBytes() > 0);
+
+            journal.commit(last);
+            assertEquals(0, journal.pendingBytes());
+            assertTrue(journal.append(event("SLOT", "SLOT_BOOKED", "uid-1", LocalDateTime.now())) > 0);
+            assertEquals(1, journal.pending().size());
+        }
+    }
+
+    private AuditLog event(String category, String action, String userId, LocalDateTime timestamp) {
+        AuditLog log = new AuditLog();
+        log.setCategory(category);
+        log.setAction(action);
+        log.setUserId(userId);
+        log.setDetails("{amount=10}");
+        log.setTimestamp(timestamp);
+        log.setIpAddress("127.0.0.1");
+        return log;
+    }
+}
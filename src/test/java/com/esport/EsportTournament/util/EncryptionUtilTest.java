@@ -0,0 +1,54 @@
+package com.esport.EsportTournament.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncryptionUtilTest {
+
+    private final EncryptionUtil encryptionUtil = new EncryptionUtil("test-key");
+
+    @Test
+    void gcmRoundTripUsesFreshIvPerValue() {
+        String first = encryptionUtil.encrypt("room-8842");
+        String second = encryptionUtil.encrypt("room-8842");
+
+        assertTrue(first.startsWith(EncryptionUtil.GCM_PREFIX));
+        assertNotEquals(first, second);
+        assertEquals("room-8842", encryptionUtil.decrypt(first));
+        assertEquals("room-8842", encryptionUtil.decrypt(second));
+        assertFalse(encryptionUtil.isLegacy(first));
+    }
+
+    @Test
+    void legacyEcbAndPlainTextStillDecrypt() throws Exception {
+        String ecb = legacyEcb("test-key", "pass-1234");
+
+        assertTrue(encryptionUtil.isLegacy(ecb));
+        assertEquals("pass-1234", encryptionUtil.decrypt(ecb));
+        assertEquals("plain", encryptionUtil.decrypt("plain"));
+    }
+
+    @Test
+    void tamperedCiphertextIsRejected() {
+        byte[] raw = Base64.getDecoder().decode(encryptionUtil.encrypt("room-8842").substring(3));
+        raw[raw.length - 1] ^= 1;
+
+        assertNull(encryptionUtil.decrypt(EncryptionUtil.GCM_PREFIX + Base64.getEncoder().encodeToString(raw)));
+        assertNull(new EncryptionUtil("other-key").decrypt(encryptionUtil.encrypt("room-8842")));
+    }
+
+    private static String legacyEcb(String key, String value) throws Exception {
+        byte[] digest = Arrays.copyOf(MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8)), 16);
+        Cipher cipher = Cipher.getInstance("AES/ECB/PKCS5Padding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(digest, "AES"));
+        return Base64.getEncoder().encodeToString(cipher.doFinal(value.getBytes(StandardCharsets.UTF_8)));
+    }
+}
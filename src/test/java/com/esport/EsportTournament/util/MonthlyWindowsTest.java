@@ -0,0 +1,60 @@
+package com.esport.EsportTournament.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonthlyWindowsTest {
+
+    private final LocalDateTime monthStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+
+    @Test
+    void walksBackMonthByMonthUntilTheLimitIsFilled() {
+        List<LocalDateTime> rows = List.of(monthStart.plusDays(1), monthStart.minusMonths(2).plusDays(3),
+                monthStart.minusMonths(2).plusDays(1), monthStart.minusMonths(30));
+        List<LocalDateTime[]> windows = new ArrayList<>();
+
+        List<LocalDateTime> read = MonthlyWindows.newestFirst(3, monthStart.minusMonths(30), (from, to, limit) -> {
+            windows.add(new LocalDateTime[]{from, to});
+            return rows.stream()
+                    .filter(at -> !at.isBefore(from) && at.isBefore(to))
+                    .sorted(Comparator.reverseOrder())
+                    .limit(limit.max())
+                    .toList();
+        });
+
+        assertEquals(rows.subList(0, 3), read);
+        // Current, previous and the one before: never a month further than needed
+        assertEquals(3, windows.size());
+        for (LocalDateTime[] window : windows.subList(1, windows.size())) {
+            assertEquals(window[0].plusMonths(1), window[1], "every window after the first is one month");
+        }
+    }
+
+    @Test
+    void oldHistoryIsReachedAndTheWalkStopsAtTheOldestRow() {
+        LocalDateTime old = monthStart.minusMonths(30).plusDays(5);
+        List<Integer> calls = new ArrayList<>();
+
+        List<LocalDateTime> read = MonthlyWindows.newestFirst(100, old, (from, to, limit) -> {
+            calls.add(1);
+            return !old.isBefore(from) && old.isBefore(to) ? List.of(old) : List.of();
+        });
+
+        assertEquals(List.of(old), read);
+        assertEquals(31, calls.size());
+    }
+
+    @Test
+    void nothingMatchingReadsNothing() {
+        assertEquals(List.of(), MonthlyWindows.newestFirst(10, null, (from, to, limit) -> {
+            throw new AssertionError("no window should be read");
+        }));
+    }
+}
@@ -0,0 +1,58 @@
+package com.esport.EsportTournament.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKSketchTest {
+
+    @Test
+    void heavyHittersSurviveAStreamOfOneOffKeys() {
+        TopKSketch sketch = new TopKSketch(8);
+        for (int i = 0; i < 1000; i++) {
+            if (i % 3 == 0) {
+                sketch.add("slot:tournament:1:slot:1");
+            }
+            if (i % 5 == 0) {
+                sketch.add("slot:tournament:1:slot:2");
+            }
+            sketch.add("one-off-" + i);
+        }
+
+        List<TopKSketch.Entry> top = sketch.top(2);
+        assertEquals("slot:tournament:1:slot:1", top.get(0).key());
+        assertEquals("slot:tournament:1:slot:2", top.get(1).key());
+        assertTrue(top.get(0).count() - top.get(0).error() <= 334);
+        assertTrue(top.get(0).count() >= 334);
+    }
+
+    @Test
+    void decayHalvesCountsAndDropsKeysAtZero() {
+        TopKSketch sketch = new TopKSketch(4);
+        sketch.add("hot");
+        sketch.add("hot");
+        sketch.add("hot");
+        sketch.add("cold");
+
+        sketch.decay();
+
+        assertEquals(List.of(new TopKSketch.Entry("hot", 1, 0)), sketch.top(10));
+    }
+
+    @Test
+    void newKeyReplacesTheSmallestCounter() {
+        TopKSketch sketch = new TopKSketch(3);
+        for (String key : List.of("a", "a", "a", "a", "b", "b", "b", "b", "c")) {
+            sketch.add(key);
+        }
+
+        sketch.add("d");
+        sketch.add("e");
+
+        // d took over c (1) and became 2; e then took over d, still the smallest
+        assertEquals(List.of(new TopKSketch.Entry("a", 4, 0), new TopKSketch.Entry("b", 4, 0),
+                new TopKSketch.Entry("e", 3, 2)), sketch.top(3));
+    }
+}